@@ -21,14 +21,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Locale;
-import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.zaxxer.hikari.HikariDataSource;
-
 import container.remote.EmbeddedApplication;
 import equinox.controller.MainScreen;
 import equinox.data.ProgramArguments;
@@ -37,6 +34,8 @@ import equinox.data.User;
 import equinox.data.WorkspacePaths;
 import equinox.data.ui.NotificationPanel;
 import equinox.serverUtilities.ServerUtility;
+import equinox.utility.DatabaseProfile;
+import equinox.utility.HikariEngine;
 import equinox.utility.Utility;
 import javafx.application.Platform;
 import javafx.scene.Scene;
@@ -68,7 +67,7 @@ public class Equinox extends EmbeddedApplication {
 	public static Logger LOGGER;
 
 	/** Database connection pool. */
-	public static HikariDataSource DBC_POOL;
+	public static HikariEngine DBC_POOL;
 
 	/** Thread pools. */
 	public static ExecutorService FIXED_THREADPOOL, SINGLE_THREADPOOL, SUBTASK_THREADPOOL, SCHEDULED_THREADPOOL, CACHED_THREADPOOL;
@@ -126,13 +125,8 @@ public class Equinox extends EmbeddedApplication {
 		// set program arguments
 		ARGUMENTS = new ProgramArguments(this);
 
-		// set system properties
-		Properties props = System.getProperties();
-		// OFF embedded-database durability setting to test
-		// props.setProperty("derby.system.durability", "test");
-		props.setProperty("derby.storage.pageSize", ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_SIZE));
-		props.setProperty("derby.storage.pageCacheSize", ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_CACHE_SIZE));
-		System.setProperties(props);
+		// set database system properties
+		DatabaseProfile.setSystemProperties();
 
 		// create last paths
 		WORKSPACE_PATHS = new WorkspacePaths();
@@ -145,6 +145,15 @@ public class ActiveTasksPanel implements Initializable {
 		return tPool.getActiveCount() > 0;
 	}
 
+	/**
+	 * Returns the number of running tasks (in all execution modes).
+	 *
+	 * @return The number of running tasks.
+	 */
+	public int getNumberOfRunningTasks() {
+		return runningTasks_;
+	}
+
 	/**
 	 * Runs given task in parallel execution mode.
 	 *
@@ -17,6 +17,8 @@ package equinox.controller;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.ResourceBundle;
 
@@ -35,9 +37,11 @@ import equinox.data.ProgramArguments.ArgumentType;
 import equinox.data.Settings;
 import equinox.font.IconicFont;
 import equinox.serverUtilities.ServerUtility;
+import equinox.task.CrossValidateNativeEngine;
 import equinox.task.LoadSettings;
 import equinox.task.RewriteCFGFile;
 import equinox.task.SaveSettings;
+import equinox.utility.ConnectionPoolMetrics;
 import equinox.utility.Utility;
 import javafx.beans.value.ObservableValue;
 import javafx.event.ActionEvent;
@@ -92,7 +96,7 @@ public class SettingsPanel implements InternalInputSubPanel {
 	private ComboBox<AnalysisEngine> analysisEngine_;
 
 	@FXML
-	private ComboBox<String> pageSize_;
+	private ComboBox<String> pageSize_, peakStorage_, durability_;
 
 	@FXML
 	private ComboBox<IsamiVersion> analysisEngineVersion_;
@@ -104,7 +108,7 @@ public class SettingsPanel implements InternalInputSubPanel {
 	private Accordion accordion_;
 
 	@FXML
-	private Spinner<Integer> minHeap_, maxHeap_, maxTasks_, maxSubTasks_, cacheSize_, visibleSTFs_;
+	private Spinner<Integer> minHeap_, maxHeap_, maxTasks_, maxSubTasks_, cacheSize_, batchSize_, poolSize_, statementCache_, logBuffer_, visibleSTFs_;
 
 	@FXML
 	private ToggleGroup theme_;
@@ -113,13 +117,13 @@ public class SettingsPanel implements InternalInputSubPanel {
 	private ToggleButton steelblue_, slategray_, midnightblue_;
 
 	@FXML
-	private Label steelblueLabel_, slategrayLabel_, midnightblueLabel_;
+	private Label steelblueLabel_, slategrayLabel_, midnightblueLabel_, poolStatus_;
 
 	@Override
 	public void initialize(URL location, ResourceBundle resources) {
 
 		// set analysis engines and versions
-		analysisEngine_.getItems().setAll(AnalysisEngine.values());
+		setAnalysisEngines();
 		analysisEngineSubVersion_.getItems().setAll(IsamiSubVersion.values());
 		analysisEngineVersion_.getItems().setAll(IsamiVersion.values());
 
@@ -133,6 +137,12 @@ public class SettingsPanel implements InternalInputSubPanel {
 		maxSubTasks_.setValueFactory(new IntegerSpinnerValueFactory(2, maxTasks, 2, 1));
 		pageSize_.getItems().setAll("4096", "8192", "16384", "32768");
 		cacheSize_.setValueFactory(new IntegerSpinnerValueFactory(1000, 8000, 4000, 500));
+		batchSize_.setValueFactory(new IntegerSpinnerValueFactory(100, 10000, 1000, 100));
+		peakStorage_.getItems().setAll(ProgramArguments.ANA_PEAK_STORAGE_TABLE, ProgramArguments.ANA_PEAK_STORAGE_COLUMNAR);
+		poolSize_.setValueFactory(new IntegerSpinnerValueFactory(0, 64, 0, 1));
+		statementCache_.setValueFactory(new IntegerSpinnerValueFactory(50, 1000, 100, 50));
+		logBuffer_.setValueFactory(new IntegerSpinnerValueFactory(8192, 1048576, 32768, 8192));
+		durability_.getItems().setAll(ProgramArguments.DATABASE_DURABILITY_DEFAULT, ProgramArguments.DATABASE_DURABILITY_TEST);
 		visibleSTFs_.setValueFactory(new IntegerSpinnerValueFactory(2, 100, 15, 1));
 
 		// bind theme selections
@@ -161,8 +171,11 @@ public class SettingsPanel implements InternalInputSubPanel {
 
 	@Override
 	public void showing() {
+		crossValidateNativeEngine();
+		setAnalysisEngines();
 		setFromSettings();
 		setFromArguments();
+		setPoolStatus();
 	}
 
 	@Override
@@ -190,6 +203,11 @@ public class SettingsPanel implements InternalInputSubPanel {
 		// set settings
 		settings_ = settings;
 		setFromSettings();
+
+		// cross validate native analysis engine (if selected in previous sessions)
+		if (AnalysisEngine.NATIVE.equals(settings_.getValue(Settings.ANALYSIS_ENGINE))) {
+			crossValidateNativeEngine();
+		}
 	}
 
 	/**
@@ -487,9 +505,11 @@ public class SettingsPanel implements InternalInputSubPanel {
 
 	@FXML
 	private void onAnalysisEngineSelected() {
-		boolean isInbuilt = analysisEngine_.getSelectionModel().getSelectedItem().equals(AnalysisEngine.INBUILT);
-		fallback_.setDisable(isInbuilt);
-		boolean isIsami = analysisEngine_.getSelectionModel().getSelectedItem().equals(AnalysisEngine.ISAMI);
+		AnalysisEngine engine = analysisEngine_.getSelectionModel().getSelectedItem();
+		if (engine == null)
+			return;
+		fallback_.setDisable(engine.equals(AnalysisEngine.INBUILT) || engine.equals(AnalysisEngine.NATIVE));
+		boolean isIsami = engine.equals(AnalysisEngine.ISAMI);
 		analysisEngineVersion_.setDisable(!isIsami);
 		analysisEngineSubVersion_.setDisable(!isIsami);
 		compression_.setDisable(!isIsami);
@@ -506,13 +526,36 @@ public class SettingsPanel implements InternalInputSubPanel {
 		((ToggleButton) e.getSource()).setSelected(true);
 	}
 
+	/**
+	 * Starts cross validation of native analysis engine against inbuilt analysis engine on background, if it is not yet passed or started in this session.
+	 */
+	private void crossValidateNativeEngine() {
+		if (CrossValidateNativeEngine.isRequired()) {
+			owner_.getOwner().getActiveTasksPanel().runTaskSilently(new CrossValidateNativeEngine(), false);
+		}
+	}
+
+	/**
+	 * Sets selectable analysis engines. Native analysis engine is only selectable once it has passed the cross validation against inbuilt analysis engine (see {@link CrossValidateNativeEngine}).
+	 */
+	private void setAnalysisEngines() {
+		ArrayList<AnalysisEngine> engines = new ArrayList<>(Arrays.asList(AnalysisEngine.values()));
+		if (!CrossValidateNativeEngine.isPassed()) {
+			engines.remove(AnalysisEngine.NATIVE);
+		}
+		if (!analysisEngine_.getItems().equals(engines)) {
+			analysisEngine_.getItems().setAll(engines);
+		}
+	}
+
 	/**
 	 * Sets the UI components from the settings object.
 	 */
 	private void setFromSettings() {
 
-		// analysis engine settings
-		analysisEngine_.getSelectionModel().select((AnalysisEngine) settings_.getValue(Settings.ANALYSIS_ENGINE));
+		// analysis engine settings (inbuilt engine is shown if the selected engine is not selectable)
+		AnalysisEngine engine = (AnalysisEngine) settings_.getValue(Settings.ANALYSIS_ENGINE);
+		analysisEngine_.getSelectionModel().select(analysisEngine_.getItems().contains(engine) ? engine : AnalysisEngine.INBUILT);
 		analysisEngineVersion_.getSelectionModel().select((IsamiVersion) settings_.getValue(Settings.ISAMI_VERSION));
 		analysisEngineSubVersion_.getSelectionModel().select((IsamiSubVersion) settings_.getValue(Settings.ISAMI_SUB_VERSION));
 		fallback_.setSelected((boolean) settings_.getValue(Settings.FALLBACK_TO_INBUILT));
@@ -576,6 +619,12 @@ public class SettingsPanel implements InternalInputSubPanel {
 		// set database arguments
 		pageSize_.getSelectionModel().select(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_SIZE));
 		cacheSize_.getValueFactory().setValue(Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_CACHE_SIZE)));
+		batchSize_.getValueFactory().setValue(Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_BATCH_SIZE)));
+		peakStorage_.getSelectionModel().select(Equinox.ARGUMENTS.getArgument(ArgumentType.ANA_PEAK_STORAGE));
+		poolSize_.getValueFactory().setValue(Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_POOL_SIZE)));
+		statementCache_.getValueFactory().setValue(Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_STATEMENT_CACHE_SIZE)));
+		logBuffer_.getValueFactory().setValue(Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_LOG_BUFFER_SIZE)));
+		durability_.getSelectionModel().select(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_DURABILITY));
 
 		// set UI arguments
 		visibleSTFs_.getValueFactory().setValue(Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_VISIBLE_STFS_PER_SPECTRUM)));
@@ -591,6 +640,24 @@ public class SettingsPanel implements InternalInputSubPanel {
 		}
 	}
 
+	/**
+	 * Sets the runtime status of the local database connection pool.
+	 */
+	private void setPoolStatus() {
+
+		// no workspace connected
+		if (Equinox.DBC_POOL == null || Equinox.DBC_POOL.isClosed()) {
+			poolStatus_.setText("Not connected.");
+			return;
+		}
+
+		// set pool metrics
+		ConnectionPoolMetrics metrics = Equinox.DBC_POOL.getMetrics();
+		String status = metrics.getActiveConnections() + " active of " + metrics.getTotalConnections() + " (max " + metrics.getMaxConnections() + "), " + metrics.getPendingThreads() + " waiting\n";
+		status += String.format("%.2f", metrics.getAverageWaitTime()) + " ms avg. wait, " + metrics.getMaxWaitTime() + " ms max. wait, " + metrics.getTimeouts() + " timeouts";
+		poolStatus_.setText(status);
+	}
+
 	/**
 	 * Returns entered program arguments, or null if there is no change in program arguments.
 	 *
@@ -606,6 +673,14 @@ public class SettingsPanel implements InternalInputSubPanel {
 		arguments.put(ArgumentType.MAX_PARALLEL_SUBTASKS, maxSubTasks_.getValue().toString());
 		arguments.put(ArgumentType.DATABASE_PAGE_SIZE, pageSize_.getSelectionModel().getSelectedItem());
 		arguments.put(ArgumentType.DATABASE_PAGE_CACHE_SIZE, cacheSize_.getValue().toString());
+		arguments.put(ArgumentType.DATABASE_BATCH_SIZE, batchSize_.getValue().toString());
+		arguments.put(ArgumentType.DATABASE_POOL_SIZE, poolSize_.getValue().toString());
+		arguments.put(ArgumentType.DATABASE_CONNECTION_LIFETIME, Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_CONNECTION_LIFETIME));
+		arguments.put(ArgumentType.DATABASE_STATEMENT_CACHE_SIZE, statementCache_.getValue().toString());
+		arguments.put(ArgumentType.DATABASE_LOG_BUFFER_SIZE, logBuffer_.getValue().toString());
+		arguments.put(ArgumentType.DATABASE_DURABILITY, durability_.getSelectionModel().getSelectedItem());
+		arguments.put(ArgumentType.ANA_PEAK_STORAGE, peakStorage_.getSelectionModel().getSelectedItem());
+		arguments.put(ArgumentType.QUERY_PLAN_AUDIT, Equinox.ARGUMENTS.getArgument(ArgumentType.QUERY_PLAN_AUDIT));
 		arguments.put(ArgumentType.MAX_VISIBLE_STFS_PER_SPECTRUM, visibleSTFs_.getValue().toString());
 		arguments.put(ArgumentType.COLOR_THEME, ((ToggleButton) theme_.getSelectedToggle()).getText());
 
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Class for cursor over the peaks of a typical flight of ANA file. The peaks are held in primitive columns, where the class codes are held as IDs of the spectrum level class code dictionary. The peaks can be encoded to
+ * (and decoded from) a compressed columnar block for storing in the database.
+ * <p>
+ * Block layout (deflate compressed): number of peaks, class code ID width in bytes (1, 2 or 4), class code ID column, delta-p column and delta-t column. Peak numbers are not stored, since they are the peak indices
+ * within the flight. Class code IDs refer to the dictionary of the ANA file (see {@link ClassCodeDictionary}).
+ *
+ * @author Murat Artim
+ * @date 1 Nov 2018
+ * @time 10:05:21
+ */
+public class ANAPeakCursor {
+
+	/** Class code dictionary. */
+	private final ClassCodeDictionary dictionary_;
+
+	/** Peak numbers and class code IDs. */
+	private int[] peakNums_, codeIDs_;
+
+	/** Delta-p and delta-t values. */
+	private double[] deltaP_, deltaT_;
+
+	/** Number of peaks and current peak index. */
+	private int numPeaks_ = 0, index_ = -1;
+
+	/**
+	 * Creates cursor over the peaks of a typical flight.
+	 *
+	 * @param dictionary
+	 *            Class code dictionary of the ANA file.
+	 */
+	public ANAPeakCursor(ClassCodeDictionary dictionary) {
+		dictionary_ = dictionary;
+		allocate(256);
+	}
+
+	/**
+	 * Returns the class code dictionary of the ANA file.
+	 *
+	 * @return The class code dictionary of the ANA file.
+	 */
+	public ClassCodeDictionary getDictionary() {
+		return dictionary_;
+	}
+
+	/**
+	 * Removes all peaks. The class code dictionary is kept.
+	 */
+	public void clear() {
+		numPeaks_ = 0;
+		index_ = -1;
+	}
+
+	/**
+	 * Adds peak. The class code is interned into the class code dictionary.
+	 *
+	 * @param peakNum
+	 *            Peak number.
+	 * @param fourDigitCode
+	 *            4 digit class code.
+	 * @param fourteenDigitCode
+	 *            14 digit class code.
+	 * @param deltaP
+	 *            Delta-p value.
+	 * @param deltaT
+	 *            Delta-t value.
+	 */
+	public void add(int peakNum, String fourDigitCode, String fourteenDigitCode, double deltaP, double deltaT) {
+		if (numPeaks_ == peakNums_.length) {
+			allocate(2 * numPeaks_);
+		}
+		peakNums_[numPeaks_] = peakNum;
+		codeIDs_[numPeaks_] = dictionary_.intern(fourDigitCode, fourteenDigitCode);
+		deltaP_[numPeaks_] = deltaP;
+		deltaT_[numPeaks_] = deltaT;
+		numPeaks_++;
+	}
+
+	/**
+	 * Adds peak with given class code ID. The class code ID must belong to the class code dictionary of this cursor.
+	 *
+	 * @param peakNum
+	 *            Peak number.
+	 * @param codeID
+	 *            Class code ID.
+	 * @param deltaP
+	 *            Delta-p value.
+	 * @param deltaT
+	 *            Delta-t value.
+	 */
+	public void add(int peakNum, int codeID, double deltaP, double deltaT) {
+		if (numPeaks_ == peakNums_.length) {
+			allocate(2 * numPeaks_);
+		}
+		peakNums_[numPeaks_] = peakNum;
+		codeIDs_[numPeaks_] = codeID;
+		deltaP_[numPeaks_] = deltaP;
+		deltaT_[numPeaks_] = deltaT;
+		numPeaks_++;
+	}
+
+	/**
+	 * Returns the number of peaks.
+	 *
+	 * @return The number of peaks.
+	 */
+	public int getNumberOfPeaks() {
+		return numPeaks_;
+	}
+
+	/**
+	 * Moves the cursor to the next peak.
+	 *
+	 * @return True if there is a next peak.
+	 */
+	public boolean next() {
+		if (index_ + 1 >= numPeaks_)
+			return false;
+		index_++;
+		return true;
+	}
+
+	/**
+	 * Moves the cursor to the peak with given peak number.
+	 *
+	 * @param peakNum
+	 *            Peak number.
+	 * @return True if the peak is found.
+	 */
+	public boolean moveTo(int peakNum) {
+		for (int i = 0; i < numPeaks_; i++) {
+			if (peakNums_[i] == peakNum) {
+				index_ = i;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the peak number of current peak.
+	 *
+	 * @return The peak number of current peak.
+	 */
+	public int getPeakNumber() {
+		return peakNums_[index_];
+	}
+
+	/**
+	 * Returns the class code ID of current peak.
+	 *
+	 * @return The class code ID of current peak.
+	 */
+	public int getClassCodeID() {
+		return codeIDs_[index_];
+	}
+
+	/**
+	 * Returns the 1g code ID of current peak.
+	 *
+	 * @return The 1g code ID of current peak.
+	 */
+	public int getOnegCodeID() {
+		return dictionary_.getOnegCodeID(codeIDs_[index_]);
+	}
+
+	/**
+	 * Returns the 4 digit class code of current peak.
+	 *
+	 * @return The 4 digit class code of current peak.
+	 */
+	public String getFourDigitCode() {
+		return dictionary_.getFourDigitCode(codeIDs_[index_]);
+	}
+
+	/**
+	 * Returns the 14 digit class code of current peak.
+	 *
+	 * @return The 14 digit class code of current peak.
+	 */
+	public String getFourteenDigitCode() {
+		return dictionary_.getFourteenDigitCode(codeIDs_[index_]);
+	}
+
+	/**
+	 * Returns the delta-p value of current peak.
+	 *
+	 * @return The delta-p value of current peak.
+	 */
+	public double getDeltaP() {
+		return deltaP_[index_];
+	}
+
+	/**
+	 * Returns the delta-t value of current peak.
+	 *
+	 * @return The delta-t value of current peak.
+	 */
+	public double getDeltaT() {
+		return deltaT_[index_];
+	}
+
+	/**
+	 * Encodes the peaks into a compressed columnar block.
+	 *
+	 * @return The encoded block.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public byte[] encode() throws IOException {
+
+		// get class code ID width
+		int maxID = 0;
+		for (int i = 0; i < numPeaks_; i++) {
+			maxID = Math.max(maxID, codeIDs_[i]);
+		}
+		int width = maxID < 256 ? 1 : maxID < 65536 ? 2 : 4;
+
+		// create output stream
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * numPeaks_ + 64);
+		try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+
+			// write header
+			output.writeInt(numPeaks_);
+			output.writeByte(width);
+
+			// write class code ID column
+			for (int i = 0; i < numPeaks_; i++) {
+				if (width == 1) {
+					output.writeByte(codeIDs_[i]);
+				}
+				else if (width == 2) {
+					output.writeShort(codeIDs_[i]);
+				}
+				else {
+					output.writeInt(codeIDs_[i]);
+				}
+			}
+
+			// write delta-p and delta-t columns
+			for (int i = 0; i < numPeaks_; i++) {
+				output.writeDouble(deltaP_[i]);
+			}
+			for (int i = 0; i < numPeaks_; i++) {
+				output.writeDouble(deltaT_[i]);
+			}
+		}
+
+		// return block
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Replaces the peaks of this cursor with the peaks of given compressed columnar block. The class code dictionary of this cursor must be the dictionary of the ANA file.
+	 *
+	 * @param block
+	 *            Encoded block.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public void decode(byte[] block) throws IOException {
+
+		// create input stream
+		try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(block)))) {
+
+			// read header
+			int numPeaks = input.readInt();
+			int width = input.readUnsignedByte();
+
+			// read class code ID column
+			clear();
+			if (peakNums_.length < numPeaks) {
+				allocate(numPeaks);
+			}
+			for (int i = 0; i < numPeaks; i++) {
+				peakNums_[i] = i;
+				codeIDs_[i] = width == 1 ? input.readUnsignedByte() : width == 2 ? input.readUnsignedShort() : input.readInt();
+			}
+
+			// read delta-p and delta-t columns
+			for (int i = 0; i < numPeaks; i++) {
+				deltaP_[i] = input.readDouble();
+			}
+			for (int i = 0; i < numPeaks; i++) {
+				deltaT_[i] = input.readDouble();
+			}
+			numPeaks_ = numPeaks;
+		}
+	}
+
+	/**
+	 * Allocates columns with given capacity (existing peaks are kept).
+	 *
+	 * @param capacity
+	 *            Column capacity.
+	 */
+	private void allocate(int capacity) {
+		peakNums_ = peakNums_ == null ? new int[capacity] : Arrays.copyOf(peakNums_, capacity);
+		codeIDs_ = codeIDs_ == null ? new int[capacity] : Arrays.copyOf(codeIDs_, capacity);
+		deltaP_ = deltaP_ == null ? new double[capacity] : Arrays.copyOf(deltaP_, capacity);
+		deltaT_ = deltaT_ == null ? new double[capacity] : Arrays.copyOf(deltaT_, capacity);
+	}
+}
@@ -26,8 +26,11 @@ import equinox.plugin.FileType;
  */
 public enum AnalysisEngine {
 
-	/** Analysis engine type. */
-	ISAMI("ISAMI Engine", FileType.HTML), SAFE("SAFE Engine", FileType.DOSSIER), INBUILT("Inbuilt Engine", FileType.DOSSIER);
+	/**
+	 * Analysis engine type. Native engine runs fast equivalent stress analyses in-process without output files. Other analyses fall back to inbuilt engine when native engine is selected. Native engine can only be
+	 * selected once it has passed the cross validation against inbuilt engine (see {@link equinox.task.CrossValidateNativeEngine}).
+	 */
+	ISAMI("ISAMI Engine", FileType.HTML), SAFE("SAFE Engine", FileType.DOSSIER), INBUILT("Inbuilt Engine", FileType.DOSSIER), NATIVE("Native Engine", FileType.DOSSIER);
 
 	/** Name of analysis engine. */
 	private final String name_;
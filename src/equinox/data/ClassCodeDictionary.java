@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Class for spectrum level class code dictionary. Distinct ANA class codes are interned into dense integer IDs (in the order of first occurrence), so that per-peak data can be stored and looked up by array index
+ * instead of strings. The 1g codes (first 4 digits of 14 digit class codes) are interned into dense IDs as well.
+ * <p>
+ * Note that, this class is not thread safe.
+ *
+ * @author Murat Artim
+ * @date 2 Nov 2018
+ * @time 09:12:44
+ */
+public class ClassCodeDictionary {
+
+	/** Class code IDs mapped to 14 digit class codes. This holds the first class code encountered for each 14 digit code. */
+	private final HashMap<String, Integer> ids_ = new HashMap<>();
+
+	/** Class code IDs mapped to class codes (4 and 14 digit codes separated by new line). This only holds the class codes sharing their 14 digit code with a different 4 digit code. */
+	private final HashMap<String, Integer> sharedIDs_ = new HashMap<>();
+
+	/** Number of class codes. */
+	private int size_ = 0;
+
+	/** 1g code IDs mapped to 1g codes. */
+	private final HashMap<String, Integer> onegIDs_ = new HashMap<>();
+
+	/** Class codes. */
+	private String[] fourDigitCodes_ = new String[64], fourteenDigitCodes_ = new String[64];
+
+	/** 1g code IDs of class codes. */
+	private int[] onegCodeIDs_ = new int[64];
+
+	/** 1g codes. */
+	private String[] onegCodes_ = new String[64];
+
+	/**
+	 * Returns the ID of given class code. The class code is added to the dictionary if it is not contained.
+	 *
+	 * @param fourDigitCode
+	 *            4 digit class code.
+	 * @param fourteenDigitCode
+	 *            14 digit class code.
+	 * @return The class code ID.
+	 */
+	public int intern(String fourDigitCode, String fourteenDigitCode) {
+
+		// already contained
+		Integer id = ids_.get(fourteenDigitCode);
+		if (id != null && fourDigitCodes_[id].equals(fourDigitCode))
+			return id;
+
+		// 14 digit code shared with a different 4 digit code (rare)
+		String key = null;
+		if (id != null) {
+			key = fourDigitCode + "\n" + fourteenDigitCode;
+			Integer shared = sharedIDs_.get(key);
+			if (shared != null)
+				return shared;
+		}
+
+		// grow arrays
+		int size = size_;
+		if (size == fourDigitCodes_.length) {
+			fourDigitCodes_ = Arrays.copyOf(fourDigitCodes_, 2 * size);
+			fourteenDigitCodes_ = Arrays.copyOf(fourteenDigitCodes_, 2 * size);
+			onegCodeIDs_ = Arrays.copyOf(onegCodeIDs_, 2 * size);
+		}
+
+		// add class code
+		fourDigitCodes_[size] = fourDigitCode;
+		fourteenDigitCodes_[size] = fourteenDigitCode;
+		onegCodeIDs_[size] = internOnegCode(fourteenDigitCode.substring(0, 4));
+		if (key == null) {
+			ids_.put(fourteenDigitCode, size);
+		}
+		else {
+			sharedIDs_.put(key, size);
+		}
+		size_++;
+		return size;
+	}
+
+	/**
+	 * Returns the number of class codes.
+	 *
+	 * @return The number of class codes.
+	 */
+	public int size() {
+		return size_;
+	}
+
+	/**
+	 * Returns the number of 1g codes.
+	 *
+	 * @return The number of 1g codes.
+	 */
+	public int getNumberOfOnegCodes() {
+		return onegIDs_.size();
+	}
+
+	/**
+	 * Returns the 4 digit class code of given class code ID.
+	 *
+	 * @param id
+	 *            Class code ID.
+	 * @return The 4 digit class code.
+	 */
+	public String getFourDigitCode(int id) {
+		return fourDigitCodes_[id];
+	}
+
+	/**
+	 * Returns the 14 digit class code of given class code ID.
+	 *
+	 * @param id
+	 *            Class code ID.
+	 * @return The 14 digit class code.
+	 */
+	public String getFourteenDigitCode(int id) {
+		return fourteenDigitCodes_[id];
+	}
+
+	/**
+	 * Returns the 1g code ID of given class code ID.
+	 *
+	 * @param id
+	 *            Class code ID.
+	 * @return The 1g code ID.
+	 */
+	public int getOnegCodeID(int id) {
+		return onegCodeIDs_[id];
+	}
+
+	/**
+	 * Returns the 1g code of given 1g code ID.
+	 *
+	 * @param onegCodeID
+	 *            1g code ID.
+	 * @return The 1g code.
+	 */
+	public String getOnegCode(int onegCodeID) {
+		return onegCodes_[onegCodeID];
+	}
+
+	/**
+	 * Returns the ID of given 1g code. The 1g code is added to the dictionary if it is not contained.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @return The 1g code ID.
+	 */
+	private int internOnegCode(String onegCode) {
+		Integer id = onegIDs_.get(onegCode);
+		if (id != null)
+			return id;
+		int size = onegIDs_.size();
+		if (size == onegCodes_.length) {
+			onegCodes_ = Arrays.copyOf(onegCodes_, 2 * size);
+		}
+		onegCodes_[size] = onegCode;
+		onegIDs_.put(onegCode, size);
+		return size;
+	}
+}
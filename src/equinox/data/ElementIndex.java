@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Class for in-memory element index of an A/C model. The element IDs of the model are held in a sorted array, so that membership checks and range expansions require no database access. Indices are loaded once per model and cached. The cache entry of a model must be invalidated when the elements of the model change (i.e. when the model is added or deleted, or when the
+ * workspace is changed).
+ * <p>
+ * Note that, element indices are immutable and can be shared between tasks.
+ *
+ * @author Murat Artim
+ * @date 3 Nov 2018
+ * @time 10:22:07
+ */
+public class ElementIndex {
+
+	/** Cached element indices mapped to A/C model IDs. */
+	private static final HashMap<Integer, ElementIndex> CACHE = new HashMap<>();
+
+	/** Sorted element IDs. */
+	private final int[] eids_;
+
+	/**
+	 * Creates element index.
+	 *
+	 * @param eids
+	 *            Sorted element IDs.
+	 */
+	private ElementIndex(int[] eids) {
+		eids_ = eids;
+	}
+
+	/**
+	 * Returns the element index of given A/C model. The index is loaded from the database if it is not cached.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @return The element index of the A/C model.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static ElementIndex get(Connection connection, int modelID) throws SQLException {
+
+		// get from cache
+		synchronized (CACHE) {
+			ElementIndex index = CACHE.get(modelID);
+			if (index != null)
+				return index;
+		}
+
+		// load from database
+		ElementIndex index = load(connection, modelID);
+
+		// put to cache
+		synchronized (CACHE) {
+			CACHE.put(modelID, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Removes the cached element index of given A/C model.
+	 *
+	 * @param modelID
+	 *            A/C model ID.
+	 */
+	public static void invalidate(int modelID) {
+		synchronized (CACHE) {
+			CACHE.remove(modelID);
+		}
+	}
+
+	/**
+	 * Removes all cached element indices. This must be called when the workspace is changed or reset.
+	 */
+	public static void invalidateAll() {
+		synchronized (CACHE) {
+			CACHE.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of elements.
+	 *
+	 * @return The number of elements.
+	 */
+	public int size() {
+		return eids_.length;
+	}
+
+	/**
+	 * Returns true if the A/C model contains given element.
+	 *
+	 * @param eid
+	 *            Element ID.
+	 * @return True if the A/C model contains given element.
+	 */
+	public boolean contains(int eid) {
+		return Arrays.binarySearch(eids_, eid) >= 0;
+	}
+
+	/**
+	 * Returns the IDs of the elements within given interval (inclusive), in ascending order.
+	 *
+	 * @param from
+	 *            Lower bound of the interval.
+	 * @param to
+	 *            Upper bound of the interval.
+	 * @return The IDs of the elements within given interval.
+	 */
+	public int[] getRange(int from, int to) {
+		if (to < from)
+			return new int[0];
+		int start = lowerBound(from);
+		int end = to == Integer.MAX_VALUE ? eids_.length : lowerBound(to + 1);
+		return Arrays.copyOfRange(eids_, start, end);
+	}
+
+	/**
+	 * Returns the index of the first element ID which is greater than or equal to given value.
+	 *
+	 * @param eid
+	 *            Element ID.
+	 * @return The index of the first element ID which is greater than or equal to given value.
+	 */
+	private int lowerBound(int eid) {
+		int index = Arrays.binarySearch(eids_, eid);
+		return index < 0 ? -index - 1 : index;
+	}
+
+	/**
+	 * Loads the element index of given A/C model from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @return The element index.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static ElementIndex load(Connection connection, int modelID) throws SQLException {
+
+		// initialize array
+		int[] eids = new int[1024];
+		int size = 0;
+
+		// query elements (ordered by primary key)
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("select eid from elements_" + modelID + " order by eid")) {
+				while (resultSet.next()) {
+
+					// grow array
+					if (size == eids.length) {
+						eids = Arrays.copyOf(eids, 2 * size);
+					}
+
+					// add element
+					eids[size] = resultSet.getInt("eid");
+					size++;
+				}
+			}
+		}
+
+		// create index
+		return new ElementIndex(Arrays.copyOf(eids, size));
+	}
+}
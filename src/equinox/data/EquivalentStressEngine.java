@@ -0,0 +1,333 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.Arrays;
+
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.dataServer.remote.data.LinearMaterial;
+import equinox.dataServer.remote.data.Material;
+import equinox.dataServer.remote.data.PreffasMaterial;
+
+/**
+ * Class for native equivalent stress engine. The flights of the stress sequence are passed to the engine in the order of flights. The peaks are reduced to turning points and rainflow counted over the whole sequence, and
+ * the extracted cycles are kept in the order of extraction. Equivalent stresses are then computed from the cycles for any number of materials:
+ * <ul>
+ * <li>Fatigue: Miner damage sum of cycles with positive maximum stress, using the equivalent maximum stress at R=0.1 (i.e. <code>Smax * ((1 - R) / 0.9)^q</code>, where negative R-ratios are multiplied by M). The
+ * equivalent stress is the stress giving the same damage per flight with slope p.</li>
+ * <li>Linear propagation: sum of effective stress ranges <code>(A + B * R) * (Smax - Smin)</code> to the power of m, converted to the equivalent maximum stress at R=0.1.</li>
+ * <li>Preffas propagation: same as linear propagation, but the crack opening level of each cycle is the maximum of its own opening level and the opening levels of the preceding (larger) cycles which are still
+ * effective.</li>
+ * </ul>
+ * Note that, Ceff, Fty and Ftu parameters of propagation materials are not needed, since the equivalent stress is independent of them.
+ * <p>
+ * Note that, this class is not thread safe while the sequence is being counted. Once the sequence is finished, the counted cycles can be evaluated for different materials concurrently, since equivalent stress
+ * computation doesn't modify the engine.
+ *
+ * @author Murat Artim
+ * @date 27 Oct 2018
+ * @time 11:52:16
+ */
+public class EquivalentStressEngine implements RainflowStack.CycleHandler {
+
+	/** Reference R-ratio of equivalent stresses. */
+	private static final double R_REF = 0.1;
+
+	/** Rainflow stack. */
+	private final RainflowStack stack_ = new RainflowStack(this);
+
+	/** Last turning point candidate. */
+	private double candidate_;
+
+	/** Direction of the current excursion (1 for rising, -1 for falling and 0 if not known yet). */
+	private int direction_ = 0;
+
+	/** True if the sequence has started. */
+	private boolean started_ = false;
+
+	/** Extracted cycles (maximum stress, minimum stress and number of cycles). */
+	private double[] max_ = new double[1024], min_ = new double[1024], counts_ = new double[1024];
+
+	/** Number of extracted cycles. */
+	private int numCycles_ = 0;
+
+	/**
+	 * Adds given flight peaks to the sequence.
+	 *
+	 * @param peaks
+	 *            Peak array.
+	 * @param from
+	 *            Index of the first peak of the flight.
+	 * @param to
+	 *            Index after the last peak of the flight.
+	 */
+	public void addFlight(double[] peaks, int from, int to) {
+		for (int i = from; i < to; i++) {
+			addPeak(peaks[i]);
+		}
+	}
+
+	/**
+	 * Finishes the sequence. The residue of the rainflow count is extracted as half cycles.
+	 */
+	public void finish() {
+
+		// commit last turning point
+		if (started_) {
+			stack_.add(candidate_);
+		}
+
+		// extract residue
+		stack_.finish();
+		started_ = false;
+		direction_ = 0;
+	}
+
+	/**
+	 * Returns the number of extracted cycles. Note that, {@link #finish()} must be called before.
+	 *
+	 * @return The number of extracted cycles.
+	 */
+	public int getNumberOfCycles() {
+		return numCycles_;
+	}
+
+	/**
+	 * Returns the equivalent stress of the sequence for given material. Note that, {@link #finish()} must be called before.
+	 *
+	 * @param material
+	 *            Fatigue, linear or preffas propagation material.
+	 * @param validity
+	 *            Spectrum validity (number of flights).
+	 * @return The equivalent stress.
+	 * @throws Exception
+	 *             If the material type is not supported.
+	 */
+	public double getEquivalentStress(Material material, int validity) throws Exception {
+
+		// fatigue
+		if (material instanceof FatigueMaterial)
+			return getFatigueEquivalentStress((FatigueMaterial) material, validity);
+
+		// linear propagation
+		else if (material instanceof LinearMaterial) {
+			LinearMaterial linear = (LinearMaterial) material;
+			return getPropagationEquivalentStress(linear.getA(), linear.getB(), linear.getM(), false, validity);
+		}
+
+		// preffas propagation
+		else if (material instanceof PreffasMaterial) {
+			PreffasMaterial preffas = (PreffasMaterial) material;
+			return getPropagationEquivalentStress(preffas.getA(), preffas.getB(), preffas.getM(), true, validity);
+		}
+
+		// unsupported material
+		throw new Exception("Unsupported material type for native equivalent stress engine.");
+	}
+
+	@Override
+	public void addCycle(double from, double to, boolean isHalf) {
+
+		// enlarge arrays
+		if (numCycles_ == max_.length) {
+			max_ = Arrays.copyOf(max_, 2 * numCycles_);
+			min_ = Arrays.copyOf(min_, 2 * numCycles_);
+			counts_ = Arrays.copyOf(counts_, 2 * numCycles_);
+		}
+
+		// add cycle
+		max_[numCycles_] = Math.max(from, to);
+		min_[numCycles_] = Math.min(from, to);
+		counts_[numCycles_] = isHalf ? 0.5 : 1.0;
+		numCycles_++;
+	}
+
+	/**
+	 * Reduces given peak to turning points and passes them to the rainflow stack.
+	 *
+	 * @param peak
+	 *            Peak.
+	 */
+	private void addPeak(double peak) {
+
+		// first peak
+		if (!started_) {
+			candidate_ = peak;
+			started_ = true;
+			return;
+		}
+
+		// direction not known yet
+		if (direction_ == 0) {
+			if (peak != candidate_) {
+				direction_ = peak > candidate_ ? 1 : -1;
+				stack_.add(candidate_);
+				candidate_ = peak;
+			}
+			return;
+		}
+
+		// extend current excursion
+		if (direction_ == 1 ? peak >= candidate_ : peak <= candidate_) {
+			candidate_ = peak;
+			return;
+		}
+
+		// reversal (commit turning point)
+		stack_.add(candidate_);
+		candidate_ = peak;
+		direction_ = -direction_;
+	}
+
+	/**
+	 * Returns fatigue equivalent stress.
+	 *
+	 * @param material
+	 *            Fatigue material.
+	 * @param validity
+	 *            Spectrum validity.
+	 * @return Fatigue equivalent stress.
+	 */
+	private double getFatigueEquivalentStress(FatigueMaterial material, int validity) {
+
+		// get material parameters (slope is stored with either sign)
+		double p = Math.abs(material.getP()), q = material.getQ(), m = material.getM();
+
+		// loop over cycles
+		double damage = 0.0;
+		for (int i = 0; i < numCycles_; i++) {
+
+			// eliminated cycle
+			double smax = max_[i];
+			if (smax <= 0.0) {
+				continue;
+			}
+
+			// compute R-ratio
+			double r = min_[i] / smax;
+			if (r < 0.0) {
+				r *= m;
+			}
+
+			// add damage of equivalent cycle
+			double seq = smax * Math.pow((1.0 - r) / (1.0 - R_REF), q);
+			damage += counts_[i] * Math.pow(seq, p);
+		}
+
+		// compute equivalent stress
+		return Math.pow(damage / validity, 1.0 / p);
+	}
+
+	/**
+	 * Returns propagation equivalent stress.
+	 *
+	 * @param a
+	 *            Material parameter A.
+	 * @param b
+	 *            Material parameter B.
+	 * @param m
+	 *            Material slope m.
+	 * @param preffas
+	 *            True to apply preffas crack opening model.
+	 * @param validity
+	 *            Spectrum validity.
+	 * @return Propagation equivalent stress.
+	 */
+	private double getPropagationEquivalentStress(double a, double b, double m, boolean preffas, int validity) {
+
+		// create opening level memory (maximum stresses are strictly decreasing)
+		double[] memMax = null, memMin = null, memOpening = null;
+		int memSize = 0;
+		if (preffas) {
+			memMax = new double[64];
+			memMin = new double[64];
+			memOpening = new double[64];
+		}
+
+		// loop over cycles
+		double effective = 0.0;
+		for (int i = 0; i < numCycles_; i++) {
+
+			// eliminated cycle
+			double smax = max_[i], smin = min_[i];
+			if (smax <= 0.0) {
+				continue;
+			}
+
+			// compute own opening level
+			double opening = openingLevel(smax, smin, a, b);
+
+			// preffas opening level
+			if (preffas) {
+
+				// update memory with current minimum and remove exceeded cycles
+				int size = 0;
+				for (int j = 0; j < memSize; j++) {
+					if (memMax[j] <= smax) {
+						continue;
+					}
+					if (smin < memMin[j]) {
+						memMin[j] = smin;
+						memOpening[j] = openingLevel(memMax[j], smin, a, b);
+					}
+					opening = Math.max(opening, memOpening[j]);
+					memMax[size] = memMax[j];
+					memMin[size] = memMin[j];
+					memOpening[size] = memOpening[j];
+					size++;
+				}
+
+				// push current cycle
+				if (size == memMax.length) {
+					memMax = Arrays.copyOf(memMax, 2 * size);
+					memMin = Arrays.copyOf(memMin, 2 * size);
+					memOpening = Arrays.copyOf(memOpening, 2 * size);
+				}
+				memMax[size] = smax;
+				memMin[size] = smin;
+				memOpening[size] = openingLevel(smax, smin, a, b);
+				memSize = size + 1;
+			}
+
+			// add effective range (opening below minimum stress is not effective for preffas)
+			double range = preffas ? smax - Math.max(opening, smin) : smax - opening;
+			if (range > 0.0) {
+				effective += counts_[i] * Math.pow(range, m);
+			}
+		}
+
+		// convert to equivalent maximum stress at R=0.1
+		return Math.pow(effective / validity, 1.0 / m) / ((1.0 - R_REF) * (a + b * R_REF));
+	}
+
+	/**
+	 * Returns the crack opening level of given cycle.
+	 *
+	 * @param smax
+	 *            Maximum stress (positive).
+	 * @param smin
+	 *            Minimum stress.
+	 * @param a
+	 *            Material parameter A.
+	 * @param b
+	 *            Material parameter B.
+	 * @return The crack opening level.
+	 */
+	private static double openingLevel(double smax, double smin, double a, double b) {
+		double u = a + b * (smin / smax);
+		return smax - u * (smax - smin);
+	}
+}
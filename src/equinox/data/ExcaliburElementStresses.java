@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Class for in-memory load case stresses of a single Excalibur stress file (element). The stresses are loaded with a single query and held in primitive columns sorted by load case number, so that the stresses of
+ * fatigue events can be selected and sorted without further database queries.
+ *
+ * @author Murat Artim
+ * @date 3 Nov 2018
+ * @time 09:48:36
+ */
+public class ExcaliburElementStresses {
+
+	/** Load case numbers (sorted). */
+	private final int[] lcNums_;
+
+	/** Stress columns. */
+	private final double[][] columns_;
+
+	/**
+	 * Creates in-memory load case stresses.
+	 *
+	 * @param lcNums
+	 *            Load case numbers (sorted).
+	 * @param columns
+	 *            Stress columns.
+	 */
+	private ExcaliburElementStresses(int[] lcNums, double[][] columns) {
+		lcNums_ = lcNums;
+		columns_ = columns;
+	}
+
+	/**
+	 * Loads and returns the load case stresses of given stress file.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param stressTable
+	 *            Excalibur stresses table name.
+	 * @param fileID
+	 *            Stress file ID.
+	 * @param columnNames
+	 *            Names of stress columns to load.
+	 * @return The load case stresses of the stress file.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static ExcaliburElementStresses load(Connection connection, String stressTable, long fileID, String... columnNames) throws SQLException {
+
+		// create arrays
+		int size = 0;
+		int[] lcNums = new int[256];
+		double[][] columns = new double[columnNames.length][256];
+
+		// create query
+		String sql = "select lc_num";
+		for (String columnName : columnNames) {
+			sql += ", " + columnName;
+		}
+		sql += " from " + stressTable + " where file_id = ? order by lc_num";
+
+		// load stresses
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, fileID);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+
+					// enlarge arrays
+					if (size == lcNums.length) {
+						lcNums = Arrays.copyOf(lcNums, 2 * size);
+						for (int i = 0; i < columns.length; i++) {
+							columns[i] = Arrays.copyOf(columns[i], 2 * size);
+						}
+					}
+
+					// add row
+					lcNums[size] = resultSet.getInt(1);
+					for (int i = 0; i < columns.length; i++) {
+						columns[i][size] = resultSet.getDouble(i + 2);
+					}
+					size++;
+				}
+			}
+		}
+
+		// trim arrays
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = Arrays.copyOf(columns[i], size);
+		}
+		return new ExcaliburElementStresses(Arrays.copyOf(lcNums, size), columns);
+	}
+
+	/**
+	 * Returns the number of rows (load cases).
+	 *
+	 * @return The number of rows.
+	 */
+	public int getNumberOfRows() {
+		return lcNums_.length;
+	}
+
+	/**
+	 * Returns the row of given load case number, or -1 if there is no stress for the load case.
+	 *
+	 * @param lcNum
+	 *            Load case number.
+	 * @return The row of given load case number, or -1 if there is no stress for the load case.
+	 */
+	public int getRow(int lcNum) {
+		int row = Arrays.binarySearch(lcNums_, lcNum);
+		return row < 0 ? -1 : row;
+	}
+
+	/**
+	 * Returns the load case number of given row.
+	 *
+	 * @param row
+	 *            Row index.
+	 * @return The load case number of given row.
+	 */
+	public int getLoadcaseNumber(int row) {
+		return lcNums_[row];
+	}
+
+	/**
+	 * Returns the stress of given row and column.
+	 *
+	 * @param row
+	 *            Row index.
+	 * @param column
+	 *            Column index (in the order of column names given when loading).
+	 * @return The stress of given row and column.
+	 */
+	public double getStress(int row, int column) {
+		return columns_[column][row];
+	}
+
+	/**
+	 * Selects the row with the greatest sort value among the rows of given load case numbers. Among rows with equal sort values, the one with the smallest load case number is selected.
+	 *
+	 * @param lcNums
+	 *            Load case numbers.
+	 * @param sortValue
+	 *            Function returning the sort value of a row.
+	 * @return The selected row, or -1 if there is no stress for any of the load cases.
+	 */
+	public int select(List<Integer> lcNums, IntToDoubleFunction sortValue) {
+		int selected = -1;
+		double max = 0.0;
+		for (int lcNum : lcNums) {
+			int row = getRow(lcNum);
+			if (row == -1) {
+				continue;
+			}
+			double value = sortValue.applyAsDouble(row);
+			if (selected == -1 || value > max || value == max && row < selected) {
+				selected = row;
+				max = value;
+			}
+		}
+		return selected;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+/**
+ * Class for in-memory peak sequence. The peaks of typical flights are stored in a single primitive array, and the flight sequence (i.e. the order of typical flights within the spectrum validity) is stored as flight indices.
+ * Instances of this class are immutable and can be shared between analyses.
+ *
+ * @author Murat Artim
+ * @date 27 Oct 2018
+ * @time 11:25:04
+ */
+public class PeakSequence {
+
+	/** Peaks of all typical flights. */
+	private final double[] peaks_;
+
+	/** Flight offsets (i.e. index of the first peak of each typical flight, with an additional entry for the end of the last flight). */
+	private final int[] flightOffsets_;
+
+	/** Flight sequence (i.e. typical flight indices in the order of flights). */
+	private final int[] flightSequence_;
+
+	/**
+	 * Creates in-memory peak sequence.
+	 *
+	 * @param peaks
+	 *            Peaks of all typical flights.
+	 * @param flightOffsets
+	 *            Flight offsets (i.e. index of the first peak of each typical flight, with an additional entry for the end of the last flight).
+	 * @param flightSequence
+	 *            Flight sequence (i.e. typical flight indices in the order of flights).
+	 */
+	public PeakSequence(double[] peaks, int[] flightOffsets, int[] flightSequence) {
+		peaks_ = peaks;
+		flightOffsets_ = flightOffsets;
+		flightSequence_ = flightSequence;
+	}
+
+	/**
+	 * Returns the peaks of all typical flights.
+	 *
+	 * @return The peaks of all typical flights.
+	 */
+	public double[] getPeaks() {
+		return peaks_;
+	}
+
+	/**
+	 * Returns the number of typical flights.
+	 *
+	 * @return The number of typical flights.
+	 */
+	public int getNumberOfTypicalFlights() {
+		return flightOffsets_.length - 1;
+	}
+
+	/**
+	 * Returns the index of the first peak of given typical flight.
+	 *
+	 * @param flightIndex
+	 *            Typical flight index.
+	 * @return The index of the first peak of given typical flight.
+	 */
+	public int getFlightStart(int flightIndex) {
+		return flightOffsets_[flightIndex];
+	}
+
+	/**
+	 * Returns the index after the last peak of given typical flight.
+	 *
+	 * @param flightIndex
+	 *            Typical flight index.
+	 * @return The index after the last peak of given typical flight.
+	 */
+	public int getFlightEnd(int flightIndex) {
+		return flightOffsets_[flightIndex + 1];
+	}
+
+	/**
+	 * Returns the number of flights in the flight sequence.
+	 *
+	 * @return The number of flights in the flight sequence.
+	 */
+	public int getNumberOfFlights() {
+		return flightSequence_.length;
+	}
+
+	/**
+	 * Returns the typical flight index of given flight of the sequence.
+	 *
+	 * @param flight
+	 *            Flight index in the sequence.
+	 * @return The typical flight index.
+	 */
+	public int getTypicalFlight(int flight) {
+		return flightSequence_[flight];
+	}
+}
@@ -44,7 +44,8 @@ public class ProgramArguments {
 	public enum ArgumentType {
 
 		/** Program argument type. */
-		MAX_PARALLEL_TASKS("maxParallelTasks"), MAX_PARALLEL_SUBTASKS("maxParallelSubtasks"), DATABASE_PAGE_SIZE("databasePageSize"), DATABASE_PAGE_CACHE_SIZE("databasePageCacheSize"), MAX_VISIBLE_STFS_PER_SPECTRUM("maxVisibleSTFsPerSpectrum"), JVM_MIN_HEAP_SIZE("minJVMHeapSize"),
+		MAX_PARALLEL_TASKS("maxParallelTasks"), MAX_PARALLEL_SUBTASKS("maxParallelSubtasks"), DATABASE_PAGE_SIZE("databasePageSize"), DATABASE_PAGE_CACHE_SIZE("databasePageCacheSize"), DATABASE_BATCH_SIZE("databaseBatchSize"), DATABASE_POOL_SIZE("databasePoolSize"), DATABASE_CONNECTION_LIFETIME("databaseConnectionLifetime"), DATABASE_STATEMENT_CACHE_SIZE("databaseStatementCacheSize"),
+		DATABASE_LOG_BUFFER_SIZE("databaseLogBufferSize"), DATABASE_DURABILITY("databaseDurability"), ANA_PEAK_STORAGE("anaPeakStorage"), QUERY_PLAN_AUDIT("queryPlanAudit"), MAX_VISIBLE_STFS_PER_SPECTRUM("maxVisibleSTFsPerSpectrum"), JVM_MIN_HEAP_SIZE("minJVMHeapSize"),
 		JVM_MAX_HEAP_SIZE("maxJVMHeapSize"), COLOR_THEME("colorTheme");
 
 		/** Name of argument. */
@@ -70,6 +71,27 @@ public class ProgramArguments {
 		}
 	}
 
+	/** Default number of rows per JDBC batch for bulk inserts. */
+	public static final String DEFAULT_DATABASE_BATCH_SIZE = "1000";
+
+	/** Default database connection pool size (0 for automatic sizing from the task pool settings). */
+	public static final String DEFAULT_DATABASE_POOL_SIZE = "0";
+
+	/** Default database connection lifetime in seconds. */
+	public static final String DEFAULT_DATABASE_CONNECTION_LIFETIME = "60";
+
+	/** Default database statement cache size (number of compiled statements). */
+	public static final String DEFAULT_DATABASE_STATEMENT_CACHE_SIZE = "100";
+
+	/** Default database log buffer size in bytes. */
+	public static final String DEFAULT_DATABASE_LOG_BUFFER_SIZE = "32768";
+
+	/** Database durability types. */
+	public static final String DATABASE_DURABILITY_DEFAULT = "default", DATABASE_DURABILITY_TEST = "test";
+
+	/** ANA peak storage types. */
+	public static final String ANA_PEAK_STORAGE_TABLE = "table", ANA_PEAK_STORAGE_COLUMNAR = "columnar";
+
 	/** Array storing the arguments. */
 	private final EnumMap<ArgumentType, String> arguments_;
 
@@ -121,6 +143,53 @@ public class ProgramArguments {
 				arguments_.put(argumentType, userArgs.get(argumentType.getName()));
 			}
 
+			// database batch size (optional, falls back to default)
+			else if (argumentType.equals(ArgumentType.DATABASE_BATCH_SIZE)) {
+				String batchSize = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, batchSize == null ? DEFAULT_DATABASE_BATCH_SIZE : batchSize);
+			}
+
+			// database connection pool size (optional, falls back to automatic sizing)
+			else if (argumentType.equals(ArgumentType.DATABASE_POOL_SIZE)) {
+				String poolSize = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, poolSize == null ? DEFAULT_DATABASE_POOL_SIZE : poolSize);
+			}
+
+			// database connection lifetime (optional, falls back to default)
+			else if (argumentType.equals(ArgumentType.DATABASE_CONNECTION_LIFETIME)) {
+				String lifetime = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, lifetime == null ? DEFAULT_DATABASE_CONNECTION_LIFETIME : lifetime);
+			}
+
+			// database statement cache size (optional, falls back to default)
+			else if (argumentType.equals(ArgumentType.DATABASE_STATEMENT_CACHE_SIZE)) {
+				String cacheSize = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, cacheSize == null ? DEFAULT_DATABASE_STATEMENT_CACHE_SIZE : cacheSize);
+			}
+
+			// database log buffer size (optional, falls back to default)
+			else if (argumentType.equals(ArgumentType.DATABASE_LOG_BUFFER_SIZE)) {
+				String bufferSize = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, bufferSize == null ? DEFAULT_DATABASE_LOG_BUFFER_SIZE : bufferSize);
+			}
+
+			// database durability (optional, falls back to default durability)
+			else if (argumentType.equals(ArgumentType.DATABASE_DURABILITY)) {
+				String durability = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, DATABASE_DURABILITY_TEST.equals(durability) ? DATABASE_DURABILITY_TEST : DATABASE_DURABILITY_DEFAULT);
+			}
+
+			// ANA peak storage (optional, falls back to table storage)
+			else if (argumentType.equals(ArgumentType.ANA_PEAK_STORAGE)) {
+				String storage = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, ANA_PEAK_STORAGE_COLUMNAR.equals(storage) ? ANA_PEAK_STORAGE_COLUMNAR : ANA_PEAK_STORAGE_TABLE);
+			}
+
+			// query plan audit (optional, disabled by default)
+			else if (argumentType.equals(ArgumentType.QUERY_PLAN_AUDIT)) {
+				arguments_.put(argumentType, Boolean.toString(Boolean.parseBoolean(userArgs.get(argumentType.getName()))));
+			}
+
 			// other arguments
 			else {
 				arguments_.put(argumentType, userArgs.get(argumentType.getName()));
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Class for rainflow counter. The counter classifies the stress range of the whole stress sequence into 64 classes, rainflow counts the flights one by one into a from-to matrix (weighted by flight validity and block size) and
+ * finally converts the matrix into rainflow cycles. The results are identical to the output of the rainflow script in DATIG format (i.e. including rounding of class limits and output values).
+ * <p>
+ * Usage: create the counter with the minimum and maximum stresses of the sequence, call {@link #addFlight(double[], int, double, double)} for each flight and finally call {@link #finish()}.
+ *
+ * @author Murat Artim
+ * @date 25 Oct 2018
+ * @time 10:14:36
+ */
+public class RainflowCounter {
+
+	/** Number of stress classes. */
+	public static final int NUM_CLASSES = 64;
+
+	/** Precision of number to string conversion of the rainflow script. */
+	private static final MathContext STRING_PRECISION = new MathContext(15, RoundingMode.HALF_EVEN);
+
+	/** Classification accuracy. */
+	private static final double ACCURACY = 0.01;
+
+	/** Class width. */
+	private final double classWidth_;
+
+	/** Class limits (indices 1 to 65 are used). */
+	private final double[] limits_ = new double[NUM_CLASSES + 2];
+
+	/** Total from-to matrix and from-to matrix of current flight (indices 1 to 64 are used, index 0 collects unclassified peaks). */
+	private final double[][] total_ = new double[NUM_CLASSES + 1][NUM_CLASSES + 1], flight_ = new double[NUM_CLASSES + 1][NUM_CLASSES + 1];
+
+	/** Rainflow stack. */
+	private final RainflowStack stack_ = new RainflowStack(this::addCycle);
+
+	/** Last classified stress classes. */
+	private int ip1_, ip2_;
+
+	/** Total validity of the sequence. */
+	private double validity_ = 0.0;
+
+	/** Number of rainflow cycles. */
+	private int numCycles_ = 0;
+
+	/** Rainflow cycles (number of cycles, max and min stress). */
+	private double[] cycles_, max_, min_;
+
+	/**
+	 * Creates rainflow counter.
+	 *
+	 * @param minStress
+	 *            Minimum stress of the sequence.
+	 * @param maxStress
+	 *            Maximum stress of the sequence.
+	 */
+	public RainflowCounter(double minStress, double maxStress) {
+		classWidth_ = round((maxStress - minStress) / NUM_CLASSES, 4);
+		limits_[1] = round(minStress, 4);
+		for (int i = 2; i <= (NUM_CLASSES + 1); i++) {
+			limits_[i] = round(limits_[i - 1] + classWidth_, 4);
+		}
+	}
+
+	/**
+	 * Rainflow counts given flight and adds it to the total from-to matrix.
+	 *
+	 * @param peaks
+	 *            Peaks of the flight.
+	 * @param numPeaks
+	 *            Number of peaks of the flight. Flights with less than 2 peaks have no cycles.
+	 * @param validity
+	 *            Flight validity.
+	 * @param blockSize
+	 *            Flight block size.
+	 */
+	public void addFlight(double[] peaks, int numPeaks, double validity, double blockSize) {
+
+		// add validity
+		validity_ += validity * blockSize;
+
+		// no cycles
+		if (numPeaks < 2)
+			return;
+
+		// count flight
+		countFlight(peaks, numPeaks);
+
+		// add to total matrix
+		for (int i = 1; i <= NUM_CLASSES; i++) {
+			for (int j = 1; j <= NUM_CLASSES; j++) {
+				if (flight_[i][j] != 0.0) {
+					total_[i][j] += flight_[i][j] * validity * blockSize;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts the total from-to matrix into rainflow cycles.
+	 *
+	 * @throws Exception
+	 *             If a class upper limit is zero (i.e. R-ratio cannot be computed).
+	 */
+	public void finish() throws Exception {
+
+		// create arrays
+		int capacity = (NUM_CLASSES * (NUM_CLASSES - 1)) / 2;
+		cycles_ = new double[capacity];
+		max_ = new double[capacity];
+		min_ = new double[capacity];
+		numCycles_ = 0;
+
+		// loop over upper triangle of matrix
+		double nmax = 0.0;
+		for (int i = 1; i <= NUM_CLASSES; i++) {
+			for (int j = i + 1; j <= NUM_CLASSES; j++) {
+
+				// no cycles
+				double upper = total_[i][j], lower = total_[j][i];
+				if ((upper == 0.0) && (lower == 0.0)) {
+					continue;
+				}
+
+				// symmetric
+				if (upper == lower) {
+					nmax = upper;
+				}
+
+				// asymmetric with no zero
+				else if ((upper != 0.0) && (lower != 0.0)) {
+					double min = Math.min(upper, lower), max = Math.max(upper, lower);
+					nmax = min + (0.5 * (max - min));
+				}
+
+				// asymmetric with zero
+				else {
+					nmax = 0.5 * Math.max(upper, lower);
+				}
+
+				// compute class stresses
+				double sfmax = limits_[j] + classWidth_;
+				double sfmin = limits_[i];
+				if (sfmax == 0.0)
+					throw new Exception("Illegal division by zero. Upper limit of rainflow class " + j + " is zero.");
+				if (((sfmin / sfmax) > 1.0) && (sfmax < 0.0)) {
+					continue;
+				}
+
+				// add cycle
+				cycles_[numCycles_] = round(nmax, 1);
+				max_[numCycles_] = round(sfmax, 2);
+				min_[numCycles_] = round(sfmin, 2);
+				numCycles_++;
+			}
+		}
+	}
+
+	/**
+	 * Returns total validity of the sequence.
+	 *
+	 * @return Total validity of the sequence.
+	 */
+	public double getValidity() {
+		return validity_;
+	}
+
+	/**
+	 * Returns number of rainflow cycles. Note that, {@link #finish()} must be called before.
+	 *
+	 * @return Number of rainflow cycles.
+	 */
+	public int getNumberOfCycles() {
+		return numCycles_;
+	}
+
+	/**
+	 * Returns number of cycles of given rainflow cycle.
+	 *
+	 * @param index
+	 *            Rainflow cycle index.
+	 * @return Number of cycles of given rainflow cycle.
+	 */
+	public double getCycles(int index) {
+		return cycles_[index];
+	}
+
+	/**
+	 * Returns maximum stress of given rainflow cycle.
+	 *
+	 * @param index
+	 *            Rainflow cycle index.
+	 * @return Maximum stress of given rainflow cycle.
+	 */
+	public double getMaxStress(int index) {
+		return max_[index];
+	}
+
+	/**
+	 * Returns minimum stress of given rainflow cycle.
+	 *
+	 * @param index
+	 *            Rainflow cycle index.
+	 * @return Minimum stress of given rainflow cycle.
+	 */
+	public double getMinStress(int index) {
+		return min_[index];
+	}
+
+	/**
+	 * Rainflow counts given flight into flight from-to matrix.
+	 *
+	 * @param peaks
+	 *            Peaks of the flight.
+	 * @param numPeaks
+	 *            Number of peaks of the flight.
+	 */
+	private void countFlight(double[] peaks, int numPeaks) {
+
+		// reset matrix and classes
+		for (double[] row : flight_) {
+			Arrays.fill(row, 0.0);
+		}
+		ip1_ = 0;
+		ip2_ = 0;
+
+		// loop over peaks
+		for (int i = 0; i < numPeaks; i++) {
+			stack_.add(peaks[i]);
+		}
+
+		// count residue as half cycles
+		stack_.finish();
+
+		// set matrix diagonal to zero
+		for (int i = 1; i <= NUM_CLASSES; i++) {
+			flight_[i][i] = 0.0;
+		}
+	}
+
+	/**
+	 * Adds given rainflow cycle to flight from-to matrix.
+	 *
+	 * @param from
+	 *            Start stress of the cycle.
+	 * @param to
+	 *            End stress of the cycle.
+	 * @param isHalf
+	 *            True if this is a half cycle from the residue.
+	 */
+	private void addCycle(double from, double to, boolean isHalf) {
+
+		// closed cycle
+		if (!isHalf) {
+			ip1_ = classify(to, ip1_);
+			ip2_ = classify(from, ip2_);
+			flight_[ip2_][ip1_]++;
+			flight_[ip1_][ip2_]++;
+		}
+
+		// half cycle
+		else {
+			ip2_ = classify(to, ip2_);
+			ip1_ = classify(from, ip1_);
+			flight_[ip2_][ip1_]++;
+		}
+	}
+
+	/**
+	 * Returns the class of given stress. The class is the first class whose upper limit is greater than (or within the accuracy of) the stress. Since class limits are ascending, the class is found by binary search.
+	 *
+	 * @param stress
+	 *            Stress.
+	 * @param previous
+	 *            Previous class. This is returned if the stress exceeds all class limits.
+	 * @return The class of given stress.
+	 */
+	private int classify(double stress, int previous) {
+
+		// exceeds all class limits
+		if (!isInClass(stress, NUM_CLASSES + 1))
+			return previous;
+
+		// binary search for first matching limit
+		int low = 2, high = NUM_CLASSES + 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (isInClass(stress, mid)) {
+				high = mid;
+			}
+			else {
+				low = mid + 1;
+			}
+		}
+		return low - 1;
+	}
+
+	/**
+	 * Returns true if given stress is below or within the accuracy of given class limit.
+	 *
+	 * @param stress
+	 *            Stress.
+	 * @param limit
+	 *            Class limit index.
+	 * @return True if given stress is below or within the accuracy of given class limit.
+	 */
+	private boolean isInClass(double stress, int limit) {
+		return (stress <= limits_[limit]) || (Math.abs(stress - limits_[limit]) <= ACCURACY);
+	}
+
+	/**
+	 * Rounds given value to given number of decimal places, the same way as the rainflow script does. The script converts the value to string (i.e. 15 significant digits) before printing it with <code>%.nf</code> format, and
+	 * the printed value is parsed back. Both conversions are half-even rounding of the exact binary value.
+	 *
+	 * @param value
+	 *            Value to round.
+	 * @param scale
+	 *            Number of decimal places.
+	 * @return The rounded value.
+	 */
+	private static double round(double value, int scale) {
+		double string = new BigDecimal(value).round(STRING_PRECISION).doubleValue();
+		double rounded = new BigDecimal(string).setScale(scale, RoundingMode.HALF_EVEN).doubleValue();
+		return (rounded == 0.0) && (value < 0.0) ? -0.0 : rounded;
+	}
+}
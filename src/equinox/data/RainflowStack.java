@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.Arrays;
+
+/**
+ * Class for rainflow stack. Peaks are pushed one by one into the stack, and closed cycles are extracted with the 4-point method as soon as they are closed. The remaining peaks (i.e. residue) are extracted as half cycles when
+ * the stack is finished. This is the same algorithm as used by the rainflow script.
+ * <p>
+ * Note that, this class is not thread safe.
+ *
+ * @author Murat Artim
+ * @date 27 Oct 2018
+ * @time 10:08:52
+ */
+public class RainflowStack {
+
+	/** Cycle handler. */
+	private final CycleHandler handler_;
+
+	/** Stack. */
+	private double[] stack_ = new double[256];
+
+	/** Number of peaks in the stack. */
+	private int size_ = 0;
+
+	/**
+	 * Creates rainflow stack.
+	 *
+	 * @param handler
+	 *            Cycle handler. Extracted cycles are passed to this handler.
+	 */
+	public RainflowStack(CycleHandler handler) {
+		handler_ = handler;
+	}
+
+	/**
+	 * Pushes given peak into the stack and extracts closed cycles.
+	 *
+	 * @param peak
+	 *            Peak to push.
+	 */
+	public void add(double peak) {
+
+		// push peak
+		if (size_ == stack_.length) {
+			stack_ = Arrays.copyOf(stack_, 2 * size_);
+		}
+		double[] s = stack_;
+		s[size_++] = peak;
+
+		// extract closed cycles
+		int p = size_ - 1;
+		while ((p >= 3) && ((s[p - 2] > s[p - 3] && s[p - 1] >= s[p - 3] && s[p] >= s[p - 2]) || (s[p - 2] < s[p - 3] && s[p - 1] <= s[p - 3] && s[p] <= s[p - 2]))) {
+			handler_.addCycle(s[p - 2], s[p - 1], false);
+			s[p - 2] = s[p];
+			p -= 2;
+		}
+		size_ = p + 1;
+	}
+
+	/**
+	 * Extracts the residue as half cycles and clears the stack.
+	 */
+	public void finish() {
+		for (int i = 0; i < (size_ - 1); i++) {
+			handler_.addCycle(stack_[i], stack_[i + 1], true);
+		}
+		size_ = 0;
+	}
+
+	/**
+	 * Clears the stack without extracting the residue.
+	 */
+	public void clear() {
+		size_ = 0;
+	}
+
+	/**
+	 * Interface for rainflow cycle handler.
+	 *
+	 * @author Murat Artim
+	 * @date 27 Oct 2018
+	 * @time 10:09:37
+	 */
+	public interface CycleHandler {
+
+		/**
+		 * Called for each extracted cycle.
+		 *
+		 * @param from
+		 *            Start stress of the cycle.
+		 * @param to
+		 *            End stress of the cycle.
+		 * @param isHalf
+		 *            True if this is a half cycle from the residue.
+		 */
+		void addCycle(double from, double to, boolean isHalf);
+	}
+}
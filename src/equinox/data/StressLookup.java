@@ -0,0 +1,396 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Class for in-memory stress lookup table of an STF, TXT and conversion table triple. Issy codes are mapped to dense integer IDs, and the STF stresses (resolved for the selected stress component) are stored in a primitive array
+ * indexed by these IDs. Similarly, 1g codes are mapped to dense integer IDs, and the 1g code entries (together with their increment codes) are stored in an array indexed by these IDs.
+ *
+ * @author Murat Artim
+ * @date 22 Oct 2018
+ * @time 09:41:17
+ */
+public class StressLookup {
+
+	/** Issy code IDs. */
+	private final HashMap<String, Integer> issyCodeIDs_ = new HashMap<>();
+
+	/** STF stresses indexed by issy code IDs. */
+	private double[] stresses_ = new double[256];
+
+	/** True if STF stress is set for the issy code ID. */
+	private boolean[] isSet_ = new boolean[256];
+
+	/** 1g code IDs. */
+	private final HashMap<String, Integer> onegCodeIDs_ = new HashMap<>();
+
+	/** 1g code entries indexed by 1g code IDs. */
+	private OnegCode[] onegCodes_ = new OnegCode[64];
+
+	/**
+	 * Returns the ID of given issy code. A new ID is created if the issy code is not yet registered.
+	 *
+	 * @param issyCode
+	 *            Issy code.
+	 * @return The ID of given issy code.
+	 */
+	public int getIssyCodeID(String issyCode) {
+
+		// already registered
+		Integer id = issyCodeIDs_.get(issyCode);
+		if (id != null)
+			return id;
+
+		// register
+		id = issyCodeIDs_.size();
+		issyCodeIDs_.put(issyCode, id);
+
+		// grow arrays
+		if (id >= stresses_.length) {
+			stresses_ = Arrays.copyOf(stresses_, 2 * stresses_.length);
+			isSet_ = Arrays.copyOf(isSet_, 2 * isSet_.length);
+		}
+		return id;
+	}
+
+	/**
+	 * Sets STF stress of given issy code. Note that, only the first stress of an issy code is taken into account.
+	 *
+	 * @param issyCode
+	 *            Issy code.
+	 * @param stress
+	 *            STF stress.
+	 */
+	public void setSTFStress(String issyCode, double stress) {
+		int id = getIssyCodeID(issyCode);
+		if (!isSet_[id]) {
+			stresses_[id] = stress;
+			isSet_[id] = true;
+		}
+	}
+
+	/**
+	 * Returns STF stress for given issy code ID, or 0 if the issy code is not contained in the STF file.
+	 *
+	 * @param issyCodeID
+	 *            Issy code ID.
+	 * @return STF stress.
+	 */
+	public double getSTFStress(int issyCodeID) {
+		return issyCodeID < 0 ? 0.0 : stresses_[issyCodeID];
+	}
+
+	/**
+	 * Returns STF stress for given issy code, or 0 if the issy code is not contained in the STF file.
+	 *
+	 * @param issyCode
+	 *            Issy code.
+	 * @return STF stress.
+	 */
+	public double getSTFStress(String issyCode) {
+		Integer id = issyCode == null ? null : issyCodeIDs_.get(issyCode);
+		return id == null ? 0.0 : stresses_[id];
+	}
+
+	/**
+	 * Returns 1g code entry, creating it if it doesn't exist.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @return 1g code entry.
+	 */
+	private OnegCode getOrCreateOnegCode(String onegCode) {
+
+		// already registered
+		Integer id = onegCodeIDs_.get(onegCode);
+		if (id != null)
+			return onegCodes_[id];
+
+		// register
+		id = onegCodeIDs_.size();
+		onegCodeIDs_.put(onegCode, id);
+
+		// grow array
+		if (id >= onegCodes_.length) {
+			onegCodes_ = Arrays.copyOf(onegCodes_, 2 * onegCodes_.length);
+		}
+
+		// create entry
+		OnegCode code = new OnegCode();
+		onegCodes_[id] = code;
+		return code;
+	}
+
+	/**
+	 * Sets 1g issy code. Note that, if there are multiple issy codes for the same 1g code, the last one is taken into account.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @param issyCode
+	 *            Issy code.
+	 * @param event
+	 *            Flight phase.
+	 * @param segmentNum
+	 *            Segment number (1g order).
+	 */
+	public void setOnegIssyCode(String onegCode, String issyCode, String event, int segmentNum) {
+		OnegCode code = getOrCreateOnegCode(onegCode);
+		code.issyCode_ = issyCode;
+		code.issyCodeID_ = getIssyCodeID(issyCode);
+		code.event_ = event;
+		code.segmentNum_ = segmentNum;
+	}
+
+	/**
+	 * Adds increment issy code.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @param incrementNum
+	 *            Increment number.
+	 * @param direction
+	 *            Direction number.
+	 * @param nlFactor
+	 *            Non-linear factor number. Can be null.
+	 * @param issyCode
+	 *            Issy code.
+	 * @param event
+	 *            Flight phase.
+	 * @param factors
+	 *            Increment factors (8 factors).
+	 */
+	public void addIncrementIssyCode(String onegCode, int incrementNum, String direction, String nlFactor, String issyCode, String event, double[] factors) {
+		getOrCreateOnegCode(onegCode).increments_.add(new IncrementCode(incrementNum, direction, nlFactor, issyCode, getIssyCodeID(issyCode), event, factors));
+	}
+
+	/**
+	 * Returns the ID of given 1g code, or -1 if no such 1g code exists.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @return The ID of given 1g code, or -1 if no such 1g code exists.
+	 */
+	public int getOnegCodeID(String onegCode) {
+		Integer id = onegCode == null ? null : onegCodeIDs_.get(onegCode);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns 1g code entry for given 1g code ID, or null if the 1g code doesn't exist.
+	 *
+	 * @param onegCodeID
+	 *            1g code ID.
+	 * @return 1g code entry, or null if the 1g code doesn't exist.
+	 */
+	public OnegCode getOnegCode(int onegCodeID) {
+		return onegCodeID < 0 ? null : onegCodes_[onegCodeID];
+	}
+
+	/**
+	 * Returns 1g code entry, or null if no such 1g code exists.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @return 1g code entry, or null if no such 1g code exists.
+	 */
+	public OnegCode getOnegCode(String onegCode) {
+		return getOnegCode(getOnegCodeID(onegCode));
+	}
+
+	/**
+	 * Class for 1g code entry.
+	 *
+	 * @author Murat Artim
+	 * @date 22 Oct 2018
+	 * @time 09:52:03
+	 */
+	public static class OnegCode {
+
+		/** 1g issy code and flight phase. */
+		private String issyCode_ = null, event_ = null;
+
+		/** 1g issy code ID. */
+		private int issyCodeID_ = -1;
+
+		/** Segment number. */
+		private int segmentNum_ = -1;
+
+		/** Increment issy codes. */
+		private final ArrayList<IncrementCode> increments_ = new ArrayList<>();
+
+		/**
+		 * Returns 1g issy code, or null if there is no 1g issy code.
+		 *
+		 * @return 1g issy code, or null if there is no 1g issy code.
+		 */
+		public String getIssyCode() {
+			return issyCode_;
+		}
+
+		/**
+		 * Returns 1g issy code ID, or -1 if there is no 1g issy code.
+		 *
+		 * @return 1g issy code ID, or -1 if there is no 1g issy code.
+		 */
+		public int getIssyCodeID() {
+			return issyCodeID_;
+		}
+
+		/**
+		 * Returns flight phase of 1g issy code.
+		 *
+		 * @return Flight phase of 1g issy code.
+		 */
+		public String getEvent() {
+			return event_;
+		}
+
+		/**
+		 * Returns segment number.
+		 *
+		 * @return Segment number.
+		 */
+		public int getSegmentNumber() {
+			return segmentNum_;
+		}
+
+		/**
+		 * Returns increment issy codes.
+		 *
+		 * @return Increment issy codes.
+		 */
+		public ArrayList<IncrementCode> getIncrements() {
+			return increments_;
+		}
+	}
+
+	/**
+	 * Class for increment code entry.
+	 *
+	 * @author Murat Artim
+	 * @date 22 Oct 2018
+	 * @time 09:55:40
+	 */
+	public static class IncrementCode {
+
+		/** Increment number. */
+		private final int incrementNum_;
+
+		/** Direction and non-linear factor numbers. */
+		private final String direction_, nlFactor_;
+
+		/** Issy code and flight phase. */
+		private final String issyCode_, event_;
+
+		/** Issy code ID. */
+		private final int issyCodeID_;
+
+		/** Increment factors. */
+		private final double[] factors_;
+
+		/**
+		 * Creates increment code entry.
+		 *
+		 * @param incrementNum
+		 *            Increment number.
+		 * @param direction
+		 *            Direction number.
+		 * @param nlFactor
+		 *            Non-linear factor number. Can be null.
+		 * @param issyCode
+		 *            Issy code.
+		 * @param issyCodeID
+		 *            Issy code ID.
+		 * @param event
+		 *            Flight phase.
+		 * @param factors
+		 *            Increment factors (8 factors).
+		 */
+		public IncrementCode(int incrementNum, String direction, String nlFactor, String issyCode, int issyCodeID, String event, double[] factors) {
+			incrementNum_ = incrementNum;
+			direction_ = direction;
+			nlFactor_ = nlFactor;
+			issyCode_ = issyCode;
+			issyCodeID_ = issyCodeID;
+			event_ = event;
+			factors_ = factors;
+		}
+
+		/**
+		 * Returns true if this entry matches the given class code block.
+		 *
+		 * @param incrementNum
+		 *            Increment number.
+		 * @param direction
+		 *            Direction number.
+		 * @param factorNum
+		 *            Factor number.
+		 * @return True if this entry matches the given class code block.
+		 */
+		public boolean matches(int incrementNum, String direction, String factorNum) {
+			return incrementNum_ == incrementNum && direction.equals(direction_) && (nlFactor_ == null || nlFactor_.equals(factorNum));
+		}
+
+		/**
+		 * Returns issy code.
+		 *
+		 * @return Issy code.
+		 */
+		public String getIssyCode() {
+			return issyCode_;
+		}
+
+		/**
+		 * Returns issy code ID.
+		 *
+		 * @return Issy code ID.
+		 */
+		public int getIssyCodeID() {
+			return issyCodeID_;
+		}
+
+		/**
+		 * Returns flight phase of increment issy code.
+		 *
+		 * @return Flight phase of increment issy code.
+		 */
+		public String getEvent() {
+			return event_;
+		}
+
+		/**
+		 * Returns the increment factor for given factor number.
+		 *
+		 * @param factorNum
+		 *            Factor number (1 to 8).
+		 * @return The increment factor.
+		 * @throws Exception
+		 *             If invalid factor number is given.
+		 */
+		public double getFactor(String factorNum) throws Exception {
+			try {
+				return factors_[Integer.parseInt(factorNum) - 1];
+			}
+			catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+				throw new Exception("Invalid increment factor number '" + factorNum + "' supplied for issy code '" + issyCode_ + "'.", e);
+			}
+		}
+	}
+}
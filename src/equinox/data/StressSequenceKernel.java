@@ -0,0 +1,776 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import equinox.data.input.GenerateStressSequenceInput;
+import equinox.data.input.StressSequenceInput;
+import equinox.utility.Utility;
+
+/**
+ * Class for stress sequence kernel. The kernel computes the total stress of ANA peaks from the in-memory stress lookup table, delta-p ratio and delta-t interpolator. 1g and increment stresses are computed once per class code, and the
+ * stress modifiers of each segment are compiled into modifier chains, so that computing a peak requires neither database access nor string comparisons. When peaks are passed with {@link ANAPeakCursor}, the entries are
+ * additionally indexed by class code ID, so that no hashing is needed per peak.
+ * <p>
+ * Note that, the kernel is not thread safe. The components of the last computed peak can be retrieved after each call to {@link #computeStress(String, double, double)} or {@link #computeStress(ANAPeakCursor)}.
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 09:31:08
+ */
+public class StressSequenceKernel {
+
+	/** Compiled stress modification methods. */
+	private static final byte MULTIPLY = 0, ADD = 1, SET = 2;
+
+	/** Stress sequence input. */
+	private final StressSequenceInput input_;
+
+	/** Stress lookup table. */
+	private final StressLookup lookup_;
+
+	/** Delta-p ratio. Can be null. */
+	private final DPRatio dpRatio_;
+
+	/** Delta-t interpolator. Can be null. */
+	private final DTInterpolator dtInterpolator_;
+
+	/** True to set negative total stresses to zero. */
+	private final boolean removeNegativeStresses_;
+
+	/** 1g stresses mapped to 1g codes. */
+	private final HashMap<String, OnegEntry> oneg_ = new HashMap<>();
+
+	/** Increment stresses mapped to class codes. */
+	private final HashMap<String, IncrementEntry> inc_ = new HashMap<>();
+
+	/** Increment stresses indexed by class code IDs. Class code IDs must belong to a single class code dictionary. */
+	private IncrementEntry[] incByID_ = new IncrementEntry[256];
+
+	/** 1g stresses indexed by 1g code IDs. 1g code IDs must belong to a single class code dictionary. */
+	private OnegEntry[] onegByID_ = new OnegEntry[64];
+
+	/** Increment stress of last computed peak. */
+	private IncrementEntry lastInc_ = null;
+
+	/** Delta-p and delta-t stresses of last computed peak. */
+	private double lastDP_ = 0.0, lastDT_ = 0.0;
+
+	/** True if the class code of last computed peak was encountered for the first time. */
+	private boolean isNewClassCode_ = false;
+
+	/**
+	 * Creates stress sequence kernel.
+	 *
+	 * @param input
+	 *            Stress sequence input.
+	 * @param lookup
+	 *            Stress lookup table.
+	 * @param dpRatio
+	 *            Delta-p ratio. Can be null.
+	 * @param dtInterpolator
+	 *            Delta-t interpolator. Can be null.
+	 * @param removeNegativeStresses
+	 *            True to set negative total stresses to zero.
+	 */
+	public StressSequenceKernel(StressSequenceInput input, StressLookup lookup, DPRatio dpRatio, DTInterpolator dtInterpolator, boolean removeNegativeStresses) {
+		input_ = input;
+		lookup_ = lookup;
+		dpRatio_ = dpRatio;
+		dtInterpolator_ = dtInterpolator;
+		removeNegativeStresses_ = removeNegativeStresses;
+	}
+
+	/**
+	 * Returns delta-p ratio, or null if there is no delta-p ratio.
+	 *
+	 * @return Delta-p ratio, or null if there is no delta-p ratio.
+	 */
+	public DPRatio getDPRatio() {
+		return dpRatio_;
+	}
+
+	/**
+	 * Returns delta-t interpolator, or null if there is no delta-t interpolation.
+	 *
+	 * @return Delta-t interpolator, or null if there is no delta-t interpolation.
+	 */
+	public DTInterpolator getDTInterpolator() {
+		return dtInterpolator_;
+	}
+
+	/**
+	 * Computes and returns the total stress of given ANA peak.
+	 *
+	 * @param classCode
+	 *            14 digit class code of the peak.
+	 * @param deltaP
+	 *            Delta-p pressure of the peak.
+	 * @param deltaT
+	 *            Delta-t temperature of the peak.
+	 * @return The total stress.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public double computeStress(String classCode, double deltaP, double deltaT) throws Exception {
+		return computeStress(getIncrementEntry(classCode, null), deltaP, deltaT);
+	}
+
+	/**
+	 * Computes and returns the total stress of current peak of given cursor. The increment and 1g stresses are looked up by the class code and 1g code IDs of the peak.
+	 *
+	 * @param peak
+	 *            ANA peak cursor positioned at the peak to compute. The class code dictionary of the cursor must be the same for all calls to this method.
+	 * @return The total stress.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public double computeStress(ANAPeakCursor peak) throws Exception {
+
+		// get increment stress
+		int id = peak.getClassCodeID();
+		if (id >= incByID_.length) {
+			incByID_ = Arrays.copyOf(incByID_, Math.max(2 * incByID_.length, id + 1));
+		}
+		IncrementEntry inc = incByID_[id];
+		if (inc == null) {
+
+			// get 1g stress
+			int onegID = peak.getOnegCodeID();
+			if (onegID >= onegByID_.length) {
+				onegByID_ = Arrays.copyOf(onegByID_, Math.max(2 * onegByID_.length, onegID + 1));
+			}
+			OnegEntry oneg = onegByID_[onegID];
+			if (oneg == null) {
+				oneg = getOnegEntry(peak.getDictionary().getOnegCode(onegID));
+				onegByID_[onegID] = oneg;
+			}
+
+			// get increment stress
+			inc = getIncrementEntry(peak.getFourteenDigitCode(), oneg);
+			incByID_[id] = inc;
+		}
+		else {
+			isNewClassCode_ = false;
+		}
+
+		// compute stress
+		return computeStress(inc, peak.getDeltaP(), peak.getDeltaT());
+	}
+
+	/**
+	 * Returns the increment entry of given class code. The entry is created if the class code is encountered for the first time.
+	 *
+	 * @param classCode
+	 *            14 digit class code.
+	 * @param oneg
+	 *            1g entry of the class code. Can be null (looked up by the 1g code of the class code).
+	 * @return The increment entry.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private IncrementEntry getIncrementEntry(String classCode, OnegEntry oneg) throws Exception {
+
+		// get increment stress
+		IncrementEntry inc = inc_.get(classCode);
+		isNewClassCode_ = inc == null;
+		if (inc == null) {
+
+			// get 1g stress
+			if (oneg == null) {
+				oneg = getOnegEntry(classCode.substring(0, 4));
+			}
+
+			// create increment stress
+			inc = createIncrementEntry(classCode, oneg);
+			inc_.put(classCode, inc);
+		}
+		return inc;
+	}
+
+	/**
+	 * Returns the 1g entry of given 1g code. The entry is created if the 1g code is encountered for the first time.
+	 *
+	 * @param onegCode
+	 *            1g code.
+	 * @return The 1g entry.
+	 */
+	private OnegEntry getOnegEntry(String onegCode) {
+		OnegEntry oneg = oneg_.get(onegCode);
+		if (oneg == null) {
+			oneg = createOnegEntry(lookup_.getOnegCode(onegCode));
+			oneg_.put(onegCode, oneg);
+		}
+		return oneg;
+	}
+
+	/**
+	 * Computes and returns the total stress of a peak with given increment entry.
+	 *
+	 * @param inc
+	 *            Increment entry of the class code of the peak.
+	 * @param deltaP
+	 *            Delta-p pressure of the peak.
+	 * @param deltaT
+	 *            Delta-t temperature of the peak.
+	 * @return The total stress.
+	 */
+	private double computeStress(IncrementEntry inc, double deltaP, double deltaT) {
+
+		// set last increment stress
+		lastInc_ = inc;
+
+		// compute and modify delta-p and delta-t stresses
+		OnegEntry oneg = inc.oneg_;
+		lastDP_ = oneg.dpModifier_ == null ? 0.0 : oneg.dpModifier_.apply(dpRatio_.getStress(deltaP));
+		lastDT_ = dtInterpolator_ == null ? 0.0 : dtInterpolator_.getStress(deltaT);
+		if (oneg.dtModifier_ != null) {
+			lastDT_ = oneg.dtModifier_.apply(lastDT_);
+		}
+
+		// compute total stress
+		double totalStress = oneg.stress_ + inc.stress_ + lastDP_ + lastDT_;
+
+		// remove negative stresses
+		if ((totalStress < 0.0) && removeNegativeStresses_) {
+			totalStress = 0.0;
+		}
+
+		// return total stress
+		return totalStress;
+	}
+
+	/**
+	 * Returns true if the class code of last computed peak was encountered for the first time.
+	 *
+	 * @return True if the class code of last computed peak was encountered for the first time.
+	 */
+	public boolean isNewClassCode() {
+		return isNewClassCode_;
+	}
+
+	/**
+	 * Returns 14 digit class code of last computed peak.
+	 *
+	 * @return 14 digit class code of last computed peak.
+	 */
+	public String getClassCode() {
+		return lastInc_.classCode_;
+	}
+
+	/**
+	 * Returns 1g stress of last computed peak.
+	 *
+	 * @return 1g stress of last computed peak.
+	 */
+	public double getOnegStress() {
+		return lastInc_.oneg_.stress_;
+	}
+
+	/**
+	 * Returns increment stress of last computed peak.
+	 *
+	 * @return Increment stress of last computed peak.
+	 */
+	public double getIncrementStress() {
+		return lastInc_.stress_;
+	}
+
+	/**
+	 * Returns delta-p stress of last computed peak.
+	 *
+	 * @return Delta-p stress of last computed peak.
+	 */
+	public double getDPStress() {
+		return lastDP_;
+	}
+
+	/**
+	 * Returns delta-t stress of last computed peak.
+	 *
+	 * @return Delta-t stress of last computed peak.
+	 */
+	public double getDTStress() {
+		return lastDT_;
+	}
+
+	/**
+	 * Returns segment of last computed peak.
+	 *
+	 * @return Segment of last computed peak.
+	 */
+	public Segment getSegment() {
+		return lastInc_.oneg_.segment_;
+	}
+
+	/**
+	 * Returns 1g event of last computed peak, or null if there is no 1g issy code for the peak.
+	 *
+	 * @return 1g event of last computed peak, or null if there is no 1g issy code for the peak.
+	 */
+	public String getOnegEvent() {
+		return lastInc_.oneg_.event_;
+	}
+
+	/**
+	 * Returns comma separated increment events of last computed peak, or null if there is no increment for the peak.
+	 *
+	 * @return Comma separated increment events of last computed peak, or null if there is no increment for the peak.
+	 */
+	public String getIncrementEvent() {
+		return lastInc_.event_;
+	}
+
+	/**
+	 * Creates 1g entry for given 1g code entry of stress lookup table.
+	 *
+	 * @param oneg
+	 *            1g code entry of stress lookup table. Can be null if the 1g code is not contained in the TXT file.
+	 * @return The newly created 1g entry.
+	 */
+	private OnegEntry createOnegEntry(StressLookup.OnegCode oneg) {
+
+		// get 1G issy code and event name
+		String issyCode = null, event = null, segmentName = null;
+		int segmentNum = -1;
+		if ((oneg != null) && (oneg.getIssyCode() != null)) {
+			issyCode = oneg.getIssyCode();
+			event = oneg.getEvent();
+			segmentNum = oneg.getSegmentNumber();
+			segmentName = Utility.extractSegmentName(event);
+		}
+
+		// create segment
+		Segment segment = new Segment(segmentName, segmentNum);
+
+		// compute and modify 1g stress
+		double stress = modifyStress(input_, issyCode, segment, GenerateStressSequenceInput.ONEG, oneg == null ? 0.0 : lookup_.getSTFStress(oneg.getIssyCodeID()));
+
+		// compile delta-p modifier
+		Modifier dpModifier = dpRatio_ == null ? null : Modifier.compile(input_, segment, GenerateStressSequenceInput.DELTAP, dpRatio_.getIssyCode(), null);
+
+		// compile delta-t modifier
+		Modifier dtModifier = null;
+		if (dtInterpolator_ instanceof DT1PointInterpolator) {
+			dtModifier = Modifier.compile(input_, segment, GenerateStressSequenceInput.DELTAT, ((DT1PointInterpolator) dtInterpolator_).getIssyCode(), null);
+		}
+		else if (dtInterpolator_ instanceof DT2PointsInterpolator) {
+			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator_;
+			dtModifier = Modifier.compile(input_, segment, GenerateStressSequenceInput.DELTAT, twoPoints.getIssyCodeSup(), twoPoints.getIssyCodeInf());
+		}
+
+		// create 1g stress
+		return new OnegEntry(oneg, segment, stress, event, dpModifier, dtModifier);
+	}
+
+	/**
+	 * Creates increment entry for given class code.
+	 *
+	 * @param classCode
+	 *            14 digit class code.
+	 * @param oneg
+	 *            1g stress of the class code.
+	 * @return The newly created increment entry.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private IncrementEntry createIncrementEntry(String classCode, OnegEntry oneg) throws Exception {
+
+		// add default increment stress
+		double totalIncrementStress = 0.0;
+		String event = null;
+
+		// get 1g code
+		StressLookup.OnegCode code = oneg.code_;
+		if (code == null)
+			return new IncrementEntry(classCode, oneg, totalIncrementStress, event);
+
+		// loop over increments
+		for (int i = 0; i < 5; i++) {
+
+			// get increment block
+			String block = classCode.substring((2 * i) + 4, (2 * i) + 6);
+
+			// no increment
+			if (block.equals("00")) {
+				continue;
+			}
+
+			// get direction and factor numbers
+			String direction = block.substring(1);
+			String factorNum = block.substring(0, 1);
+
+			// loop over increments
+			for (StressLookup.IncrementCode increment : code.getIncrements()) {
+
+				// not matching
+				if (!increment.matches(i + 1, direction, factorNum)) {
+					continue;
+				}
+
+				// compute and modify increment stress
+				double stress = increment.getFactor(factorNum) * lookup_.getSTFStress(increment.getIssyCodeID());
+				stress = modifyStress(input_, increment.getIssyCode(), oneg.segment_, GenerateStressSequenceInput.INCREMENT, stress);
+
+				// add to total increment stress
+				totalIncrementStress += stress;
+				event = event == null ? increment.getEvent() : event + "," + increment.getEvent();
+			}
+		}
+
+		// create increment stress
+		return new IncrementEntry(classCode, oneg, totalIncrementStress, event);
+	}
+
+	/**
+	 * Modifies and returns stress according to segment, issy code and stress type. Note that, the modifier chain is compiled on every call. So, this method should only be used for stresses computed once per class code.
+	 * Stresses computed per peak should be modified with {@link ModifierCache}.
+	 *
+	 * @param input
+	 *            Stress sequence input.
+	 * @param issyCode
+	 *            ISSY code. Can be null.
+	 * @param segment
+	 *            Segment. Can be null.
+	 * @param stressType
+	 *            Stress type (1g, increment, delta-p or delta-t stress).
+	 * @param stress
+	 *            Stress value extracted from STF file.
+	 * @return The modified stress value.
+	 */
+	public static double modifyStress(StressSequenceInput input, String issyCode, Segment segment, int stressType, double stress) {
+		return Modifier.compile(input, segment, stressType, issyCode, null).apply(stress);
+	}
+
+	/**
+	 * Inner class for cache of compiled stress modifiers. Modifier chains are compiled once per segment, issy code and stress type, so that modifying per peak stresses (such as delta-p and delta-t stresses) requires
+	 * neither allocation nor string comparisons. Segments are cached by identity, since they are shared by the peaks of a 1g code.
+	 * <p>
+	 * Note that, this class is not thread safe.
+	 *
+	 * @author Murat Artim
+	 * @date 3 Nov 2018
+	 * @time 10:14:52
+	 */
+	public static class ModifierCache {
+
+		/** Stress sequence input. */
+		private final StressSequenceInput input_;
+
+		/** Compiled modifiers mapped to segments and issy codes. Modifiers are indexed by stress type. */
+		private final IdentityHashMap<Segment, HashMap<String, Modifier[]>> modifiers_ = new IdentityHashMap<>();
+
+		/** Compiled 2 points delta-t modifiers mapped to segments and interpolators. */
+		private final IdentityHashMap<Segment, IdentityHashMap<DT2PointsInterpolator, Modifier>> dt2Modifiers_ = new IdentityHashMap<>();
+
+		/**
+		 * Creates modifier cache.
+		 *
+		 * @param input
+		 *            Stress sequence input.
+		 */
+		public ModifierCache(StressSequenceInput input) {
+			input_ = input;
+		}
+
+		/**
+		 * Modifies and returns stress according to segment, issy code and stress type.
+		 *
+		 * @param issyCode
+		 *            ISSY code. Can be null.
+		 * @param segment
+		 *            Segment. Can be null.
+		 * @param stressType
+		 *            Stress type (1g, increment, delta-p or delta-t stress).
+		 * @param stress
+		 *            Stress value to modify.
+		 * @return The modified stress value.
+		 */
+		public double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
+
+			// get modifiers of segment
+			HashMap<String, Modifier[]> segmentModifiers = modifiers_.get(segment);
+			if (segmentModifiers == null) {
+				segmentModifiers = new HashMap<>();
+				modifiers_.put(segment, segmentModifiers);
+			}
+
+			// get modifiers of issy code
+			Modifier[] issyModifiers = segmentModifiers.get(issyCode);
+			if (issyModifiers == null) {
+				issyModifiers = new Modifier[4];
+				segmentModifiers.put(issyCode, issyModifiers);
+			}
+
+			// get modifier of stress type
+			Modifier modifier = issyModifiers[stressType];
+			if (modifier == null) {
+				modifier = Modifier.compile(input_, segment, stressType, issyCode, null);
+				issyModifiers[stressType] = modifier;
+			}
+
+			// modify stress
+			return modifier.apply(stress);
+		}
+
+		/**
+		 * Modifies and returns 2 points interpolated delta-t stress according to segment.
+		 *
+		 * @param interpolator
+		 *            2 points delta-t interpolator.
+		 * @param segment
+		 *            Segment. Can be null.
+		 * @param stress
+		 *            Interpolated delta-t stress.
+		 * @return The modified stress value.
+		 */
+		public double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
+
+			// get modifiers of segment
+			IdentityHashMap<DT2PointsInterpolator, Modifier> segmentModifiers = dt2Modifiers_.get(segment);
+			if (segmentModifiers == null) {
+				segmentModifiers = new IdentityHashMap<>();
+				dt2Modifiers_.put(segment, segmentModifiers);
+			}
+
+			// get modifier of interpolator
+			Modifier modifier = segmentModifiers.get(interpolator);
+			if (modifier == null) {
+				modifier = Modifier.compile(input_, segment, GenerateStressSequenceInput.DELTAT, interpolator.getIssyCodeSup(), interpolator.getIssyCodeInf());
+				segmentModifiers.put(interpolator, modifier);
+			}
+
+			// modify stress
+			return modifier.apply(stress);
+		}
+	}
+
+	/**
+	 * Inner class for compiled chain of stress modifiers. The overall, segment and loadcase modifiers are applied in the given order.
+	 *
+	 * @author Murat Artim
+	 * @date 23 Oct 2018
+	 * @time 09:48:22
+	 */
+	private static class Modifier {
+
+		/** Modification methods. */
+		private byte[] methods_ = new byte[3];
+
+		/** Modification values. */
+		private double[] values_ = new double[3];
+
+		/** Number of modifiers. */
+		private int size_ = 0;
+
+		/**
+		 * Compiles stress modifier chain.
+		 *
+		 * @param input
+		 *            Stress sequence input.
+		 * @param segment
+		 *            Segment. Can be null.
+		 * @param stressType
+		 *            Stress type (1g, increment, delta-p or delta-t stress).
+		 * @param issyCode
+		 *            Issy code. Can be null.
+		 * @param issyCode2
+		 *            Second issy code to match loadcase factors (used for 2 points delta-t interpolation). Can be null.
+		 * @return The compiled modifier chain.
+		 */
+		private static Modifier compile(StressSequenceInput input, Segment segment, int stressType, String issyCode, String issyCode2) {
+
+			// create modifier
+			Modifier modifier = new Modifier();
+
+			// add overall factors
+			modifier.add(input.getStressModificationMethod(stressType), input.getStressModificationValue(stressType));
+
+			// add segment factors
+			if ((segment != null) && (input.getSegmentFactors() != null)) {
+				for (SegmentFactor sFactor : input.getSegmentFactors())
+					if (sFactor.getSegment().equals(segment)) {
+						modifier.add(sFactor.getModifierMethod(stressType), sFactor.getModifierValue(stressType));
+						break;
+					}
+			}
+
+			// add loadcase factors
+			if (input.getLoadcaseFactors() != null) {
+				for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
+					if (eFactor.getLoadcaseNumber().equals(issyCode) || ((issyCode2 != null) && eFactor.getLoadcaseNumber().equals(issyCode2))) {
+						modifier.add(eFactor.getModifierMethod(), eFactor.getModifierValue());
+						break;
+					}
+			}
+
+			// return modifier
+			return modifier;
+		}
+
+		/**
+		 * Adds modifier to chain.
+		 *
+		 * @param method
+		 *            Modification method.
+		 * @param value
+		 *            Modification value.
+		 */
+		private void add(String method, double value) {
+
+			// get compiled method
+			byte compiled;
+			if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
+				compiled = MULTIPLY;
+			}
+			else if (method.equals(GenerateStressSequenceInput.ADD)) {
+				compiled = ADD;
+			}
+			else if (method.equals(GenerateStressSequenceInput.SET)) {
+				compiled = SET;
+			}
+			else
+				return;
+
+			// grow arrays
+			if (size_ == methods_.length) {
+				methods_ = Arrays.copyOf(methods_, 2 * size_);
+				values_ = Arrays.copyOf(values_, 2 * size_);
+			}
+
+			// add modifier
+			methods_[size_] = compiled;
+			values_[size_] = value;
+			size_++;
+		}
+
+		/**
+		 * Applies modifier chain to given stress.
+		 *
+		 * @param stress
+		 *            Stress to modify.
+		 * @return The modified stress.
+		 */
+		private double apply(double stress) {
+			for (int i = 0; i < size_; i++) {
+				if (methods_[i] == MULTIPLY) {
+					stress *= values_[i];
+				}
+				else if (methods_[i] == ADD) {
+					stress += values_[i];
+				}
+				else {
+					stress = values_[i];
+				}
+			}
+			return stress;
+		}
+	}
+
+	/**
+	 * Inner class for 1g entry of a 1g code.
+	 *
+	 * @author Murat Artim
+	 * @date 23 Oct 2018
+	 * @time 09:52:40
+	 */
+	private static class OnegEntry {
+
+		/** 1g code entry of stress lookup table. Null if the 1g code is not contained in the TXT file. */
+		private final StressLookup.OnegCode code_;
+
+		/** Segment. */
+		private final Segment segment_;
+
+		/** 1g stress. */
+		private final double stress_;
+
+		/** 1g event. */
+		private final String event_;
+
+		/** Compiled delta-p and delta-t modifiers of the segment. Null if there is no delta-p or delta-t stress. */
+		private final Modifier dpModifier_, dtModifier_;
+
+		/**
+		 * Creates 1g entry.
+		 *
+		 * @param code
+		 *            1g code entry of stress lookup table. Can be null.
+		 * @param segment
+		 *            Segment.
+		 * @param stress
+		 *            1g stress.
+		 * @param event
+		 *            1g event. Can be null.
+		 * @param dpModifier
+		 *            Compiled delta-p modifier. Can be null.
+		 * @param dtModifier
+		 *            Compiled delta-t modifier. Can be null.
+		 */
+		public OnegEntry(StressLookup.OnegCode code, Segment segment, double stress, String event, Modifier dpModifier, Modifier dtModifier) {
+			code_ = code;
+			segment_ = segment;
+			stress_ = stress;
+			event_ = event;
+			dpModifier_ = dpModifier;
+			dtModifier_ = dtModifier;
+		}
+	}
+
+	/**
+	 * Inner class for increment entry of a class code.
+	 *
+	 * @author Murat Artim
+	 * @date 23 Oct 2018
+	 * @time 09:54:17
+	 */
+	private static class IncrementEntry {
+
+		/** 14 digit class code. */
+		private final String classCode_;
+
+		/** 1g stress of the class code. */
+		private final OnegEntry oneg_;
+
+		/** Total increment stress. */
+		private final double stress_;
+
+		/** Comma separated increment events. */
+		private final String event_;
+
+		/**
+		 * Creates increment entry.
+		 *
+		 * @param classCode
+		 *            14 digit class code.
+		 * @param oneg
+		 *            1g stress of the class code.
+		 * @param stress
+		 *            Total increment stress.
+		 * @param event
+		 *            Comma separated increment events. Can be null.
+		 */
+		public IncrementEntry(String classCode, OnegEntry oneg, double stress, String event) {
+			classCode_ = classCode;
+			oneg_ = oneg;
+			stress_ = stress;
+			event_ = event;
+		}
+	}
+}
@@ -30,7 +30,7 @@ import equinox.data.SegmentFactor;
  * @date Aug 7, 2014
  * @time 10:51:17 AM
  */
-public class DamageAngleInput implements Serializable {
+public class DamageAngleInput implements Serializable, StressSequenceInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -278,6 +278,7 @@ public class DamageAngleInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -289,6 +290,7 @@ public class DamageAngleInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -298,6 +300,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -307,6 +310,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
@@ -316,6 +320,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The reference delta-p.
 	 */
+	@Override
 	public Double getReferenceDP() {
 		return refDP_;
 	}
@@ -325,6 +330,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return Delta-p load case.
 	 */
+	@Override
 	public String getDPLoadcase() {
 		return dpLoadcase_;
 	}
@@ -334,6 +340,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return Delta-t interpolation.
 	 */
+	@Override
 	public DTInterpolation getDTInterpolation() {
 		return dtInterpolation_;
 	}
@@ -343,6 +350,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The reference inferior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTInf() {
 		return refDTInf_;
 	}
@@ -352,6 +360,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return Inferior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseInf() {
 		return dtLoadcaseInf_;
 	}
@@ -361,6 +370,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The reference superior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTSup() {
 		return refDTSup_;
 	}
@@ -370,6 +380,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return Superior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseSup() {
 		return dtLoadcaseSup_;
 	}
@@ -31,7 +31,7 @@ import equinox.data.StressComponent;
  * @date Jun 14, 2016
  * @time 9:27:05 PM
  */
-public class FastEquivalentStressInput implements Serializable {
+public class FastEquivalentStressInput implements Serializable, StressSequenceInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -257,6 +257,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -268,6 +269,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -277,6 +279,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -286,6 +289,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
@@ -295,6 +299,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The reference delta-p.
 	 */
+	@Override
 	public Double getReferenceDP() {
 		return refDP_;
 	}
@@ -304,6 +309,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return Delta-p load case.
 	 */
+	@Override
 	public String getDPLoadcase() {
 		return dpLoadcase_;
 	}
@@ -313,6 +319,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return Delta-t interpolation.
 	 */
+	@Override
 	public DTInterpolation getDTInterpolation() {
 		return dtInterpolation_;
 	}
@@ -322,6 +329,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The reference inferior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTInf() {
 		return refDTInf_;
 	}
@@ -331,6 +339,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return Inferior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseInf() {
 		return dtLoadcaseInf_;
 	}
@@ -340,6 +349,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The reference superior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTSup() {
 		return refDTSup_;
 	}
@@ -349,6 +359,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return Superior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseSup() {
 		return dtLoadcaseSup_;
 	}
@@ -33,7 +33,7 @@ import equinox.plugin.FileType;
  * @date Mar 26, 2014
  * @time 8:44:25 PM
  */
-public class GenerateStressSequenceInput implements Serializable {
+public class GenerateStressSequenceInput implements Serializable, StressSequenceInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -244,6 +244,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -255,6 +256,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -264,6 +266,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -273,6 +276,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
@@ -282,6 +286,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The reference delta-p.
 	 */
+	@Override
 	public Double getReferenceDP() {
 		return refDP_;
 	}
@@ -291,6 +296,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return Delta-p load case.
 	 */
+	@Override
 	public String getDPLoadcase() {
 		return dpLoadcase_;
 	}
@@ -300,6 +306,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return Delta-t interpolation.
 	 */
+	@Override
 	public DTInterpolation getDTInterpolation() {
 		return dtInterpolation_;
 	}
@@ -309,6 +316,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The reference inferior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTInf() {
 		return refDTInf_;
 	}
@@ -318,6 +326,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return Inferior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseInf() {
 		return dtLoadcaseInf_;
 	}
@@ -327,6 +336,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The reference superior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTSup() {
 		return refDTSup_;
 	}
@@ -336,6 +346,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return Superior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseSup() {
 		return dtLoadcaseSup_;
 	}
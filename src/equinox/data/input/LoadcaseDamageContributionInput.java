@@ -34,7 +34,7 @@ import javafx.collections.ObservableList;
  * @date Apr 2, 2015
  * @time 3:13:13 PM
  */
-public class LoadcaseDamageContributionInput implements Serializable {
+public class LoadcaseDamageContributionInput implements Serializable, StressSequenceInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -341,6 +341,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -352,6 +353,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -361,6 +363,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -370,6 +373,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
@@ -397,6 +401,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The reference delta-p.
 	 */
+	@Override
 	public Double getReferenceDP() {
 		return refDP_;
 	}
@@ -406,6 +411,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return Delta-p load case.
 	 */
+	@Override
 	public String getDPLoadcase() {
 		return dpLoadcase_;
 	}
@@ -415,6 +421,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return Delta-t interpolation.
 	 */
+	@Override
 	public DTInterpolation getDTInterpolation() {
 		return dtInterpolation_;
 	}
@@ -424,6 +431,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The reference inferior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTInf() {
 		return refDTInf_;
 	}
@@ -433,6 +441,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return Inferior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseInf() {
 		return dtLoadcaseInf_;
 	}
@@ -442,6 +451,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The reference superior delta-t.
 	 */
+	@Override
 	public Double getReferenceDTSup() {
 		return refDTSup_;
 	}
@@ -451,6 +461,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return Superior delta-t load case.
 	 */
+	@Override
 	public String getDTLoadcaseSup() {
 		return dtLoadcaseSup_;
 	}
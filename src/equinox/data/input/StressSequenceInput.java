@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data.input;
+
+import java.util.ArrayList;
+
+import equinox.data.DTInterpolation;
+import equinox.data.LoadcaseFactor;
+import equinox.data.SegmentFactor;
+
+/**
+ * Interface for inputs containing the stress sequence generation parameters (i.e. stress modifiers, delta-p and delta-t parameters).
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 09:12:34
+ */
+public interface StressSequenceInput {
+
+	/**
+	 * Returns the stress modification value.
+	 *
+	 * @param index
+	 *            The index of the stress modifier.
+	 * @return Stress modification value.
+	 */
+	double getStressModificationValue(int index);
+
+	/**
+	 * Returns the stress modification method.
+	 *
+	 * @param index
+	 *            The index of the stress modifier.
+	 * @return Stress modification method.
+	 */
+	String getStressModificationMethod(int index);
+
+	/**
+	 * Returns the loadcase factors or null if no factors defined.
+	 *
+	 * @return The loadcase factors or null if no factors defined.
+	 */
+	ArrayList<LoadcaseFactor> getLoadcaseFactors();
+
+	/**
+	 * Returns the segment factors or null if no factors defined.
+	 *
+	 * @return The segment factors or null if no factors defined.
+	 */
+	ArrayList<SegmentFactor> getSegmentFactors();
+
+	/**
+	 * Returns reference delta-p pressure, or null if not given.
+	 *
+	 * @return Reference delta-p pressure, or null if not given.
+	 */
+	Double getReferenceDP();
+
+	/**
+	 * Returns delta-p load case, or null if not given.
+	 *
+	 * @return Delta-p load case, or null if not given.
+	 */
+	String getDPLoadcase();
+
+	/**
+	 * Returns delta-t interpolation.
+	 *
+	 * @return Delta-t interpolation.
+	 */
+	DTInterpolation getDTInterpolation();
+
+	/**
+	 * Returns reference temperature for inferior delta-t load case, or null if not given.
+	 *
+	 * @return Reference temperature for inferior delta-t load case, or null if not given.
+	 */
+	Double getReferenceDTInf();
+
+	/**
+	 * Returns inferior delta-t load case, or null if not given.
+	 *
+	 * @return Inferior delta-t load case, or null if not given.
+	 */
+	String getDTLoadcaseInf();
+
+	/**
+	 * Returns reference temperature for superior delta-t load case, or null if not given.
+	 *
+	 * @return Reference temperature for superior delta-t load case, or null if not given.
+	 */
+	Double getReferenceDTSup();
+
+	/**
+	 * Returns superior delta-t load case, or null if not given.
+	 *
+	 * @return Superior delta-t load case, or null if not given.
+	 */
+	String getDTLoadcaseSup();
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import equinox.data.DPRatio;
+import equinox.data.DT1PointInterpolator;
+import equinox.data.DT2PointsInterpolator;
+import equinox.data.DTInterpolation;
+import equinox.data.DTInterpolator;
+import equinox.data.StressComponent;
+import equinox.data.StressLookup;
+import equinox.data.StressSequenceKernel;
+import equinox.data.fileType.Spectrum;
+import equinox.data.input.StressSequenceInput;
+import equinox.task.InternalEquinoxTask;
+
+/**
+ * Class for create stress sequence kernel process. The process loads the stress lookup table of the STF file, and computes delta-p ratio and delta-t interpolation of the spectrum.
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 10:21:45
+ */
+public class CreateStressSequenceKernel implements EquinoxProcess<StressSequenceKernel> {
+
+	/** The owner task of this process. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** Stress sequence input. */
+	private final StressSequenceInput input_;
+
+	/** Stress component. */
+	private final StressComponent component_;
+
+	/** Rotation angle (in radians). */
+	private final double angle_;
+
+	/** The owner spectrum. */
+	private final Spectrum spectrum_;
+
+	/** STF file and stress table IDs. */
+	private final int stfID_, stressTableID_;
+
+	/** True to set negative total stresses to zero. */
+	private final boolean removeNegativeStresses_;
+
+	/**
+	 * Creates create stress sequence kernel process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param input
+	 *            Stress sequence input.
+	 * @param component
+	 *            Stress component.
+	 * @param angle
+	 *            Rotation angle (in radians). Only used for rotated stress component.
+	 * @param spectrum
+	 *            The owner spectrum of the STF file.
+	 * @param stfID
+	 *            STF file ID.
+	 * @param stressTableID
+	 *            STF stress table ID.
+	 * @param removeNegativeStresses
+	 *            True to set negative total stresses to zero.
+	 */
+	public CreateStressSequenceKernel(InternalEquinoxTask<?> task, StressSequenceInput input, StressComponent component, double angle, Spectrum spectrum, int stfID, int stressTableID, boolean removeNegativeStresses) {
+		task_ = task;
+		input_ = input;
+		component_ = component;
+		angle_ = angle;
+		spectrum_ = spectrum;
+		stfID_ = stfID;
+		stressTableID_ = stressTableID;
+		removeNegativeStresses_ = removeNegativeStresses;
+	}
+
+	@Override
+	public StressSequenceKernel start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// get spectrum file IDs
+		int anaFileID = spectrum_.getANAFileID();
+		int txtFileID = spectrum_.getTXTFileID();
+		int convTableID = spectrum_.getConversionTableID();
+
+		// load stress lookup table
+		StressLookup lookup = new LoadStressLookup(task_, txtFileID, stfID_, stressTableID_, component_, angle_).start(connection);
+		if (lookup == null)
+			return null;
+
+		// get DP ratio
+		task_.updateMessage("Computing delta-p ratio...");
+		DPRatio dpRatio = getDPRatio(connection, lookup, anaFileID, txtFileID, convTableID);
+
+		// get DT parameters
+		task_.updateMessage("Computing delta-t interpolation...");
+		DTInterpolator dtInterpolator = getDTInterpolator(connection, lookup, txtFileID);
+
+		// create kernel
+		return new StressSequenceKernel(input_, lookup, dpRatio, dtInterpolator, removeNegativeStresses_);
+	}
+
+	/**
+	 * Returns delta-t interpolation, or null if no delta-t interpolation is supplied.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param lookup
+	 *            Stress lookup table.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 * @return Delta-t interpolation, or null if no delta-t interpolation is supplied.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private DTInterpolator getDTInterpolator(Connection connection, StressLookup lookup, int txtFileID) throws Exception {
+
+		// no delta-t interpolation
+		DTInterpolation interpolation = input_.getDTInterpolation();
+		if (interpolation.equals(DTInterpolation.NONE))
+			return null;
+
+		// get reference temperatures
+		double[] refTemp = new double[2];
+		refTemp[0] = input_.getReferenceDTSup() == null ? 0.0 : input_.getReferenceDTSup().doubleValue();
+		refTemp[1] = input_.getReferenceDTInf() == null ? 0.0 : input_.getReferenceDTInf().doubleValue();
+
+		// set variables
+		DTInterpolator dtInterpolator = null;
+
+		// get delta-t issy codes from TXT file
+		boolean supLCFound = false, infLCFound = false;
+		String sql = null;
+		if (interpolation.equals(DTInterpolation.ONE_POINT)) {
+			sql = "select flight_phase, issy_code from txt_codes where file_id = ? and issy_code = ?";
+		}
+		else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+			sql = "select flight_phase, issy_code from txt_codes where file_id = ? and (issy_code = ? or issy_code = ?)";
+		}
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, txtFileID); // TXT file ID
+			statement.setString(2, input_.getDTLoadcaseSup()); // superior load case
+			if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+				statement.setString(3, input_.getDTLoadcaseInf()); // inferior load case
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+
+				// loop over delta-t cases
+				while (resultSet.next()) {
+
+					// get issy code and delta-t stress
+					String issyCode = resultSet.getString("issy_code");
+					double stress = lookup.getSTFStress(issyCode);
+
+					// 1 point interpolation
+					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
+						dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+						supLCFound = true;
+						break;
+					}
+
+					// 2 points interpolation
+					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+
+						// create interpolator
+						if (dtInterpolator == null) {
+							dtInterpolator = new DT2PointsInterpolator();
+						}
+
+						// superior load case
+						if (issyCode.equals(input_.getDTLoadcaseSup())) {
+							((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+							supLCFound = true;
+						}
+
+						// inferior load case
+						else if (issyCode.equals(input_.getDTLoadcaseInf())) {
+							((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
+							infLCFound = true;
+						}
+					}
+				}
+			}
+		}
+
+		// delta-t load case could not be found
+		if (interpolation.equals(DTInterpolation.ONE_POINT) && !supLCFound) {
+			task_.addWarning("Delta-T superior load case '" + input_.getDTLoadcaseSup() + "' could not be found.");
+		}
+		else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+			if (!supLCFound) {
+				task_.addWarning("Delta-T superior load case '" + input_.getDTLoadcaseSup() + "' could not be found.");
+			}
+			if (!infLCFound) {
+				task_.addWarning("Delta-T inferior load case '" + input_.getDTLoadcaseInf() + "' could not be found.");
+			}
+		}
+
+		// return interpolator
+		return dtInterpolator;
+	}
+
+	/**
+	 * Returns delta-p ratio.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param lookup
+	 *            Stress lookup table.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 * @param convTableID
+	 *            Conversion table ID.
+	 * @return Delta-p ratio.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private DPRatio getDPRatio(Connection connection, StressLookup lookup, int anaFileID, int txtFileID, int convTableID) throws Exception {
+
+		// get reference pressure
+		double refDP = getRefDP(connection, convTableID, anaFileID);
+
+		// set variables
+		DPRatio dpRatio = null;
+
+		// create statement to get delta-p event name and issy code
+		String sql = null;
+		if (input_.getDPLoadcase() == null) {
+			sql = "select flight_phase, issy_code from txt_codes where file_id = ? and dp_case = 1";
+		}
+		else {
+			sql = "select flight_phase from txt_codes where file_id = ? and issy_code = ?";
+		}
+
+		// execute statement
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, txtFileID); // TXT file ID
+			if (input_.getDPLoadcase() != null) {
+				statement.setString(2, input_.getDPLoadcase()); // delta-p load case
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+
+				// loop over delta-p cases
+				while (resultSet.next()) {
+
+					// create delta-p ratio
+					String issyCode = input_.getDPLoadcase() == null ? resultSet.getString("issy_code") : input_.getDPLoadcase();
+					dpRatio = new DPRatio(refDP, lookup.getSTFStress(issyCode), resultSet.getString("flight_phase"), issyCode);
+					break;
+				}
+			}
+		}
+
+		// delta-p load case could not be found
+		if ((input_.getDPLoadcase() != null) && (dpRatio == null)) {
+			task_.addWarning("Delta-P load case '" + input_.getDPLoadcase() + "' could not be found.");
+		}
+
+		// return delta-p ratio
+		return dpRatio;
+	}
+
+	/**
+	 * Returns reference delta-p pressure. The process is composed of the following logic;
+	 * <UL>
+	 * <LI>If the reference delta-p pressure is supplied by the user, this value is returned. Otherwise, the process falls back to next step.
+	 * <LI>If the reference delta-p pressure is supplied within the conversion table, this value is returned. Otherwise, the process falls back to next step.
+	 * <LI>Maximum pressure value within the ANA file is returned.
+	 * </UL>
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param convTableID
+	 *            Conversion table ID.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @return Reference delta-p pressure.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private double getRefDP(Connection connection, int convTableID, int anaFileID) throws Exception {
+
+		// initialize reference delta-p
+		double refPressure = input_.getReferenceDP() == null ? 0.0 : input_.getReferenceDP().doubleValue();
+
+		// no reference delta-p value given
+		if (refPressure == 0.0) {
+
+			// get reference pressure from conversion table
+			String sql = "select ref_dp from xls_files where file_id = ?";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setInt(1, convTableID); // conversion table ID
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						refPressure = resultSet.getDouble("ref_dp");
+					}
+				}
+			}
+
+			// reference pressure is zero
+			if (refPressure == 0.0) {
+
+				// get maximum pressure from ANA file
+				sql = "select max_dp from ana_flights where file_id = ? order by max_dp desc";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.setInt(1, anaFileID); // ANA file ID
+					statement.setMaxRows(1);
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							refPressure = resultSet.getDouble("max_dp");
+						}
+					}
+				}
+			}
+		}
+
+		// return reference pressure
+		return refPressure;
+	}
+}
@@ -24,15 +24,24 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import equinox.Equinox;
 import equinox.data.ExcaliburStressType;
+import equinox.data.ProgramArguments.ArgumentType;
 import equinox.data.input.ExcaliburInput;
 import equinox.task.Excalibur;
+import equinox.utility.BatchInserter;
 import equinox.utility.Utility;
 
 /**
- * Class for Excalibur load element stresses process.
+ * Class for Excalibur load element stresses process. Stress files are parsed in parallel by sub-task thread pool workers and inserted in batches by the owner task thread. Note that, the unique index of the stresses
+ * table is created after loading (see {@link Excalibur}).
  *
  * @author Murat Artim
  * @date 30 Nov 2017
@@ -110,27 +119,22 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 		String sql = "insert into " + tableNames[Excalibur.STF_FILES] + "(filename) values(?)";
 		try (PreparedStatement insertStressFile = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// prepare statement to delete invalid stress files from database
-			sql = "delete from " + tableNames[Excalibur.STF_FILES] + " where id = ?";
-			try (PreparedStatement deleteStressFile = connection.prepareStatement(sql)) {
-
-				// 1D element stresses
-				if (input.getStressType().equals(ExcaliburStressType.ELEMENT_1D)) {
-					loadElement1DStresses(stressDir, numFiles, insertStressFile, deleteStressFile, connection);
-				}
-
-				// 2D element stresses
-				else if (input.getStressType().equals(ExcaliburStressType.ELEMENT_2D)) {
-					loadElement2DStresses(stressDir, numFiles, insertStressFile, deleteStressFile, connection);
-				}
-
-				// frame stresses
-				else if (input.getStressType().equals(ExcaliburStressType.FRAME)) {
-					loadFrameStresses(stressDir, numFiles, insertStressFile, deleteStressFile, connection);
-				}
+			// prepare statement to insert stresses
+			if (input.getStressType().equals(ExcaliburStressType.ELEMENT_2D)) {
+				sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sx, sy, sxy, sigma_1, sigma_2, max_sigma, abs_max_sigma, min_sigma) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+			}
+			else {
+				sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sn) values(?, ?, ?)";
+			}
+			try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
+				loadStresses(stressDir, numFiles, insertStressFile, insertStress);
 			}
 		}
 
+		// task cancelled
+		if (owner.isCancelled())
+			return null;
+
 		// get number of stress files
 		long numSTFs = 0L;
 		try (Statement getNumberOfSTFs = connection.createStatement()) {
@@ -146,7 +150,7 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 	}
 
 	/**
-	 * Loads 1D element stress files into database.
+	 * Loads stress files into database. Stress files are parsed in parallel by sub-task thread pool workers, while the parsed files are inserted in directory order by the calling thread (in batches).
 	 *
 	 * @param stressDir
 	 *            Path to directory where stress files are kept.
@@ -154,322 +158,299 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 	 *            Number of stress files.
 	 * @param insertStressFile
 	 *            Prepared statement to insert stress files into database.
-	 * @param deleteStressFile
-	 *            Prepared statement to delete invalid stress files from database.
-	 * @param connection
-	 *            Database connection.
+	 * @param insertStress
+	 *            Prepared statement to insert stresses into database.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void loadElement1DStresses(Path stressDir, long numFiles, PreparedStatement insertStressFile, PreparedStatement deleteStressFile, Connection connection) throws Exception {
-
-		// prepare statement to insert stresses
-		String sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sn) values(?, ?, ?)";
-		try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
-
-			// create directory stream
-			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
-
-				// get iterator
-				Iterator<Path> iterator = dirStream.iterator();
+	private void loadStresses(Path stressDir, long numFiles, PreparedStatement insertStressFile, PreparedStatement insertStress) throws Exception {
 
-				// loop over files
-				long numLoaded = 0L;
-				owner.updateProgress(numLoaded, numFiles);
-				nextFile: while (iterator.hasNext()) {
+		// get maximum number of files being parsed at the same time
+		int maxInFlight = 2 * Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_SUBTASKS));
 
-					// task cancelled
-					if (owner.isCancelled())
-						return;
-
-					// get file
-					Path stf = iterator.next();
-
-					// update progress info
-					String fileName = stf.getFileName().toString();
-					owner.updateMessage("Loading stress file '" + stf.getFileName().toString() + "'...");
-					owner.updateProgress(numLoaded, numFiles);
-					numLoaded++;
-
-					// insert stress file
-					long fileID = 0L;
-					insertStressFile.setString(1, fileName);
-					insertStressFile.executeUpdate();
-					try (ResultSet resultSet = insertStressFile.getGeneratedKeys()) {
-						if (resultSet.next()) {
-							fileID = resultSet.getBigDecimal(1).longValue();
-						}
-					}
+		// create batch inserter
+		BatchInserter inserter = new BatchInserter(insertStress);
 
-					// set file id
-					insertStress.setLong(1, fileID);
+		// create directory stream
+		ArrayDeque<Future<ParsedStressFile>> parsers = new ArrayDeque<>();
+		try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(stf, Charset.defaultCharset())) {
+			// get iterator
+			Iterator<Path> iterator = dirStream.iterator();
 
-						// read file till the end
-						String line;
-						int lineCount = 0;
-						while ((line = reader.readLine()) != null) {
+			// loop over files
+			long numLoaded = 0L;
+			owner.updateProgress(numLoaded, numFiles);
+			while (iterator.hasNext() || !parsers.isEmpty()) {
 
-							// task cancelled
-							if (owner.isCancelled())
-								return;
+				// task cancelled
+				if (owner.isCancelled())
+					return;
 
-							// increment line count
-							lineCount++;
+				// submit parsers
+				while (iterator.hasNext() && parsers.size() < maxInFlight) {
+					parsers.add(Equinox.SUBTASK_THREADPOOL.submit(new Parser(iterator.next())));
+				}
 
-							// comment lines
-							if (lineCount <= 2) {
-								continue;
-							}
+				// get next parsed file (in submission order)
+				ParsedStressFile parsed = getParsedFile(parsers.poll());
 
-							// empty line
-							line = line.trim();
-							if (line.isEmpty()) {
-								continue;
-							}
+				// update progress info
+				numLoaded++;
+				owner.updateProgress(numLoaded, numFiles);
 
-							// split line from tabs
-							String[] split = line.split("\t");
+				// no file (task cancelled)
+				if (parsed == null) {
+					continue;
+				}
 
-							// not 2 columns
-							if (split.length != 2) {
-								owner.addWarning("Unexpected number of columns encountered for 1D element in the stress file '" + fileName + "'. Skipping file.");
-								deleteStressFile.setLong(1, fileID);
-								deleteStressFile.executeUpdate();
-								continue nextFile;
-							}
+				// invalid file
+				if (parsed.warning_ != null) {
+					owner.addWarning(parsed.warning_);
+					continue;
+				}
 
-							// set loadcase number
-							insertStress.setInt(2, Integer.parseInt(split[0].trim()));
+				// insert stress file
+				owner.updateMessage("Loading stress file '" + parsed.fileName_ + "' (" + inserter.getRowsPerSecond() + " stresses/s)...");
+				long fileID = 0L;
+				insertStressFile.setString(1, parsed.fileName_);
+				insertStressFile.executeUpdate();
+				try (ResultSet resultSet = insertStressFile.getGeneratedKeys()) {
+					if (resultSet.next()) {
+						fileID = resultSet.getBigDecimal(1).longValue();
+					}
+				}
 
-							// set stress
-							insertStress.setDouble(3, Double.parseDouble(split[1].trim()));
+				// set file id
+				insertStress.setLong(1, fileID);
 
-							// execute statement
-							insertStress.executeUpdate();
-						}
+				// insert stresses
+				int numColumns = parsed.numColumns_;
+				for (int i = 0; i < parsed.numRows_; i++) {
+					insertStress.setInt(2, parsed.lcNums_[i]);
+					for (int j = 0; j < numColumns; j++) {
+						insertStress.setDouble(3 + j, parsed.values_[i * numColumns + j]);
 					}
+					inserter.add();
 				}
 			}
+
+			// execute remaining stresses
+			inserter.flush();
+		}
+
+		// cancel remaining parsers
+		finally {
+			for (Future<ParsedStressFile> parser : parsers) {
+				parser.cancel(true);
+			}
 		}
 	}
 
 	/**
-	 * Loads 2D element stress files into database.
+	 * Waits for and returns the result of given parser.
 	 *
-	 * @param stressDir
-	 *            Path to directory where stress files are kept.
-	 * @param numFiles
-	 *            Number of stress files.
-	 * @param insertStressFile
-	 *            Prepared statement to insert stress files into database.
-	 * @param deleteStressFile
-	 *            Prepared statement to delete invalid stress files from database.
-	 * @param connection
-	 *            Database connection.
+	 * @param parser
+	 *            Parser.
+	 * @return The parsed stress file, or null if the task is cancelled.
 	 * @throws Exception
-	 *             If exception occurs during process.
+	 *             If exception occurs during parsing.
 	 */
-	private void loadElement2DStresses(Path stressDir, long numFiles, PreparedStatement insertStressFile, PreparedStatement deleteStressFile, Connection connection) throws Exception {
-
-		// prepare statement to insert 2D stresses
-		String sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sx, sy, sxy, sigma_1, sigma_2, max_sigma, abs_max_sigma, min_sigma) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
-
-			// create directory stream
-			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
-
-				// get iterator
-				Iterator<Path> iterator = dirStream.iterator();
-
-				// loop over files
-				long numLoaded = 0L;
-				owner.updateProgress(numLoaded, numFiles);
-				nextFile: while (iterator.hasNext()) {
+	private static ParsedStressFile getParsedFile(Future<ParsedStressFile> parser) throws Exception {
+		try {
+			return parser.get();
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
+	}
 
-					// task cancelled
-					if (owner.isCancelled())
-						return;
-
-					// get file
-					Path stf = iterator.next();
-
-					// update progress info
-					String fileName = stf.getFileName().toString();
-					owner.updateMessage("Loading stress file '" + stf.getFileName().toString() + "'...");
-					owner.updateProgress(numLoaded, numFiles);
-					numLoaded++;
-
-					// insert stress file
-					long fileID = 0L;
-					insertStressFile.setString(1, fileName);
-					insertStressFile.executeUpdate();
-					try (ResultSet resultSet = insertStressFile.getGeneratedKeys()) {
-						if (resultSet.next()) {
-							fileID = resultSet.getBigDecimal(1).longValue();
-						}
-					}
+	/**
+	 * Inner class for parsed stress file.
+	 *
+	 * @author Murat Artim
+	 * @date 2 Nov 2018
+	 * @time 10:22:41
+	 */
+	private static final class ParsedStressFile {
+
+		/** Stress file name. */
+		private final String fileName_;
+
+		/** Number of stress columns (excluding loadcase number). */
+		private final int numColumns_;
+
+		/** Loadcase numbers. */
+		private int[] lcNums_ = new int[256];
+
+		/** Stress values (row by row). */
+		private double[] values_;
+
+		/** Number of rows. */
+		private int numRows_ = 0;
+
+		/** Warning message if the file is invalid, null otherwise. */
+		private String warning_;
+
+		/**
+		 * Creates parsed stress file.
+		 *
+		 * @param fileName
+		 *            Stress file name.
+		 * @param numColumns
+		 *            Number of stress columns (excluding loadcase number).
+		 */
+		private ParsedStressFile(String fileName, int numColumns) {
+			fileName_ = fileName;
+			numColumns_ = numColumns;
+			values_ = new double[256 * numColumns];
+		}
 
-					// set file id
-					insertStress.setLong(1, fileID);
-
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(stf, Charset.defaultCharset())) {
-
-						// read file till the end
-						String line;
-						int lineCount = 0;
-						while ((line = reader.readLine()) != null) {
-
-							// task cancelled
-							if (owner.isCancelled())
-								return;
-
-							// increment line count
-							lineCount++;
-
-							// comment lines
-							if (lineCount <= 2) {
-								continue;
-							}
-
-							// empty line
-							line = line.trim();
-							if (line.isEmpty()) {
-								continue;
-							}
-
-							// split line from tabs
-							String[] split = line.split("\t");
-
-							// not 2 columns
-							if (split.length != 4) {
-								owner.addWarning("Unexpected number of columns encountered for 2D element in the stress file '" + fileName + "'. Skipping file.");
-								deleteStressFile.setLong(1, fileID);
-								deleteStressFile.executeUpdate();
-								continue nextFile;
-							}
-
-							// set loadcase number
-							insertStress.setInt(2, Integer.parseInt(split[0].trim()));
-
-							// set stresses
-							double sx = Double.parseDouble(split[1].trim());
-							double sy = Double.parseDouble(split[2].trim());
-							double sxy = Double.parseDouble(split[3].trim());
-							insertStress.setDouble(3, sx);
-							insertStress.setDouble(4, sy);
-							insertStress.setDouble(5, sxy);
-
-							// calculate and set principal stresses
-							double a = 0.5 * (sx + sy);
-							double b = Math.sqrt(Math.pow(0.5 * (sx - sy), 2.0) + Math.pow(sxy, 2.0));
-							double sigma1 = a + b;
-							double sigma2 = a - b;
-							insertStress.setDouble(6, sigma1);
-							insertStress.setDouble(7, sigma2);
-							insertStress.setDouble(8, Math.max(sigma1, sigma2));
-							insertStress.setDouble(9, Math.max(Math.abs(sigma1), Math.abs(sigma2)));
-							insertStress.setDouble(10, Math.min(sigma1, sigma2));
-
-							// execute statement
-							insertStress.executeUpdate();
-						}
-					}
-				}
+		/**
+		 * Adds new row and returns the offset of its stress values.
+		 *
+		 * @param lcNum
+		 *            Loadcase number.
+		 * @return The offset of stress values of the new row.
+		 */
+		private int addRow(int lcNum) {
+			if (numRows_ == lcNums_.length) {
+				lcNums_ = Arrays.copyOf(lcNums_, 2 * numRows_);
+				values_ = Arrays.copyOf(values_, 2 * numRows_ * numColumns_);
 			}
+			lcNums_[numRows_] = lcNum;
+			return numRows_++ * numColumns_;
 		}
 	}
 
 	/**
-	 * Loads frame stress files into database.
+	 * Inner class for stress file parser.
 	 *
-	 * @param stressDir
-	 *            Path to directory where stress files are kept.
-	 * @param numFiles
-	 *            Number of stress files.
-	 * @param insertStressFile
-	 *            Prepared statement to insert stress files into database.
-	 * @param deleteStressFile
-	 *            Prepared statement to delete invalid stress files from database.
-	 * @param connection
-	 *            Database connection.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @author Murat Artim
+	 * @date 2 Nov 2018
+	 * @time 10:25:07
 	 */
-	private void loadFrameStresses(Path stressDir, long numFiles, PreparedStatement insertStressFile, PreparedStatement deleteStressFile, Connection connection) throws Exception {
+	private final class Parser implements Callable<ParsedStressFile> {
+
+		/** Stress file. */
+		private final Path stf_;
+
+		/**
+		 * Creates stress file parser.
+		 *
+		 * @param stf
+		 *            Stress file.
+		 */
+		private Parser(Path stf) {
+			stf_ = stf;
+		}
 
-		// prepare statement to insert 1D stresses
-		String sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sn) values(?, ?, ?)";
-		try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
+		@Override
+		public ParsedStressFile call() throws Exception {
 
-			// create directory stream
-			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
+			// get stress type
+			ExcaliburStressType stressType = input.getStressType();
 
-				// get iterator
-				Iterator<Path> iterator = dirStream.iterator();
+			// create parsed file
+			ParsedStressFile parsed = new ParsedStressFile(stf_.getFileName().toString(), stressType.equals(ExcaliburStressType.ELEMENT_2D) ? 8 : 1);
 
-				// loop over files
-				long numLoaded = 0L;
-				owner.updateProgress(numLoaded, numFiles);
-				while (iterator.hasNext()) {
+			// create file reader
+			try (BufferedReader reader = Files.newBufferedReader(stf_, Charset.defaultCharset())) {
+
+				// read file till the end
+				String line;
+				int lineCount = 0;
+				while ((line = reader.readLine()) != null) {
 
 					// task cancelled
 					if (owner.isCancelled())
-						return;
-
-					// get file
-					Path stf = iterator.next();
-
-					// update progress info
-					String fileName = stf.getFileName().toString();
-					owner.updateMessage("Loading stress file '" + stf.getFileName().toString() + "'...");
-					owner.updateProgress(numLoaded, numFiles);
-					numLoaded++;
-
-					// insert stress file
-					long fileID = 0L;
-					insertStressFile.setString(1, fileName);
-					insertStressFile.executeUpdate();
-					try (ResultSet resultSet = insertStressFile.getGeneratedKeys()) {
-						if (resultSet.next()) {
-							fileID = resultSet.getBigDecimal(1).longValue();
+						return null;
+
+					// increment line count
+					lineCount++;
+
+					// frame stresses
+					if (stressType.equals(ExcaliburStressType.FRAME)) {
+
+						// empty line
+						if (line.isEmpty()) {
+							continue;
 						}
+
+						// add loadcase number and stress
+						int offset = parsed.addRow(Integer.parseInt(line.substring(0, 7).trim()));
+						parsed.values_[offset] = Double.parseDouble(line.substring(7, 22).trim());
+						continue;
 					}
 
-					// set file id
-					insertStress.setLong(1, fileID);
+					// comment lines
+					if (lineCount <= 2) {
+						continue;
+					}
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(stf, Charset.defaultCharset())) {
+					// empty line
+					line = line.trim();
+					if (line.isEmpty()) {
+						continue;
+					}
 
-						// read file till the end
-						String line;
-						while ((line = reader.readLine()) != null) {
+					// split line from tabs
+					String[] split = line.split("\t");
 
-							// task cancelled
-							if (owner.isCancelled())
-								return;
+					// 1D element stresses
+					if (stressType.equals(ExcaliburStressType.ELEMENT_1D)) {
 
-							// empty line
-							if (line.isEmpty()) {
-								continue;
-							}
+						// not 2 columns
+						if (split.length != 2) {
+							parsed.warning_ = "Unexpected number of columns encountered for 1D element in the stress file '" + parsed.fileName_ + "'. Skipping file.";
+							return parsed;
+						}
 
-							// set loadcase number
-							insertStress.setInt(2, Integer.parseInt(line.substring(0, 7).trim()));
+						// add loadcase number and stress
+						int offset = parsed.addRow(Integer.parseInt(split[0].trim()));
+						parsed.values_[offset] = Double.parseDouble(split[1].trim());
+					}
 
-							// set stress
-							insertStress.setDouble(3, Double.parseDouble(line.substring(7, 22).trim()));
+					// 2D element stresses
+					else if (stressType.equals(ExcaliburStressType.ELEMENT_2D)) {
 
-							// execute statement
-							insertStress.executeUpdate();
+						// not 4 columns
+						if (split.length != 4) {
+							parsed.warning_ = "Unexpected number of columns encountered for 2D element in the stress file '" + parsed.fileName_ + "'. Skipping file.";
+							return parsed;
 						}
+
+						// get stresses
+						double sx = Double.parseDouble(split[1].trim());
+						double sy = Double.parseDouble(split[2].trim());
+						double sxy = Double.parseDouble(split[3].trim());
+
+						// calculate principal stresses
+						double a = 0.5 * (sx + sy);
+						double b = Math.sqrt(Math.pow(0.5 * (sx - sy), 2.0) + Math.pow(sxy, 2.0));
+						double sigma1 = a + b;
+						double sigma2 = a - b;
+
+						// add loadcase number and stresses
+						int offset = parsed.addRow(Integer.parseInt(split[0].trim()));
+						double[] values = parsed.values_;
+						values[offset] = sx;
+						values[offset + 1] = sy;
+						values[offset + 2] = sxy;
+						values[offset + 3] = sigma1;
+						values[offset + 4] = sigma2;
+						values[offset + 5] = Math.max(sigma1, sigma2);
+						values[offset + 6] = Math.max(Math.abs(sigma1), Math.abs(sigma2));
+						values[offset + 7] = Math.min(sigma1, sigma2);
 					}
 				}
 			}
+
+			// return parsed file
+			return parsed;
 		}
 	}
 }
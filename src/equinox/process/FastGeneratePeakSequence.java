@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import equinox.data.PeakSequence;
+import equinox.data.StressSequenceKernel;
+import equinox.data.fileType.STFFile;
+import equinox.data.fileType.Spectrum;
+import equinox.data.input.FastEquivalentStressInput;
+import equinox.task.FastGenerateStressSequence;
+
+/**
+ * Class for fast generate in-memory peak sequence process. The peaks of typical flights are generated into memory (with omission applied, if selected), and the flight sequence is read from the FLS flights of the
+ * spectrum. No file is written.
+ *
+ * @author Murat Artim
+ * @date 27 Oct 2018
+ * @time 15:21:48
+ */
+public class FastGeneratePeakSequence implements EquinoxProcess<PeakSequence>, StressSequencePeakSink {
+
+	/** The owner task of this process. */
+	private final FastGenerateStressSequence task_;
+
+	/** The owner STF file. */
+	private final STFFile stfFile_;
+
+	/** STF file ID. */
+	private final Integer stfID_, stressTableID_;
+
+	/** The owner spectrum. */
+	private final Spectrum spectrum_;
+
+	/** Input. */
+	private final FastEquivalentStressInput input_;
+
+	/** Peak array. */
+	private final PeakArraySink peaks_ = new PeakArraySink();
+
+	/** Mapping between typical flight names and indices. */
+	private final HashMap<String, Integer> flightIndices_ = new HashMap<>();
+
+	/**
+	 * Creates fast generate in-memory peak sequence process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param input
+	 *            Stress sequence generation input.
+	 * @param stfFile
+	 *            STF file. Can be null if STF file ID, stress table ID and spectrum parameters are supplied.
+	 * @param stfID
+	 *            STF file ID. Can be null if STF is given.
+	 * @param stressTableID
+	 *            Stress table ID. Can be null if STF is given.
+	 * @param spectrum
+	 *            Spectrum. Can be null if STF is given.
+	 */
+	public FastGeneratePeakSequence(FastGenerateStressSequence task, FastEquivalentStressInput input, STFFile stfFile, Integer stfID, Integer stressTableID, Spectrum spectrum) {
+		task_ = task;
+		input_ = input;
+		stfFile_ = stfFile;
+		stfID_ = stfID;
+		stressTableID_ = stressTableID;
+		spectrum_ = spectrum;
+	}
+
+	@Override
+	public PeakSequence start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// update info
+		task_.updateMessage("Generating stress sequence...");
+
+		// get spectrum file IDs
+		Spectrum cdfSet = stfFile_ == null ? spectrum_ : stfFile_.getParentItem();
+		int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
+		int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
+
+		// create stress sequence kernel
+		StressSequenceKernel kernel = new CreateStressSequenceKernel(task_, input_, input_.getStressComponent(), input_.getRotationAngle(), cdfSet, stfID, stressTableID, input_.isRemoveNegativeStresses()).start(connection);
+		if (kernel == null)
+			return null;
+
+		// create peak sink (apply omission if selected and not 0-level)
+		StressSequencePeakSink sink = this;
+		if (input_.isApplyOmission() && (input_.getOmissionLevel() > 0.0)) {
+			sink = new OmissionFilter(this, input_.getOmissionLevel());
+		}
+
+		// generate peaks
+		if (new GenerateStressSequencePeaks(task_, kernel, cdfSet.getANAFileID(), sink).start(connection) == null)
+			return null;
+
+		// task cancelled
+		if (task_.isCancelled())
+			return null;
+
+		// create flight offsets
+		int numFlights = peaks_.getNumberOfFlights();
+		int[] offsets = new int[numFlights + 1];
+		for (int i = 0; i <= numFlights; i++) {
+			offsets[i] = peaks_.getFlightOffset(i);
+		}
+
+		// create and return peak sequence
+		return new PeakSequence(peaks_.getPeaks(), offsets, getFlightSequence(connection, cdfSet.getFLSFileID()));
+	}
+
+	@Override
+	public void startFlight(ResultSet flight, int numPeaks) throws Exception {
+		flightIndices_.put(flight.getString("name"), peaks_.getNumberOfFlights());
+		peaks_.startFlight(flight, numPeaks);
+	}
+
+	@Override
+	public void addPeak(int peakNum, double stress, StressSequenceKernel kernel) throws Exception {
+		peaks_.addPeak(peakNum, stress, kernel);
+	}
+
+	@Override
+	public void endFlight() throws Exception {
+		peaks_.endFlight();
+	}
+
+	/**
+	 * Retrieves the flight sequence from FLS flights.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param flsFileID
+	 *            FLS file ID.
+	 * @return Flight sequence (i.e. typical flight indices in the order of flights).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int[] getFlightSequence(Connection connection, int flsFileID) throws Exception {
+
+		// update info
+		task_.updateMessage("Retrieving flight sequence...");
+
+		// create statement
+		int[] sequence = new int[1024];
+		int numFlights = 0;
+		try (Statement statement = connection.createStatement()) {
+
+			// execute query
+			try (ResultSet resultSet = statement.executeQuery("select name from fls_flights where file_id = " + flsFileID + " order by flight_num")) {
+				while (resultSet.next()) {
+
+					// get typical flight index
+					String name = resultSet.getString("name");
+					Integer flight = flightIndices_.get(name);
+					if (flight == null)
+						throw new Exception("Typical flight '" + name + "' of flight sequence cannot be found in ANA file.");
+
+					// add to sequence
+					if (numFlights == sequence.length) {
+						sequence = Arrays.copyOf(sequence, 2 * numFlights);
+					}
+					sequence[numFlights++] = flight;
+				}
+			}
+		}
+
+		// return sequence
+		return Arrays.copyOf(sequence, numFlights);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import equinox.data.StressSequenceKernel;
+import equinox.utility.BatchInserter;
+
+/**
+ * Class for flight peaks table sink. The peaks are inserted in batches into a flight peaks table with columns <code>peak_num, peak_val, oneg, dp, dt</code> (i.e. the table format used for typical flight plots). Note that, the owner
+ * of the sink is responsible for closing it and for committing the transaction.
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 11:36:03
+ */
+public class FlightPeaksTableSink implements StressSequencePeakSink, AutoCloseable {
+
+	/** Insert statement. */
+	private final PreparedStatement insertPeak_;
+
+	/** Batch inserter. */
+	private final BatchInserter inserter_;
+
+	/**
+	 * Creates flight peaks table sink.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param tableName
+	 *            Name of flight peaks table.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public FlightPeaksTableSink(Connection connection, String tableName) throws Exception {
+		insertPeak_ = connection.prepareStatement("insert into " + tableName + "(peak_num, peak_val, oneg, dp, dt) values(?, ?, ?, ?, ?)");
+		inserter_ = new BatchInserter(insertPeak_);
+	}
+
+	@Override
+	public void startFlight(ResultSet flight, int numPeaks) throws Exception {
+		// no implementation
+	}
+
+	@Override
+	public void addPeak(int peakNum, double stress, StressSequenceKernel kernel) throws Exception {
+		insertPeak_.setInt(1, peakNum); // peak number
+		insertPeak_.setDouble(2, stress); // peak value (total stress)
+		insertPeak_.setDouble(3, kernel.getOnegStress()); // 1g stress
+		insertPeak_.setDouble(4, kernel.getDPStress()); // delta-p stress
+		insertPeak_.setDouble(5, kernel.getDTStress()); // delta-t stress
+		inserter_.add();
+	}
+
+	@Override
+	public void endFlight() throws Exception {
+		inserter_.flush();
+	}
+
+	@Override
+	public void close() throws SQLException {
+		insertPeak_.close();
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import equinox.data.ANAPeakCursor;
+import equinox.data.StressSequenceKernel;
+import equinox.task.InternalEquinoxTask;
+import equinox.utility.ANAPeakReader;
+
+/**
+ * Class for generate stress sequence peaks process. The process loops over the flights and peaks of the ANA file, computes the total stress of each peak with the given stress sequence kernel and passes them to the given peak sink.
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 11:14:50
+ */
+public class GenerateStressSequencePeaks implements EquinoxProcess<Boolean> {
+
+	/** The owner task of this process. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** Stress sequence kernel. */
+	private final StressSequenceKernel kernel_;
+
+	/** ANA file ID. */
+	private final int anaFileID_;
+
+	/** ANA flight ID. Null for all flights. */
+	private final Integer flightID_;
+
+	/** Peak sink. */
+	private final StressSequencePeakSink sink_;
+
+	/**
+	 * Creates generate stress sequence peaks process for all flights of the ANA file.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param kernel
+	 *            Stress sequence kernel.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param sink
+	 *            Peak sink.
+	 */
+	public GenerateStressSequencePeaks(InternalEquinoxTask<?> task, StressSequenceKernel kernel, int anaFileID, StressSequencePeakSink sink) {
+		this(task, kernel, anaFileID, null, sink);
+	}
+
+	/**
+	 * Creates generate stress sequence peaks process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param kernel
+	 *            Stress sequence kernel.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param flightID
+	 *            ANA flight ID. Null for all flights.
+	 * @param sink
+	 *            Peak sink.
+	 */
+	public GenerateStressSequencePeaks(InternalEquinoxTask<?> task, StressSequenceKernel kernel, int anaFileID, Integer flightID, StressSequencePeakSink sink) {
+		task_ = task;
+		kernel_ = kernel;
+		anaFileID_ = anaFileID;
+		flightID_ = flightID;
+		sink_ = sink;
+	}
+
+	@Override
+	public Boolean start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// create flight selection criteria
+		String flights = "file_id = " + anaFileID_;
+		if (flightID_ != null) {
+			flights += " and flight_id = " + flightID_;
+		}
+
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+
+			// get number of peaks
+			int numPeaks = 0;
+			String sql = "select sum(num_peaks) as totalPeaks from ana_flights where " + flights;
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+					numPeaks = resultSet.getInt("totalPeaks");
+				}
+			}
+
+			// create ANA peak reader
+			try (ANAPeakReader peakReader = new ANAPeakReader(connection, anaFileID_)) {
+
+				// execute query for selecting ANA flights
+				sql = "select * from ana_flights where " + flights + " order by flight_num";
+				try (ResultSet anaFlights = statement.executeQuery(sql)) {
+
+					// loop over flights
+					int peakCount = 0;
+					while (anaFlights.next()) {
+
+						// task cancelled
+						if (task_.isCancelled())
+							return null;
+
+						// start flight
+						task_.updateMessage("Generating flight '" + anaFlights.getString("name") + "'...");
+						sink_.startFlight(anaFlights, anaFlights.getInt("num_peaks"));
+
+						// get ANA peaks
+						ANAPeakCursor anaPeaks = peakReader.read(anaFlights.getInt("flight_id"));
+
+						// loop over peaks
+						while (anaPeaks.next()) {
+
+							// task cancelled
+							if (task_.isCancelled())
+								return null;
+
+							// update progress
+							task_.updateProgress(peakCount, numPeaks);
+							peakCount++;
+
+							// compute peak and pass it to sink
+							double stress = kernel_.computeStress(anaPeaks);
+							sink_.addPeak(anaPeaks.getPeakNumber(), stress, kernel_);
+						}
+
+						// end flight
+						sink_.endFlight();
+					}
+				}
+			}
+		}
+
+		// completed
+		return true;
+	}
+}
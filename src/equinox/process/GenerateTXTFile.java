@@ -26,7 +26,7 @@ import java.sql.ResultSet;
 
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
-import equinox.task.TemporaryFileCreatingTask;
+import equinox.task.TemporaryFileTaskMonitor;
 import equinox.utility.Utility;
 
 /**
@@ -39,7 +39,7 @@ import equinox.utility.Utility;
 public class GenerateTXTFile implements EquinoxProcess<Integer> {
 
 	/** The owner task of this process. */
-	private final TemporaryFileCreatingTask<?> task_;
+	private final TemporaryFileTaskMonitor task_;
 
 	/** Input CVT file. */
 	private final Path cvtFile_;
@@ -62,7 +62,7 @@ public class GenerateTXTFile implements EquinoxProcess<Integer> {
 	 * @param cdfSet
 	 *            CDF set.
 	 */
-	public GenerateTXTFile(TemporaryFileCreatingTask<?> task, Path cvtFile, Integer[] convTableInfo, Spectrum cdfSet) {
+	public GenerateTXTFile(TemporaryFileTaskMonitor task, Path cvtFile, Integer[] convTableInfo, Spectrum cdfSet) {
 		task_ = task;
 		cvtFile_ = cvtFile;
 		convTableInfo_ = convTableInfo;
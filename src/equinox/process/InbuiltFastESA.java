@@ -41,7 +41,7 @@ import equinox.dataServer.remote.data.Material;
 import equinox.dataServer.remote.data.PreffasMaterial;
 import equinox.plugin.FileType;
 import equinox.serverUtilities.ServerUtility;
-import equinox.task.FastEquivalentStressAnalysis;
+import equinox.task.TemporaryFileCreatingTask;
 import equinox.utility.Utility;
 import equinox.utility.exception.InternalEngineAnalysisFailedException;
 
@@ -55,7 +55,7 @@ import equinox.utility.exception.InternalEngineAnalysisFailedException;
 public class InbuiltFastESA implements ESAProcess<FastESAOutput> {
 
 	/** The owner task. */
-	private final FastEquivalentStressAnalysis task_;
+	private final TemporaryFileCreatingTask<?> task_;
 
 	/** Path to input STH and FLS files. */
 	private final Path sthFile_, flsFile_;
@@ -101,7 +101,7 @@ public class InbuiltFastESA implements ESAProcess<FastESAOutput> {
 	 * @param outputFileName
 	 *            Output file name. This is used only if the analysis output file is kept.
 	 */
-	public InbuiltFastESA(FastEquivalentStressAnalysis task, Path sthFile, Path flsFile, Material material, int validity, boolean useExtended, boolean keepOutputs, String outputFileName) {
+	public InbuiltFastESA(TemporaryFileCreatingTask<?> task, Path sthFile, Path flsFile, Material material, int validity, boolean useExtended, boolean keepOutputs, String outputFileName) {
 		task_ = task;
 		sthFile_ = sthFile;
 		flsFile_ = flsFile;
@@ -25,7 +25,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -54,6 +53,7 @@ import equinox.plugin.FileType;
 import equinox.serverUtilities.FilerConnection;
 import equinox.task.AnalysisListenerTask;
 import equinox.task.EquivalentStressAnalysis;
+import equinox.utility.PeakFormatter;
 import equinox.utility.Utility;
 import equinox.utility.exception.ServerAnalysisFailedException;
 
@@ -100,15 +100,15 @@ public class IsamiESA implements ESAProcess<Void>, AnalysisListenerTask {
 	/** Parameters. */
 	private int readLines_, allLines_, numFlights_, flightNumber_, numPeaks_, rowIndex_ = 0, colIndex_ = 0;
 
-	/** Update message header. */
-	private String sthLine_, sigmaLine_;
+	/** STH line. */
+	private String sthLine_;
+
+	/** SIGMA line. */
+	private final PeakFormatter sigmaLine_ = new PeakFormatter("0.000000E00", 14);
 
 	/** Number of columns. */
 	private static final int NUM_COLS = 10;
 
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.000000E00");
-
 	/** ISAMI version. */
 	private final IsamiVersion isamiVersion_;
 
@@ -528,7 +528,7 @@ public class IsamiESA implements ESAProcess<Void>, AnalysisListenerTask {
 		int numRows = numPeaks_ / NUM_COLS + (rem == 0 ? 0 : 1);
 		rowIndex_ = 0;
 		colIndex_ = 0;
-		sigmaLine_ = "";
+		sigmaLine_.clear();
 
 		// initialize number of read peaks
 		int readPeaks = 0;
@@ -574,14 +574,13 @@ public class IsamiESA implements ESAProcess<Void>, AnalysisListenerTask {
 				if (rowIndex_ == numRows - 1) {
 
 					// add peaks
-					sigmaLine_ += String.format("%14s", format_.format(peakVal));
+					sigmaLine_.append(peakVal);
 					colIndex_++;
 
 					// last column
 					if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(sigmaLine_);
+						sigmaLine_.write(writer);
 						writer.write("\n");
-						sigmaLine_ = "";
 						colIndex_ = 0;
 						rowIndex_++;
 					}
@@ -591,14 +590,13 @@ public class IsamiESA implements ESAProcess<Void>, AnalysisListenerTask {
 				else {
 
 					// add peaks
-					sigmaLine_ += String.format("%14s", format_.format(peakVal));
+					sigmaLine_.append(peakVal);
 					colIndex_++;
 
 					// last column
 					if (colIndex_ == NUM_COLS) {
-						writer.write(sigmaLine_);
+						sigmaLine_.write(writer);
 						writer.write("\n");
-						sigmaLine_ = "";
 						colIndex_ = 0;
 						rowIndex_++;
 					}
@@ -25,7 +25,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -47,6 +46,7 @@ import equinox.plugin.FileType;
 import equinox.serverUtilities.FilerConnection;
 import equinox.task.AnalysisListenerTask;
 import equinox.task.FastEquivalentStressAnalysis;
+import equinox.utility.PeakFormatter;
 import equinox.utility.Utility;
 import equinox.utility.exception.ServerAnalysisFailedException;
 
@@ -90,15 +90,15 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 	/** Parameters. */
 	private int readLines_, allLines_, flightNumber_, numPeaks_, rowIndex_ = 0, colIndex_ = 0;
 
-	/** Update message header. */
-	private String sthLine_, sigmaLine_;
+	/** STH line. */
+	private String sthLine_;
+
+	/** SIGMA line. */
+	private final PeakFormatter sigmaLine_ = new PeakFormatter("0.000000E00", 14);
 
 	/** Number of columns. */
 	private static final int NUM_COLS = 10;
 
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.000000E00");
-
 	/** ISAMI version. */
 	private final IsamiVersion isamiVersion_;
 
@@ -476,7 +476,7 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 		int numRows = numPeaks_ / NUM_COLS + (rem == 0 ? 0 : 1);
 		rowIndex_ = 0;
 		colIndex_ = 0;
-		sigmaLine_ = "";
+		sigmaLine_.clear();
 
 		// initialize number of read peaks
 		int readPeaks = 0;
@@ -522,14 +522,13 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 				if (rowIndex_ == numRows - 1) {
 
 					// add peaks
-					sigmaLine_ += String.format("%14s", format_.format(peakVal));
+					sigmaLine_.append(peakVal);
 					colIndex_++;
 
 					// last column
 					if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(sigmaLine_);
+						sigmaLine_.write(writer);
 						writer.write("\n");
-						sigmaLine_ = "";
 						colIndex_ = 0;
 						rowIndex_++;
 					}
@@ -539,14 +538,13 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 				else {
 
 					// add peaks
-					sigmaLine_ += String.format("%14s", format_.format(peakVal));
+					sigmaLine_.append(peakVal);
 					colIndex_++;
 
 					// last column
 					if (colIndex_ == NUM_COLS) {
-						writer.write(sigmaLine_);
+						sigmaLine_.write(writer);
 						writer.write("\n");
-						sigmaLine_ = "";
 						colIndex_ = 0;
 						rowIndex_++;
 					}
@@ -15,9 +15,8 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -25,9 +24,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 
+import equinox.data.ANAPeakCursor;
+import equinox.data.ClassCodeDictionary;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
-import equinox.task.TemporaryFileCreatingTask;
+import equinox.task.TemporaryFileTaskMonitor;
+import equinox.utility.ANAPeakStore;
+import equinox.utility.IngestionReader;
+import equinox.utility.TextTokenizer;
 import equinox.utility.Utility;
 
 /**
@@ -40,7 +44,7 @@ import equinox.utility.Utility;
 public class LoadANAFile implements EquinoxProcess<Integer> {
 
 	/** The owner task of this process. */
-	private final TemporaryFileCreatingTask<?> task_;
+	private final TemporaryFileTaskMonitor task_;
 
 	/** Input ANA file. */
 	private final Path inputFile_;
@@ -49,11 +53,17 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	private final Spectrum cdfSet_;
 
 	/** Parameters. */
-	private int readLines_, allLines_, flightNumber_, numPeaks_;
+	private int flightNumber_, numPeaks_;
 
 	/** Update message header. */
 	private String line_;
 
+	/** Peak block of current flight. Null if peaks are stored in peaks table. */
+	private ANAPeakCursor block_;
+
+	/** Class code dictionary of the file. */
+	private final ClassCodeDictionary dictionary_ = new ClassCodeDictionary();
+
 	/**
 	 * Creates load ANA file process.
 	 *
@@ -64,7 +74,7 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	 * @param cdfSet
 	 *            CDF set.
 	 */
-	public LoadANAFile(TemporaryFileCreatingTask<?> task, Path inputFile, Spectrum cdfSet) {
+	public LoadANAFile(TemporaryFileTaskMonitor task, Path inputFile, Spectrum cdfSet) {
 		task_ = task;
 		inputFile_ = inputFile;
 		cdfSet_ = cdfSet;
@@ -91,53 +101,47 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// initialize input file and type
-		Path anaFile = inputFile_;
-		FileType type = FileType.getFileType(inputFile_.toFile());
-
-		// input file is a ZIP file
-		if (type.equals(FileType.ZIP)) {
-			task_.updateMessage("Extracting zipped ANA file...");
-			anaFile = Utility.extractFileFromZIP(inputFile_, task_, FileType.ANA, null);
-		}
-
-		// input file is a GZIP file
-		else if (type.equals(FileType.GZ)) {
-			anaFile = task_.getWorkingDirectory()
-					.resolve(FileType.appendExtension(FileType.getNameWithoutExtension(inputFile_), FileType.ANA));
-			task_.updateMessage("Extracting zipped ANA file...");
-			Utility.extractFileFromGZIP(inputFile_, anaFile);
-		}
-
-		// get number of lines of file
-		task_.updateMessage("Getting ANA file size...");
-		allLines_ = Utility.countLines(anaFile, task_);
-		readLines_ = 0;
+		// create single pass file reader
+		task_.updateMessage("Reading ANA file...");
+		try (IngestionReader reader = new IngestionReader(task_, inputFile_, FileType.ANA)) {
 
-		// add to files table
-		int fileID = addToFilesTable(connection, anaFile);
+			// archive file while it is read
+			Path zipFile = task_.getWorkingDirectory().resolve(reader.getFileName() + FileType.ZIP.getExtension());
+			reader.archiveTo(zipFile);
 
-		// create temporary ANA peaks table
-		task_.updateMessage("Creating ANA peaks table...");
-		String peaksTableName = createANAPeaksTable(connection, fileID);
+			// add to files table
+			int fileID = addToFilesTable(connection, reader.getFileName());
 
-		// prepare statement for adding flights
-		String sql = "insert into ana_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, long_code, max_dp, min_dp, max_dt, min_dt) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-			addFlight.setInt(1, fileID); // file ID
+			// create ANA peaks (or peak blocks) table
+			task_.updateMessage("Creating ANA peaks table...");
+			String peaksTableName = null;
+			if (ANAPeakStore.isColumnarStorageSelected()) {
+				peaksTableName = ANAPeakStore.createBlocksTable(connection, fileID);
+				block_ = new ANAPeakCursor(dictionary_);
+			}
+			else {
+				peaksTableName = createANAPeaksTable(connection, fileID);
+			}
 
-			// prepare statement for adding peaks
-			sql = "insert into " + peaksTableName;
-			sql += "(flight_id, peak_num, four_digit_code, fourteen_digit_code, delta_p, delta_t) values(?, ?, ?, ?, ?, ?)";
-			try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
+			// prepare statement for adding flights
+			String sql = "insert into ana_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, long_code, max_dp, min_dp, max_dt, min_dt) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+			try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				addFlight.setInt(1, fileID); // file ID
 
-				// prepare statement for updating flight
-				sql = "update ana_flights set max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where file_ID = " + fileID
-						+ " and flight_id = ?";
-				try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
+				// prepare statement for adding peaks (or peak blocks)
+				sql = "insert into " + peaksTableName;
+				if (block_ != null) {
+					sql += "(flight_id, num_peaks, data) values(?, ?, ?)";
+				}
+				else {
+					sql += "(flight_id, peak_num, four_digit_code, fourteen_digit_code, code_id, delta_p, delta_t) values(?, ?, ?, ?, ?, ?, ?)";
+				}
+				try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(anaFile, Charset.defaultCharset())) {
+					// prepare statement for updating flight
+					sql = "update ana_flights set max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where file_ID = " + fileID
+							+ " and flight_id = ?";
+					try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
 
 						// read file till the end
 						while ((line_ = reader.readLine()) != null) {
@@ -146,12 +150,6 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 							if (task_.isCancelled())
 								return null;
 
-							// increment read lines
-							readLines_++;
-
-							// update progress
-							task_.updateProgress(readLines_, allLines_);
-
 							// comment line
 							if (line_.startsWith("#"))
 								continue;
@@ -165,17 +163,28 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 					}
 				}
 			}
-		}
 
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// refresh index statistics of peaks table
+			task_.updateMessage("Updating ANA peaks table statistics...");
+			Utility.updateStatistics(connection, peaksTableName);
+
+			// save class code dictionary
+			task_.updateMessage("Saving ANA class codes to database...");
+			ANAPeakStore.saveDictionary(connection, fileID, dictionary_);
+
+			// complete archive
+			reader.finish();
 
-		// set number of flights
-		setNumberOfFlights(connection, fileID);
+			// set file data, number of lines and number of flights
+			setFileData(connection, fileID, zipFile, reader.getNumberOfLines());
 
-		// return
-		return fileID;
+			// return
+			return fileID;
+		}
 	}
 
 	/**
@@ -192,7 +201,7 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	private static String createANAPeaksTable(Connection connection, int fileID) throws Exception {
 
 		// generate temporary table and index names
-		String tableName = "ANA_PEAKS_" + fileID;
+		String tableName = ANAPeakStore.PEAKS_TABLE + fileID;
 		String indexName = "ANA_PEAK_" + fileID;
 
 		// create statement
@@ -200,7 +209,7 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 
 			// create table
 			statement.executeUpdate("CREATE TABLE AURORA." + tableName
-					+ "(FLIGHT_ID INT NOT NULL, PEAK_NUM INT NOT NULL, FOUR_DIGIT_CODE VARCHAR(4) NOT NULL, FOURTEEN_DIGIT_CODE VARCHAR(14) NOT NULL, DELTA_P DOUBLE NOT NULL, DELTA_T DOUBLE NOT NULL)");
+					+ "(FLIGHT_ID INT NOT NULL, PEAK_NUM INT NOT NULL, FOUR_DIGIT_CODE VARCHAR(4) NOT NULL, FOURTEEN_DIGIT_CODE VARCHAR(14) NOT NULL, CODE_ID INT NOT NULL, DELTA_P DOUBLE NOT NULL, DELTA_T DOUBLE NOT NULL)");
 
 			// create index
 			statement.executeUpdate("CREATE INDEX " + indexName + " ON AURORA." + tableName + "(FLIGHT_ID)");
@@ -211,26 +220,17 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input ANA file to files table.
+	 * Adds input ANA file to files table. The file data, number of lines and number of flights are set after the file is read.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input ANA file.
+	 * @param fileName
+	 *            Input ANA file name.
 	 * @return The file ID of the added file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input ANA file name.");
-
-		// zip ANA file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving ANA file info to database...");
@@ -241,17 +241,13 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setInt(3, 0); // number of flights (0 for now)
-				update.setBlob(4, inputStream, zipFile.toFile().length());
-				update.setInt(5, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setInt(3, 0); // number of flights (0 for now)
+			update.setBlob(4, new ByteArrayInputStream(new byte[0]), 0L); // data (empty for now)
+			update.setInt(5, 0); // number of lines (0 for now)
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
@@ -274,7 +270,7 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFlightsTable(BufferedReader reader, PreparedStatement addFlight) throws Exception {
+	private int addToFlightsTable(IngestionReader reader, PreparedStatement addFlight) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving ANA flight info for flight " + flightNumber_ + " to database...");
@@ -319,8 +315,6 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 
 		// read next line
 		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
 
 		// null line
 		if (line_ == null)
@@ -331,8 +325,6 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 
 		// read next line
 		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
 
 		// null line
 		if (line_ == null)
@@ -401,20 +393,20 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input peaks to peaks table.
+	 * Adds input peaks to peaks table. If columnar storage is selected, the peaks of the flight are added as a single block.
 	 *
 	 * @param reader
 	 *            File reader.
 	 * @param flightID
 	 *            Flight ID.
 	 * @param addPeaks
-	 *            Database statement for adding peaks.
+	 *            Database statement for adding peaks (or peak blocks).
 	 * @param updateFlight
 	 *            Database statement for updating flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToPeaksTable(BufferedReader reader, int flightID, PreparedStatement addPeaks,
+	private void addToPeaksTable(IngestionReader reader, int flightID, PreparedStatement addPeaks,
 			PreparedStatement updateFlight) throws Exception {
 
 		// update info
@@ -426,70 +418,48 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 		double minDP = Double.POSITIVE_INFINITY;
 		double maxDT = Double.NEGATIVE_INFINITY;
 		double minDT = Double.POSITIVE_INFINITY;
-		double dp = 0.0, dt = 0.0;
+		double dp, dt;
 
 		// read till the end
-		while ((line_ = reader.readLine()) != null) {
+		TextTokenizer peak = reader.getTokenizer();
+		if (block_ != null) {
+			block_.clear();
+		}
+		while (reader.nextLine()) {
 
 			// task cancelled
 			if (task_.isCancelled())
 				break;
 
-			// increment read lines
-			readLines_++;
-
-			// update progress
-			task_.updateProgress(readLines_, allLines_);
-
-			// split line
-			String[] split = line_.trim().split(" ");
-
-			// set first 2 columns
-			addPeaks.setInt(1, flightID); // flight ID
-			addPeaks.setInt(2, readPeaks); // peak number
-
-			// loop over columns
-			int index = 0;
-			for (String col : split) {
-
-				// invalid value
-				if ((col == null) || col.isEmpty())
-					continue;
-
-				// trim spaces
-				col = col.trim();
-
-				// invalid value
-				if (col.isEmpty())
-					continue;
-
-				// 4 digit code
-				if (index == 0)
-					addPeaks.setString(3, col);
-
-				// 14 digit code
-				else if (index == 1)
-					addPeaks.setString(4, col);
-
-				// delta P
-				else if (index == 2) {
-					dp = Double.parseDouble(col);
-					addPeaks.setDouble(5, dp);
-				}
+			// add peak to block
+			if (block_ != null) {
+				String fourDigitCode = peak.next();
+				String fourteenDigitCode = peak.next();
+				dp = peak.nextDouble();
+				dt = peak.nextDouble();
+				block_.add(readPeaks, fourDigitCode, fourteenDigitCode, dp, dt);
+			}
 
-				// delta T
-				else if (index == 3) {
-					dt = Double.parseDouble(col);
-					addPeaks.setDouble(6, dt);
-				}
+			// add peak to table
+			else {
+
+				// set columns (4 digit code, 14 digit code, class code ID, delta P and delta T)
+				String fourDigitCode = peak.next();
+				String fourteenDigitCode = peak.next();
+				addPeaks.setInt(1, flightID); // flight ID
+				addPeaks.setInt(2, readPeaks); // peak number
+				addPeaks.setString(3, fourDigitCode); // 4 digit code
+				addPeaks.setString(4, fourteenDigitCode); // 14 digit code
+				addPeaks.setInt(5, dictionary_.intern(fourDigitCode, fourteenDigitCode)); // class code ID
+				dp = peak.nextDouble();
+				addPeaks.setDouble(6, dp); // delta P
+				dt = peak.nextDouble();
+				addPeaks.setDouble(7, dt); // delta T
 
-				// increment index
-				index++;
+				// execute update
+				addPeaks.executeUpdate();
 			}
 
-			// execute update
-			addPeaks.executeUpdate();
-
 			// update max-min values
 			if (dp >= maxDP)
 				maxDP = dp;
@@ -506,6 +476,15 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 			// all peaks read
 			if (readPeaks == numPeaks_) {
 
+				// add peak block
+				if (block_ != null) {
+					byte[] data = block_.encode();
+					addPeaks.setInt(1, flightID); // flight ID
+					addPeaks.setInt(2, readPeaks); // number of peaks
+					addPeaks.setBlob(3, new ByteArrayInputStream(data), data.length); // peak block
+					addPeaks.executeUpdate();
+				}
+
 				// update max-min values of the flight
 				updateFlight.setDouble(1, maxDP); // max DP
 				updateFlight.setDouble(2, minDP); // min DP
@@ -521,27 +500,37 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Sets number of flights to ANA file table.
+	 * Sets file data, number of lines and number of flights to ANA file table.
 	 *
 	 * @param connection
 	 *            Database connection.
 	 * @param fileID
 	 *            ANA file ID.
+	 * @param zipFile
+	 *            Zipped ANA file.
+	 * @param numLines
+	 *            Number of lines of ANA file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void setNumberOfFlights(Connection connection, int fileID) throws Exception {
+	private void setFileData(Connection connection, int fileID, Path zipFile, int numLines) throws Exception {
 
 		// update info
-		task_.updateMessage("Saving ANA number of flights to database...");
+		task_.updateMessage("Saving ANA file to database...");
 
 		// create query
-		String sql = "update ana_files set num_flights = ? where file_ID = " + fileID;
+		String sql = "update ana_files set data = ?, num_lines = ?, num_flights = ? where file_ID = " + fileID;
 
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql)) {
-			update.setInt(1, flightNumber_); // number of flights
-			update.executeUpdate();
+
+			// create input stream
+			try (InputStream inputStream = Files.newInputStream(zipFile)) {
+				update.setBlob(1, inputStream, Files.size(zipFile)); // data
+				update.setInt(2, numLines); // number of lines
+				update.setInt(3, flightNumber_); // number of flights
+				update.executeUpdate();
+			}
 		}
 	}
 }
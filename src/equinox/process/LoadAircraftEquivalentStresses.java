@@ -25,6 +25,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 
+import equinox.data.ElementIndex;
 import equinox.data.fileType.AircraftEquivalentStresses;
 import equinox.data.fileType.AircraftFatigueEquivalentStress;
 import equinox.data.fileType.AircraftLinearEquivalentStress;
@@ -151,44 +152,37 @@ public class LoadAircraftEquivalentStresses implements EquinoxProcess<SpectrumIt
 				// set ID
 				insertToStresses.setInt(1, eqStress.getID());
 
-				// prepare statement for selecting element IDs
-				sql = "select eid from ELEMENTS_" + folder_.getID() + " where eid = ?";
-				try (PreparedStatement selectElement = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+				// get element index of the model
+				ElementIndex elementIndex = ElementIndex.get(connection, folder_.getID());
 
-					// loop over rows
-					int rows = sheet.getRows();
-					for (int i = 1; i < rows; i++) {
+				// loop over rows
+				int rows = sheet.getRows();
+				for (int i = 1; i < rows; i++) {
 
-						// task cancelled
-						if (task_.isCancelled())
-							return;
+					// task cancelled
+					if (task_.isCancelled())
+						return;
 
-						// update info
-						task_.updateProgress(i, rows);
+					// update info
+					task_.updateProgress(i, rows);
 
-						// get EID
-						int eid = Integer.parseInt(sheet.getCell(1, i).getContents().trim());
+					// get EID
+					int eid = Integer.parseInt(sheet.getCell(1, i).getContents().trim());
 
-						// check if element ID exists in the model
-						selectElement.setInt(1, eid);
-						try (ResultSet resultSet = selectElement.executeQuery()) {
+					// unknown element ID
+					if (!elementIndex.contains(eid))
+						continue;
 
-							// unknown element ID
-							if (!resultSet.last())
-								continue;
-						}
+					// get other columns
+					String mission = sheet.getCell(0, i).getContents().trim();
+					double stress = Double.parseDouble(sheet.getCell(2, i).getContents().trim());
 
-						// get other columns
-						String mission = sheet.getCell(0, i).getContents().trim();
-						double stress = Double.parseDouble(sheet.getCell(2, i).getContents().trim());
-
-						// insert into stresses
-						insertToStresses.setString(2, mission);
-						insertToStresses.setInt(3, eid);
-						insertToStresses.setDouble(4, stress);
-						insertToStresses.executeUpdate();
-						anyAdded = true;
-					}
+					// insert into stresses
+					insertToStresses.setString(2, mission);
+					insertToStresses.setInt(3, eid);
+					insertToStresses.setDouble(4, stress);
+					insertToStresses.executeUpdate();
+					anyAdded = true;
 				}
 			}
 
@@ -236,60 +230,53 @@ public class LoadAircraftEquivalentStresses implements EquinoxProcess<SpectrumIt
 			// set ID
 			insertToStresses.setInt(1, eqStress.getID());
 
-			// prepare statement for selecting element IDs
-			sql = "select eid from ELEMENTS_" + folder_.getID() + " where eid = ?";
-			try (PreparedStatement selectElement = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
-
-				// create file reader
-				try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
+			// get element index of the model
+			ElementIndex elementIndex = ElementIndex.get(connection, folder_.getID());
 
-					// read file till the end
-					String line;
-					while ((line = reader.readLine()) != null) {
+			// create file reader
+			try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
 
-						// task cancelled
-						if (task_.isCancelled())
-							return;
+				// read file till the end
+				String line;
+				while ((line = reader.readLine()) != null) {
 
-						// update info
-						task_.updateProgress(readLines, allLines);
-						readLines++;
+					// task cancelled
+					if (task_.isCancelled())
+						return;
 
-						// trim line
-						line = line.trim();
+					// update info
+					task_.updateProgress(readLines, allLines);
+					readLines++;
 
-						// empty line
-						if (line.isEmpty())
-							continue;
+					// trim line
+					line = line.trim();
 
-						// comment
-						if (line.startsWith("#"))
-							continue;
+					// empty line
+					if (line.isEmpty())
+						continue;
 
-						// get element ID
-						String[] split = line.split("\t");
-						int eid = Integer.parseInt(split[1].trim());
+					// comment
+					if (line.startsWith("#"))
+						continue;
 
-						// check if element ID exists in the model
-						selectElement.setInt(1, eid);
-						try (ResultSet resultSet = selectElement.executeQuery()) {
+					// get element ID
+					String[] split = line.split("\t");
+					int eid = Integer.parseInt(split[1].trim());
 
-							// unknown element ID
-							if (!resultSet.last())
-								continue;
-						}
+					// unknown element ID
+					if (!elementIndex.contains(eid))
+						continue;
 
-						// get mission and stress
-						String mission = split[0].trim();
-						double stress = Double.parseDouble(split[2].trim());
+					// get mission and stress
+					String mission = split[0].trim();
+					double stress = Double.parseDouble(split[2].trim());
 
-						// insert into stresses
-						insertToStresses.setString(2, mission);
-						insertToStresses.setInt(3, eid);
-						insertToStresses.setDouble(4, stress);
-						insertToStresses.executeUpdate();
-						anyAdded = true;
-					}
+					// insert into stresses
+					insertToStresses.setString(2, mission);
+					insertToStresses.setInt(3, eid);
+					insertToStresses.setDouble(4, stress);
+					insertToStresses.executeUpdate();
+					anyAdded = true;
 				}
 			}
 		}
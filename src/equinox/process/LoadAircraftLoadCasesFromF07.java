@@ -25,15 +25,18 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
 
+import equinox.data.ElementIndex;
 import equinox.data.ElementType;
 import equinox.data.fileType.AircraftLoadCase;
 import equinox.data.fileType.AircraftLoadCases;
 import equinox.task.AddAircraftLoadCases;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.BatchInserter;
 import equinox.utility.Utility;
 
 /**
- * Class for load load cases process.
+ * Class for load load cases process. Element stresses of unknown elements are skipped by using the in-memory element index of the A/C model (see {@link ElementIndex}). Element stresses are inserted in JDBC
+ * batches.
  *
  * @author Murat Artim
  * @date Aug 5, 2015
@@ -85,6 +88,14 @@ public class LoadAircraftLoadCasesFromF07 implements EquinoxProcess<ArrayList<Ai
 		task_.updateMessage("Creating load cases table...");
 		AddAircraftLoadCases.createLoadCasesTable(connection, folder_.getID());
 
+		// task cancelled
+		if (task_.isCancelled())
+			return null;
+
+		// get element index of the model
+		task_.updateMessage("Loading element IDs...");
+		ElementIndex elementIndex = ElementIndex.get(connection, folder_.getID());
+
 		// task cancelled
 		if (task_.isCancelled())
 			return null;
@@ -101,140 +112,136 @@ public class LoadAircraftLoadCasesFromF07 implements EquinoxProcess<ArrayList<Ai
 				sql = "insert into LOAD_CASES_" + folder_.getID() + "(lc_id, eid, sx, sy, sxy) values(?, ?, ?, ?, ?)";
 				try (PreparedStatement insertToStresses = connection.prepareStatement(sql)) {
 
-					// prepare statement for selecting element IDs
-					sql = "select eid from ELEMENTS_" + folder_.getID() + " where eid = ?";
-					try (PreparedStatement selectElement = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+					// create batch inserter
+					BatchInserter inserter = new BatchInserter(insertToStresses);
 
-						// create file reader
-						try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
+					// create file reader
+					try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
 
-							// read file till the end
-							task_.updateMessage("Loading element stresses...");
-							String line;
-							while ((line = reader.readLine()) != null) {
+						// read file till the end
+						task_.updateMessage("Loading element stresses...");
+						String line;
+						while ((line = reader.readLine()) != null) {
 
-								// task cancelled
-								if (task_.isCancelled())
-									return null;
+							// task cancelled
+							if (task_.isCancelled())
+								return null;
 
-								// update info
-								task_.updateProgress(readLines, allLines);
-								readLines++;
+							// update info
+							task_.updateProgress(readLines, allLines);
+							readLines++;
 
-								// trim line
-								line = line.trim();
+							// trim line
+							line = line.trim();
 
-								// empty line
-								if (line.isEmpty())
-									continue;
+							// empty line
+							if (line.isEmpty())
+								continue;
 
-								// table start
-								if (line.equals("1")) {
+							// table start
+							if (line.equals("1")) {
 
-									// read next line
-									line = reader.readLine();
+								// read next line
+								line = reader.readLine();
 
-									// null line
-									if (line == null)
-										continue;
-
-									// get load case name and number
-									String loadCaseName = line.substring(0, 9).trim();
-									int loadCaseNum = Integer.parseInt(line.substring(11, 15).trim());
-
-									// check if load case already exists
-									int loadCaseID = -1;
-									checkLoadCases.setString(1, loadCaseName);
-									checkLoadCases.setInt(2, loadCaseNum);
-									try (ResultSet resultSet = checkLoadCases.executeQuery()) {
-										if (resultSet.next())
-											loadCaseID = resultSet.getInt("lc_id");
-									}
+								// null line
+								if (line == null)
+									continue;
 
-									// load case not contained
-									if (loadCaseID == -1) {
+								// get load case name and number
+								String loadCaseName = line.substring(0, 9).trim();
+								int loadCaseNum = Integer.parseInt(line.substring(11, 15).trim());
+
+								// check if load case already exists
+								int loadCaseID = -1;
+								checkLoadCases.setString(1, loadCaseName);
+								checkLoadCases.setInt(2, loadCaseNum);
+								try (ResultSet resultSet = checkLoadCases.executeQuery()) {
+									if (resultSet.next())
+										loadCaseID = resultSet.getInt("lc_id");
+								}
 
-										// insert to load case names table
-										insertToLoadCases.setString(1, loadCaseName);
-										insertToLoadCases.setInt(2, loadCaseNum);
-										insertToLoadCases.executeUpdate();
-										try (ResultSet resultSet = insertToLoadCases.getGeneratedKeys()) {
-											if (resultSet.next())
-												loadCaseID = resultSet.getBigDecimal(1).intValue();
-										}
+								// load case not contained
+								if (loadCaseID == -1) {
 
-										// add to load cases list
-										loadCases.add(new AircraftLoadCase(loadCaseID, loadCaseName, loadCaseNum));
+									// insert to load case names table
+									insertToLoadCases.setString(1, loadCaseName);
+									insertToLoadCases.setInt(2, loadCaseNum);
+									insertToLoadCases.executeUpdate();
+									try (ResultSet resultSet = insertToLoadCases.getGeneratedKeys()) {
+										if (resultSet.next())
+											loadCaseID = resultSet.getBigDecimal(1).intValue();
 									}
 
-									// set ID to load case statement
-									insertToStresses.setInt(1, loadCaseID);
-
-									// continue
-									continue;
+									// add to load cases list
+									loadCases.add(new AircraftLoadCase(loadCaseID, loadCaseName, loadCaseNum));
 								}
 
-								// element stress
-								else if (line.startsWith(ElementType.BEAM) || line.startsWith(ElementType.QUAD) || line.startsWith(ElementType.ROD) || line.startsWith(ElementType.TRIA)) {
+								// set ID to load case statement
+								insertToStresses.setInt(1, loadCaseID);
 
-									// get element type
-									String type = line.substring(0, 8).trim();
+								// continue
+								continue;
+							}
 
-									// get element ID
-									int eid = Integer.parseInt(line.substring(8, 17).trim());
+							// element stress
+							else if (line.startsWith(ElementType.BEAM) || line.startsWith(ElementType.QUAD) || line.startsWith(ElementType.ROD) || line.startsWith(ElementType.TRIA)) {
 
-									// check if element ID exists in the model
-									selectElement.setInt(1, eid);
-									try (ResultSet resultSet = selectElement.executeQuery()) {
+								// get element type
+								String type = line.substring(0, 8).trim();
 
-										// unknown element ID
-										if (!resultSet.last())
-											continue;
-									}
+								// get element ID
+								int eid = Integer.parseInt(line.substring(8, 17).trim());
 
-									// set EID
-									insertToStresses.setInt(2, eid);
+								// unknown element ID
+								if (!elementIndex.contains(eid))
+									continue;
 
-									// QUAD or TRIA
-									if (type.equals(ElementType.QUAD) || type.equals(ElementType.TRIA)) {
+								// set EID
+								insertToStresses.setInt(2, eid);
 
-										// extract stress values
-										Double sx = getStress(line.substring(26, 35).trim());
-										Double sy = getStress(line.substring(35, 44).trim());
-										Double sxy = getStress(line.substring(44, 53).trim());
+								// QUAD or TRIA
+								if (type.equals(ElementType.QUAD) || type.equals(ElementType.TRIA)) {
 
-										// there is null stress
-										if (sx == null || sy == null || sxy == null)
-											continue;
+									// extract stress values
+									Double sx = getStress(line.substring(26, 35).trim());
+									Double sy = getStress(line.substring(35, 44).trim());
+									Double sxy = getStress(line.substring(44, 53).trim());
 
-										// set stresses
-										insertToStresses.setDouble(3, sx);
-										insertToStresses.setDouble(4, sy);
-										insertToStresses.setDouble(5, sxy);
-									}
+									// there is null stress
+									if (sx == null || sy == null || sxy == null)
+										continue;
 
-									// BEAM or ROD
-									else if (type.equals(ElementType.BEAM) || type.equals(ElementType.ROD)) {
+									// set stresses
+									insertToStresses.setDouble(3, sx);
+									insertToStresses.setDouble(4, sy);
+									insertToStresses.setDouble(5, sxy);
+								}
 
-										// extract stress values
-										Double sx = getStress(line.substring(26, 35).trim());
+								// BEAM or ROD
+								else if (type.equals(ElementType.BEAM) || type.equals(ElementType.ROD)) {
 
-										// there is null stress
-										if (sx == null)
-											continue;
+									// extract stress values
+									Double sx = getStress(line.substring(26, 35).trim());
 
-										// set stresses
-										insertToStresses.setDouble(3, sx);
-										insertToStresses.setNull(4, java.sql.Types.DOUBLE);
-										insertToStresses.setNull(5, java.sql.Types.DOUBLE);
-									}
+									// there is null stress
+									if (sx == null)
+										continue;
 
-									// execute update
-									insertToStresses.executeUpdate();
+									// set stresses
+									insertToStresses.setDouble(3, sx);
+									insertToStresses.setNull(4, java.sql.Types.DOUBLE);
+									insertToStresses.setNull(5, java.sql.Types.DOUBLE);
 								}
+
+								// add to batch
+								inserter.add();
 							}
 						}
 					}
+
+					// insert remaining element stresses
+					inserter.flush();
 				}
 			}
 		}
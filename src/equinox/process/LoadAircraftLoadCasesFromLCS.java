@@ -25,6 +25,7 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
 
+import equinox.data.ElementIndex;
 import equinox.data.fileType.AircraftLoadCase;
 import equinox.data.fileType.AircraftLoadCases;
 import equinox.task.AddAircraftLoadCases;
@@ -96,133 +97,126 @@ public class LoadAircraftLoadCasesFromLCS implements EquinoxProcess<ArrayList<Ai
 			sql = "insert into LOAD_CASES_" + folder_.getID() + "(lc_id, eid, sx, sy, sxy) values(?, ?, ?, ?, ?)";
 			try (PreparedStatement insertToStresses = connection.prepareStatement(sql)) {
 
-				// prepare statement for selecting element IDs
-				sql = "select eid from ELEMENTS_" + folder_.getID() + " where eid = ?";
-				try (PreparedStatement selectElement = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+				// get element index of the model
+				ElementIndex elementIndex = ElementIndex.get(connection, folder_.getID());
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
+				// create file reader
+				try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
 
-						// read file till the end
-						task_.updateMessage("Loading element stresses...");
-						boolean loadCaseNameSet = false;
-						String line;
-						while ((line = reader.readLine()) != null) {
+					// read file till the end
+					task_.updateMessage("Loading element stresses...");
+					boolean loadCaseNameSet = false;
+					String line;
+					while ((line = reader.readLine()) != null) {
 
-							// task cancelled
-							if (task_.isCancelled())
-								return null;
+						// task cancelled
+						if (task_.isCancelled())
+							return null;
 
-							// update info
-							task_.updateProgress(readLines, allLines);
-							readLines++;
+						// update info
+						task_.updateProgress(readLines, allLines);
+						readLines++;
 
-							// trim line
-							line = line.trim();
+						// trim line
+						line = line.trim();
 
-							// empty line
-							if (line.isEmpty())
-								continue;
+						// empty line
+						if (line.isEmpty())
+							continue;
 
-							// load case name and number
-							if (line.startsWith("Load case name:")) {
-
-								// get load case name
-								String[] split = line.split(":");
-								String loadCaseName = split[1].trim();
-
-								// read next line
-								line = reader.readLine();
-								if (line == null)
-									continue;
-
-								// get load case number
-								split = line.split(":");
-								int loadCaseNum = Integer.parseInt(split[1].trim());
-
-								// read next line
-								line = reader.readLine();
-								if (line == null)
-									continue;
-
-								// get load case comment
-								split = line.split(":");
-								String loadCaseComment = null;
-								if (split.length > 1)
-									loadCaseComment = split[1].trim();
-
-								// insert to load case names
-								int loadCaseID = -1;
-								insertToLoadCases.setString(1, loadCaseName);
-								insertToLoadCases.setInt(2, loadCaseNum);
-								if (loadCaseComment == null)
-									insertToLoadCases.setNull(3, java.sql.Types.VARCHAR);
-								else
-									insertToLoadCases.setString(3, loadCaseComment);
-								insertToLoadCases.executeUpdate();
-								try (ResultSet resultSet = insertToLoadCases.getGeneratedKeys()) {
-									if (resultSet.next())
-										loadCaseID = resultSet.getBigDecimal(1).intValue();
-								}
-
-								// set ID to load case statement
-								insertToStresses.setInt(1, loadCaseID);
-
-								// add to load cases list if not contained
-								addToLoadCases(loadCases, loadCaseID, loadCaseName, loadCaseNum);
-
-								// read till start of element stresses
-								line = reader.readLine();
-								line = reader.readLine();
-								loadCaseNameSet = true;
-								continue;
-							}
+						// load case name and number
+						if (line.startsWith("Load case name:")) {
+
+							// get load case name
+							String[] split = line.split(":");
+							String loadCaseName = split[1].trim();
 
-							// load case name not set
-							if (!loadCaseNameSet)
+							// read next line
+							line = reader.readLine();
+							if (line == null)
 								continue;
 
-							// get element ID
-							int eid = Integer.parseInt(line.substring(0, 12).trim());
+							// get load case number
+							split = line.split(":");
+							int loadCaseNum = Integer.parseInt(split[1].trim());
 
-							// check if element ID exists in the model
-							selectElement.setInt(1, eid);
-							try (ResultSet resultSet = selectElement.executeQuery()) {
+							// read next line
+							line = reader.readLine();
+							if (line == null)
+								continue;
 
-								// unknown element ID
-								if (!resultSet.last())
-									continue;
+							// get load case comment
+							split = line.split(":");
+							String loadCaseComment = null;
+							if (split.length > 1)
+								loadCaseComment = split[1].trim();
+
+							// insert to load case names
+							int loadCaseID = -1;
+							insertToLoadCases.setString(1, loadCaseName);
+							insertToLoadCases.setInt(2, loadCaseNum);
+							if (loadCaseComment == null)
+								insertToLoadCases.setNull(3, java.sql.Types.VARCHAR);
+							else
+								insertToLoadCases.setString(3, loadCaseComment);
+							insertToLoadCases.executeUpdate();
+							try (ResultSet resultSet = insertToLoadCases.getGeneratedKeys()) {
+								if (resultSet.next())
+									loadCaseID = resultSet.getBigDecimal(1).intValue();
 							}
 
-							// set EID
-							insertToStresses.setInt(2, eid);
+							// set ID to load case statement
+							insertToStresses.setInt(1, loadCaseID);
 
-							// extract stress values
-							Double sx = getStress(line.substring(12, 24).trim());
-							Double sy = getStress(line.substring(24, 36).trim());
-							Double sxy = getStress(line.substring(36).trim());
+							// add to load cases list if not contained
+							addToLoadCases(loadCases, loadCaseID, loadCaseName, loadCaseNum);
 
-							// there is null stress
-							if (sx == null && sy == null && sxy == null)
-								continue;
-
-							// set stresses
-							if (sx == null)
-								insertToStresses.setNull(3, java.sql.Types.DOUBLE);
-							else
-								insertToStresses.setDouble(3, sx);
-							if (sy == null)
-								insertToStresses.setNull(4, java.sql.Types.DOUBLE);
-							else
-								insertToStresses.setDouble(4, sy);
-							if (sxy == null)
-								insertToStresses.setNull(5, java.sql.Types.DOUBLE);
-							else
-								insertToStresses.setDouble(5, sxy);
-
-							// execute update
-							insertToStresses.executeUpdate();
+							// read till start of element stresses
+							line = reader.readLine();
+							line = reader.readLine();
+							loadCaseNameSet = true;
+							continue;
 						}
+
+						// load case name not set
+						if (!loadCaseNameSet)
+							continue;
+
+						// get element ID
+						int eid = Integer.parseInt(line.substring(0, 12).trim());
+
+						// unknown element ID
+						if (!elementIndex.contains(eid))
+							continue;
+
+						// set EID
+						insertToStresses.setInt(2, eid);
+
+						// extract stress values
+						Double sx = getStress(line.substring(12, 24).trim());
+						Double sy = getStress(line.substring(24, 36).trim());
+						Double sxy = getStress(line.substring(36).trim());
+
+						// there is null stress
+						if (sx == null && sy == null && sxy == null)
+							continue;
+
+						// set stresses
+						if (sx == null)
+							insertToStresses.setNull(3, java.sql.Types.DOUBLE);
+						else
+							insertToStresses.setDouble(3, sx);
+						if (sy == null)
+							insertToStresses.setNull(4, java.sql.Types.DOUBLE);
+						else
+							insertToStresses.setDouble(4, sy);
+						if (sxy == null)
+							insertToStresses.setNull(5, java.sql.Types.DOUBLE);
+						else
+							insertToStresses.setDouble(5, sxy);
+
+						// execute update
+						insertToStresses.executeUpdate();
 					}
 				}
 			}
@@ -58,6 +58,7 @@ import equinox.data.fileType.SpectrumItem;
 import equinox.data.fileType.StressSequence;
 import equinox.data.input.AircraftEquivalentStressType;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for load all files process.
@@ -177,6 +178,9 @@ public class LoadAllFilesProcess implements EquinoxProcess<ArrayList<SpectrumIte
 		// get database meta data
 		DatabaseMetaData dbmtadta = connection.getMetaData();
 
+		// get condition excluding pilot points of deleted STF files
+		String stfExclusion = DeletedFiles.getExclusion(connection, DeletedFiles.STF, "stf_files.file_id");
+
 		// get A/C models
 		String sql = "select all * from ac_models order by ac_program, name";
 		try (ResultSet getModel = statement.executeQuery(sql)) {
@@ -260,6 +264,9 @@ public class LoadAllFilesProcess implements EquinoxProcess<ArrayList<SpectrumIte
 						// add pilot points
 						sql = "select pp_id, stf_id, stf_files.name from pilot_points_" + id;
 						sql += " inner join stf_files on pilot_points_" + id + ".stf_id = stf_files.file_id";
+						if (stfExclusion != null) {
+							sql += " where " + stfExclusion;
+						}
 						sql += " order by stf_files.name";
 						try (Statement statement2 = connection.createStatement()) {
 							try (ResultSet getPilotPoints = statement2.executeQuery(sql)) {
@@ -435,8 +442,17 @@ public class LoadAllFilesProcess implements EquinoxProcess<ArrayList<SpectrumIte
 	 */
 	private static void getSpectra(Connection connection, Statement statement, ArrayList<SpectrumItem> files, int maxVisibleSTFs) throws Exception {
 
+		// get conditions excluding deleted spectra and STF files
+		String spectrumExclusion = DeletedFiles.getExclusion(connection, DeletedFiles.SPECTRUM, "set_id");
+		String stfExclusion = DeletedFiles.getExclusion(connection, DeletedFiles.STF, "file_id");
+		stfExclusion = stfExclusion == null ? "" : " and " + stfExclusion;
+
 		// get spectra
-		String sql = "select all set_id, name, ac_program, ac_section, fat_mission from cdf_sets order by name";
+		String sql = "select all set_id, name, ac_program, ac_section, fat_mission from cdf_sets";
+		if (spectrumExclusion != null) {
+			sql += " where " + spectrumExclusion;
+		}
+		sql += " order by name";
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 			while (resultSet.next()) {
 				String name = resultSet.getString("name");
@@ -527,11 +543,11 @@ public class LoadAllFilesProcess implements EquinoxProcess<ArrayList<SpectrumIte
 		}
 
 		// prepare statement for checking number of STF files
-		sql = "select count(file_id) as stfcount from stf_files where cdf_id = ?";
+		sql = "select count(file_id) as stfcount from stf_files where cdf_id = ?" + stfExclusion;
 		try (PreparedStatement countSTFFiles = connection.prepareStatement(sql)) {
 
 			// prepare statement for getting STF files
-			sql = "select file_id, stress_table_id, name, is_2d, fat_mission, eid from stf_files where cdf_id = ? order by name";
+			sql = "select file_id, stress_table_id, name, is_2d, fat_mission, eid from stf_files where cdf_id = ?" + stfExclusion + " order by name";
 			try (PreparedStatement getSTFFiles = connection.prepareStatement(sql)) {
 
 				// set maximum number of visible STF files
@@ -25,8 +25,8 @@ import java.sql.Statement;
 
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
-import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.task.TemporaryFileTaskMonitor;
+import equinox.utility.IngestionReader;
 
 /**
  * Class for loading CVT files.
@@ -38,7 +38,7 @@ import equinox.utility.Utility;
 public class LoadCVTFile implements EquinoxProcess<Path> {
 
 	/** The owner task of this process. */
-	private final TemporaryFileCreatingTask<?> task_;
+	private final TemporaryFileTaskMonitor task_;
 
 	/** Input CVT file. */
 	private final Path cvtFile_;
@@ -46,9 +46,6 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 	/** CDF set. */
 	private final Spectrum cdfSet_;
 
-	/** Parameters. */
-	private int allLines_;
-
 	/**
 	 * Creates load CVT file process.
 	 *
@@ -59,7 +56,7 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 	 * @param cdfSet
 	 *            CDF set.
 	 */
-	public LoadCVTFile(TemporaryFileCreatingTask<?> task, Path cvtFile, Spectrum cdfSet) {
+	public LoadCVTFile(TemporaryFileTaskMonitor task, Path cvtFile, Spectrum cdfSet) {
 		task_ = task;
 		cvtFile_ = cvtFile;
 		cdfSet_ = cdfSet;
@@ -86,31 +83,26 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 	@Override
 	public Path start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// initialize input file and type
-		Path cvtFile = cvtFile_;
-		FileType cvtType = FileType.getFileType(cvtFile_.toFile());
-
-		// input file is a ZIP file
-		if (cvtType.equals(FileType.ZIP)) {
-			task_.updateMessage("Extracting zipped CVT file...");
-			cvtFile = Utility.extractFileFromZIP(cvtFile_, task_, FileType.CVT, null);
-		}
+		// create single pass file reader
+		task_.updateMessage("Reading CVT file...");
+		try (IngestionReader reader = new IngestionReader(task_, cvtFile_, FileType.CVT)) {
 
-		// input file is a GZIP file
-		else if (cvtType.equals(FileType.GZ)) {
-			cvtFile = task_.getWorkingDirectory()
-					.resolve(FileType.appendExtension(FileType.getNameWithoutExtension(cvtFile_), FileType.CVT));
-			task_.updateMessage("Extracting zipped CVT file...");
-			Utility.extractFileFromGZIP(cvtFile_, cvtFile);
-		}
+			// copy compressed input file to working directory (it is needed by TXT file generation)
+			Path cvtFile = cvtFile_;
+			if (!FileType.getFileType(cvtFile_.toFile()).equals(FileType.CVT)) {
+				cvtFile = task_.getWorkingDirectory().resolve(reader.getFileName());
+				reader.copyTo(cvtFile);
+			}
 
-		// get number of lines of file
-		task_.updateMessage("Getting CVT file size...");
-		allLines_ = Utility.countLines(cvtFile, task_);
+			// archive file while it is read
+			Path zipFile = task_.getWorkingDirectory().resolve(reader.getFileName() + FileType.ZIP.getExtension());
+			reader.archiveTo(zipFile);
+			reader.finish();
 
-		// add file to files table and return file ID
-		cdfSet_.setCVTFileID(addToFilesTable(connection, cvtFile));
-		return cvtFile;
+			// add file to files table and return file ID
+			cdfSet_.setCVTFileID(addToFilesTable(connection, reader.getFileName(), zipFile, reader.getNumberOfLines()));
+			return cvtFile;
+		}
 	}
 
 	/**
@@ -118,22 +110,17 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input CVT file.
+	 * @param fileName
+	 *            Input CVT file name.
+	 * @param zipFile
+	 *            Zipped CVT file.
+	 * @param numLines
+	 *            Number of lines of CVT file.
 	 * @return File ID.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input CVT file name.");
-
-		// zip CVT file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
+	private int addToFilesTable(Connection connection, String fileName, Path zipFile, int numLines) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving CVT file info to database...");
@@ -149,9 +136,9 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 
 				// execute update
 				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setBlob(3, inputStream, zipFile.toFile().length());
-				update.setInt(4, allLines_); // number of lines
+				update.setString(2, fileName); // file name
+				update.setBlob(3, inputStream, Files.size(zipFile));
+				update.setInt(4, numLines); // number of lines
 				update.executeUpdate();
 			}
 
@@ -25,7 +25,7 @@ import java.sql.Statement;
 
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
-import equinox.task.TemporaryFileCreatingTask;
+import equinox.task.TemporaryFileTaskMonitor;
 import equinox.utility.Utility;
 import jxl.Sheet;
 import jxl.Workbook;
@@ -40,7 +40,7 @@ import jxl.Workbook;
 public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 
 	/** The owner task of this process. */
-	private final TemporaryFileCreatingTask<?> task_;
+	private final TemporaryFileTaskMonitor task_;
 
 	/** Input conversion table file. */
 	private final Path inputFile_;
@@ -63,7 +63,7 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 	 * @param sheet
 	 *            Sheet name to extract the data.
 	 */
-	public LoadConversionTable(TemporaryFileCreatingTask<?> task, Path inputFile, Spectrum cdfSet, String sheet) {
+	public LoadConversionTable(TemporaryFileTaskMonitor task, Path inputFile, Spectrum cdfSet, String sheet) {
 		task_ = task;
 		inputFile_ = inputFile;
 		cdfSet_ = cdfSet;
@@ -23,14 +23,16 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import equinox.data.ElementType;
 import equinox.data.fileType.AircraftModel;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchInserter;
 import equinox.utility.Utility;
 
 /**
- * Class for load element data file (*.f06) process.
+ * Class for load element data file (*.f06) process. Elements are inserted in JDBC batches into a table without keys, and the primary key and indices of the table are created after all elements are loaded.
  *
  * @author Murat Artim
  * @date Jul 6, 2015
@@ -51,7 +53,7 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 	private int readLines_, allLines_, numElements_ = 0, numQuads_ = 0, numBeams_ = 0, numRods_ = 0, numTrias_ = 0, numShears_ = 0;
 
 	/** Ignored grid IDs. */
-	private final ArrayList<Integer> ignoredGridIDs_;
+	private final HashSet<Integer> ignoredGridIDs_;
 
 	/**
 	 * Creates load element data file (*.f06) process.
@@ -69,7 +71,7 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 		task_ = task;
 		model_ = model;
 		f06File_ = f06File;
-		ignoredGridIDs_ = ignoredGridIDs;
+		ignoredGridIDs_ = new HashSet<>(ignoredGridIDs);
 	}
 
 	@Override
@@ -77,10 +79,14 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 
 		// prepare statement for adding grids
 		task_.updateMessage("Creating elements table...");
-		String sql = "insert into " + createElementsTable(connection, model_.getID());
+		String tableName = createElementsTable(connection, model_.getID());
+		String sql = "insert into " + tableName;
 		sql += "(eid, el_type, pid, g1, g2, g3, g4) values(?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement addElement = connection.prepareStatement(sql)) {
 
+			// create batch inserter
+			BatchInserter inserter = new BatchInserter(addElement);
+
 			// get number of lines of file
 			task_.updateMessage("Getting F06 file size...");
 			allLines_ = Utility.countLines(f06File_, task_);
@@ -112,12 +118,23 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 					if (line.startsWith(" List of Elem. Def data")) {
 						line = reader.readLine();
 						line = reader.readLine();
-						loadElements(line, reader, addElement);
+						loadElements(line, reader, addElement, inserter);
 					}
 				}
 			}
+
+			// insert remaining elements
+			inserter.flush();
 		}
 
+		// task cancelled
+		if (task_.isCancelled())
+			return null;
+
+		// create primary key and indices
+		task_.updateMessage("Indexing elements table...");
+		createElementsIndices(connection, tableName, model_.getID());
+
 		// update number of elements of A/C model
 		updateNumberOfElements(connection);
 
@@ -160,13 +177,15 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 	 *            File reader.
 	 * @param addElement
 	 *            Database statement to add grid data.
+	 * @param inserter
+	 *            Batch inserter of the add element statement.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void loadElements(String line, BufferedReader reader, PreparedStatement addElement) throws Exception {
+	private void loadElements(String line, BufferedReader reader, PreparedStatement addElement, BatchInserter inserter) throws Exception {
 
 		// read next line
-		nextLine: while ((line = reader.readLine()) != null) {
+		while ((line = reader.readLine()) != null) {
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -247,15 +266,15 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 			}
 
 			// check if any of element nodes are contained in ignored list
-			for (Integer ignoredID : ignoredGridIDs_) {
-				if (g1 != null && g1.intValue() == ignoredID.intValue())
-					continue nextLine;
-				if (g2 != null && g2.intValue() == ignoredID.intValue())
-					continue nextLine;
-				if (g3 != null && g3.intValue() == ignoredID.intValue())
-					continue nextLine;
-				if (g4 != null && g4.intValue() == ignoredID.intValue())
-					continue nextLine;
+			if (!ignoredGridIDs_.isEmpty()) {
+				if (g1 != null && ignoredGridIDs_.contains(g1))
+					continue;
+				if (g2 != null && ignoredGridIDs_.contains(g2))
+					continue;
+				if (g3 != null && ignoredGridIDs_.contains(g3))
+					continue;
+				if (g4 != null && ignoredGridIDs_.contains(g4))
+					continue;
 			}
 
 			// add to database
@@ -278,7 +297,7 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 				addElement.setNull(7, java.sql.Types.INTEGER);
 			else
 				addElement.setInt(7, g4);
-			addElement.executeUpdate();
+			inserter.add();
 
 			// increment counts
 			numElements_++;
@@ -296,7 +315,7 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 	}
 
 	/**
-	 * Creates elements table.
+	 * Creates elements table. Note that, the primary key and indices of the table are created after the elements are loaded.
 	 *
 	 * @param connection
 	 *            Database connection.
@@ -305,28 +324,41 @@ public class LoadElementDataFile implements EquinoxProcess<Void> {
 	 * @return Newly created elements table name.
 	 * @throws Exception
 	 *             If exception occurs during process.
+	 * @see #createElementsIndices(Connection, String, int)
 	 */
 	private static String createElementsTable(Connection connection, int modelID) throws Exception {
 
-		// generate temporary table and index names
+		// generate temporary table name
 		String tableName = "ELEMENTS_" + modelID;
-		String indexName1 = "ELEM_ID_" + modelID;
-		String indexName2 = "ELEM_TYPE_" + modelID;
 
-		// create statement
+		// create table
 		try (Statement statement = connection.createStatement()) {
-
-			// create table
 			String sql = "CREATE TABLE AURORA." + tableName;
-			sql += "(EID INT NOT NULL, EL_TYPE VARCHAR(20) NOT NULL, PID INT NOT NULL, G1 INT, G2 INT, G3 INT, G4 INT, PRIMARY KEY(EID))";
+			sql += "(EID INT NOT NULL, EL_TYPE VARCHAR(20) NOT NULL, PID INT NOT NULL, G1 INT, G2 INT, G3 INT, G4 INT)";
 			statement.executeUpdate(sql);
-
-			// create indices
-			statement.executeUpdate("CREATE INDEX " + indexName1 + " ON AURORA." + tableName + "(EID)");
-			statement.executeUpdate("CREATE INDEX " + indexName2 + " ON AURORA." + tableName + "(EL_TYPE)");
 		}
 
 		// return table name
 		return tableName;
 	}
+
+	/**
+	 * Creates primary key and indices of the elements table. Building them once after the bulk load is much faster than maintaining them for every inserted element.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param tableName
+	 *            Elements table name.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void createElementsIndices(Connection connection, String tableName, int modelID) throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("ALTER TABLE AURORA." + tableName + " ADD PRIMARY KEY(EID)");
+			statement.executeUpdate("CREATE INDEX ELEM_ID_" + modelID + " ON AURORA." + tableName + "(EID)");
+			statement.executeUpdate("CREATE INDEX ELEM_TYPE_" + modelID + " ON AURORA." + tableName + "(EL_TYPE)");
+		}
+	}
 }
@@ -25,6 +25,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 
+import equinox.data.ElementIndex;
 import equinox.data.fileType.AircraftModel;
 import equinox.task.InternalEquinoxTask;
 import equinox.utility.Utility;
@@ -76,9 +77,6 @@ public class LoadElementGroupsFile implements EquinoxProcess<Void> {
 		if (grpFile_ == null)
 			return null;
 
-		// get table name
-		String elementsTableName = "ELEMENTS_" + model_.getID();
-
 		// get number of lines of file
 		task_.updateMessage("Getting GRP file size...");
 		int allLines = Utility.countLines(grpFile_, task_);
@@ -96,19 +94,89 @@ public class LoadElementGroupsFile implements EquinoxProcess<Void> {
 				sql = "insert into ELEMENT_GROUPS_" + model_.getID() + "(group_id, eid) values(?, ?)";
 				try (PreparedStatement insertToGroups = connection.prepareStatement(sql)) {
 
-					// prepare statement for getting interval of elements
-					sql = "select eid from " + elementsTableName + " where eid >= ? and eid <= ? order by eid";
-					try (PreparedStatement getInterval = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+					// get element index of the model
+					ElementIndex elementIndex = ElementIndex.get(connection, model_.getID());
+
+					// create file reader
+					try (BufferedReader reader = Files.newBufferedReader(grpFile_, Charset.defaultCharset())) {
+
+						// read till the end of file
+						String line;
+						while ((line = reader.readLine()) != null) {
+
+							// task cancelled
+							if (task_.isCancelled())
+								return null;
+
+							// increment read lines
+							readLines++;
+
+							// update progress
+							task_.updateProgress(readLines, allLines);
+
+							// comment or empty line
+							if (line.trim().isEmpty() || line.startsWith("#"))
+								continue;
 
-						// prepare statement for selecting element IDs
-						sql = "select eid from " + elementsTableName + " where eid = ?";
-						try (PreparedStatement selectElement = connection.prepareStatement(sql)) {
+							// interval
+							if (line.startsWith("Interval")) {
 
-							// create file reader
-							try (BufferedReader reader = Files.newBufferedReader(grpFile_, Charset.defaultCharset())) {
+								// split line
+								String[] split = line.split("\t");
+
+								// get group name
+								String name = split[1].trim();
+
+								// update info
+								task_.updateMessage("Loading group '" + name + "'...");
+
+								// insert to group names
+								int groupID = -1;
+								insertToGroupNames.setString(1, name);
+								insertToGroupNames.executeUpdate();
+								try (ResultSet resultSet = insertToGroupNames.getGeneratedKeys()) {
+									if (resultSet.next())
+										groupID = resultSet.getBigDecimal(1).intValue();
+								}
+
+								// insert into groups
+								int[] eids = elementIndex.getRange(Integer.parseInt(split[2].trim()), Integer.parseInt(split[3].trim()));
+								insertToGroups.setInt(1, groupID);
+								for (int eid : eids) {
+									insertToGroups.setInt(2, eid);
+									insertToGroups.executeUpdate();
+								}
+								int numEls = eids.length;
 
-								// read till the end of file
-								String line;
+								// update number of elements in group names table
+								updateNumEls.setInt(1, numEls);
+								updateNumEls.setInt(2, groupID);
+								updateNumEls.executeUpdate();
+							}
+
+							// group
+							else if (line.startsWith("Group")) {
+
+								// get group name
+								String name = line.split("\t")[1].trim();
+
+								// update info
+								task_.updateMessage("Loading group '" + name + "'...");
+
+								// insert to group names
+								int groupID = -1;
+								insertToGroupNames.setString(1, name);
+								insertToGroupNames.executeUpdate();
+								try (ResultSet resultSet = insertToGroupNames.getGeneratedKeys()) {
+									if (resultSet.next())
+										groupID = resultSet.getBigDecimal(1).intValue();
+								}
+
+								// set group ID
+								insertToGroups.setInt(1, groupID);
+
+								// loop till the end of group
+								int numEls = 0;
 								while ((line = reader.readLine()) != null) {
 
 									// task cancelled
@@ -125,106 +193,25 @@ public class LoadElementGroupsFile implements EquinoxProcess<Void> {
 									if (line.trim().isEmpty() || line.startsWith("#"))
 										continue;
 
-									// interval
-									if (line.startsWith("Interval")) {
-
-										// split line
-										String[] split = line.split("\t");
-
-										// get group name
-										String name = split[1].trim();
-
-										// update info
-										task_.updateMessage("Loading group '" + name + "'...");
-
-										// insert to group names
-										int groupID = -1;
-										insertToGroupNames.setString(1, name);
-										insertToGroupNames.executeUpdate();
-										try (ResultSet resultSet = insertToGroupNames.getGeneratedKeys()) {
-											if (resultSet.next())
-												groupID = resultSet.getBigDecimal(1).intValue();
-										}
-
-										// insert into groups
-										getInterval.setInt(1, Integer.parseInt(split[2].trim()));
-										getInterval.setInt(2, Integer.parseInt(split[3].trim()));
-										int numEls = 0;
-										try (ResultSet resultSet = getInterval.executeQuery()) {
-											insertToGroups.setInt(1, groupID);
-											while (resultSet.next()) {
-												insertToGroups.setInt(2, resultSet.getInt("eid"));
-												insertToGroups.executeUpdate();
-												numEls++;
-											}
-										}
-
-										// update number of elements in group names table
-										updateNumEls.setInt(1, numEls);
-										updateNumEls.setInt(2, groupID);
-										updateNumEls.executeUpdate();
-									}
-
-									// group
-									else if (line.startsWith("Group")) {
-
-										// get group name
-										String name = line.split("\t")[1].trim();
-
-										// update info
-										task_.updateMessage("Loading group '" + name + "'...");
-
-										// insert to group names
-										int groupID = -1;
-										insertToGroupNames.setString(1, name);
-										insertToGroupNames.executeUpdate();
-										try (ResultSet resultSet = insertToGroupNames.getGeneratedKeys()) {
-											if (resultSet.next())
-												groupID = resultSet.getBigDecimal(1).intValue();
-										}
-
-										// set group ID
-										insertToGroups.setInt(1, groupID);
-
-										// loop till the end of group
-										int numEls = 0;
-										while ((line = reader.readLine()) != null) {
-
-											// task cancelled
-											if (task_.isCancelled())
-												return null;
-
-											// increment read lines
-											readLines++;
-
-											// update progress
-											task_.updateProgress(readLines, allLines);
-
-											// comment or empty line
-											if (line.trim().isEmpty() || line.startsWith("#"))
-												continue;
-
-											// end of group
-											if (line.startsWith("End"))
-												break;
-
-											// insert into groups
-											selectElement.setInt(1, Integer.parseInt(line.trim()));
-											try (ResultSet resultSet = selectElement.executeQuery()) {
-												while (resultSet.next()) {
-													insertToGroups.setInt(2, resultSet.getInt("eid"));
-													insertToGroups.executeUpdate();
-													numEls++;
-												}
-											}
-										}
-
-										// update number of elements in group names table
-										updateNumEls.setInt(1, numEls);
-										updateNumEls.setInt(2, groupID);
-										updateNumEls.executeUpdate();
-									}
+									// end of group
+									if (line.startsWith("End"))
+										break;
+
+									// unknown element ID
+									int eid = Integer.parseInt(line.trim());
+									if (!elementIndex.contains(eid))
+										continue;
+
+									// insert into groups
+									insertToGroups.setInt(2, eid);
+									insertToGroups.executeUpdate();
+									numEls++;
 								}
+
+								// update number of elements in group names table
+								updateNumEls.setInt(1, numEls);
+								updateNumEls.setInt(2, groupID);
+								updateNumEls.executeUpdate();
 							}
 						}
 					}
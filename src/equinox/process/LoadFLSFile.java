@@ -15,9 +15,8 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -27,8 +26,8 @@ import java.sql.Statement;
 
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
-import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.task.TemporaryFileTaskMonitor;
+import equinox.utility.IngestionReader;
 
 /**
  * Class for loading FLS files.
@@ -40,7 +39,7 @@ import equinox.utility.Utility;
 public class LoadFLSFile implements EquinoxProcess<Integer> {
 
 	/** The owner task of this process. */
-	private final TemporaryFileCreatingTask<?> task_;
+	private final TemporaryFileTaskMonitor task_;
 
 	/** Input FLS file. */
 	private final Path inputFile_;
@@ -48,9 +47,6 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	/** CDF set. */
 	private final Spectrum cdfSet_;
 
-	/** Parameters. */
-	private int readLines_, allLines_;
-
 	/** Update message header. */
 	private String line_;
 
@@ -64,7 +60,7 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	 * @param cdfSet
 	 *            CDF set.
 	 */
-	public LoadFLSFile(TemporaryFileCreatingTask<?> task, Path inputFile, Spectrum cdfSet) {
+	public LoadFLSFile(TemporaryFileTaskMonitor task, Path inputFile, Spectrum cdfSet) {
 		task_ = task;
 		inputFile_ = inputFile;
 		cdfSet_ = cdfSet;
@@ -91,34 +87,17 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// initialize input file and type
-		Path flsFile = inputFile_;
-		FileType type = FileType.getFileType(inputFile_.toFile());
-
-		// input file is a ZIP file
-		if (type.equals(FileType.ZIP)) {
-			task_.updateMessage("Extracting zipped FLS file...");
-			flsFile = Utility.extractFileFromZIP(inputFile_, task_, FileType.FLS, null);
-		}
-
-		// input file is a GZIP file
-		else if (type.equals(FileType.GZ)) {
-			flsFile = task_.getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(inputFile_), FileType.FLS));
-			task_.updateMessage("Extracting zipped FLS file...");
-			Utility.extractFileFromGZIP(inputFile_, flsFile);
-		}
-
-		// get number of lines of file
-		task_.updateMessage("Getting FLS file size...");
-		allLines_ = Utility.countLines(flsFile, task_);
-		readLines_ = 0;
+		// create single pass file reader
+		task_.updateMessage("Reading FLS file...");
 		boolean warningAdded = false;
+		try (IngestionReader reader = new IngestionReader(task_, inputFile_, FileType.FLS)) {
 
-		// add file to files table
-		int fileID = addToFilesTable(connection, flsFile);
+			// archive file while it is read
+			Path zipFile = task_.getWorkingDirectory().resolve(reader.getFileName() + FileType.ZIP.getExtension());
+			reader.archiveTo(zipFile);
 
-		// create file reader
-		try (BufferedReader reader = Files.newBufferedReader(flsFile, Charset.defaultCharset())) {
+			// add file to files table
+			int fileID = addToFilesTable(connection, reader.getFileName());
 
 			// create statement for inserting flights
 			task_.updateMessage("Saving FLS flights to database...");
@@ -134,12 +113,6 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 					if (task_.isCancelled())
 						return null;
 
-					// increment read lines
-					readLines_++;
-
-					// update progress
-					task_.updateProgress(readLines_, allLines_);
-
 					// comment line
 					if (line_.startsWith("#")) {
 						continue;
@@ -197,7 +170,7 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 
 					// null column encountered
 					if ((flightNumber == null) || (name == null) || (severity == null)) {
-						warningAdded = checkLine(flightNumber, name, severity, warningAdded, split, flsFile, update);
+						warningAdded = checkLine(flightNumber, name, severity, warningAdded, split, reader.getFileName(), update);
 					}
 
 					// no null column
@@ -209,10 +182,20 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 					}
 				}
 			}
-		}
 
-		// return file ID
-		return fileID;
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// complete archive
+			reader.finish();
+
+			// set file data and number of lines
+			setFileData(connection, fileID, zipFile, reader.getNumberOfLines());
+
+			// return file ID
+			return fileID;
+		}
 	}
 
 	/**
@@ -228,19 +211,19 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	 *            True warning is already added.
 	 * @param split
 	 *            Array for line splitting.
-	 * @param flsFile
-	 *            FLS file path.
+	 * @param fileName
+	 *            FLS file name.
 	 * @param update
 	 *            Database statement.
 	 * @return True if unconventional format warning is already added.
 	 * @throws Exception
 	 *             If invalid format is encountered.
 	 */
-	private boolean checkLine(Integer flightNumber, String name, String severity, boolean warningAdded, String[] split, Path flsFile, PreparedStatement update) throws Exception {
+	private boolean checkLine(Integer flightNumber, String name, String severity, boolean warningAdded, String[] split, String fileName, PreparedStatement update) throws Exception {
 
 		// add warning if not already added
 		if (!warningAdded) {
-			task_.addWarning("Unconventional file format encountered for the FLS file '" + flsFile.getFileName() + "'.");
+			task_.addWarning("Unconventional file format encountered for the FLS file '" + fileName + "'.");
 			warningAdded = true;
 		}
 
@@ -269,12 +252,12 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 
 			// severity not found
 			else
-				throw new Exception("Unrecognized file format encountered for the FLS file '" + flsFile.getFileName() + "'. Severities not found.");
+				throw new Exception("Unrecognized file format encountered for the FLS file '" + fileName + "'. Severities not found.");
 		}
 
 		// invalid format
 		else
-			throw new Exception("Unrecognized file format encountered for the FLS file '" + flsFile.getFileName() + "'.");
+			throw new Exception("Unrecognized file format encountered for the FLS file '" + fileName + "'.");
 
 		// execute update
 		update.setInt(2, flightNumber);
@@ -287,26 +270,17 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input FLS file to files table.
+	 * Adds input FLS file to files table. The file data and number of lines are set after the file is read.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input FLS file.
+	 * @param fileName
+	 *            Input FLS file name.
 	 * @return The file ID of the added file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input FLS file name.");
-
-		// zip FLS file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving FLS file info to database...");
@@ -317,16 +291,12 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setBlob(3, inputStream, zipFile.toFile().length());
-				update.setInt(4, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setBlob(3, new ByteArrayInputStream(new byte[0]), 0L); // data (empty for now)
+			update.setInt(4, 0); // number of lines (0 for now)
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
@@ -337,4 +307,35 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 			}
 		}
 	}
+
+	/**
+	 * Sets file data and number of lines to FLS file table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileID
+	 *            FLS file ID.
+	 * @param zipFile
+	 *            Zipped FLS file.
+	 * @param numLines
+	 *            Number of lines of FLS file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void setFileData(Connection connection, int fileID, Path zipFile, int numLines) throws Exception {
+
+		// update info
+		task_.updateMessage("Saving FLS file to database...");
+
+		// create statement
+		try (PreparedStatement update = connection.prepareStatement("update fls_files set data = ?, num_lines = ? where file_id = " + fileID)) {
+
+			// create input stream
+			try (InputStream inputStream = Files.newInputStream(zipFile)) {
+				update.setBlob(1, inputStream, Files.size(zipFile)); // data
+				update.setInt(2, numLines); // number of lines
+				update.executeUpdate();
+			}
+		}
+	}
 }
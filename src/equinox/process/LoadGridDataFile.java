@@ -26,10 +26,11 @@ import java.util.ArrayList;
 
 import equinox.data.fileType.AircraftModel;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchInserter;
 import equinox.utility.Utility;
 
 /**
- * Class for load grid data file (*.f07) process.
+ * Class for load grid data file (*.f07) process. Grids are inserted in JDBC batches into a table without keys, and the primary key and index of the table are created after all grids are loaded.
  *
  * @author Murat Artim
  * @date Jul 6, 2015
@@ -76,10 +77,14 @@ public class LoadGridDataFile implements EquinoxProcess<ArrayList<Integer>> {
 
 		// prepare statement for adding grids
 		task_.updateMessage("Creating grids table...");
-		String sql = "insert into " + createGridsTable(connection, model_.getID());
+		String tableName = createGridsTable(connection, model_.getID());
+		String sql = "insert into " + tableName;
 		sql += "(gid, x_coord, y_coord, z_coord, qv_pos, lv_pos) values(?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement addGrid = connection.prepareStatement(sql)) {
 
+			// create batch inserter
+			BatchInserter inserter = new BatchInserter(addGrid);
+
 			// get number of lines of file
 			task_.updateMessage("Getting F07 file size...");
 			allLines_ = Utility.countLines(f07File_, task_);
@@ -111,12 +116,23 @@ public class LoadGridDataFile implements EquinoxProcess<ArrayList<Integer>> {
 					if (line.startsWith(" List of Grid GDT data")) {
 						line = reader.readLine();
 						line = reader.readLine();
-						loadGrids(line, reader, addGrid, ignoredIDs);
+						loadGrids(line, reader, addGrid, inserter, ignoredIDs);
 					}
 				}
 			}
+
+			// insert remaining grids
+			inserter.flush();
 		}
 
+		// task cancelled
+		if (task_.isCancelled())
+			return null;
+
+		// create primary key and index
+		task_.updateMessage("Indexing grids table...");
+		createGridsIndex(connection, tableName, model_.getID());
+
 		// update number of grids of A/C model
 		updateNumberOfGrids(connection);
 
@@ -154,12 +170,14 @@ public class LoadGridDataFile implements EquinoxProcess<ArrayList<Integer>> {
 	 *            File reader.
 	 * @param addGrid
 	 *            Database statement to add grid data.
+	 * @param inserter
+	 *            Batch inserter of the add grid statement.
 	 * @param ignoredIDs
 	 *            List of ignored grid IDs.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void loadGrids(String line, BufferedReader reader, PreparedStatement addGrid, ArrayList<Integer> ignoredIDs) throws Exception {
+	private void loadGrids(String line, BufferedReader reader, PreparedStatement addGrid, BatchInserter inserter, ArrayList<Integer> ignoredIDs) throws Exception {
 
 		// read next line
 		while ((line = reader.readLine()) != null) {
@@ -259,13 +277,13 @@ public class LoadGridDataFile implements EquinoxProcess<ArrayList<Integer>> {
 				addGrid.setNull(6, java.sql.Types.VARCHAR);
 			else
 				addGrid.setString(6, lvPos);
-			addGrid.executeUpdate();
+			inserter.add();
 			numGrids_++;
 		}
 	}
 
 	/**
-	 * Creates grids table.
+	 * Creates grids table. Note that, the primary key and index of the table are created after the grids are loaded.
 	 *
 	 * @param connection
 	 *            Database connection.
@@ -274,26 +292,40 @@ public class LoadGridDataFile implements EquinoxProcess<ArrayList<Integer>> {
 	 * @return Newly created grids table name.
 	 * @throws Exception
 	 *             If exception occurs during process.
+	 * @see #createGridsIndex(Connection, String, int)
 	 */
 	private static String createGridsTable(Connection connection, int modelID) throws Exception {
 
-		// generate temporary table and index names
+		// generate temporary table name
 		String tableName = "GRIDS_" + modelID;
-		String indexName = "GRID_ID_" + modelID;
 
-		// create statement
+		// create table
 		try (Statement statement = connection.createStatement()) {
-
-			// create table
 			String sql = "CREATE TABLE AURORA." + tableName;
-			sql += "(GID INT NOT NULL, X_COORD DOUBLE NOT NULL, Y_COORD DOUBLE NOT NULL, Z_COORD DOUBLE NOT NULL, QV_POS VARCHAR(20), LV_POS VARCHAR(20), PRIMARY KEY(GID))";
+			sql += "(GID INT NOT NULL, X_COORD DOUBLE NOT NULL, Y_COORD DOUBLE NOT NULL, Z_COORD DOUBLE NOT NULL, QV_POS VARCHAR(20), LV_POS VARCHAR(20))";
 			statement.executeUpdate(sql);
-
-			// create index
-			statement.executeUpdate("CREATE INDEX " + indexName + " ON AURORA." + tableName + "(GID)");
 		}
 
 		// return table name
 		return tableName;
 	}
+
+	/**
+	 * Creates primary key and index of the grids table. Building them once after the bulk load is much faster than maintaining them for every inserted grid.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param tableName
+	 *            Grids table name.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void createGridsIndex(Connection connection, String tableName, int modelID) throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("ALTER TABLE AURORA." + tableName + " ADD PRIMARY KEY(GID)");
+			statement.executeUpdate("CREATE INDEX GRID_ID_" + modelID + " ON AURORA." + tableName + "(GID)");
+		}
+	}
 }
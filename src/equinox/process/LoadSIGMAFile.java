@@ -15,21 +15,20 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Arrays;
 
 import equinox.data.fileType.ExternalFlight;
 import equinox.data.fileType.ExternalFlights;
 import equinox.data.fileType.ExternalStressSequence;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.utility.BatchInserter;
+import equinox.utility.TextTokenizer;
 
 /**
  * Class for load SIGMA file process.
@@ -46,8 +45,17 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 	/** Path to input SIGMA file. */
 	private final Path sigmaFile_;
 
+	/** Peaks of current flight. */
+	private double[] peaks_ = new double[1024];
+
+	/** Name of current flight. */
+	private String flightName_;
+
+	/** Validity and max-min peak values of current flight. */
+	private double validity_, maxVal_, minVal_;
+
 	/** Parameters. */
-	private int readLines_, allLines_, flightNumber_, numPeaks_;
+	private int flightNumber_, numPeaks_, readPeaks_;
 
 	/** Update message header. */
 	private String line_;
@@ -89,6 +97,13 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 		// add flights folder to sequence
 		sequence.getChildren().add(flights);
 
+		// task cancelled
+		if (task_.isCancelled())
+			return null;
+
+		// create index of STH peaks table
+		createPeaksIndex(connection, sthPeaksTableName, sequence.getID());
+
 		// task cancelled
 		if (task_.isCancelled())
 			return null;
@@ -113,11 +128,6 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 	 */
 	private void loadSIGMAFile(ExternalStressSequence sequence, ExternalFlights flights, String sthPeaksTableName, Connection connection) throws Exception {
 
-		// get number of lines of file
-		task_.updateMessage("Getting SIGMA file size...");
-		allLines_ = Utility.countLines(sigmaFile_, task_);
-		readLines_ = 0;
-
 		// prepare statement for adding flights
 		String sql = "insert into ext_sth_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, max_val, min_val) values(?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -127,60 +137,65 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 			sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val) values(?, ?, ?)";
 			try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
 
-				// prepare statement for updating flight
-				sql = "update ext_sth_flights set max_val = ?, min_val = ? where file_ID = " + sequence.getID() + " and flight_id = ?";
-				try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
+				// create peak inserter
+				BatchInserter peakInserter = new BatchInserter(addPeaks);
 
-					sql = "insert into ext_fls_flights(sth_id, flight_num, name, severity) values(?, ?, ?, ?)";
-					try (PreparedStatement loadFLS = connection.prepareStatement(sql)) {
-						loadFLS.setInt(1, sequence.getID()); // file ID
+				sql = "insert into ext_fls_flights(sth_id, flight_num, name, severity) values(?, ?, ?, ?)";
+				try (PreparedStatement loadFLS = connection.prepareStatement(sql)) {
+					loadFLS.setInt(1, sequence.getID()); // file ID
 
-						// create file reader
-						try (BufferedReader reader = Files.newBufferedReader(sigmaFile_, Charset.defaultCharset())) {
+					// create FLS inserter
+					BatchInserter flsInserter = new BatchInserter(loadFLS);
 
-							// read file till the end
-							while ((line_ = reader.readLine()) != null) {
+					// create file reader
+					try (TextTokenizer reader = new TextTokenizer(sigmaFile_, task_)) {
 
-								// task cancelled
-								if (task_.isCancelled())
-									return;
+						// read file till the end
+						while ((line_ = reader.readLine()) != null) {
 
-								// increment read lines
-								readLines_++;
+							// task cancelled
+							if (task_.isCancelled())
+								return;
 
-								// update progress
-								task_.updateProgress(readLines_, allLines_);
+							// comment line
+							if (reader.getLineNumber() < 4)
+								continue;
 
-								// comment line
-								if (readLines_ < 4)
-									continue;
+							// FLS information
+							if (line_.startsWith("FLIGHTS SEQUENCE")) {
+								loadFLSFlights(reader, loadFLS, flsInserter);
+								continue;
+							}
 
-								// FLS information
-								if (line_.startsWith("FLIGHTS SEQUENCE")) {
-									loadFLSFlights(reader, loadFLS);
-									continue;
-								}
+							// sequence ended
+							if (line_.trim().isEmpty())
+								continue;
 
-								// sequence ended
-								if (line_.trim().isEmpty())
-									continue;
+							// read flight info and peaks
+							readFlightInfo(reader);
+							readPeaks(reader);
 
-								// add flight to flights table
-								ExternalFlight flight = addToFlightsTable(reader, addFlight);
+							// task cancelled
+							if (task_.isCancelled())
+								return;
 
-								// task cancelled
-								if (task_.isCancelled())
-									return;
+							// add flight to flights table
+							ExternalFlight flight = addToFlightsTable(addFlight);
 
-								// add flight to flights folder
-								flights.getChildren().add(flight);
+							// add flight to flights folder
+							flights.getChildren().add(flight);
 
-								// add peaks to peaks table
-								addToPeaksTable(reader, flight.getID(), addPeaks, updateFlight);
-							}
+							// add peaks to peaks table
+							addToPeaksTable(flight.getID(), addPeaks, peakInserter);
 						}
 					}
+
+					// insert remaining FLS flights
+					flsInserter.flush();
 				}
+
+				// insert remaining peaks
+				peakInserter.flush();
 			}
 		}
 
@@ -193,158 +208,129 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 	}
 
 	/**
-	 * Adds input peaks to peaks table.
+	 * Reads header info of next flight.
 	 *
 	 * @param reader
 	 *            File reader.
-	 * @param flightID
-	 *            Flight ID.
-	 * @param addPeaks
-	 *            Database statement for adding peaks.
-	 * @param updateFlight
-	 *            Database statement for updating flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToPeaksTable(BufferedReader reader, int flightID, PreparedStatement addPeaks, PreparedStatement updateFlight) throws Exception {
+	private void readFlightInfo(TextTokenizer reader) throws Exception {
 
 		// update info
-		task_.updateMessage("Saving peaks for flight " + (flightNumber_ - 1) + " to database...");
+		task_.updateMessage("Reading flight info for flight " + flightNumber_ + "...");
 
-		// set flight ID
-		addPeaks.setInt(1, flightID);
-		updateFlight.setInt(3, flightID);
+		// read next line
+		line_ = reader.readLine();
 
-		// initialize number of read peaks
-		int readPeaks = 0;
-		double maxVal = Double.NEGATIVE_INFINITY, minVal = Double.POSITIVE_INFINITY, peakVal = 0.0;
+		// null line
+		if (line_ == null)
+			throw new Exception("Null line encountered during reading SIGMA file.");
 
-		// read till the end
-		while ((line_ = reader.readLine()) != null) {
+		// get flight name
+		String[] split = line_.trim().split(" ");
+		flightName_ = split[split.length - 1];
 
-			// task cancelled
-			if (task_.isCancelled())
-				break;
+		// read next line
+		line_ = reader.readLine();
+
+		// null line
+		if (line_ == null)
+			throw new Exception("Null line encountered during reading SIGMA file.");
 
-			// increment read lines
-			readLines_++;
+		// get validity
+		split = line_.trim().split(" ");
+		validity_ = Double.parseDouble(split[split.length - 1]);
 
-			// update progress
-			task_.updateProgress(readLines_, allLines_);
+		// read next line
+		line_ = reader.readLine();
 
-			// split line
-			String[] split = line_.trim().split(" ");
+		// null line
+		if (line_ == null)
+			throw new Exception("Null line encountered during reading SIGMA file.");
 
-			// loop over columns
-			for (String col : split) {
+		// get number of peaks
+		split = line_.trim().split(" ");
+		numPeaks_ = Integer.parseInt(split[split.length - 1]);
+	}
 
-				// invalid value
-				if (col == null || col.isEmpty())
-					continue;
+	/**
+	 * Reads peaks of current flight. Maximum and minimum peak values of the flight are computed while reading.
+	 *
+	 * @param reader
+	 *            File reader.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void readPeaks(TextTokenizer reader) throws Exception {
 
-				// trim spaces
-				col = col.trim();
+		// initialize number of read peaks
+		readPeaks_ = 0;
+		maxVal_ = Double.NEGATIVE_INFINITY;
+		minVal_ = Double.POSITIVE_INFINITY;
+
+		// read till the end
+		while (reader.nextLine()) {
+
+			// task cancelled
+			if (task_.isCancelled())
+				return;
 
-				// invalid value
-				if (col.isEmpty())
-					continue;
+			// loop over columns
+			while (reader.hasNext()) {
 
 				// get peak value
-				peakVal = Double.parseDouble(col);
+				double peakVal = reader.nextDouble();
 
-				// set peak number and value
-				addPeaks.setInt(2, readPeaks);
-				addPeaks.setDouble(3, peakVal);
-				addPeaks.executeUpdate();
+				// add peak
+				if (readPeaks_ == peaks_.length) {
+					peaks_ = Arrays.copyOf(peaks_, 2 * readPeaks_);
+				}
+				peaks_[readPeaks_] = peakVal;
 
 				// update max-min values
-				if (peakVal >= maxVal)
-					maxVal = peakVal;
-				if (peakVal <= minVal)
-					minVal = peakVal;
+				if (peakVal >= maxVal_)
+					maxVal_ = peakVal;
+				if (peakVal <= minVal_)
+					minVal_ = peakVal;
 
 				// increment peak number
-				readPeaks++;
+				readPeaks_++;
 			}
 
 			// all peaks read
-			if (readPeaks == numPeaks_) {
-
-				// update max-min values of the flight
-				updateFlight.setDouble(1, maxVal); // max value
-				updateFlight.setDouble(2, minVal); // min value
-				updateFlight.executeUpdate();
-
-				// return
+			if (readPeaks_ == numPeaks_)
 				return;
-			}
 		}
+
+		// incomplete flight (max-min values are not set)
+		maxVal_ = 0.0;
+		minVal_ = 0.0;
 	}
 
 	/**
-	 * Adds input flight to flights table.
+	 * Adds current flight to flights table.
 	 *
-	 * @param reader
-	 *            File reader.
 	 * @param addFlight
 	 *            Database statement for adding flight.
 	 * @return The added flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private ExternalFlight addToFlightsTable(BufferedReader reader, PreparedStatement addFlight) throws Exception {
+	private ExternalFlight addToFlightsTable(PreparedStatement addFlight) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving flight info for flight " + flightNumber_ + " to database...");
 
-		// read next line
-		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (line_ == null)
-			throw new Exception("Null line encountered during reading SIGMA file.");
-
-		// get flight name
-		String[] split = line_.trim().split(" ");
-		String flightName = split[split.length - 1];
-
-		// read next line
-		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (line_ == null)
-			throw new Exception("Null line encountered during reading SIGMA file.");
-
-		// get validity
-		split = line_.trim().split(" ");
-		double validity = Double.parseDouble(split[split.length - 1]);
-
-		// read next line
-		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (line_ == null)
-			throw new Exception("Null line encountered during reading SIGMA file.");
-
-		// get number of peaks
-		split = line_.trim().split(" ");
-		numPeaks_ = Integer.parseInt(split[split.length - 1]);
-
 		// execute update
 		addFlight.setInt(2, flightNumber_); // flight number
-		addFlight.setString(3, flightName); // flight name
+		addFlight.setString(3, flightName_); // flight name
 		addFlight.setString(4, ""); // severity (not used here)
 		addFlight.setInt(5, numPeaks_); // number of peaks
-		addFlight.setDouble(6, validity); // validity
+		addFlight.setDouble(6, validity_); // validity
 		addFlight.setDouble(7, 1.0); // block size (dummy value)
-		addFlight.setDouble(8, 0.0); // max peak (0 for now)
-		addFlight.setDouble(9, 0.0); // min peak (0 for now)
+		addFlight.setDouble(8, maxVal_); // max peak
+		addFlight.setDouble(9, minVal_); // min peak
 		addFlight.executeUpdate();
 
 		// increment flight number
@@ -355,7 +341,35 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 
 			// return flight ID
 			resultSet.next();
-			return new ExternalFlight(flightName, resultSet.getBigDecimal(1).intValue());
+			return new ExternalFlight(flightName_, resultSet.getBigDecimal(1).intValue());
+		}
+	}
+
+	/**
+	 * Adds peaks of current flight to peaks table.
+	 *
+	 * @param flightID
+	 *            Flight ID.
+	 * @param addPeaks
+	 *            Database statement for adding peaks.
+	 * @param peakInserter
+	 *            Batch inserter of peaks statement.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void addToPeaksTable(int flightID, PreparedStatement addPeaks, BatchInserter peakInserter) throws Exception {
+
+		// update info
+		task_.updateMessage("Saving peaks for flight " + (flightNumber_ - 1) + " to database...");
+
+		// set flight ID
+		addPeaks.setInt(1, flightID);
+
+		// add peaks
+		for (int i = 0; i < readPeaks_; i++) {
+			addPeaks.setInt(2, i);
+			addPeaks.setDouble(3, peaks_[i]);
+			peakInserter.add();
 		}
 	}
 
@@ -391,10 +405,12 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 	 *            File reader.
 	 * @param loadFLS
 	 *            Database statement.
+	 * @param flsInserter
+	 *            Batch inserter of FLS statement.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void loadFLSFlights(BufferedReader reader, PreparedStatement loadFLS) throws Exception {
+	private void loadFLSFlights(TextTokenizer reader, PreparedStatement loadFLS, BatchInserter flsInserter) throws Exception {
 
 		// update info
 		task_.updateMessage("Loading flight sequence...");
@@ -407,12 +423,6 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 			if (task_.isCancelled())
 				break;
 
-			// increment read lines
-			readLines_++;
-
-			// update progress
-			task_.updateProgress(readLines_, allLines_);
-
 			// sequence ended
 			if (line_.trim().isEmpty())
 				break;
@@ -424,7 +434,7 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 			loadFLS.setInt(2, flightNum); // flight number
 			loadFLS.setString(3, split[split.length - 1]); // flight name
 			loadFLS.setString(4, ""); // severity (not used here)
-			loadFLS.executeUpdate();
+			flsInserter.add();
 
 			// increment flight number
 			flightNum++;
@@ -447,24 +457,41 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 		// update info
 		task_.updateMessage("Creating stress peaks table...");
 
-		// generate table and index names
+		// generate table name
 		String tableName = "EXT_STH_PEAKS_" + sequenceID;
-		String indexName = "EXT_STH_PEAK_" + sequenceID;
 
-		// create statement
+		// create table (index is created after the peaks are loaded)
 		try (Statement statement = connection.createStatement()) {
-
-			// create table
 			statement.executeUpdate("CREATE TABLE AURORA." + tableName + "(FLIGHT_ID INT NOT NULL, PEAK_NUM INT NOT NULL, PEAK_VAL DOUBLE NOT NULL)");
-
-			// create index
-			statement.executeUpdate("CREATE INDEX " + indexName + " ON AURORA." + tableName + "(FLIGHT_ID)");
 		}
 
 		// return table name
 		return tableName;
 	}
 
+	/**
+	 * Creates index of STH peaks table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sthPeaksTableName
+	 *            Name of STH peaks table.
+	 * @param sequenceID
+	 *            Stress sequence ID. This is used to generate unique index name.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void createPeaksIndex(Connection connection, String sthPeaksTableName, int sequenceID) throws Exception {
+
+		// update info
+		task_.updateMessage("Indexing stress peaks table...");
+
+		// create index
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE INDEX EXT_STH_PEAK_" + sequenceID + " ON AURORA." + sthPeaksTableName + "(FLIGHT_ID)");
+		}
+	}
+
 	/**
 	 * Creates and returns external stress sequence in the database.
 	 *
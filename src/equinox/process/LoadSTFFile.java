@@ -15,10 +15,7 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -49,7 +46,8 @@ import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.Permission;
 import equinox.task.DatabaseQueryListenerTask;
 import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.utility.BatchInserter;
+import equinox.utility.IngestionReader;
 import equinox.utility.exception.PermissionDeniedException;
 import equinox.utility.exception.ServerDatabaseQueryFailedException;
 
@@ -81,7 +79,7 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 	private final int stressTableID_;
 
 	/** Parameters. */
-	private int readLines_, allLines_;
+	private int insertedStresses_ = 0;
 
 	/** Update message header. */
 	private String line_, eid_ = null;
@@ -131,6 +129,15 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 		return cdfSet_;
 	}
 
+	/**
+	 * Returns the number of stress rows inserted by this process.
+	 *
+	 * @return The number of stress rows inserted by this process.
+	 */
+	public int getInsertedStresses() {
+		return insertedStresses_;
+	}
+
 	/**
 	 * Returns the input file of the process.
 	 *
@@ -164,19 +171,12 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 	@Override
 	public STFFile start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// get number of lines of file
-		task_.updateMessage("Getting STF file size...");
-		if (updateProgress_) {
-			allLines_ = Utility.countLines(inputFile_, task_);
-		}
-		readLines_ = 0;
-
 		// add file to files table
 		int fileID = addToFilesTable(connection, preparedStatements[0], inputFile_);
 		boolean is2D = false;
 
-		// create file reader
-		try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
+		// create file reader (progress is reported from consumed bytes, if requested)
+		try (IngestionReader reader = new IngestionReader(updateProgress_ ? task_ : null, inputFile_, FileType.STF)) {
 
 			// read file till the end
 			while ((line_ = reader.readLine()) != null) {
@@ -185,16 +185,8 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 				if (task_.isCancelled())
 					return null;
 
-				// increment read lines
-				readLines_++;
-
-				// update progress
-				if (updateProgress_) {
-					task_.updateProgress(readLines_, allLines_);
-				}
-
 				// skip comment lines
-				if (readLines_ < 2) {
+				if (reader.getNumberOfLines() < 2) {
 					continue;
 				}
 
@@ -535,16 +527,16 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private boolean addToStressesTable(PreparedStatement insertStresses, BufferedReader reader, int fileID) throws Exception {
+	private boolean addToStressesTable(PreparedStatement insertStresses, IngestionReader reader, int fileID) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving STF stresses to database...");
 
-		// initialize stress state
-		boolean is2D = false;
+		// create batch inserter and line parser
+		BatchInserter inserter = new BatchInserter(insertStresses);
+		STFLineParser parser = new STFLineParser();
 
 		// read till the end
-		String delimiter = null;
 		while ((line_ = reader.readLine()) != null) {
 
 			// task cancelled
@@ -552,79 +544,29 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 				break;
 			}
 
-			// increment read lines
-			readLines_++;
+			// parse line
+			parser.parse(line_);
 
-			// update progress
-			if (updateProgress_) {
-				task_.updateProgress(readLines_, allLines_);
-			}
+			// set parameters
+			insertStresses.setInt(1, fileID); // file ID
+			insertStresses.setString(2, parser.getIssyCode()); // issy code
+			insertStresses.setDouble(3, parser.getStressX()); // stress X
+			insertStresses.setDouble(4, parser.getStressY()); // stress Y
+			insertStresses.setDouble(5, parser.getStressXY()); // stress XY
 
-			// set column delimiter
-			if (delimiter == null) {
-				delimiter = line_.trim().contains("\t") ? "\t" : " ";
-			}
-
-			// split line
-			String[] split = line_.trim().split(delimiter);
-
-			// set file ID
-			insertStresses.setInt(1, fileID);
-
-			// loop over columns
-			int index = 0;
-			for (String col : split) {
-
-				// invalid value
-				if (col == null || col.isEmpty()) {
-					continue;
-				}
-
-				// trim spaces
-				col = col.trim();
-
-				// invalid value
-				if (col.isEmpty()) {
-					continue;
-				}
-
-				// issy code
-				if (index == 0) {
-					insertStresses.setString(2, col);
-				}
-				else if (index == 1) {
-					insertStresses.setDouble(3, Double.parseDouble(col));
-				}
-				else if (index == 2) {
-					insertStresses.setDouble(4, Double.parseDouble(col));
-				}
-				else if (index == 3) {
-					insertStresses.setDouble(5, Double.parseDouble(col));
-				}
-
-				// increment index
-				index++;
-			}
-
-			// only 1 column
-			if (index == 2) {
-				insertStresses.setDouble(4, 0.0);
-				insertStresses.setDouble(5, 0.0);
-			}
-
-			// only 2 columns
-			else if (index == 3) {
-				insertStresses.setDouble(5, 0.0);
-			}
-			else if (index == 4) {
-				is2D = true;
+			// add to batch
+			if (inserter.add()) {
+				task_.updateMessage("Saving STF stresses to database (" + inserter.getRowsPerSecond() + " rows/s)...");
 			}
+		}
 
-			// execute update
-			insertStresses.executeUpdate();
+		// execute remaining batch
+		if (!task_.isCancelled()) {
+			inserter.flush();
 		}
+		insertedStresses_ = inserter.getInsertedRows();
 
 		// return stress state
-		return is2D;
+		return parser.is2D();
 	}
 }
@@ -23,12 +23,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Arrays;
 
 import equinox.data.fileType.ExternalFlight;
 import equinox.data.fileType.ExternalFlights;
 import equinox.data.fileType.ExternalStressSequence;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchInserter;
+import equinox.utility.TextTokenizer;
 import equinox.utility.Utility;
 
 /**
@@ -46,8 +49,17 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	/** Path to input STH and FLS files. */
 	private final Path sthFile_, flsFile_;
 
+	/** Peaks of current flight. */
+	private double[] peaks_ = new double[1024];
+
+	/** Header info of current flight. */
+	private String flightName_, severity_;
+
+	/** Validity, block size and max-min peak values of current flight. */
+	private double validity_, blockSize_, maxVal_, minVal_;
+
 	/** Parameters. */
-	private int readLines_, allLines_, flightNumber_, numPeaks_;
+	private int readLines_, allLines_, flightNumber_, numPeaks_, readPeaks_;
 
 	/** Update message header. */
 	private String line_;
@@ -92,6 +104,13 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 		// add flights folder to sequence
 		sequence.getChildren().add(flights);
 
+		// task cancelled
+		if (task_.isCancelled())
+			return null;
+
+		// create index of STH peaks table
+		createPeaksIndex(connection, sthPeaksTableName, sequence.getID());
+
 		// task cancelled
 		if (task_.isCancelled())
 			return null;
@@ -132,6 +151,9 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 			String sql = "insert into ext_fls_flights(sth_id, flight_num, name, severity) values(?, ?, ?, ?)";
 			try (PreparedStatement update = connection.prepareStatement(sql)) {
 
+				// create batch inserter
+				BatchInserter inserter = new BatchInserter(update);
+
 				// set file ID
 				update.setInt(1, sequence.getID());
 
@@ -191,9 +213,12 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 						index++;
 					}
 
-					// execute update
-					update.executeUpdate();
+					// add to batch
+					inserter.add();
 				}
+
+				// insert remaining flights
+				inserter.flush();
 			}
 		}
 	}
@@ -214,11 +239,6 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	 */
 	private void loadSTHFile(ExternalStressSequence sequence, ExternalFlights flights, String sthPeaksTableName, Connection connection) throws Exception {
 
-		// get number of lines of file
-		task_.updateMessage("Getting STH file size...");
-		allLines_ = Utility.countLines(sthFile_, task_);
-		readLines_ = 0;
-
 		// prepare statement for adding flights
 		String sql = "insert into ext_sth_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, max_val, min_val) values(?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -228,45 +248,44 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 			sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val) values(?, ?, ?)";
 			try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
 
-				// prepare statement for updating flight
-				sql = "update ext_sth_flights set max_val = ?, min_val = ? where file_ID = " + sequence.getID() + " and flight_id = ?";
-				try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
+				// create peak inserter
+				BatchInserter peakInserter = new BatchInserter(addPeaks);
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(sthFile_, Charset.defaultCharset())) {
+				// create file reader
+				try (TextTokenizer reader = new TextTokenizer(sthFile_, task_)) {
 
-						// read file till the end
-						while ((line_ = reader.readLine()) != null) {
+					// read file till the end
+					while ((line_ = reader.readLine()) != null) {
 
-							// task cancelled
-							if (task_.isCancelled())
-								return;
+						// task cancelled
+						if (task_.isCancelled())
+							return;
 
-							// increment read lines
-							readLines_++;
-
-							// update progress
-							task_.updateProgress(readLines_, allLines_);
+						// comment line
+						if (reader.getLineNumber() < 5)
+							continue;
 
-							// comment line
-							if (readLines_ < 5)
-								continue;
+						// read flight info and peaks
+						readFlightInfo(reader);
+						readPeaks(reader);
 
-							// add flight to flights table
-							ExternalFlight flight = addToFlightsTable(reader, addFlight);
+						// task cancelled
+						if (task_.isCancelled())
+							return;
 
-							// task cancelled
-							if (task_.isCancelled())
-								return;
+						// add flight to flights table
+						ExternalFlight flight = addToFlightsTable(addFlight);
 
-							// add flight to flights folder
-							flights.getChildren().add(flight);
+						// add flight to flights folder
+						flights.getChildren().add(flight);
 
-							// add peaks to peaks table
-							addToPeaksTable(reader, flight.getID(), addPeaks, updateFlight);
-						}
+						// add peaks to peaks table
+						addToPeaksTable(flight.getID(), addPeaks, peakInserter);
 					}
 				}
+
+				// insert remaining peaks
+				peakInserter.flush();
 			}
 		}
 
@@ -279,113 +298,23 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	}
 
 	/**
-	 * Adds input peaks to peaks table.
+	 * Reads header info of next flight.
 	 *
 	 * @param reader
 	 *            File reader.
-	 * @param flightID
-	 *            Flight ID.
-	 * @param addPeaks
-	 *            Database statement for adding peaks.
-	 * @param updateFlight
-	 *            Database statement for updating flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToPeaksTable(BufferedReader reader, int flightID, PreparedStatement addPeaks, PreparedStatement updateFlight) throws Exception {
+	private void readFlightInfo(TextTokenizer reader) throws Exception {
 
 		// update info
-		task_.updateMessage("Saving peaks for flight " + (flightNumber_ - 1) + " to database...");
-
-		// set flight ID
-		addPeaks.setInt(1, flightID);
-		updateFlight.setInt(3, flightID);
-
-		// initialize number of read peaks
-		int readPeaks = 0;
-		double maxVal = Double.NEGATIVE_INFINITY, minVal = Double.POSITIVE_INFINITY, peakVal = 0.0;
-
-		// read till the end
-		while ((line_ = reader.readLine()) != null) {
-
-			// task cancelled
-			if (task_.isCancelled())
-				break;
-
-			// increment read lines
-			readLines_++;
-
-			// update progress
-			task_.updateProgress(readLines_, allLines_);
-
-			// split line
-			String[] split = line_.trim().split(" ");
-
-			// loop over columns
-			for (String col : split) {
-
-				// invalid value
-				if (col == null || col.isEmpty())
-					continue;
-
-				// trim spaces
-				col = col.trim();
-
-				// invalid value
-				if (col.isEmpty())
-					continue;
-
-				// get peak value
-				peakVal = Double.parseDouble(col);
-
-				// set peak number and value
-				addPeaks.setInt(2, readPeaks);
-				addPeaks.setDouble(3, peakVal);
-				addPeaks.executeUpdate();
-
-				// update max-min values
-				if (peakVal >= maxVal)
-					maxVal = peakVal;
-				if (peakVal <= minVal)
-					minVal = peakVal;
-
-				// increment peak number
-				readPeaks++;
-			}
-
-			// all peaks read
-			if (readPeaks == numPeaks_) {
-
-				// update max-min values of the flight
-				updateFlight.setDouble(1, maxVal); // max value
-				updateFlight.setDouble(2, minVal); // min value
-				updateFlight.executeUpdate();
-
-				// return
-				return;
-			}
-		}
-	}
-
-	/**
-	 * Adds input flight to flights table.
-	 *
-	 * @param reader
-	 *            File reader.
-	 * @param addFlight
-	 *            Database statement for adding flight.
-	 * @return The added flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private ExternalFlight addToFlightsTable(BufferedReader reader, PreparedStatement addFlight) throws Exception {
-
-		// update info
-		task_.updateMessage("Saving flight info for flight " + flightNumber_ + " to database...");
+		task_.updateMessage("Reading flight info for flight " + flightNumber_ + "...");
 
 		// initialize variables
-		String flightName = null, severity = "";
-		double validity = 0.0, blockSize = 0.0;
+		flightName_ = null;
+		severity_ = "";
+		validity_ = 0.0;
+		blockSize_ = 0.0;
 
 		// split line
 		String[] split = line_.trim().split(" ");
@@ -407,11 +336,11 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 
 			// validity
 			if (index == 0)
-				validity = Double.parseDouble(col);
+				validity_ = Double.parseDouble(col);
 
 			// block size
 			else if (index == 1)
-				blockSize = Double.parseDouble(col);
+				blockSize_ = Double.parseDouble(col);
 
 			// increment index
 			index++;
@@ -419,8 +348,6 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 
 		// read next line
 		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
 
 		// null line
 		if (line_ == null)
@@ -450,29 +377,98 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 
 			// flight name
 			else if (index == 1)
-				flightName = col.startsWith("TF_") ? col : ("TF_" + col);
+				flightName_ = col.startsWith("TF_") ? col : ("TF_" + col);
 
 			// severity
 			else if (index == 2)
-				severity = col;
+				severity_ = col;
 
 			// increment index
 			index++;
 		}
 
 		// check severity character limits
-		if (severity.length() > 500)
-			severity = severity.substring(0, 100) + "... (truncated due to character limit)";
+		if (severity_.length() > 500)
+			severity_ = severity_.substring(0, 100) + "... (truncated due to character limit)";
+	}
+
+	/**
+	 * Reads peaks of current flight. Maximum and minimum peak values of the flight are computed while reading.
+	 *
+	 * @param reader
+	 *            File reader.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void readPeaks(TextTokenizer reader) throws Exception {
+
+		// initialize number of read peaks
+		readPeaks_ = 0;
+		maxVal_ = Double.NEGATIVE_INFINITY;
+		minVal_ = Double.POSITIVE_INFINITY;
+
+		// read till the end
+		while (reader.nextLine()) {
+
+			// task cancelled
+			if (task_.isCancelled())
+				return;
+
+			// loop over columns
+			while (reader.hasNext()) {
+
+				// get peak value
+				double peakVal = reader.nextDouble();
+
+				// add peak
+				if (readPeaks_ == peaks_.length) {
+					peaks_ = Arrays.copyOf(peaks_, 2 * readPeaks_);
+				}
+				peaks_[readPeaks_] = peakVal;
+
+				// update max-min values
+				if (peakVal >= maxVal_)
+					maxVal_ = peakVal;
+				if (peakVal <= minVal_)
+					minVal_ = peakVal;
+
+				// increment peak number
+				readPeaks_++;
+			}
+
+			// all peaks read
+			if (readPeaks_ == numPeaks_)
+				return;
+		}
+
+		// incomplete flight (max-min values are not set)
+		maxVal_ = 0.0;
+		minVal_ = 0.0;
+	}
+
+	/**
+	 * Adds current flight to flights table.
+	 *
+	 * @param addFlight
+	 *            Database statement for adding flight.
+	 * @return The added flight.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ExternalFlight addToFlightsTable(PreparedStatement addFlight) throws Exception {
+
+		// update info
+		task_.updateMessage("Saving flight info for flight " + flightNumber_ + " to database...");
 
 		// execute update
 		addFlight.setInt(2, flightNumber_); // flight number
-		addFlight.setString(3, flightName); // flight name
-		addFlight.setString(4, severity); // severity
+		addFlight.setString(3, flightName_); // flight name
+		addFlight.setString(4, severity_); // severity
 		addFlight.setInt(5, numPeaks_); // number of peaks
-		addFlight.setDouble(6, validity); // validity
-		addFlight.setDouble(7, blockSize); // block size
-		addFlight.setDouble(8, 0.0); // max peak (0 for now)
-		addFlight.setDouble(9, 0.0); // min peak (0 for now)
+		addFlight.setDouble(6, validity_); // validity
+		addFlight.setDouble(7, blockSize_); // block size
+		addFlight.setDouble(8, maxVal_); // max peak
+		addFlight.setDouble(9, minVal_); // min peak
 		addFlight.executeUpdate();
 
 		// increment flight number
@@ -483,7 +479,35 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 
 			// return flight ID
 			resultSet.next();
-			return new ExternalFlight(flightName, resultSet.getBigDecimal(1).intValue());
+			return new ExternalFlight(flightName_, resultSet.getBigDecimal(1).intValue());
+		}
+	}
+
+	/**
+	 * Adds peaks of current flight to peaks table.
+	 *
+	 * @param flightID
+	 *            Flight ID.
+	 * @param addPeaks
+	 *            Database statement for adding peaks.
+	 * @param peakInserter
+	 *            Batch inserter of peaks statement.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void addToPeaksTable(int flightID, PreparedStatement addPeaks, BatchInserter peakInserter) throws Exception {
+
+		// update info
+		task_.updateMessage("Saving peaks for flight " + (flightNumber_ - 1) + " to database...");
+
+		// set flight ID
+		addPeaks.setInt(1, flightID);
+
+		// add peaks
+		for (int i = 0; i < readPeaks_; i++) {
+			addPeaks.setInt(2, i);
+			addPeaks.setDouble(3, peaks_[i]);
+			peakInserter.add();
 		}
 	}
 
@@ -528,24 +552,41 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 		// update info
 		task_.updateMessage("Creating stress peaks table...");
 
-		// generate table and index names
+		// generate table name
 		String tableName = "EXT_STH_PEAKS_" + sequenceID;
-		String indexName = "EXT_STH_PEAK_" + sequenceID;
 
-		// create statement
+		// create table (index is created after the peaks are loaded)
 		try (Statement statement = connection.createStatement()) {
-
-			// create table
 			statement.executeUpdate("CREATE TABLE AURORA." + tableName + "(FLIGHT_ID INT NOT NULL, PEAK_NUM INT NOT NULL, PEAK_VAL DOUBLE NOT NULL)");
-
-			// create index
-			statement.executeUpdate("CREATE INDEX " + indexName + " ON AURORA." + tableName + "(FLIGHT_ID)");
 		}
 
 		// return table name
 		return tableName;
 	}
 
+	/**
+	 * Creates index of STH peaks table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sthPeaksTableName
+	 *            Name of STH peaks table.
+	 * @param sequenceID
+	 *            Stress sequence ID. This is used to generate unique index name.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void createPeaksIndex(Connection connection, String sthPeaksTableName, int sequenceID) throws Exception {
+
+		// update info
+		task_.updateMessage("Indexing stress peaks table...");
+
+		// create index
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE INDEX EXT_STH_PEAK_" + sequenceID + " ON AURORA." + sthPeaksTableName + "(FLIGHT_ID)");
+		}
+	}
+
 	/**
 	 * Creates and returns external stress sequence in the database.
 	 *
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import equinox.data.StressComponent;
+import equinox.data.StressLookup;
+import equinox.task.InternalEquinoxTask;
+
+/**
+ * Class for loading in-memory stress lookup table of an STF and TXT file pair. All STF stresses and TXT codes are loaded with a single query each, so that stress sequence generation doesn't need to access the database per peak.
+ *
+ * @author Murat Artim
+ * @date 22 Oct 2018
+ * @time 10:06:52
+ */
+public class LoadStressLookup implements EquinoxProcess<StressLookup> {
+
+	/** The owner task of this process. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** File IDs. */
+	private final int txtFileID_, stfID_, stressTableID_;
+
+	/** Stress component. */
+	private final StressComponent component_;
+
+	/** Rotation angle (in radians). */
+	private final double angle_;
+
+	/**
+	 * Creates load stress lookup process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 * @param stfID
+	 *            STF file ID.
+	 * @param stressTableID
+	 *            STF stress table ID.
+	 * @param component
+	 *            Stress component.
+	 * @param angle
+	 *            Rotation angle (in radians). Only used for rotated stress component.
+	 */
+	public LoadStressLookup(InternalEquinoxTask<?> task, int txtFileID, int stfID, int stressTableID, StressComponent component, double angle) {
+		task_ = task;
+		txtFileID_ = txtFileID;
+		stfID_ = stfID;
+		stressTableID_ = stressTableID;
+		component_ = component;
+		angle_ = angle;
+	}
+
+	@Override
+	public StressLookup start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// update info
+		task_.updateMessage("Loading stress lookup table...");
+
+		// create lookup
+		StressLookup lookup = new StressLookup();
+
+		// load STF stresses
+		String sql = "select issy_code, stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID_ + " where file_id = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, stfID_); // STF file ID
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+
+					// task cancelled
+					if (task_.isCancelled())
+						return null;
+
+					// set stress
+					lookup.setSTFStress(resultSet.getString("issy_code"), getStress(resultSet));
+				}
+			}
+		}
+
+		// load TXT codes
+		sql = "select flight_phase, one_g_code, increment_num, issy_code, direction_num, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num, oneg_order from txt_codes where file_id = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, txtFileID_); // TXT file ID
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+
+					// task cancelled
+					if (task_.isCancelled())
+						return null;
+
+					// get codes
+					String onegCode = resultSet.getString("one_g_code");
+					String issyCode = resultSet.getString("issy_code");
+					int incrementNum = resultSet.getInt("increment_num");
+
+					// 1g code
+					if (incrementNum == 0) {
+						lookup.setOnegIssyCode(onegCode, issyCode, resultSet.getString("flight_phase"), resultSet.getInt("oneg_order"));
+					}
+
+					// increment code
+					else {
+						double[] factors = new double[8];
+						for (int i = 0; i < factors.length; i++) {
+							factors[i] = resultSet.getDouble("factor_" + (i + 1));
+						}
+						lookup.addIncrementIssyCode(onegCode, incrementNum, resultSet.getString("direction_num"), resultSet.getString("nl_factor_num"), issyCode, resultSet.getString("flight_phase"), factors);
+					}
+				}
+			}
+		}
+
+		// return lookup
+		return lookup;
+	}
+
+	/**
+	 * Returns the stress for the selected stress component.
+	 *
+	 * @param resultSet
+	 *            Result set pointing to STF stress row.
+	 * @return The stress for the selected stress component.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private double getStress(ResultSet resultSet) throws Exception {
+		if (component_.equals(StressComponent.NORMAL_X))
+			return resultSet.getDouble("stress_x");
+		else if (component_.equals(StressComponent.NORMAL_Y))
+			return resultSet.getDouble("stress_y");
+		else if (component_.equals(StressComponent.SHEAR_XY))
+			return resultSet.getDouble("stress_xy");
+		else if (component_.equals(StressComponent.ROTATED)) {
+			double x = resultSet.getDouble("stress_x");
+			double y = resultSet.getDouble("stress_y");
+			double xy = resultSet.getDouble("stress_xy");
+			return (0.5 * (x + y)) + (0.5 * (x - y) * Math.cos(2 * angle_)) + (xy * Math.sin(2 * angle_));
+		}
+		return 0.0;
+	}
+}
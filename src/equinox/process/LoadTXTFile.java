@@ -15,9 +15,8 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -29,8 +28,8 @@ import java.util.ArrayList;
 import equinox.data.NonlinearLC;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
-import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.task.TemporaryFileTaskMonitor;
+import equinox.utility.IngestionReader;
 
 /**
  * Class for load TXT file process.
@@ -42,7 +41,7 @@ import equinox.utility.Utility;
 public class LoadTXTFile implements EquinoxProcess<Integer> {
 
 	/** The owner task of this process. */
-	private final TemporaryFileCreatingTask<?> task_;
+	private final TemporaryFileTaskMonitor task_;
 
 	/** Input TXT file. */
 	private final Path txtFile_;
@@ -54,7 +53,7 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	private final Integer dpLoadcase_;
 
 	/** Parameters. */
-	private int readLines_, allLines_, onegOrder_;
+	private int onegOrder_;
 
 	/** Update message header. */
 	private String line_;
@@ -71,7 +70,7 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	 * @param dpLoadcase
 	 *            Delta-p loadcase. This can be null (in case it could not be found in conversion table).
 	 */
-	public LoadTXTFile(TemporaryFileCreatingTask<?> task, Path txtFile, Spectrum cdfSet, Integer dpLoadcase) {
+	public LoadTXTFile(TemporaryFileTaskMonitor task, Path txtFile, Spectrum cdfSet, Integer dpLoadcase) {
 		task_ = task;
 		txtFile_ = txtFile;
 		cdfSet_ = cdfSet;
@@ -99,34 +98,32 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// initialize input file and type
-		Path txtFile = txtFile_;
-		FileType type = FileType.getFileType(txtFile_.toFile());
+		// create single pass file reader
+		task_.updateMessage("Reading TXT file...");
+		onegOrder_ = 0;
+		int fileID;
+		try (IngestionReader reader = new IngestionReader(task_, txtFile_, FileType.TXT)) {
 
-		// input file is a ZIP file
-		if (type.equals(FileType.ZIP)) {
-			task_.updateMessage("Extracting zipped TXT file...");
-			txtFile = Utility.extractFileFromZIP(txtFile_, task_, FileType.TXT, null);
-		}
+			// archive file while it is read
+			Path zipFile = task_.getWorkingDirectory().resolve(reader.getFileName() + FileType.ZIP.getExtension());
+			reader.archiveTo(zipFile);
 
-		// input file is a GZIP file
-		else if (type.equals(FileType.GZ)) {
-			txtFile = task_.getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(txtFile_), FileType.TXT));
-			task_.updateMessage("Extracting zipped TXT file...");
-			Utility.extractFileFromGZIP(txtFile_, txtFile);
-		}
+			// add to files table
+			fileID = addToFilesTable(connection, reader.getFileName());
 
-		// get number of lines of file
-		task_.updateMessage("Getting TXT file size...");
-		allLines_ = Utility.countLines(txtFile, task_);
-		readLines_ = 0;
-		onegOrder_ = 0;
+			// add codes to codes table
+			addToCodesTable(connection, fileID, reader);
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
 
-		// add to files table
-		int fileID = addToFilesTable(connection, txtFile);
+			// complete archive
+			reader.finish();
 
-		// add codes to codes table
-		addToCodesTable(connection, fileID, txtFile);
+			// set file data and number of lines
+			setFileData(connection, fileID, zipFile, reader.getNumberOfLines());
+		}
 
 		// set non linear load case factors
 		setNonlinearLCFactors(connection, fileID);
@@ -201,26 +198,17 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input TXT file to files table.
+	 * Adds input TXT file to files table. The file data and number of lines are set after the file is read.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input TXT file.
+	 * @param fileName
+	 *            Input TXT file name.
 	 * @return The file ID of the added file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input TXT file name.");
-
-		// zip TXT file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving TXT file info to database...");
@@ -231,16 +219,12 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setBlob(3, inputStream, zipFile.toFile().length());
-				update.setInt(4, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setBlob(3, new ByteArrayInputStream(new byte[0]), 0L); // data (empty for now)
+			update.setInt(4, 0); // number of lines (0 for now)
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
@@ -252,6 +236,37 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 		}
 	}
 
+	/**
+	 * Sets file data and number of lines to TXT file table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileID
+	 *            TXT file ID.
+	 * @param zipFile
+	 *            Zipped TXT file.
+	 * @param numLines
+	 *            Number of lines of TXT file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void setFileData(Connection connection, int fileID, Path zipFile, int numLines) throws Exception {
+
+		// update info
+		task_.updateMessage("Saving TXT file to database...");
+
+		// create statement
+		try (PreparedStatement update = connection.prepareStatement("update txt_files set data = ?, num_lines = ? where file_id = " + fileID)) {
+
+			// create input stream
+			try (InputStream inputStream = Files.newInputStream(zipFile)) {
+				update.setBlob(1, inputStream, Files.size(zipFile)); // data
+				update.setInt(2, numLines); // number of lines
+				update.executeUpdate();
+			}
+		}
+	}
+
 	/**
 	 * Adds TXT codes to codes table.
 	 *
@@ -259,12 +274,12 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	 *            database connection.
 	 * @param fileID
 	 *            TXT file ID.
-	 * @param inputFile
-	 *            Input TXT file.
+	 * @param reader
+	 *            TXT file reader.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToCodesTable(Connection connection, int fileID, Path inputFile) throws Exception {
+	private void addToCodesTable(Connection connection, int fileID, IngestionReader reader) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving TXT file codes to database...");
@@ -275,36 +290,26 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql)) {
 
-			// create file reader
-			try (BufferedReader reader = Files.newBufferedReader(inputFile, Charset.defaultCharset())) {
+			// create array list to store TXT codes
+			ArrayList<String> codes = new ArrayList<>();
 
-				// create array list to store TXT codes
-				ArrayList<String> codes = new ArrayList<>();
-
-				// read file till the end
-				while ((line_ = reader.readLine()) != null) {
-
-					// task cancelled
-					if (task_.isCancelled()) {
-						break;
-					}
+			// read file till the end
+			while ((line_ = reader.readLine()) != null) {
 
-					// increment read lines
-					readLines_++;
-
-					// update progress
-					task_.updateProgress(readLines_, allLines_);
-
-					// comment line
-					if (line_.startsWith("#")) {
-						continue;
-					}
+				// task cancelled
+				if (task_.isCancelled()) {
+					break;
+				}
 
-					// split line
-					String event = line_.substring(0, 21).trim();
-					String[] split = line_.substring(21, line_.length()).trim().split(" ");
-					readSplitColumns(fileID, event, split, update, codes);
+				// comment line
+				if (line_.startsWith("#")) {
+					continue;
 				}
+
+				// split line
+				String event = line_.substring(0, 21).trim();
+				String[] split = line_.substring(21, line_.length()).trim().split(" ");
+				readSplitColumns(fileID, event, split, update, codes);
 			}
 		}
 	}
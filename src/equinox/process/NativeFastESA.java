@@ -0,0 +1,269 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.io.BufferedReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import equinox.data.EquivalentStressEngine;
+import equinox.data.FastESAOutput;
+import equinox.data.PeakSequence;
+import equinox.dataServer.remote.data.Material;
+import equinox.task.InternalEquinoxTask;
+import equinox.utility.TextTokenizer;
+import equinox.utility.exception.InternalEngineAnalysisFailedException;
+
+/**
+ * Class for native fast equivalent stress analysis process. The analysis is run in-process by the native equivalent stress engine, without any sub process or temporary file. The cycles of the stress sequence are either
+ * given as an already counted engine (shared by the analyses of all selected materials), or counted from the input STH and FLS files.
+ *
+ * @author Murat Artim
+ * @date 27 Oct 2018
+ * @time 14:06:31
+ */
+public class NativeFastESA implements ESAProcess<FastESAOutput> {
+
+	/** The owner task. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** Equivalent stress engine containing the counted cycles of the sequence. */
+	private final EquivalentStressEngine engine_;
+
+	/** Path to input STH and FLS files. */
+	private final Path sthFile_, flsFile_;
+
+	/** Material. */
+	private final Material material_;
+
+	/** Spectrum validity. */
+	private final int validity_;
+
+	/** Number of columns of STH file. */
+	private static final int NUM_COLS = 8;
+
+	/**
+	 * Creates native fast equivalent stress analysis process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param engine
+	 *            Equivalent stress engine containing the counted cycles of the sequence. Can be null if input STH and FLS files are given.
+	 * @param sthFile
+	 *            Path to input STH file. Can be null if engine is given.
+	 * @param flsFile
+	 *            Path to input FLS file. Can be null if engine is given.
+	 * @param material
+	 *            Material.
+	 * @param validity
+	 *            Spectrum validity.
+	 */
+	public NativeFastESA(InternalEquinoxTask<?> task, EquivalentStressEngine engine, Path sthFile, Path flsFile, Material material, int validity) {
+		task_ = task;
+		engine_ = engine;
+		sthFile_ = sthFile;
+		flsFile_ = flsFile;
+		material_ = material;
+		validity_ = validity;
+	}
+
+	@Override
+	public FastESAOutput start(Connection connection, PreparedStatement... preparedStatements) throws InternalEngineAnalysisFailedException {
+
+		try {
+
+			// count cycles (if not already counted)
+			EquivalentStressEngine engine = engine_;
+			if (engine == null) {
+
+				// read peak sequence
+				PeakSequence sequence = readPeakSequence();
+
+				// task cancelled
+				if (task_.isCancelled() || sequence == null)
+					return null;
+
+				// count cycles
+				engine = count(task_, sequence);
+
+				// task cancelled
+				if (task_.isCancelled() || engine == null)
+					return null;
+			}
+
+			// compute equivalent stress
+			task_.updateMessage("Computing equivalent stress...");
+			return new FastESAOutput(engine.getEquivalentStress(material_, validity_), null);
+		}
+
+		// analysis failed
+		catch (Exception e) {
+			throw new InternalEngineAnalysisFailedException(e);
+		}
+	}
+
+	@Override
+	public void cancel() {
+		// no implementation
+	}
+
+	/**
+	 * Rainflow counts given peak sequence. The returned engine can be shared by analyses of different materials, since equivalent stress computation doesn't modify the counted cycles.
+	 *
+	 * @param task
+	 *            The owner task.
+	 * @param sequence
+	 *            Peak sequence.
+	 * @return The equivalent stress engine containing the counted cycles, or null if task is cancelled.
+	 */
+	public static EquivalentStressEngine count(InternalEquinoxTask<?> task, PeakSequence sequence) {
+
+		// progress info
+		task.updateMessage("Counting rainflow cycles...");
+
+		// loop over flights
+		EquivalentStressEngine engine = new EquivalentStressEngine();
+		double[] peaks = sequence.getPeaks();
+		int numFlights = sequence.getNumberOfFlights();
+		for (int i = 0; i < numFlights; i++) {
+
+			// task cancelled
+			if ((i % 1000) == 0) {
+				if (task.isCancelled())
+					return null;
+				task.updateProgress(i, numFlights);
+			}
+
+			// add flight
+			int flight = sequence.getTypicalFlight(i);
+			engine.addFlight(peaks, sequence.getFlightStart(flight), sequence.getFlightEnd(flight));
+		}
+
+		// finish sequence
+		engine.finish();
+		return engine;
+	}
+
+	/**
+	 * Reads the peak sequence from input STH and FLS files.
+	 *
+	 * @return The peak sequence, or null if task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private PeakSequence readPeakSequence() throws Exception {
+
+		// progress info
+		task_.updateMessage("Reading input STH file...");
+
+		// initialize variables
+		double[] peaks = new double[1024];
+		int[] offsets = new int[65];
+		int numPeaks = 0, numFlights = 0;
+		HashMap<String, Integer> flightIndices = new HashMap<>();
+
+		// create file reader
+		try (TextTokenizer reader = new TextTokenizer(sthFile_, null)) {
+
+			// skip header
+			for (int i = 0; i < 4; i++) {
+				if (!reader.nextLine())
+					throw new Exception("Invalid STH file header.");
+			}
+
+			// loop over flights
+			while (reader.nextLine() && !reader.isBlank()) {
+
+				// task cancelled
+				if (task_.isCancelled())
+					return null;
+
+				// read number of peaks and flight name
+				if (!reader.nextLine()) {
+					break;
+				}
+				int flightPeaks = reader.nextInt();
+				String flightName = reader.hasNext() ? reader.next() : Integer.toString(numFlights + 1);
+				flightIndices.put(flightName, numFlights);
+
+				// enlarge arrays
+				if ((numFlights + 1) == offsets.length) {
+					offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+				}
+				if (peaks.length < (numPeaks + flightPeaks)) {
+					peaks = Arrays.copyOf(peaks, Math.max(numPeaks + flightPeaks, 2 * peaks.length));
+				}
+
+				// read peaks
+				offsets[numFlights] = numPeaks;
+				int numRows = (flightPeaks / NUM_COLS) + ((flightPeaks % NUM_COLS) == 0 ? 0 : 1);
+				int end = numPeaks + flightPeaks;
+				for (int j = 0; j < numRows; j++) {
+					if (!reader.nextLine()) {
+						break;
+					}
+					while (reader.hasNext() && (numPeaks < end)) {
+						peaks[numPeaks++] = reader.nextDouble();
+					}
+				}
+
+				// missing peaks
+				if (numPeaks < end)
+					throw new Exception("Unexpected end of STH flight '" + flightName + "'. " + (flightPeaks - end + numPeaks) + " peaks found, " + flightPeaks + " expected.");
+				numFlights++;
+			}
+		}
+		offsets[numFlights] = numPeaks;
+
+		// progress info
+		task_.updateMessage("Reading input FLS file...");
+
+		// read flight sequence
+		ArrayList<Integer> sequence = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(flsFile_, Charset.defaultCharset())) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+
+				// comment or empty line
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+
+				// get typical flight
+				String[] split = line.split("\\s+");
+				String name = split.length > 1 ? split[1] : split[0];
+				Integer flight = flightIndices.get(name.substring(name.indexOf('_') + 1));
+				if (flight == null)
+					throw new Exception("Typical flight '" + name + "' of FLS file cannot be found in STH file.");
+				sequence.add(flight);
+			}
+		}
+
+		// create peak sequence
+		int[] flightSequence = new int[sequence.size()];
+		for (int i = 0; i < flightSequence.length; i++) {
+			flightSequence[i] = sequence.get(i);
+		}
+		return new PeakSequence(peaks, Arrays.copyOf(offsets, numFlights + 1), flightSequence);
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+import equinox.data.StressSequenceKernel;
+
+/**
+ * Class for omission filter. The filter is a peak sink which buffers the peaks of each flight, removes the cycles smaller than the omission level and passes the remaining peaks to the target sink. The results are identical to
+ * the output of the omission script applied on the STH file of the sequence.
+ * <p>
+ * Note that, peaks are rounded to STH file precision (2 decimal places) before omission, since the omission script operates on the written STH file. The stress sequence kernel is not passed to the target sink (i.e. it is
+ * <code>null</code>), since the remaining peaks don't correspond to the current peak of the kernel.
+ *
+ * @author Murat Artim
+ * @date 26 Oct 2018
+ * @time 09:52:14
+ */
+public class OmissionFilter implements StressSequencePeakSink {
+
+	/** Scale of STH file precision. */
+	private static final double SCALE = 100.0;
+
+	/** Upper limit of scaled values for fast rounding. */
+	private static final double MAX_SCALED = 1e15;
+
+	/** Precision of number to string conversion of the omission script. */
+	private static final MathContext STRING_PRECISION = new MathContext(15, RoundingMode.HALF_EVEN);
+
+	/** Target sink. */
+	private final StressSequencePeakSink target_;
+
+	/** Omission level. */
+	private final double omissionLevel_;
+
+	/** Input and output peaks of the current flight. */
+	private double[] peaks_ = new double[256], output_ = new double[256];
+
+	/** Number of input peaks of the current flight. */
+	private int numPeaks_ = 0;
+
+	/** Result set pointing to the current flight. */
+	private ResultSet flight_;
+
+	/**
+	 * Creates omission filter.
+	 *
+	 * @param target
+	 *            Target sink. Remaining peaks are passed to this sink.
+	 * @param omissionLevel
+	 *            Omission level.
+	 */
+	public OmissionFilter(StressSequencePeakSink target, double omissionLevel) {
+		target_ = target;
+		omissionLevel_ = omissionLevel;
+	}
+
+	@Override
+	public void startFlight(ResultSet flight, int numPeaks) throws Exception {
+		flight_ = flight;
+		numPeaks_ = 0;
+		if (peaks_.length < numPeaks) {
+			peaks_ = new double[numPeaks];
+		}
+	}
+
+	@Override
+	public void addPeak(int peakNum, double stress, StressSequenceKernel kernel) throws Exception {
+		if (numPeaks_ == peaks_.length) {
+			peaks_ = Arrays.copyOf(peaks_, 2 * numPeaks_);
+		}
+		peaks_[numPeaks_++] = round(stress);
+	}
+
+	@Override
+	public void endFlight() throws Exception {
+
+		// apply omission
+		if (output_.length < (numPeaks_ + 1)) {
+			output_ = new double[Math.max(numPeaks_ + 1, 2 * output_.length)];
+		}
+		int numOutput = omit(peaks_, numPeaks_, omissionLevel_, output_);
+
+		// pass remaining peaks to target sink
+		target_.startFlight(flight_, numOutput);
+		for (int i = 0; i < numOutput; i++) {
+			target_.addPeak(i + 1, output_[i], null);
+		}
+		target_.endFlight();
+	}
+
+	/**
+	 * Applies omission to given flight peaks. Cycles with ranges smaller than (or equal to) the omission level are removed. If the flight has no remaining cycles, the mean of the flight extremes is returned as single peak.
+	 *
+	 * @param peaks
+	 *            Input peaks.
+	 * @param numPeaks
+	 *            Number of input peaks.
+	 * @param omissionLevel
+	 *            Omission level.
+	 * @param output
+	 *            Array to store the remaining peaks. The length of the array must be at least <code>numPeaks + 1</code>.
+	 * @return Number of remaining peaks.
+	 */
+	public static int omit(double[] peaks, int numPeaks, double omissionLevel, double[] output) {
+
+		// initialize trough and peak
+		double trough = numPeaks == 0 ? 0.0 : peaks[0];
+		double peak = trough;
+		int numOutput = 0;
+
+		// loop over peaks (state is 0 before the first excursion, 1 while searching for a peak and -1 while searching for a trough)
+		int state = 0;
+		for (int i = 1; i < numPeaks; i++) {
+			double value = peaks[i];
+
+			// before first excursion
+			if (state == 0) {
+				if (value > peak) {
+					peak = value;
+					if ((peak - trough) <= omissionLevel) {
+						continue;
+					}
+					output[numOutput++] = trough;
+					state = 1;
+				}
+				else if (value < trough) {
+					trough = value;
+					if ((peak - trough) < omissionLevel) {
+						continue;
+					}
+					output[numOutput++] = peak;
+					state = -1;
+				}
+			}
+
+			// searching for peak
+			else if (state == 1) {
+				if (value > peak) {
+					peak = value;
+				}
+				else if ((peak - value) > omissionLevel) {
+					output[numOutput++] = peak;
+					trough = value;
+					state = -1;
+				}
+			}
+
+			// searching for trough
+			else {
+				if (value < trough) {
+					trough = value;
+				}
+				else if ((value - trough) > omissionLevel) {
+					output[numOutput++] = trough;
+					peak = value;
+					state = 1;
+				}
+			}
+		}
+
+		// add last peak
+		if (state == 1) {
+			output[numOutput++] = peak;
+		}
+		else if (state == -1) {
+			output[numOutput++] = trough;
+		}
+		else {
+			output[numOutput++] = mean(peak, trough);
+		}
+
+		// return number of remaining peaks
+		return numOutput;
+	}
+
+	/**
+	 * Returns the mean of given values, rounded the same way as the omission script writes it (i.e. converted to string with 15 significant digits and then printed with 2 decimal places).
+	 *
+	 * @param value1
+	 *            First value.
+	 * @param value2
+	 *            Second value.
+	 * @return The rounded mean value.
+	 */
+	private static double mean(double value1, double value2) {
+		double mean = (value1 + value2) / 2.0;
+		double string = new BigDecimal(mean).round(STRING_PRECISION).doubleValue();
+		return new BigDecimal(string).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+	}
+
+	/**
+	 * Rounds given stress to STH file precision, the same way as it is written to and read back from the STH file (i.e. half-even rounding of the exact binary value). Negative zero is converted to zero, as the omission script does.
+	 *
+	 * @param stress
+	 *            Stress to round.
+	 * @return The rounded stress.
+	 */
+	private static double round(double stress) {
+
+		// not finite
+		if (Double.isNaN(stress) || Double.isInfinite(stress))
+			return stress;
+
+		// scale value
+		double scaled = stress * SCALE;
+		double floor = Math.floor(scaled);
+		double fraction = scaled - floor;
+
+		// too large or too close to a rounding tie
+		if (!(Math.abs(scaled) < MAX_SCALED) || (Math.abs(fraction - 0.5) <= (4.0 * Math.ulp(scaled))))
+			return new BigDecimal(stress).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+
+		// round (adding zero converts negative zero to zero)
+		return ((floor + (fraction > 0.5 ? 1.0 : 0.0)) / SCALE) + 0.0;
+	}
+}
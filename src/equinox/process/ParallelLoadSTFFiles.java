@@ -0,0 +1,655 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.io.BufferedReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import equinox.Equinox;
+import equinox.data.ProgramArguments.ArgumentType;
+import equinox.data.fileType.STFFile;
+import equinox.data.fileType.Spectrum;
+import equinox.plugin.FileType;
+import equinox.task.AddSTFFiles;
+import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchInserter;
+import equinox.utility.Utility;
+
+/**
+ * Class for loading multiple STF files in parallel. STF files are parsed by sub-task thread pool workers. Each STF stress table is written by exactly one writer, which owns a separate database connection and is fed through a bounded
+ * queue. Note that, each STF file is committed separately by its writer.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2018
+ * @time 14:05:21
+ */
+public class ParallelLoadSTFFiles implements EquinoxProcess<STFFile[]> {
+
+	/** Capacity of writer queues (in number of STF files). */
+	private static final int QUEUE_CAPACITY = 16;
+
+	/** End of input indicator for writers. */
+	private static final ParsedSTFFile END = new ParsedSTFFile(-1, null);
+
+	/** The owner task of this process. */
+	private final TemporaryFileCreatingTask<?> task_;
+
+	/** Input files (STF, GZ or ZIP). */
+	private final List<Path> inputFiles_;
+
+	/** CDF set. */
+	private final Spectrum cdfSet_;
+
+	/** Stress table IDs. */
+	private final int[] stressTableIDs_;
+
+	/** Loaded STF files. Array indices correspond to input file indices. */
+	private final STFFile[] stfFiles_;
+
+	/** Number of processed files. */
+	private final AtomicInteger processed_ = new AtomicInteger();
+
+	/** Number of inserted stresses. */
+	private final AtomicLong insertedStresses_ = new AtomicLong();
+
+	/** Start time of process (in nanoseconds). */
+	private long startTime_;
+
+	/**
+	 * Creates parallel load STF files process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param inputFiles
+	 *            Input files (STF, GZ or ZIP).
+	 * @param cdfSet
+	 *            CDF set.
+	 * @param stressTableIDs
+	 *            Stress table IDs. Input file at index <code>i</code> is loaded into stress table <code>i / AddSTFFiles.MAX_STF_FILES_PER_TABLE</code>.
+	 */
+	public ParallelLoadSTFFiles(TemporaryFileCreatingTask<?> task, List<Path> inputFiles, Spectrum cdfSet, int[] stressTableIDs) {
+		task_ = task;
+		inputFiles_ = inputFiles;
+		cdfSet_ = cdfSet;
+		stressTableIDs_ = stressTableIDs;
+		stfFiles_ = new STFFile[inputFiles.size()];
+	}
+
+	/**
+	 * Returns the number of inserted stresses.
+	 *
+	 * @return The number of inserted stresses.
+	 */
+	public long getInsertedStresses() {
+		return insertedStresses_.get();
+	}
+
+	/**
+	 * Returns the STF files committed by the writers so far. Array indices correspond to input file indices, and files that were not committed have null entries. Once {@link #start(Connection, PreparedStatement...)}
+	 * has returned or thrown, all writers have stopped and this array contains every committed file. Owner tasks use this to discard the committed files when the process is cancelled or fails.
+	 *
+	 * @return The STF files committed by the writers so far.
+	 */
+	public STFFile[] getLoadedFiles() {
+		return stfFiles_;
+	}
+
+	/**
+	 * Starts parallel load STF files process. Note that, given connection and prepared statements are ignored (they are only declared by {@link EquinoxProcess}). Each writer acquires its own connection from the
+	 * connection pool and commits its files separately, so that the writers can work in parallel. Callers can therefore pass <code>null</code>. Since files are committed as
+	 * they are written, callers must discard the files returned by {@link #getLoadedFiles()} if this method returns null (task cancelled) or throws.
+	 *
+	 * @param connection
+	 *            Ignored. Can be null.
+	 * @param preparedStatements
+	 *            Ignored.
+	 * @return Loaded STF files, or null if the task is cancelled. Array indices correspond to input file indices. Failed files have null entries.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Override
+	public STFFile[] start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// initialize variables
+		startTime_ = System.nanoTime();
+		int numFiles = inputFiles_.size();
+		int maxSubtasks = Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_SUBTASKS));
+		int numWriters = Math.max(1, Math.min(stressTableIDs_.length, maxSubtasks));
+
+		// create working directory before starting workers
+		Path workingDir = task_.getWorkingDirectory();
+
+		// start writers
+		task_.updateMessage("Loading STF files...");
+		ArrayList<ArrayBlockingQueue<ParsedSTFFile>> queues = new ArrayList<>();
+		ArrayList<Future<Void>> writers = new ArrayList<>();
+		for (int i = 0; i < numWriters; i++) {
+			ArrayBlockingQueue<ParsedSTFFile> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+			queues.add(queue);
+			writers.add(Equinox.CACHED_THREADPOOL.submit(new Writer(queue)));
+		}
+
+		try {
+
+			// create parser completion service
+			CompletionService<ParsedSTFFile> parsers = new ExecutorCompletionService<>(Equinox.SUBTASK_THREADPOOL);
+			int maxInFlight = 2 * maxSubtasks, submitted = 0, received = 0;
+
+			// loop over input files
+			while (received < numFiles) {
+
+				// task cancelled
+				if (task_.isCancelled())
+					return null;
+
+				// submit parsers
+				while (submitted < numFiles && submitted - received < maxInFlight) {
+					parsers.submit(new Parser(submitted, workingDir));
+					submitted++;
+				}
+
+				// get next parsed file
+				Future<ParsedSTFFile> future = parsers.poll(100, TimeUnit.MILLISECONDS);
+				if (future == null) {
+					checkWriters(writers);
+					continue;
+				}
+				received++;
+
+				// no STF file to load
+				ParsedSTFFile parsed = future.get();
+				if (parsed == null) {
+					processed_.incrementAndGet();
+					continue;
+				}
+
+				// put to queue of the writer of stress table
+				int writer = parsed.index_ / AddSTFFiles.MAX_STF_FILES_PER_TABLE % numWriters;
+				while (!queues.get(writer).offer(parsed, 100, TimeUnit.MILLISECONDS)) {
+					if (task_.isCancelled())
+						return null;
+					checkWriters(writers);
+				}
+
+				// update progress
+				updateProgress(numFiles);
+			}
+
+			// stop writers and propagate their failures
+			Exception failure = stopWriters(writers, queues);
+			if (failure != null && !task_.isCancelled())
+				throw failure;
+
+			// return loaded files
+			return stfFiles_;
+		}
+
+		// stop writers (no-op if already stopped)
+		finally {
+			stopWriters(writers, queues);
+			updateProgress(numFiles);
+		}
+	}
+
+	/**
+	 * Signals end of input to given writers and waits for them to complete. Failures of writers are returned rather than thrown, so that they don't mask any exception thrown by the caller.
+	 *
+	 * @param writers
+	 *            Writers.
+	 * @param queues
+	 *            Input queues of writers.
+	 * @return The first failure of writers (unwrapped from the execution exception), or null if all writers have completed normally.
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting for writers.
+	 */
+	private static Exception stopWriters(ArrayList<Future<Void>> writers, ArrayList<ArrayBlockingQueue<ParsedSTFFile>> queues) throws InterruptedException {
+
+		// signal end of input
+		for (int i = 0; i < writers.size(); i++) {
+			while (!writers.get(i).isDone() && !queues.get(i).offer(END, 100, TimeUnit.MILLISECONDS)) {
+				continue;
+			}
+		}
+
+		// wait for writers
+		Exception failure = null;
+		for (Future<Void> writer : writers) {
+			try {
+				writer.get();
+			}
+			catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+				}
+			}
+		}
+		return failure;
+	}
+
+	/**
+	 * Checks if any of the writers has stopped due to an exception. If so, the exception is propagated.
+	 *
+	 * @param writers
+	 *            Writers.
+	 * @throws Exception
+	 *             If any of the writers has failed.
+	 */
+	private static void checkWriters(ArrayList<Future<Void>> writers) throws Exception {
+		for (Future<Void> writer : writers) {
+			if (writer.isDone()) {
+				writer.get();
+				throw new Exception("STF stress table writer has stopped unexpectedly.");
+			}
+		}
+	}
+
+	/**
+	 * Updates task progress and insertion rate.
+	 *
+	 * @param numFiles
+	 *            Total number of files.
+	 */
+	private void updateProgress(int numFiles) {
+		task_.updateProgress(processed_.get(), numFiles);
+		task_.updateMessage("Loaded " + processed_.get() + " of " + numFiles + " STF files (" + BatchInserter.getRowsPerSecond(insertedStresses_.get(), startTime_) + " stresses/s)...");
+	}
+
+	/**
+	 * Adds warning to owner task.
+	 *
+	 * @param warning
+	 *            Warning message.
+	 * @param e
+	 *            Exception.
+	 */
+	private void addWarning(String warning, Throwable e) {
+		synchronized (task_) {
+			task_.addWarning(warning, e);
+		}
+	}
+
+	/**
+	 * Inner class for parsed STF file.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2018
+	 * @time 14:07:10
+	 */
+	private static final class ParsedSTFFile {
+
+		/** Input file index. */
+		private final int index_;
+
+		/** STF file name. */
+		private final String name_;
+
+		/** Issy codes. */
+		private final ArrayList<String> issyCodes_ = new ArrayList<>();
+
+		/** Stresses (x, y and xy components for each issy code). */
+		private double[] stresses_ = new double[3 * 64];
+
+		/** True if 2D stress state. */
+		private boolean is2D_ = false;
+
+		/**
+		 * Creates parsed STF file.
+		 *
+		 * @param index
+		 *            Input file index.
+		 * @param name
+		 *            STF file name.
+		 */
+		private ParsedSTFFile(int index, String name) {
+			index_ = index;
+			name_ = name;
+		}
+
+		/**
+		 * Adds stress row.
+		 *
+		 * @param issyCode
+		 *            Issy code.
+		 * @param x
+		 *            Normal X stress.
+		 * @param y
+		 *            Normal Y stress.
+		 * @param xy
+		 *            Shear XY stress.
+		 */
+		private void add(String issyCode, double x, double y, double xy) {
+			int i = 3 * issyCodes_.size();
+			if (i + 3 > stresses_.length) {
+				double[] stresses = new double[2 * stresses_.length];
+				System.arraycopy(stresses_, 0, stresses, 0, stresses_.length);
+				stresses_ = stresses;
+			}
+			stresses_[i] = x;
+			stresses_[i + 1] = y;
+			stresses_[i + 2] = xy;
+			issyCodes_.add(issyCode);
+		}
+	}
+
+	/**
+	 * Inner class for STF file parser.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2018
+	 * @time 14:09:34
+	 */
+	private final class Parser implements Callable<ParsedSTFFile> {
+
+		/** Input file index. */
+		private final int index_;
+
+		/** Working directory of owner task. */
+		private final Path workingDir_;
+
+		/**
+		 * Creates STF file parser.
+		 *
+		 * @param index
+		 *            Input file index.
+		 * @param workingDir
+		 *            Working directory of owner task.
+		 */
+		private Parser(int index, Path workingDir) {
+			index_ = index;
+			workingDir_ = workingDir;
+		}
+
+		@Override
+		public ParsedSTFFile call() {
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// parse file
+			try {
+				return parse();
+			}
+
+			// exception occurred during parsing
+			catch (Exception e) {
+				addWarning("Loading STF file '" + inputFiles_.get(index_).getFileName() + "' has failed due to an exception.", e);
+				return null;
+			}
+		}
+
+		/**
+		 * Extracts (if necessary) and parses the STF file.
+		 *
+		 * @return The parsed STF file, or null if no STF file could be found or task is cancelled.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		private ParsedSTFFile parse() throws Exception {
+
+			// get STF file
+			Path stfFile = getSTFFile();
+			if (stfFile == null)
+				return null;
+
+			// get input file name
+			Path inputFileName = stfFile.getFileName();
+			if (inputFileName == null)
+				throw new Exception("Cannot get input STF file name.");
+
+			// create parsed file
+			ParsedSTFFile parsed = new ParsedSTFFile(index_, inputFileName.toString());
+
+			// create file reader
+			try (BufferedReader reader = Files.newBufferedReader(stfFile, Charset.defaultCharset())) {
+
+				// skip comment line
+				String line = reader.readLine();
+
+				// read till the end
+				STFLineParser parser = new STFLineParser();
+				while ((line = reader.readLine()) != null) {
+
+					// task cancelled
+					if (task_.isCancelled())
+						return null;
+
+					// parse line and add stresses
+					parser.parse(line);
+					parsed.add(parser.getIssyCode(), parser.getStressX(), parser.getStressY(), parser.getStressXY());
+				}
+
+				// set stress state
+				parsed.is2D_ = parser.is2D();
+			}
+
+			// return parsed file
+			return parsed;
+		}
+
+		/**
+		 * Extracts (if necessary) and returns the STF file.
+		 *
+		 * @return The STF file, or null if no STF file could be found.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		private Path getSTFFile() throws Exception {
+
+			// get input file and type
+			Path inputFile = inputFiles_.get(index_);
+			FileType type = FileType.getFileType(inputFile.toFile());
+
+			// STF file
+			if (type.equals(FileType.STF))
+				return inputFile;
+
+			// create separate output directory to avoid name clashes between workers
+			Path outputDir = Files.createDirectory(workingDir_.resolve("stf" + index_));
+
+			// GZIP file
+			if (type.equals(FileType.GZ)) {
+				Path stfFile = outputDir.resolve(FileType.appendExtension(FileType.getNameWithoutExtension(inputFile), FileType.STF));
+				Utility.extractFileFromGZIP(inputFile, stfFile);
+				return stfFile;
+			}
+
+			// ZIP file
+			if (type.equals(FileType.ZIP))
+				return Utility.extractFileFromZIP(inputFile, task_, FileType.STF, outputDir);
+
+			// unsupported file type
+			return null;
+		}
+	}
+
+	/**
+	 * Inner class for STF stress table writer. Each writer uses its own database connection.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2018
+	 * @time 14:12:48
+	 */
+	private final class Writer implements Callable<Void> {
+
+		/** Input queue. */
+		private final ArrayBlockingQueue<ParsedSTFFile> queue_;
+
+		/**
+		 * Creates STF stress table writer.
+		 *
+		 * @param queue
+		 *            Input queue.
+		 */
+		private Writer(ArrayBlockingQueue<ParsedSTFFile> queue) {
+			queue_ = queue;
+		}
+
+		@Override
+		public Void call() throws Exception {
+
+			// get connection to database
+			try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+
+				// disable auto-commit
+				connection.setAutoCommit(false);
+
+				// prepare statement for inserting STF files
+				String sql = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+				try (PreparedStatement insertFile = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+					// create mapping for stress insertion statements (key is stress table ID)
+					HashMap<Integer, PreparedStatement> insertStresses = new HashMap<>();
+
+					try {
+
+						// take files from queue
+						ParsedSTFFile parsed;
+						while ((parsed = queue_.take()) != END) {
+
+							// task cancelled (drain queue)
+							if (task_.isCancelled()) {
+								continue;
+							}
+
+							// write file
+							try {
+								stfFiles_[parsed.index_] = write(connection, insertFile, insertStresses, parsed);
+								connection.commit();
+							}
+
+							// exception occurred during writing
+							catch (Exception e) {
+								connection.rollback();
+								addWarning("Loading STF file '" + parsed.name_ + "' has failed due to an exception.", e);
+							}
+
+							// update processed files
+							processed_.incrementAndGet();
+						}
+					}
+
+					// close stress insertion statements
+					finally {
+						for (PreparedStatement statement : insertStresses.values()) {
+							statement.close();
+						}
+					}
+				}
+
+				// enable auto-commit
+				connection.setAutoCommit(true);
+			}
+			return null;
+		}
+
+		/**
+		 * Writes given STF file to database.
+		 *
+		 * @param connection
+		 *            Database connection.
+		 * @param insertFile
+		 *            Prepared statement for inserting STF files.
+		 * @param insertStresses
+		 *            Mapping for stress insertion statements.
+		 * @param parsed
+		 *            Parsed STF file.
+		 * @return The loaded STF file.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		private STFFile write(Connection connection, PreparedStatement insertFile, HashMap<Integer, PreparedStatement> insertStresses, ParsedSTFFile parsed) throws Exception {
+
+			// get stress table ID
+			int stressTableID = stressTableIDs_[parsed.index_ / AddSTFFiles.MAX_STF_FILES_PER_TABLE];
+
+			// get EID
+			String eid = STFFile.getEID(parsed.name_);
+			if (eid != null && eid.trim().isEmpty()) {
+				eid = null;
+			}
+
+			// insert file
+			insertFile.setInt(1, cdfSet_.getID()); // CDF set ID
+			insertFile.setInt(2, stressTableID); // stress table ID
+			insertFile.setString(3, parsed.name_); // file name
+			insertFile.setBoolean(4, parsed.is2D_); // stress state
+			for (int i = 5; i <= 16; i++) {
+				if (i == 11) {
+					insertFile.setString(i, "DRAFT");
+				}
+				else if (i == 13 && eid != null) {
+					insertFile.setString(i, eid.trim());
+				}
+				else {
+					insertFile.setNull(i, java.sql.Types.VARCHAR);
+				}
+			}
+			insertFile.executeUpdate();
+
+			// get file ID
+			int fileID = -1;
+			try (ResultSet resultSet = insertFile.getGeneratedKeys()) {
+				resultSet.next();
+				fileID = resultSet.getBigDecimal(1).intValue();
+			}
+
+			// get stress insertion statement
+			PreparedStatement insertStress = insertStresses.get(stressTableID);
+			if (insertStress == null) {
+				String sql = "insert into stf_stresses_" + stressTableID + "(file_id, issy_code, stress_x, stress_y, stress_xy) values(?, ?, ?, ?, ?)";
+				insertStress = connection.prepareStatement(sql);
+				insertStresses.put(stressTableID, insertStress);
+			}
+
+			// insert stresses
+			BatchInserter inserter = new BatchInserter(insertStress);
+			for (int i = 0; i < parsed.issyCodes_.size(); i++) {
+				insertStress.setInt(1, fileID);
+				insertStress.setString(2, parsed.issyCodes_.get(i));
+				insertStress.setDouble(3, parsed.stresses_[3 * i]);
+				insertStress.setDouble(4, parsed.stresses_[3 * i + 1]);
+				insertStress.setDouble(5, parsed.stresses_[3 * i + 2]);
+				inserter.add();
+			}
+			inserter.flush();
+			insertedStresses_.addAndGet(inserter.getInsertedRows());
+
+			// create STF file
+			STFFile stfFile = new STFFile(parsed.name_, fileID, parsed.is2D_, stressTableID);
+			stfFile.setEID(eid);
+			return stfFile;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+import equinox.data.StressSequenceKernel;
+
+/**
+ * Class for in-memory peak array sink. The total stresses of all peaks are collected into a primitive array, together with the peak offsets of the flights.
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 11:48:27
+ */
+public class PeakArraySink implements StressSequencePeakSink {
+
+	/** Peaks. */
+	private double[] peaks_ = new double[1024];
+
+	/** Flight offsets (i.e. index of the first peak of each flight). */
+	private int[] flightOffsets_ = new int[64];
+
+	/** Number of peaks and flights. */
+	private int numPeaks_ = 0, numFlights_ = 0;
+
+	@Override
+	public void startFlight(ResultSet flight, int numPeaks) throws Exception {
+		if (numFlights_ == flightOffsets_.length) {
+			flightOffsets_ = Arrays.copyOf(flightOffsets_, 2 * numFlights_);
+		}
+		flightOffsets_[numFlights_++] = numPeaks_;
+	}
+
+	@Override
+	public void addPeak(int peakNum, double stress, StressSequenceKernel kernel) throws Exception {
+		if (numPeaks_ == peaks_.length) {
+			peaks_ = Arrays.copyOf(peaks_, 2 * numPeaks_);
+		}
+		peaks_[numPeaks_++] = stress;
+	}
+
+	@Override
+	public void endFlight() throws Exception {
+		// no implementation
+	}
+
+	/**
+	 * Returns the number of collected peaks.
+	 *
+	 * @return The number of collected peaks.
+	 */
+	public int getNumberOfPeaks() {
+		return numPeaks_;
+	}
+
+	/**
+	 * Returns the number of collected flights.
+	 *
+	 * @return The number of collected flights.
+	 */
+	public int getNumberOfFlights() {
+		return numFlights_;
+	}
+
+	/**
+	 * Returns the collected peaks. Note that, the length of the returned array may be greater than the number of peaks.
+	 *
+	 * @return The collected peaks.
+	 */
+	public double[] getPeaks() {
+		return peaks_;
+	}
+
+	/**
+	 * Returns the index of the first peak of given flight.
+	 *
+	 * @param flightIndex
+	 *            Flight index (in the order of flight numbers).
+	 * @return The index of the first peak of given flight.
+	 */
+	public int getFlightOffset(int flightIndex) {
+		return flightIndex == numFlights_ ? numPeaks_ : flightOffsets_[flightIndex];
+	}
+}
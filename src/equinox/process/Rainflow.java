@@ -15,17 +15,13 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.lang.ProcessBuilder.Redirect;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 
 import equinox.Equinox;
+import equinox.data.RainflowCounter;
 import equinox.data.fileType.ExternalFatigueEquivalentStress;
 import equinox.data.fileType.ExternalLinearEquivalentStress;
 import equinox.data.fileType.ExternalPreffasEquivalentStress;
@@ -33,13 +29,13 @@ import equinox.data.fileType.FatigueEquivalentStress;
 import equinox.data.fileType.LinearEquivalentStress;
 import equinox.data.fileType.PreffasEquivalentStress;
 import equinox.data.fileType.SpectrumItem;
-import equinox.plugin.FileType;
-import equinox.serverUtilities.ServerUtility;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchInserter;
+import equinox.utility.TextTokenizer;
 import equinox.utility.exception.InternalEngineAnalysisFailedException;
 
 /**
- * Class for rainflow process.
+ * Class for rainflow process. The input STH file is rainflow counted in-process with {@link RainflowCounter}, and the resulting cycles are saved to database.
  *
  * @author Murat Artim
  * @date Jan 30, 2015
@@ -53,17 +49,14 @@ public class Rainflow implements ESAProcess<Void> {
 	/** Path to input STH file. */
 	private final Path inputSTH_;
 
-	/** Paths to output files. */
-	private File[] outputFiles_ = null;
-
 	/** Equivalent stress ID. */
 	private final SpectrumItem equivalentStress_;
 
 	/** Rainflow cycles table name. */
 	private final String tableName_;
 
-	/** Sub processes. */
-	private Process rainflowProcess_;
+	/** Maximum number of flights and number of columns of STH file. */
+	private static final int MAX_FLIGHTS = 100001, NUM_COLS = 8;
 
 	/**
 	 * Creates rainflow process.
@@ -106,15 +99,15 @@ public class Rainflow implements ESAProcess<Void> {
 
 		try {
 
-			// run rainflow process
-			Path rainflowOutput = runRainflowProcess();
+			// rainflow count stress sequence
+			RainflowCounter counter = countCycles();
 
 			// task cancelled
-			if (task_.isCancelled())
+			if (counter == null || task_.isCancelled())
 				return null;
 
 			// save rainflow cycles to database
-			saveRainflowCycles(rainflowOutput, connection);
+			saveRainflowCycles(counter, connection);
 
 			// return
 			return null;
@@ -123,35 +116,30 @@ public class Rainflow implements ESAProcess<Void> {
 		// analysis failed
 		catch (Exception e) {
 
-			// set output files as permanent
-			if (outputFiles_ != null) {
-				for (File file : outputFiles_) {
-					task_.setFileAsPermanent(file.toPath());
-				}
+			// set input file as permanent
+			File[] outputFiles = { inputSTH_.toFile() };
+			for (File file : outputFiles) {
+				task_.setFileAsPermanent(file.toPath());
 			}
 
 			// throw exception
-			throw new InternalEngineAnalysisFailedException(e, outputFiles_);
+			throw new InternalEngineAnalysisFailedException(e, outputFiles);
 		}
 	}
 
 	@Override
 	public void cancel() {
-
-		// destroy sub processes (if still running)
-		if (rainflowProcess_ != null && rainflowProcess_.isAlive()) {
-			rainflowProcess_.destroyForcibly();
-		}
+		// no implementation (cycles are counted in-process, cancellation is checked through the owner task)
 	}
 
 	/**
-	 * Runs rainflow process.
+	 * Rainflow counts the input STH file. The file is read twice; first to get the stress range of the sequence (which determines the rainflow classes), then to count the flights one by one.
 	 *
-	 * @return Path to rainflow output file.
+	 * @return Rainflow counter, or null if task is cancelled.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Path runRainflowProcess() throws Exception {
+	private RainflowCounter countCycles() throws Exception {
 
 		// get path to input file name
 		Path inputFileNamePath = inputSTH_.getFileName();
@@ -159,77 +147,140 @@ public class Rainflow implements ESAProcess<Void> {
 			throw new Exception("Cannot get input STH file name.");
 
 		// update info
-		String inputFileName = inputFileNamePath.toString();
-		task_.updateMessage("Rainflowing stress sequence '" + inputFileName + "'...");
+		task_.updateMessage("Rainflowing stress sequence '" + inputFileNamePath.toString() + "'...");
 
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("rainflow.pl");
+		// get stress range
+		double[] range = { -1000000.0, 1000000.0 };
+		if (!readFlights(null, range))
+			return null;
 
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), inputFileName, "DATIG");
-		}
+		// count flights
+		RainflowCounter counter = new RainflowCounter(range[1], range[0]);
+		if (!readFlights(counter, range))
+			return null;
 
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputFileName, "DATIG");
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputFileName, "DATIG");
-		}
+		// create cycles
+		counter.finish();
+		return counter;
+	}
 
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// set output file paths
-		Path workingDir = task_.getWorkingDirectory();
-		File log = workingDir.resolve("rainflow.log").toFile();
-		Path output = Paths.get(inputSTH_.toString() + FileType.RFLOW.getExtension());
-		outputFiles_ = new File[] { log, output.toFile() };
-
-		// execute process and wait to end
-		pb.directory(workingDir.toFile());
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		rainflowProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert rainflowProcess_.getInputStream().read() == -1;
-
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+	/**
+	 * Reads the flights of the input STH file.
+	 *
+	 * @param counter
+	 *            Rainflow counter to add the flights to. Can be null if only the stress range is requested.
+	 * @param range
+	 *            Array to store the maximum and minimum stresses of the sequence.
+	 * @return True if the file is read, false if task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean readFlights(RainflowCounter counter, double[] range) throws Exception {
 
-		// process failed
-		if (rainflowProcess_.waitFor() != 0)
-			throw new Exception("Rainflow failed! See LOG file for details.");
+		// create file reader
+		try (TextTokenizer reader = new TextTokenizer(inputSTH_, null)) {
 
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+			// skip header
+			for (int i = 0; i < 4; i++) {
+				if (!reader.nextLine())
+					return true;
+			}
+
+			// loop over flights
+			double[] peaks = new double[256];
+			for (int i = 0; i < MAX_FLIGHTS; i++) {
+
+				// task cancelled
+				if (task_.isCancelled())
+					return false;
+
+				// read validity and block size
+				if (!reader.nextLine() || reader.isBlank()) {
+					break;
+				}
+				double validity = reader.nextDouble();
+				double blockSize = reader.hasNext() ? reader.nextDouble() : 0.0;
+
+				// read number of peaks
+				if (!reader.nextLine()) {
+					break;
+				}
+				int numPeaks = reader.nextInt();
+				if (peaks.length < numPeaks) {
+					peaks = new double[Math.max(numPeaks, peaks.length * 2)];
+				}
+
+				// read peaks
+				int numRows = (numPeaks / NUM_COLS) + ((numPeaks % NUM_COLS) == 0 ? 0 : 1);
+				int peakIndex = 0;
+				for (int j = 0; j < numRows; j++) {
+					if (!reader.nextLine()) {
+						break;
+					}
+					peakIndex = readPeaks(reader, peaks, peakIndex, range);
+				}
+
+				// fill missing peaks
+				for (int j = peakIndex; j < numPeaks; j++) {
+					peaks[j] = 0.0;
+				}
+
+				// add flight
+				if (counter != null) {
+					counter.addFlight(peaks, numPeaks, validity, blockSize);
+				}
+			}
+		}
 
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Rainflow failed! See LOG file for details.");
+		// file read
+		return true;
+	}
+
+	/**
+	 * Reads the peaks of current STH line and updates the stress range.
+	 *
+	 * @param line
+	 *            STH file tokenizer positioned at the line.
+	 * @param peaks
+	 *            Array to store the peaks.
+	 * @param peakIndex
+	 *            Index of next peak.
+	 * @param range
+	 *            Array to store the maximum and minimum stresses of the sequence.
+	 * @return Index of next peak.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static int readPeaks(TextTokenizer line, double[] peaks, int peakIndex, double[] range) throws Exception {
 
-		// return output file
-		return output;
+		// loop over values
+		while (line.hasNext()) {
+			double value = line.nextDouble();
+			if (peakIndex < peaks.length) {
+				peaks[peakIndex] = value;
+			}
+			peakIndex++;
+			if (value > range[0]) {
+				range[0] = value;
+			}
+			if (value < range[1]) {
+				range[1] = value;
+			}
+		}
+		return peakIndex;
 	}
 
 	/**
 	 * Saves rainflow cycles to database.
 	 *
-	 * @param rainflowOutput
-	 *            Rainflow output file.
+	 * @param counter
+	 *            Rainflow counter.
 	 * @param connection
 	 *            Database connection.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void saveRainflowCycles(Path rainflowOutput, Connection connection) throws Exception {
+	private void saveRainflowCycles(RainflowCounter counter, Connection connection) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving rainflow cycles to database...");
@@ -267,98 +318,42 @@ public class Rainflow implements ESAProcess<Void> {
 			// set stress ID
 			update.setInt(1, equivalentStress_.getID());
 
-			// create file reader
-			try (BufferedReader reader = Files.newBufferedReader(rainflowOutput, Charset.defaultCharset())) {
+			// loop over cycles
+			BatchInserter inserter = new BatchInserter(update);
+			for (int i = 0; i < counter.getNumberOfCycles(); i++) {
 
-				// read file till the end
-				String line;
-				int cycleNum = 0;
-				while ((line = reader.readLine()) != null) {
-
-					// task cancelled
-					if (task_.isCancelled())
-						return;
-
-					// end line
-					if (line.startsWith("         1")) {
-						break;
-					}
+				// task cancelled
+				if (task_.isCancelled())
+					return;
 
-					// set cycle number
-					update.setInt(2, cycleNum);
-					cycleNum++;
+				// get maximum value
+				double max = counter.getMaxStress(i);
 
-					// split line
-					String[] split = line.trim().split(" ");
+				// zero maximum value
+				if (max == 0.0) {
 
-					// loop over columns
-					int index = 0;
-					double max = 0.0, min = 0.0, cycles = 0.0;
-					for (String col : split) {
+					// set maximum to 0.0001
+					max = 0.0001;
 
-						// invalid value
-						if (col == null || col.isEmpty()) {
-							continue;
-						}
-
-						// trim spaces
-						col = col.trim();
-
-						// invalid value
-						if (col.isEmpty()) {
-							continue;
-						}
-
-						// number of cycles
-						if (index == 0) {
-							cycles = Double.parseDouble(col);
-							update.setDouble(3, cycles);
-						}
-
-						// max value
-						else if (index == 1) {
-
-							// get maximum value
-							max = Double.parseDouble(col);
-
-							// zero maximum value
-							if (max == 0.0) {
-
-								// set maximum to 0.0001
-								max = 0.0001;
-
-								// log warning
-								String warning = task_.getTaskTitle() + " produced 0 maximum stress. Maximum stress is set to 0.0001.";
-								task_.addWarning(warning);
-								Equinox.LOGGER.warning(warning);
-							}
-
-							// set maximum value
-							update.setDouble(4, max);
-						}
-
-						// min value
-						else if (index == 2) {
-
-							// set min stress
-							min = Double.parseDouble(col);
-							update.setDouble(5, min);
-
-							// set mean value, r-ratio, amplitude and range
-							update.setDouble(6, (max + min) / 2.0);
-							update.setDouble(7, min / max);
-							update.setDouble(8, (max - min) / 2.0);
-							update.setDouble(9, max - min);
-						}
-
-						// increment index
-						index++;
-					}
-
-					// execute update
-					update.executeUpdate();
+					// log warning
+					String warning = task_.getTaskTitle() + " produced 0 maximum stress. Maximum stress is set to 0.0001.";
+					task_.addWarning(warning);
+					Equinox.LOGGER.warning(warning);
 				}
+
+				// set values
+				double min = counter.getMinStress(i);
+				update.setInt(2, i); // cycle number
+				update.setDouble(3, counter.getCycles(i)); // number of cycles
+				update.setDouble(4, max); // max value
+				update.setDouble(5, min); // min value
+				update.setDouble(6, (max + min) / 2.0); // mean value
+				update.setDouble(7, min / max); // r-ratio
+				update.setDouble(8, (max - min) / 2.0); // amplitude
+				update.setDouble(9, max - min); // range
+				inserter.add();
 			}
+			inserter.flush();
 		}
 	}
 }
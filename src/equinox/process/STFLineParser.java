@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+/**
+ * Parser for stress lines of STF files. Each line consists of an issy code followed by up to 3 stress components (normal X, normal Y and shear XY). Missing stress components are taken as zero. The column delimiter
+ * (tab or space) is determined from the first parsed line. Note that, a new parser should be used for each STF file.
+ *
+ * @author Murat Artim
+ * @date 10 Nov 2018
+ * @time 11:24:16
+ */
+class STFLineParser {
+
+	/** Column delimiter. */
+	private String delimiter_ = null;
+
+	/** Issy code of last parsed line. */
+	private String issyCode_ = null;
+
+	/** Stress components (x, y and xy) of last parsed line. */
+	private final double[] stresses_ = new double[3];
+
+	/** True if any of the parsed lines has 2D stress state. */
+	private boolean is2D_ = false;
+
+	/**
+	 * Parses given STF stress line.
+	 *
+	 * @param line
+	 *            STF stress line.
+	 */
+	void parse(String line) {
+
+		// set column delimiter
+		if (delimiter_ == null) {
+			delimiter_ = line.trim().contains("\t") ? "\t" : " ";
+		}
+
+		// reset values
+		issyCode_ = null;
+		stresses_[0] = 0.0;
+		stresses_[1] = 0.0;
+		stresses_[2] = 0.0;
+
+		// split line
+		String[] split = line.trim().split(delimiter_);
+
+		// loop over columns
+		int index = 0;
+		for (String col : split) {
+
+			// invalid value
+			if (col == null || col.isEmpty()) {
+				continue;
+			}
+
+			// trim spaces
+			col = col.trim();
+
+			// invalid value
+			if (col.isEmpty()) {
+				continue;
+			}
+
+			// issy code
+			if (index == 0) {
+				issyCode_ = col;
+			}
+
+			// stress component
+			else if (index <= 3) {
+				stresses_[index - 1] = Double.parseDouble(col);
+			}
+
+			// increment index
+			index++;
+		}
+
+		// 2D stress state
+		if (index == 4) {
+			is2D_ = true;
+		}
+	}
+
+	/**
+	 * Returns the issy code of last parsed line.
+	 *
+	 * @return The issy code of last parsed line.
+	 */
+	String getIssyCode() {
+		return issyCode_;
+	}
+
+	/**
+	 * Returns the normal X stress of last parsed line.
+	 *
+	 * @return The normal X stress of last parsed line.
+	 */
+	double getStressX() {
+		return stresses_[0];
+	}
+
+	/**
+	 * Returns the normal Y stress of last parsed line.
+	 *
+	 * @return The normal Y stress of last parsed line.
+	 */
+	double getStressY() {
+		return stresses_[1];
+	}
+
+	/**
+	 * Returns the shear XY stress of last parsed line.
+	 *
+	 * @return The shear XY stress of last parsed line.
+	 */
+	double getStressXY() {
+		return stresses_[2];
+	}
+
+	/**
+	 * Returns true if any of the parsed lines has 2D stress state.
+	 *
+	 * @return True if any of the parsed lines has 2D stress state.
+	 */
+	boolean is2D() {
+		return is2D_;
+	}
+}
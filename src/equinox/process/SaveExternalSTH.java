@@ -31,6 +31,7 @@ import equinox.Equinox;
 import equinox.data.fileType.ExternalStressSequence;
 import equinox.data.input.EquivalentStressInput;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.PeakFormatter;
 
 /**
  * Class for save external stress sequence as STH process.
@@ -53,6 +54,9 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	/** Decimal format. */
 	private final DecimalFormat format_ = new DecimalFormat("0.00");
 
+	/** STH line. */
+	private final PeakFormatter line_ = new PeakFormatter("0.00", 10);
+
 	/** Number of columns. */
 	private static final int NUM_COLS = 8;
 
@@ -237,7 +241,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 		// get peaks
 		int rem = numPeaks % NUM_COLS;
 		int numRows = (numPeaks / NUM_COLS) + (rem == 0 ? 0 : 1);
-		String line = "";
+		line_.clear();
 		selectPeaks.setInt(1, flights.getInt("flight_id"));
 		try (ResultSet peaks = selectPeaks.executeQuery()) {
 
@@ -270,14 +274,13 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 					}
 
 					// add peak
-					line += String.format("%10s", format_.format(peakVal));
+					line_.append(peakVal);
 					colIndex++;
 
 					// last column
 					if (colIndex == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(line);
+						line_.write(writer);
 						writer.newLine();
-						line = "";
 						colIndex = 0;
 						rowIndex++;
 					}
@@ -304,14 +307,13 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 					}
 
 					// add peak
-					line += String.format("%10s", format_.format(peakVal));
+					line_.append(peakVal);
 					colIndex++;
 
 					// last column
 					if (colIndex == NUM_COLS) {
-						writer.write(line);
+						line_.write(writer);
 						writer.newLine();
-						line = "";
 						colIndex = 0;
 						rowIndex++;
 					}
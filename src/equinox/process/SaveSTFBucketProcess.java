@@ -23,6 +23,7 @@ import java.sql.Statement;
 
 import equinox.data.fileType.STFFileBucket;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for save STF file bucket process.
@@ -68,7 +69,7 @@ public class SaveSTFBucketProcess implements EquinoxProcess<STFFileBucket> {
 		try (Statement statement = connection.createStatement()) {
 
 			// get STF file IDs
-			String sql = "select file_id, stress_table_id, name, is_2d from stf_files where cdf_id = " + bucket_.getParentItem().getID();
+			String sql = "select file_id, stress_table_id, name, is_2d from stf_files where cdf_id = " + bucket_.getParentItem().getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 			try (ResultSet resultSet = statement.executeQuery(sql)) {
 
 				// loop over STF files
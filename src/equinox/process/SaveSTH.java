@@ -30,6 +30,7 @@ import java.util.Date;
 import equinox.Equinox;
 import equinox.data.fileType.StressSequence;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.PeakFormatter;
 
 /**
  * Class for save stress sequence as STH process.
@@ -52,6 +53,9 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	/** Decimal format. */
 	private final DecimalFormat format_ = new DecimalFormat("0.00");
 
+	/** STH line. */
+	private final PeakFormatter line_ = new PeakFormatter("0.00", 10);
+
 	/** Number of columns. */
 	private static final int NUM_COLS = 8;
 
@@ -213,7 +217,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 		// get peaks
 		int rem = numPeaks % NUM_COLS;
 		int numRows = (numPeaks / NUM_COLS) + (rem == 0 ? 0 : 1);
-		String line = "";
+		line_.clear();
 		selectPeaks.setInt(1, flights.getInt("flight_id"));
 		try (ResultSet peaks = selectPeaks.executeQuery()) {
 
@@ -235,14 +239,13 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 					}
 
 					// add peak
-					line += String.format("%10s", format_.format(peakVal));
+					line_.append(peakVal);
 					colIndex++;
 
 					// last column
 					if (colIndex == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(line);
+						line_.write(writer);
 						writer.newLine();
-						line = "";
 						colIndex = 0;
 						rowIndex++;
 					}
@@ -258,14 +261,13 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 					}
 
 					// add peak
-					line += String.format("%10s", format_.format(peakVal));
+					line_.append(peakVal);
 					colIndex++;
 
 					// last column
 					if (colIndex == NUM_COLS) {
-						writer.write(line);
+						line_.write(writer);
 						writer.newLine();
-						line = "";
 						colIndex = 0;
 						rowIndex++;
 					}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.ResultSet;
+
+import equinox.data.StressSequenceKernel;
+
+/**
+ * Interface for stress sequence peak sinks. The peaks computed by {@link GenerateStressSequencePeaks} are passed to the sink flight by flight.
+ *
+ * @author Murat Artim
+ * @date 23 Oct 2018
+ * @time 11:02:19
+ */
+public interface StressSequencePeakSink {
+
+	/**
+	 * Called before the peaks of a flight are passed to this sink.
+	 *
+	 * @param flight
+	 *            Result set pointing to the ANA flight (i.e. all columns of <code>ana_flights</code> table). The result set must not be advanced.
+	 * @param numPeaks
+	 *            Number of peaks of the flight which will be passed to this sink. This may differ from the number of ANA peaks if the peaks are filtered (e.g. by omission).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	void startFlight(ResultSet flight, int numPeaks) throws Exception;
+
+	/**
+	 * Called for each peak of the current flight.
+	 *
+	 * @param peakNum
+	 *            Peak number.
+	 * @param stress
+	 *            Total stress of the peak.
+	 * @param kernel
+	 *            Stress sequence kernel. Can be used to retrieve the stress components of the peak. This is null if the peaks are filtered (e.g. by omission).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	void addPeak(int peakNum, double stress, StressSequenceKernel kernel) throws Exception;
+
+	/**
+	 * Called after all peaks of the current flight are passed to this sink.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	void endFlight() throws Exception;
+}
@@ -212,6 +212,10 @@ public class AddAircraftLoadCases extends TemporaryFileCreatingTask<ArrayList<Ai
 					loadCases.addAll(loadedCases);
 				}
 
+				// refresh index statistics of load cases table
+				updateMessage("Updating load cases table statistics...");
+				Utility.updateStatistics(connection, "LOAD_CASES_" + folder_.getID());
+
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
@@ -40,11 +40,14 @@ import equinox.data.fileType.Spectrum;
 import equinox.dataServer.remote.data.PilotPointInfo;
 import equinox.plugin.FileType;
 import equinox.process.LoadSTFFile;
+import equinox.process.ParallelLoadSTFFiles;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.BatchInserter;
+import equinox.utility.DeletedFiles;
 import equinox.utility.Utility;
 
 /**
@@ -59,6 +62,9 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 	/** STF stress table generation constants. */
 	public static final int MAX_STF_FILES_PER_TABLE = 500, MAX_STRESS_TABLES = 10000;
 
+	/** Minimum number of STF files to load them in parallel. */
+	private static final int PARALLEL_LOAD_THRESHOLD = 10;
+
 	/** Input STF files. */
 	private List<File> stfFiles_;
 
@@ -83,6 +89,15 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 	/** True if the STF files should be added to STF file bucket. */
 	private boolean addToBucket_ = false;
 
+	/** Number of inserted STF stresses. */
+	private long insertedStresses_ = 0L;
+
+	/** Start time of loading (in nanoseconds). */
+	private long startTime_;
+
+	/** True if committed STF files were marked as deleted due to cancellation or failure of the task. */
+	private volatile boolean discarded_ = false;
+
 	/**
 	 * Creates add STF files task.
 	 *
@@ -192,17 +207,43 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// add from directory
-			if (stfFiles_ == null) {
-				files = addFromDirectory(connection, allowance);
+			try {
+
+				// disable auto-commit (each STF file is committed separately)
+				connection.setAutoCommit(false);
+				startTime_ = System.nanoTime();
+
+				// add from directory
+				if (stfFiles_ == null) {
+					files = addFromDirectory(connection, allowance);
+				}
+
+				// add individual STF files
+				else {
+					files = addFromSTFFiles(connection, allowance);
+				}
+
+				// enable auto-commit
+				connection.setAutoCommit(true);
 			}
 
-			// add individual STF files
-			else {
-				files = addFromSTFFiles(connection, allowance);
+			// exception occurred during process
+			catch (Exception e) {
+
+				// roll back updates
+				if (connection != null) {
+					connection.rollback();
+					connection.setAutoCommit(true);
+				}
+
+				// propagate exception
+				throw e;
 			}
 		}
 
+		// log insertion rate
+		Equinox.LOGGER.info(insertedStresses_ + " STF stresses loaded (" + BatchInserter.getRowsPerSecond(insertedStresses_, startTime_) + " stresses/s, batch size " + BatchInserter.getBatchSize() + ").");
+
 		// return files
 		return files;
 	}
@@ -287,6 +328,11 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 		// call ancestor
 		super.failed();
 
+		// reclaim discarded STF files on background
+		if (discarded_) {
+			taskPanel_.getOwner().runTaskSilently(new ReclaimDeletedFiles(), false);
+		}
+
 		// manage automatic tasks
 		automaticTaskOwnerFailed(automaticTasks_, executeAutomaticTasksInParallel_);
 	}
@@ -297,6 +343,11 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 		// call ancestor
 		super.cancelled();
 
+		// reclaim discarded STF files on background
+		if (discarded_) {
+			taskPanel_.getOwner().runTaskSilently(new ReclaimDeletedFiles(), false);
+		}
+
 		// manage automatic tasks
 		automaticTaskOwnerFailed(automaticTasks_, executeAutomaticTasksInParallel_);
 	}
@@ -324,7 +375,16 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 
 			// set progress update indicator for sub process
 			int numFiles = stfFiles_.size();
-			boolean updateProcessProgress = numFiles < 10;
+			boolean updateProcessProgress = numFiles < PARALLEL_LOAD_THRESHOLD;
+
+			// load in parallel
+			if (info_ == null && !updateProcessProgress) {
+				ArrayList<Path> inputFiles = new ArrayList<>();
+				for (File file : stfFiles_) {
+					inputFiles.add(file.toPath());
+				}
+				return addInParallel(connection, inputFiles, allowance);
+			}
 
 			// compute number of stress tables
 			int numTables = numFiles / MAX_STF_FILES_PER_TABLE;
@@ -339,6 +399,7 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 
 			// create STF stress tables
 			createStressTables(stressTableIDs, insertStresses, connection);
+			connection.commit();
 
 			// prepare statement for inserting STF files
 			String sql = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -351,6 +412,10 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 					// loop over files
 					for (int i = 0; i < numFiles; i++) {
 
+						// task cancelled
+						if (isCancelled())
+							return files;
+
 						// update global progress
 						if (!updateProcessProgress) {
 							updateProgress(i, numFiles);
@@ -365,6 +430,9 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 						// get file type
 						FileType type = FileType.getFileType(inputFile);
 
+						// get stress table index
+						int tableIndex = i / MAX_STF_FILES_PER_TABLE;
+
 						// input file is a GZIP file
 						if (type.equals(FileType.GZ)) {
 
@@ -374,31 +442,7 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 							Utility.extractFileFromGZIP(inputFile.toPath(), stfFilePath);
 
 							// load and add STF file
-							try {
-								STFFile stfFile = new LoadSTFFile(this, stfFilePath, spectrum_, info, updateProcessProgress, stressTableIDs[i / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[i / MAX_STF_FILES_PER_TABLE], updateStressState);
-								if (automaticTasks_ != null) {
-									files.add(stfFile);
-								}
-								else {
-									if (files.size() < allowance) {
-										files.add(stfFile);
-									}
-									else {
-										addToBucket_ = true;
-									}
-									numAdded_++;
-								}
-							}
-
-							// exception occurred during loading STF file
-							catch (Exception e) {
-								if (numFiles == 1)
-									throw e;
-								Path fileNamePath = stfFilePath.getFileName();
-								if (fileNamePath != null) {
-									addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-								}
-							}
+							loadSTFFile(connection, stfFilePath, info, updateProcessProgress, stressTableIDs[tableIndex], numFiles, files, allowance, insertFile, insertStresses[tableIndex], updateStressState);
 						}
 
 						// input file is ZIP file
@@ -409,67 +453,22 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 							Path stfFilePath = Utility.extractFileFromZIP(inputFile.toPath(), this, FileType.STF, null);
 
 							// load and add STF file
-							try {
-								STFFile stfFile = new LoadSTFFile(this, stfFilePath, spectrum_, info, updateProcessProgress, stressTableIDs[i / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[i / MAX_STF_FILES_PER_TABLE], updateStressState);
-								if (automaticTasks_ != null) {
-									files.add(stfFile);
-								}
-								else {
-									if (files.size() < allowance) {
-										files.add(stfFile);
-									}
-									else {
-										addToBucket_ = true;
-									}
-									numAdded_++;
-								}
-							}
-
-							// exception occurred during loading STF file
-							catch (Exception e) {
-								if (numFiles == 1)
-									throw e;
-								Path fileNamePath = stfFilePath.getFileName();
-								if (fileNamePath != null) {
-									addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-								}
-							}
+							loadSTFFile(connection, stfFilePath, info, updateProcessProgress, stressTableIDs[tableIndex], numFiles, files, allowance, insertFile, insertStresses[tableIndex], updateStressState);
 						}
 
 						// input file is STF file
 						else if (type.equals(FileType.STF)) {
 
 							// load and add STF file
-							try {
-								STFFile stfFile = new LoadSTFFile(this, inputFile.toPath(), spectrum_, info, updateProcessProgress, stressTableIDs[i / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[i / MAX_STF_FILES_PER_TABLE], updateStressState);
-								if (automaticTasks_ != null) {
-									files.add(stfFile);
-								}
-								else {
-									if (files.size() < allowance) {
-										files.add(stfFile);
-									}
-									else {
-										addToBucket_ = true;
-									}
-									numAdded_++;
-								}
-							}
-
-							// exception occurred during loading STF file
-							catch (Exception e) {
-								if (numFiles == 1)
-									throw e;
-								Path fileNamePath = inputFile.toPath().getFileName();
-								if (fileNamePath != null) {
-									addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-								}
-							}
+							loadSTFFile(connection, inputFile.toPath(), info, updateProcessProgress, stressTableIDs[tableIndex], numFiles, files, allowance, insertFile, insertStresses[tableIndex], updateStressState);
 						}
 					}
 				}
 			}
 
+			// refresh stress table statistics
+			updateStatistics(connection, stressTableIDs);
+
 			// return files
 			return files;
 		}
@@ -478,7 +477,9 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 		finally {
 			if (insertStresses != null) {
 				for (PreparedStatement statement : insertStresses) {
-					statement.close();
+					if (statement != null) {
+						statement.close();
+					}
 				}
 			}
 		}
@@ -507,7 +508,21 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 
 			// set progress update indicator for sub process
 			int numFiles = (int) Files.list(directory_).count();
-			boolean updateProcessProgress = numFiles < 10L;
+			boolean updateProcessProgress = numFiles < PARALLEL_LOAD_THRESHOLD;
+
+			// load in parallel
+			if (!updateProcessProgress) {
+				ArrayList<Path> inputFiles = new ArrayList<>();
+				try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory_)) {
+					for (Path file : dirStream) {
+						FileType type = FileType.getFileType(file.toFile());
+						if (type != null && (type.equals(FileType.GZ) || type.equals(FileType.STF))) {
+							inputFiles.add(file);
+						}
+					}
+				}
+				return addInParallel(connection, inputFiles, allowance);
+			}
 
 			// compute number of stress tables
 			int numTables = numFiles / MAX_STF_FILES_PER_TABLE;
@@ -522,6 +537,7 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 
 			// create STF stress tables
 			createStressTables(stressTableIDs, insertStresses, connection);
+			connection.commit();
 
 			// prepare statement for inserting STF files
 			String sql = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -541,6 +557,10 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 						int index = 0;
 						while (iterator.hasNext()) {
 
+							// task cancelled
+							if (isCancelled())
+								return files;
+
 							// update global progress
 							if (!updateProcessProgress) {
 								updateProgress(index, numFiles);
@@ -557,6 +577,9 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 								continue;
 							}
 
+							// get stress table index
+							int tableIndex = index / MAX_STF_FILES_PER_TABLE;
+
 							// input file is a GZIP file
 							if (type.equals(FileType.GZ)) {
 
@@ -566,61 +589,14 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 								Utility.extractFileFromGZIP(file, stfFilePath);
 
 								// load and add STF file
-								try {
-									STFFile stfFile = new LoadSTFFile(this, stfFilePath, spectrum_, null, updateProcessProgress, stressTableIDs[index / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[index / MAX_STF_FILES_PER_TABLE], updateStressState);
-									if (automaticTasks_ != null) {
-										files.add(stfFile);
-									}
-									else {
-										if (files.size() < allowance) {
-											files.add(stfFile);
-										}
-										else {
-											addToBucket_ = true;
-										}
-										numAdded_++;
-									}
-								}
-
-								// exception occurred during loading STF file
-								catch (Exception e) {
-									if (numFiles == 1)
-										throw e;
-									Path fileNamePath = stfFilePath.getFileName();
-									if (fileNamePath != null) {
-										addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-									}
-								}
+								loadSTFFile(connection, stfFilePath, null, updateProcessProgress, stressTableIDs[tableIndex], numFiles, files, allowance, insertFile, insertStresses[tableIndex], updateStressState);
 							}
 
 							// input file is STF file
 							else if (type.equals(FileType.STF)) {
+
 								// load and add STF file
-								try {
-									STFFile stfFile = new LoadSTFFile(this, file, spectrum_, null, updateProcessProgress, stressTableIDs[index / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[index / MAX_STF_FILES_PER_TABLE], updateStressState);
-									if (automaticTasks_ != null) {
-										files.add(stfFile);
-									}
-									else {
-										if (files.size() < allowance) {
-											files.add(stfFile);
-										}
-										else {
-											addToBucket_ = true;
-										}
-										numAdded_++;
-									}
-								}
-
-								// exception occurred during loading STF file
-								catch (Exception e) {
-									if (numFiles == 1)
-										throw e;
-									Path fileNamePath = file.getFileName();
-									if (fileNamePath != null) {
-										addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-									}
-								}
+								loadSTFFile(connection, file, null, updateProcessProgress, stressTableIDs[tableIndex], numFiles, files, allowance, insertFile, insertStresses[tableIndex], updateStressState);
 							}
 
 							// increment index
@@ -630,6 +606,9 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 				}
 			}
 
+			// refresh stress table statistics
+			updateStatistics(connection, stressTableIDs);
+
 			// return files
 			return files;
 		}
@@ -638,19 +617,260 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 		finally {
 			if (insertStresses != null) {
 				for (PreparedStatement statement : insertStresses) {
-					statement.close();
+					if (statement != null) {
+						statement.close();
+					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Loads given STF file within its own transaction. The transaction is committed if the file is successfully loaded, or rolled back otherwise.
+	 *
+	 * @param connection
+	 *            Database connection. Auto-commit must be disabled.
+	 * @param stfFilePath
+	 *            Path to STF file.
+	 * @param info
+	 *            Pilot point info (can be null).
+	 * @param updateProcessProgress
+	 *            True if progress information should be updated by the load process.
+	 * @param stressTableID
+	 *            Stress table ID.
+	 * @param numFiles
+	 *            Total number of files to be loaded.
+	 * @param files
+	 *            List to add the loaded STF file.
+	 * @param allowance
+	 *            Maximum allowed number of STF files to be returned.
+	 * @param statements
+	 *            Prepared statements of the load process.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void loadSTFFile(Connection connection, Path stfFilePath, PilotPointInfo info, boolean updateProcessProgress, int stressTableID, int numFiles, ArrayList<STFFile> files, int allowance, PreparedStatement... statements) throws Exception {
+
+		try {
+
+			// load STF file
+			LoadSTFFile process = new LoadSTFFile(this, stfFilePath, spectrum_, info, updateProcessProgress, stressTableID);
+			STFFile stfFile = process.start(connection, statements);
+
+			// task cancelled
+			if (stfFile == null) {
+				connection.rollback();
+				return;
+			}
+
+			// commit file
+			connection.commit();
+
+			// update insertion rate
+			insertedStresses_ += process.getInsertedStresses();
+			if (!updateProcessProgress) {
+				updateTitle("Loading STF files (" + BatchInserter.getRowsPerSecond(insertedStresses_, startTime_) + " stresses/s)...");
+			}
+
+			// add file
+			addLoadedFile(files, stfFile, allowance);
+		}
+
+		// exception occurred during loading STF file
+		catch (Exception e) {
+
+			// roll back file
+			connection.rollback();
+
+			// propagate exception
+			if (numFiles == 1)
+				throw e;
+
+			// add warning
+			Path fileNamePath = stfFilePath.getFileName();
+			if (fileNamePath != null) {
+				addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
+			}
+		}
+	}
+
+	/**
+	 * Loads given STF files in parallel. Note that, this is only used when no pilot point info is supplied.
+	 *
+	 * @param connection
+	 *            Database connection. Auto-commit must be disabled.
+	 * @param inputFiles
+	 *            Input files (STF, GZ or ZIP).
+	 * @param allowance
+	 *            Maximum allowed number of STF files to be returned.
+	 * @return Added STF files.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ArrayList<STFFile> addInParallel(Connection connection, List<Path> inputFiles, int allowance) throws Exception {
+
+		// initialize list
+		ArrayList<STFFile> files = new ArrayList<>();
+
+		// compute number of stress tables
+		int numFiles = inputFiles.size();
+		int numTables = numFiles / MAX_STF_FILES_PER_TABLE;
+		numTables += numFiles % MAX_STF_FILES_PER_TABLE == 0 ? 0 : 1;
+
+		// create STF stress tables
+		int[] stressTableIDs = new int[numTables];
+		for (int i = 0; i < stressTableIDs.length; i++) {
+			stressTableIDs[i] = -1;
+		}
+		createStressTables(stressTableIDs, null, connection);
+		connection.commit();
+
+		// load files
+		ParallelLoadSTFFiles process = new ParallelLoadSTFFiles(this, inputFiles, spectrum_, stressTableIDs);
+		STFFile[] stfFiles;
+		try {
+			stfFiles = process.start(null);
+		}
+
+		// failed (discard files committed by the writers)
+		catch (Exception e) {
+			insertedStresses_ += process.getInsertedStresses();
+			try {
+				discardLoadedFiles(connection, process.getLoadedFiles(), stressTableIDs);
+			}
+			catch (Exception e1) {
+				e.addSuppressed(e1);
+			}
+			throw e;
+		}
+		insertedStresses_ += process.getInsertedStresses();
+
+		// task cancelled (discard files committed by the writers)
+		if (stfFiles == null || isCancelled()) {
+			discardLoadedFiles(connection, process.getLoadedFiles(), stressTableIDs);
+			return files;
+		}
+
+		// add loaded files
+		for (STFFile stfFile : stfFiles) {
+			if (stfFile != null) {
+				addLoadedFile(files, stfFile, allowance);
+			}
+		}
+
+		// refresh stress table statistics
+		updateStatistics(connection, stressTableIDs);
+
+		// return files
+		return files;
+	}
+
+	/**
+	 * Marks given STF files as deleted and drops the given stress tables which received no files. This is called when parallel loading is cancelled or fails, since the writers commit their files as they
+	 * are written. The marked files are then reclaimed on background (see {@link ReclaimDeletedFiles}).
+	 *
+	 * @param connection
+	 *            Database connection. Auto-commit must be disabled.
+	 * @param stfFiles
+	 *            STF files committed by the writers. Can contain null entries.
+	 * @param stressTableIDs
+	 *            STF stress table IDs.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void discardLoadedFiles(Connection connection, STFFile[] stfFiles, int[] stressTableIDs) throws Exception {
+
+		// update info
+		updateMessage("Discarding loaded STF files...");
+
+		// discard any uncommitted changes
+		connection.rollback();
+
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+
+			// mark committed files as deleted
+			DeletedFiles.createTable(connection);
+			for (STFFile stfFile : stfFiles) {
+				if (stfFile != null) {
+					DeletedFiles.markSTFFile(statement, stfFile.getID());
+					discarded_ = true;
+				}
+			}
+
+			// drop stress tables which received no files
+			String sql = "select 1 from stf_files where stress_table_id = ?";
+			try (PreparedStatement checkTable = connection.prepareStatement(sql)) {
+				for (int stressTableID : stressTableIDs) {
+					if (stressTableID == -1) {
+						continue;
+					}
+					checkTable.setInt(1, stressTableID);
+					try (ResultSet resultSet = checkTable.executeQuery()) {
+						if (!resultSet.next()) {
+							statement.executeUpdate("drop table AURORA.stf_stresses_" + stressTableID);
+						}
+					}
+				}
+			}
+		}
+
+		// commit changes
+		connection.commit();
+	}
+
+	/**
+	 * Adds given loaded STF file to output files, or to STF file bucket if the allowance is exceeded.
+	 *
+	 * @param files
+	 *            Output files.
+	 * @param stfFile
+	 *            Loaded STF file.
+	 * @param allowance
+	 *            Maximum allowed number of STF files to be returned.
+	 */
+	private void addLoadedFile(ArrayList<STFFile> files, STFFile stfFile, int allowance) {
+		if (automaticTasks_ != null) {
+			files.add(stfFile);
+		}
+		else {
+			if (files.size() < allowance) {
+				files.add(stfFile);
+			}
+			else {
+				addToBucket_ = true;
+			}
+			numAdded_++;
+		}
+	}
+
+	/**
+	 * Refreshes the index statistics of given STF stress tables and commits.
+	 *
+	 * @param connection
+	 *            Database connection. Auto-commit must be disabled.
+	 * @param stressTableIDs
+	 *            STF stress table IDs.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void updateStatistics(Connection connection, int[] stressTableIDs) throws Exception {
+		updateMessage("Updating STF stress table statistics...");
+		for (int stressTableID : stressTableIDs) {
+			if (stressTableID != -1) {
+				Utility.updateStatistics(connection, "STF_STRESSES_" + stressTableID);
+			}
+		}
+		connection.commit();
+	}
+
 	/**
 	 * Creates STF stress tables.
 	 *
 	 * @param stressTableIDs
 	 *            Array to store newly created stress table IDs.
 	 * @param insertStresses
-	 *            Array to store stress insertion statements for each STF stress table.
+	 *            Array to store stress insertion statements for each STF stress table. Can be null if no statement is needed.
 	 * @param connection
 	 *            Database connection.
 	 * @throws Exception
@@ -692,8 +912,10 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 
 					// prepare insert STF stress statement
 					stressTableIDs[i] = tableID;
-					sql = "insert into " + tableName + "(file_id, issy_code, stress_x, stress_y, stress_xy) values(?, ?, ?, ?, ?)";
-					insertStresses[i] = connection.prepareStatement(sql);
+					if (insertStresses != null) {
+						sql = "insert into " + tableName + "(file_id, issy_code, stress_x, stress_y, stress_xy) values(?, ?, ?, ?, ?)";
+						insertStresses[i] = connection.prepareStatement(sql);
+					}
 				}
 			}
 		}
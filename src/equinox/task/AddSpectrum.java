@@ -16,6 +16,7 @@
 package equinox.task;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -25,7 +26,10 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import equinox.Equinox;
 import equinox.data.ConversionTableSheetName;
@@ -78,6 +82,12 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 	/** Add STF files task. */
 	private AddSTFFiles addSTFFiles_ = null;
 
+	/** Monitors of concurrently loaded spectrum files. */
+	private final ArrayList<LoaderMonitor> loaderMonitors_ = new ArrayList<>();
+
+	/** True if concurrent loading of spectrum files is aborted (i.e. one of the loaders has failed or returned without result). */
+	private final AtomicBoolean abortLoading_ = new AtomicBoolean(false);
+
 	/**
 	 * Creates add spectrum task from individual CDF set files.
 	 *
@@ -253,49 +263,12 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 				// create spectrum
 				Spectrum spectrum = createSpectrum(connection);
 
-				// load ANA file
-				Integer anaID = new LoadANAFile(this, anaFile_, spectrum).start(connection);
-				if (anaID == null) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-				spectrum.setANAFileID(anaID);
-
-				// load and add FLS file to CDF set
-				Integer flsID = new LoadFLSFile(this, flsFile_, spectrum).start(connection);
-				if (flsID == null) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-				spectrum.setFLSFileID(flsID);
-
-				// load and add conversion table to CDF set
-				Integer[] convTableInfo = new LoadConversionTable(this, conversionTable_, spectrum, sheet_).start(connection);
-				if (convTableInfo == null) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-				spectrum.setConvTableID(convTableInfo[0]);
-
-				// load and add CVT file to CDF set
-				Path cvtFile = new LoadCVTFile(this, cvtFile_, spectrum).start(connection);
-				if (cvtFile == null || !Files.exists(cvtFile)) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-
-				// load and add TXT file to CDF set
-				Integer txtID = loadTXTFile(connection, convTableInfo, spectrum, cvtFile);
-				if (txtID == null) {
+				// load spectrum files (all loaders share the same transaction)
+				if (!loadSpectrumFiles(connection, spectrum)) {
 					connection.rollback();
 					connection.setAutoCommit(true);
 					return null;
 				}
-				spectrum.setTXTFileID(txtID);
 
 				// create add STF files task
 				if (stfFiles != null && !stfFiles.isEmpty()) {
@@ -565,6 +538,8 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 	/**
 	 * Loads TXT file. Decides whether to load the TXT file or generate it.
 	 *
+	 * @param task
+	 *            Loader monitor.
 	 * @param connection
 	 *            Database connection.
 	 * @param convTableInfo
@@ -577,11 +552,11 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Integer loadTXTFile(Connection connection, Integer[] convTableInfo, Spectrum cdfSet, Path cvtFile) throws Exception {
+	private Integer loadTXTFile(LoaderMonitor task, Connection connection, Integer[] convTableInfo, Spectrum cdfSet, Path cvtFile) throws Exception {
 
 		// null TXT file (generate)
 		if (txtFile_ == null)
-			return new GenerateTXTFile(this, cvtFile, convTableInfo, cdfSet).start(connection);
+			return new GenerateTXTFile(task, cvtFile, convTableInfo, cdfSet).start(connection);
 
 		// initialize input file and type
 		Path txtFile = txtFile_;
@@ -591,23 +566,182 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 		if (type.equals(FileType.ZIP)) {
 
 			// extract TXT file from the bundle
-			updateMessage("Extracting bundled TXT file...");
-			txtFile = Utility.extractFileFromZIP(txtFile_, this, FileType.TXT, null);
+			task.updateMessage("Extracting bundled TXT file...");
+			txtFile = Utility.extractFileFromZIP(txtFile_, task, FileType.TXT, null);
 
 			// no TXT file found within the bundle (generate)
 			if (txtFile == null)
-				return new GenerateTXTFile(this, cvtFile, convTableInfo, cdfSet).start(connection);
+				return new GenerateTXTFile(task, cvtFile, convTableInfo, cdfSet).start(connection);
 		}
 
 		// input file is a GZIP file
 		else if (type.equals(FileType.GZ)) {
-			txtFile = getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(txtFile_), FileType.TXT));
-			updateMessage("Extracting bundled TXT file...");
+			txtFile = task.getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(txtFile_), FileType.TXT));
+			task.updateMessage("Extracting bundled TXT file...");
 			Utility.extractFileFromGZIP(txtFile_, txtFile);
 		}
 
 		// load TXT file
-		return new LoadTXTFile(this, txtFile, cdfSet, convTableInfo[1]).start(connection);
+		return new LoadTXTFile(task, txtFile, cdfSet, convTableInfo[1]).start(connection);
+	}
+
+	/**
+	 * Loads spectrum files into database. ANA, FLS, conversion table and CVT files are independent of each other and are loaded concurrently. TXT file depends on conversion table and CVT file, so it is loaded (or
+	 * generated) as soon as they are loaded, while the ANA file (which is the longest step) is still being loaded. All loaders use the underlying connection of the given pooled connection, so that the whole spectrum is
+	 * committed or rolled back within a single transaction. Note that, the embedded database serializes the calls of different threads on the same connection.
+	 * <p>
+	 * Each loader reports to its own {@link LoaderMonitor}. The progress of all loaders is aggregated into the progress of this task. As soon as one of the loaders fails or returns without result, the remaining loaders
+	 * are aborted, so that the transaction can be rolled back without waiting for them to complete their loads.
+	 *
+	 * @param connection
+	 *            Database connection. Auto-commit must be disabled.
+	 * @param spectrum
+	 *            The newly created spectrum.
+	 * @return True if all files are loaded, false if task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean loadSpectrumFiles(Connection connection, Spectrum spectrum) throws Exception {
+
+		// create working directory before loaders use it concurrently
+		getWorkingDirectory();
+
+		// get underlying connection (the pool's connection wrapper is not meant for concurrent use)
+		Connection shared = connection.unwrap(Connection.class);
+
+		// create loader monitors (generated TXT file is weighted by the CVT file it is generated from)
+		abortLoading_.set(false);
+		loaderMonitors_.clear();
+		LoaderMonitor anaMonitor = createLoaderMonitor(anaFile_);
+		LoaderMonitor flsMonitor = createLoaderMonitor(flsFile_);
+		LoaderMonitor conversionTableMonitor = createLoaderMonitor(conversionTable_);
+		LoaderMonitor cvtMonitor = createLoaderMonitor(cvtFile_);
+		LoaderMonitor txtMonitor = createLoaderMonitor(txtFile_ == null ? cvtFile_ : txtFile_);
+
+		// start loading independent files
+		ArrayList<Future<?>> loaders = new ArrayList<>();
+		try {
+			Future<Integer> ana = submitLoader(loaders, () -> new LoadANAFile(anaMonitor, anaFile_, spectrum).start(shared));
+			Future<Integer> fls = submitLoader(loaders, () -> new LoadFLSFile(flsMonitor, flsFile_, spectrum).start(shared));
+			Future<Integer[]> conversionTable = submitLoader(loaders, () -> new LoadConversionTable(conversionTableMonitor, conversionTable_, spectrum, sheet_).start(shared));
+			Future<Path> cvt = submitLoader(loaders, () -> new LoadCVTFile(cvtMonitor, cvtFile_, spectrum).start(shared));
+
+			// wait for conversion table
+			Integer[] convTableInfo = getResult(conversionTable);
+			if (convTableInfo == null)
+				return false;
+			spectrum.setConvTableID(convTableInfo[0]);
+
+			// wait for CVT file
+			Path cvtFile = getResult(cvt);
+			if (cvtFile == null || !Files.exists(cvtFile))
+				return false;
+
+			// load and add TXT file to CDF set
+			Integer txtID = loadTXTFile(txtMonitor, shared, convTableInfo, spectrum, cvtFile);
+			if (txtID == null)
+				return false;
+			spectrum.setTXTFileID(txtID);
+
+			// wait for FLS file
+			Integer flsID = getResult(fls);
+			if (flsID == null)
+				return false;
+			spectrum.setFLSFileID(flsID);
+
+			// wait for ANA file
+			Integer anaID = getResult(ana);
+			if (anaID == null)
+				return false;
+			spectrum.setANAFileID(anaID);
+
+			// all loaded
+			return true;
+		}
+
+		// abort remaining loaders and wait for them to return (transaction cannot be ended while loaders are still running)
+		finally {
+			abortLoading_.set(true);
+			for (Future<?> loader : loaders) {
+				try {
+					loader.get();
+				}
+				catch (Exception e) {
+					// ignore since it is either already propagated or superseded by another exception
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates and registers a loader monitor for given input file.
+	 *
+	 * @param inputFile
+	 *            Input file of the loader. The size of the file is used as the weight of the loader in the aggregated progress.
+	 * @return The loader monitor.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	private LoaderMonitor createLoaderMonitor(Path inputFile) throws IOException {
+		LoaderMonitor monitor = new LoaderMonitor(inputFile == null || !Files.exists(inputFile) ? 0L : Files.size(inputFile));
+		synchronized (loaderMonitors_) {
+			loaderMonitors_.add(monitor);
+		}
+		return monitor;
+	}
+
+	/**
+	 * Updates the progress of this task with the aggregated progress of all loaders. Loaders report their progress in different units (such as bytes or lines), so the progress of each loader is normalized to a
+	 * fraction before it is weighted and combined.
+	 */
+	private void updateLoadingProgress() {
+		double workDone = 0.0;
+		long max = 0L;
+		synchronized (loaderMonitors_) {
+			for (LoaderMonitor monitor : loaderMonitors_) {
+				workDone += monitor.fraction_ * monitor.weight_;
+				max += monitor.weight_;
+			}
+		}
+		if (max > 0L) {
+			updateProgress((long) workDone, max);
+		}
+	}
+
+	/**
+	 * Submits given loader for concurrent execution.
+	 *
+	 * @param loaders
+	 *            List of submitted loaders.
+	 * @param loader
+	 *            Loader to submit.
+	 * @return Future of the loader.
+	 */
+	private static <T> Future<T> submitLoader(ArrayList<Future<?>> loaders, Callable<T> loader) {
+		Future<T> future = Equinox.CACHED_THREADPOOL.submit(loader);
+		loaders.add(future);
+		return future;
+	}
+
+	/**
+	 * Waits for given loader to complete and returns its result.
+	 *
+	 * @param loader
+	 *            Loader.
+	 * @return Result of the loader.
+	 * @throws Exception
+	 *             If the loader failed.
+	 */
+	private static <T> T getResult(Future<T> loader) throws Exception {
+		try {
+			return loader.get();
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
 	}
 
 	/**
@@ -670,4 +804,62 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 			}
 		}
 	}
+
+	/**
+	 * Inner class for monitor of a concurrently loaded spectrum file. Messages and warnings are forwarded to the owner task, progress is normalized and aggregated over all loaders, and cancellation is reported when
+	 * the owner task is cancelled or loading is aborted.
+	 *
+	 * @author Murat Artim
+	 * @date 10 Nov 2018
+	 * @time 10:24:37
+	 */
+	private class LoaderMonitor implements TemporaryFileTaskMonitor {
+
+		/** Weight of the loader in the aggregated progress (input file size in bytes). */
+		private final long weight_;
+
+		/** Completed fraction of the loader. */
+		private volatile double fraction_ = 0.0;
+
+		/**
+		 * Creates loader monitor.
+		 *
+		 * @param weight
+		 *            Weight of the loader in the aggregated progress (input file size in bytes).
+		 */
+		LoaderMonitor(long weight) {
+			weight_ = weight;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return AddSpectrum.this.isCancelled() || abortLoading_.get();
+		}
+
+		@Override
+		public Path getWorkingDirectory() throws IOException {
+			return AddSpectrum.this.getWorkingDirectory();
+		}
+
+		@Override
+		public void addWarning(String warning) {
+			AddSpectrum.this.addWarning(warning);
+		}
+
+		@Override
+		public void addWarning(String warning, Throwable e) {
+			AddSpectrum.this.addWarning(warning, e);
+		}
+
+		@Override
+		public void updateMessage(String message) {
+			AddSpectrum.this.updateMessage(message);
+		}
+
+		@Override
+		public void updateProgress(long workDone, long max) {
+			fraction_ = max <= 0L ? 0.0 : Math.min(1.0, Math.max(0.0, (double) workDone / max));
+			updateLoadingProgress();
+		}
+	}
 }
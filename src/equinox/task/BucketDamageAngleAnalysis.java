@@ -33,6 +33,7 @@ import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableBucketDamageAngleAnalysis;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for bucket damage angle analysis task.
@@ -138,7 +139,7 @@ public class BucketDamageAngleAnalysis extends InternalEquinoxTask<Void> impleme
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 			// prepare statement for getting STF files incrementally
-			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID();
+			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 			sql += " and is_2d = 1 and file_id > ? order by file_id asc";
 			try (PreparedStatement statement = connection.prepareStatement(sql)) {
 
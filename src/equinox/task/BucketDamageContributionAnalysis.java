@@ -30,6 +30,7 @@ import equinox.data.input.LoadcaseDamageContributionInput;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableBucketDamageContributionAnalysis;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for bucket damage contribution analysis task.
@@ -102,7 +103,7 @@ public class BucketDamageContributionAnalysis extends InternalEquinoxTask<Void>
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 			// prepare statement for getting STF files incrementally
-			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID();
+			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 			sql += " and file_id > ? order by file_id asc";
 			try (PreparedStatement statement = connection.prepareStatement(sql)) {
 
@@ -19,7 +19,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
-import java.util.concurrent.Future;
 
 import equinox.Equinox;
 import equinox.data.AnalysisEngine;
@@ -33,6 +32,7 @@ import equinox.dataServer.remote.data.Material;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableBucketFastEquivalentStressAnalysis;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for fast equivalent stress analysis from STF file bucket task.
@@ -64,9 +64,6 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 	/** True compression should be applied in propagation analysis. */
 	private boolean applyCompression_;
 
-	/** Number of completed analyses. */
-	private int completed_ = 0;
-
 	/** True if typical flight damage contribution analysis is requested. */
 	private final boolean isFlightDamageContributionAnalysis_;
 
@@ -140,18 +137,21 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 		// get owner spectrum
 		Spectrum spectrum = bucket_.getParentItem();
 
+		// create task pipeline
+		TaskPipeline pipeline = new TaskPipeline(this, "Running analyses...", maxParallel, bucket_.getNumberOfSTFs());
+
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 			// prepare statement for getting STF files incrementally
-			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID();
+			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 			sql += " and file_id > ? order by file_id asc";
 			try (PreparedStatement statement = connection.prepareStatement(sql)) {
 
 				// set limit to rows returned
 				statement.setMaxRows(maxParallel);
 
-				// execute as long as all tasks are completed
+				// submit tasks as long as there are STF files
 				int fileID = 0;
 				while (fileID >= 0) {
 
@@ -160,9 +160,9 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 						break;
 					}
 
-					// execute
+					// submit next STF files
 					statement.setInt(1, fileID);
-					fileID = executeTasks(statement, spectrum);
+					fileID = submitTasks(statement, spectrum, pipeline);
 				}
 
 				// reset statement
@@ -170,48 +170,43 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 			}
 		}
 
+		// wait for remaining tasks
+		pipeline.drain();
+
 		// return
 		return null;
 	}
 
 	/**
-	 * Executes tasks and waits for all of them to complete.
+	 * Submits tasks for the next STF files to the task pipeline. Submission waits only as long as the pipeline window is full.
 	 *
 	 * @param statement
 	 *            Database statement.
 	 * @param spectrum
 	 *            Spectrum.
-	 * @return Maximum STF file ID.
+	 * @param pipeline
+	 *            Task pipeline.
+	 * @return Maximum STF file ID, or -1 if there are no more STF files.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int executeTasks(PreparedStatement statement, Spectrum spectrum) throws Exception {
+	private int submitTasks(PreparedStatement statement, Spectrum spectrum, TaskPipeline pipeline) throws Exception {
 
-		// initialize variables
+		// create tasks for next STF files (result set is closed before submission, since submission may wait)
 		int maxFileID = -1;
-		ArrayList<Future<?>> results = null;
-
-		// get next STF files
+		ArrayList<FastGenerateStressSequence> tasks = new ArrayList<>();
 		try (ResultSet resultSet = statement.executeQuery()) {
 
 			// loop over STF files
 			while (resultSet.next()) {
 
-				// task cancelled
-				if (isCancelled()) {
-					break;
-				}
-
 				// get STF file info
 				int stfID = resultSet.getInt("file_id");
 				int stressTableID = resultSet.getInt("stress_table_id");
 				String stfName = resultSet.getString("name");
 
-				// execute task silently and in parallel
-				if (results == null) {
-					results = new ArrayList<>();
-				}
-				results.add(taskPanel_.getOwner().runTaskSilently(new FastGenerateStressSequence(stfID, stressTableID, stfName, spectrum, input_, materials_, isFlightDamageContributionAnalysis_, analysisEngine_).setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_), false));
+				// create task
+				tasks.add(new FastGenerateStressSequence(stfID, stressTableID, stfName, spectrum, input_, materials_, isFlightDamageContributionAnalysis_, analysisEngine_).setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_));
 
 				// update maximum file ID
 				if (stfID >= maxFileID) {
@@ -220,30 +215,10 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 			}
 		}
 
-		// there are results
-		if (results != null) {
-
-			// loop over results
-			for (Future<?> result : results) {
-
-				// task cancelled
-				if (isCancelled()) {
-					result.cancel(false);
-				}
-				else {
-					try {
-						result.get();
-						completed_++;
-						updateProgress(completed_, bucket_.getNumberOfSTFs());
-					}
-
-					// exception occurred (ignore since it is handled within the task)
-					catch (Exception e) {
-						completed_++;
-						updateProgress(completed_, bucket_.getNumberOfSTFs());
-					}
-				}
-			}
+		// submit tasks silently and in parallel
+		for (FastGenerateStressSequence task : tasks) {
+			if (!pipeline.submit(task, false))
+				return -1;
 		}
 
 		// return maximum file ID
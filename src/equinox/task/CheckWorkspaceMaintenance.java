@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.util.TimerTask;
+
+import equinox.controller.ActiveTasksPanel;
+import javafx.application.Platform;
+
+/**
+ * Class for check workspace maintenance timer-task. When there is no running task, pending reclamation of deleted files is started, or workspace compaction if there is no pending reclamation.
+ *
+ * @author Murat Artim
+ * @date 6 Nov 2018
+ * @time 14:48:12
+ */
+public class CheckWorkspaceMaintenance extends TimerTask {
+
+	/** Task manager panel. */
+	private final ActiveTasksPanel tm_;
+
+	/**
+	 * Creates check workspace maintenance task.
+	 *
+	 * @param tm
+	 *            Task manager panel.
+	 */
+	public CheckWorkspaceMaintenance(ActiveTasksPanel tm) {
+		tm_ = tm;
+	}
+
+	@Override
+	public void run() {
+
+		// workspace is not idle
+		if (tm_.getNumberOfRunningTasks() != 0)
+			return;
+
+		// run pending reclamation in JavaFX thread
+		if (ReclaimDeletedFiles.isPending()) {
+			Platform.runLater(() -> tm_.runTaskSilently(new ReclaimDeletedFiles(), false));
+			return;
+		}
+
+		// run compaction in JavaFX thread
+		Platform.runLater(() -> tm_.runTaskSilently(new CompactWorkspace(), false));
+	}
+}
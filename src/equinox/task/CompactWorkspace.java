@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import equinox.Equinox;
+
+/**
+ * Class for compact workspace task. This task runs on background with low thread priority during idle time. It measures the dead space of workspace tables, compresses the tables with most dead space in place and
+ * refreshes their index statistics. Compaction is incremental; at most {@link #MAX_TABLES} tables are compressed per run and the task stops as soon as other tasks are started. A report of reclaimed bytes and
+ * table sizes (in pages, which is the cost of table scans in query plans) is written to the log.
+ *
+ * @author Murat Artim
+ * @date 6 Nov 2018
+ * @time 14:22:05
+ */
+public class CompactWorkspace extends InternalEquinoxTask<Void> {
+
+	/** Minimum estimated space saving in bytes for a table to be compressed. */
+	public static final long MIN_SPACE_SAVING = 4L * 1024L * 1024L;
+
+	/** Maximum number of tables compressed per run. */
+	public static final int MAX_TABLES = 8;
+
+	/** True if a compact task is already running. */
+	private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
+
+	/** Space query for all workspace tables. */
+	private static final String SPACE_QUERY = "select t.tablename, sum(s.numallocatedpages + s.numfreepages), sum((s.numallocatedpages + s.numfreepages) * s.pagesize), sum(s.estimspacesaving) from sys.systables t, sys.sysschemas sc, table(syscs_diag.space_table(sc.schemaname, t.tablename)) s where t.schemaid = sc.schemaid and sc.schemaname = 'AURORA' and t.tabletype = 'T'";
+
+	@Override
+	public String getTaskTitle() {
+		return "Compact workspace";
+	}
+
+	@Override
+	public boolean canBeCancelled() {
+		return true;
+	}
+
+	@Override
+	protected Void call() throws Exception {
+
+		// another compact task is already running
+		if (!RUNNING.compareAndSet(false, true))
+			return null;
+
+		// lower thread priority
+		Thread thread = Thread.currentThread();
+		int priority = thread.getPriority();
+		thread.setPriority(Thread.MIN_PRIORITY);
+
+		try {
+
+			// get connection to database
+			try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+
+				// get tables to compress
+				updateMessage("Measuring dead space of workspace tables...");
+				ArrayList<TableSpace> tables = new ArrayList<>();
+				try (PreparedStatement statement = connection.prepareStatement(SPACE_QUERY + " group by t.tablename order by 4 desc")) {
+					statement.setMaxRows(MAX_TABLES);
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							if (resultSet.getLong(4) >= MIN_SPACE_SAVING) {
+								tables.add(new TableSpace(resultSet.getString(1), resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4)));
+							}
+						}
+					}
+				}
+
+				// nothing to compress
+				if (tables.isEmpty())
+					return null;
+
+				// prepare statements
+				try (CallableStatement compress = connection.prepareCall("call SYSCS_UTIL.SYSCS_INPLACE_COMPRESS_TABLE('AURORA', ?, 1, 1, 1)")) {
+					try (CallableStatement updateStatistics = connection.prepareCall("call SYSCS_UTIL.SYSCS_UPDATE_STATISTICS('AURORA', ?, null)")) {
+						try (PreparedStatement getSpace = connection.prepareStatement(SPACE_QUERY + " and t.tablename = ? group by t.tablename")) {
+
+							// loop over tables
+							long totalReclaimed = 0L;
+							for (int i = 0; i < tables.size(); i++) {
+
+								// task cancelled or workspace is not idle anymore
+								if (isCancelled() || taskPanel_.getOwner().getNumberOfRunningTasks() > 1) {
+									break;
+								}
+
+								// compress table
+								TableSpace table = tables.get(i);
+								updateProgress(i, tables.size());
+								updateMessage("Compressing table '" + table.name_ + "'...");
+								try {
+									totalReclaimed += compressTable(compress, updateStatistics, getSpace, table);
+								}
+
+								// table could not be compressed (it may be dropped or locked by another transaction)
+								catch (SQLException e) {
+									Equinox.LOGGER.log(Level.WARNING, "Could not compact table AURORA." + table.name_ + ".", e);
+								}
+							}
+
+							// log report
+							Equinox.LOGGER.info("Workspace compaction reclaimed " + totalReclaimed / 1024L + " KB in total.");
+						}
+					}
+				}
+			}
+		}
+
+		// reset thread priority and running flag
+		finally {
+			thread.setPriority(priority);
+			RUNNING.set(false);
+		}
+
+		// return
+		return null;
+	}
+
+	/**
+	 * Compresses given table in place, refreshes its index statistics and logs the reclaimed space.
+	 *
+	 * @param compress
+	 *            Database statement for compressing table.
+	 * @param updateStatistics
+	 *            Database statement for updating index statistics.
+	 * @param getSpace
+	 *            Database statement for getting space usage of table.
+	 * @param table
+	 *            Table to compress.
+	 * @return Reclaimed space in bytes.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static long compressTable(CallableStatement compress, CallableStatement updateStatistics, PreparedStatement getSpace, TableSpace table) throws SQLException {
+
+		// compress table
+		long startTime = System.currentTimeMillis();
+		compress.setString(1, table.name_);
+		compress.execute();
+
+		// refresh index statistics
+		updateStatistics.setString(1, table.name_);
+		updateStatistics.execute();
+
+		// get space usage after compression (table may be dropped meanwhile)
+		long pages = 0L, bytes = 0L;
+		getSpace.setString(1, table.name_);
+		try (ResultSet resultSet = getSpace.executeQuery()) {
+			while (resultSet.next()) {
+				pages = resultSet.getLong(2);
+				bytes = resultSet.getLong(3);
+			}
+		}
+
+		// compute reclaimed space
+		long reclaimed = Math.max(0L, table.bytes_ - bytes);
+
+		// log report
+		String message = "Compacted table AURORA." + table.name_ + ": reclaimed " + reclaimed / 1024L + " KB (estimated " + table.saving_ / 1024L + " KB), ";
+		message += "scan cost " + table.pages_ + " -> " + pages + " pages, took " + (System.currentTimeMillis() - startTime) + " ms.";
+		Equinox.LOGGER.info(message);
+		return reclaimed;
+	}
+
+	/**
+	 * Inner class for space usage of a table.
+	 *
+	 * @author Murat Artim
+	 * @date 6 Nov 2018
+	 * @time 14:31:40
+	 */
+	private static class TableSpace {
+
+		/** Table name. */
+		private final String name_;
+
+		/** Number of pages, size in bytes and estimated space saving in bytes. */
+		private final long pages_, bytes_, saving_;
+
+		/**
+		 * Creates space usage of a table.
+		 *
+		 * @param name
+		 *            Table name.
+		 * @param pages
+		 *            Number of pages (allocated and free).
+		 * @param bytes
+		 *            Size in bytes (allocated and free pages).
+		 * @param saving
+		 *            Estimated space saving in bytes.
+		 */
+		TableSpace(String name, long pages, long bytes, long saving) {
+			name_ = name;
+			pages_ = pages;
+			bytes_ = bytes;
+			saving_ = saving;
+		}
+	}
+}
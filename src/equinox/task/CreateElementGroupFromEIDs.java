@@ -21,6 +21,7 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 
 import equinox.Equinox;
+import equinox.data.ElementIndex;
 import equinox.data.fileType.AircraftModel;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 
@@ -148,34 +149,26 @@ public class CreateElementGroupFromEIDs extends InternalEquinoxTask<Void> implem
 				// set group ID
 				insertToGroups.setInt(1, groupID);
 
-				// prepare statement for selecting element IDs
-				sql = "select eid from ELEMENTS_" + model_.getID() + " where eid = ?";
-				try (PreparedStatement selectElement = connection.prepareStatement(sql)) {
-
-					// loop over EIDs
-					for (int eid : eids_) {
-
-						// task cancelled
-						if (isCancelled())
-							return;
-
-						// insert into groups
-						selectElement.setInt(1, eid);
-						try (ResultSet resultSet = selectElement.executeQuery()) {
-							boolean exists = false;
-							while (resultSet.next()) {
-								insertToGroups.setInt(2, resultSet.getInt("eid"));
-								insertToGroups.executeUpdate();
-								numel++;
-								exists = true;
-							}
-
-							// invalid element ID
-							if (!exists) {
-								addWarning("Invalid element ID encountered: " + eid);
-							}
-						}
+				// get element index of the model
+				ElementIndex elementIndex = ElementIndex.get(connection, model_.getID());
+
+				// loop over EIDs
+				for (int eid : eids_) {
+
+					// task cancelled
+					if (isCancelled())
+						return;
+
+					// invalid element ID
+					if (!elementIndex.contains(eid)) {
+						addWarning("Invalid element ID encountered: " + eid);
+						continue;
 					}
+
+					// insert into groups
+					insertToGroups.setInt(2, eid);
+					insertToGroups.executeUpdate();
+					numel++;
 				}
 			}
 
@@ -23,6 +23,7 @@ import java.sql.Statement;
 import equinox.Equinox;
 import equinox.data.fileType.AircraftModel;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for create element group from pilot points task.
@@ -135,10 +136,14 @@ public class CreateElementGroupFromPilotPoints extends InternalEquinoxTask<Void>
 			if ((groupID == -1) || isCancelled())
 				return;
 
+			// get condition excluding deleted STF files
+			String exclusion = DeletedFiles.getExclusion(connection, DeletedFiles.STF, "stf_files.file_id");
+			exclusion = exclusion == null ? "" : " where " + exclusion;
+
 			// get number of elements
 			int numel = 0, realNum = 0;
 			sql = "select count(name) as numel from stf_files inner join pilot_points_" + model_.getID() + " on ";
-			sql += "stf_files.file_id = pilot_points_" + model_.getID() + ".stf_id order by name";
+			sql += "stf_files.file_id = pilot_points_" + model_.getID() + ".stf_id" + exclusion + " order by name";
 			try (ResultSet getNumel = statement.executeQuery(sql)) {
 				while (getNumel.next()) {
 					numel = getNumel.getInt("numel");
@@ -159,7 +164,7 @@ public class CreateElementGroupFromPilotPoints extends InternalEquinoxTask<Void>
 
 					// create and execute statement to get linked STF file names
 					sql = "select stf_files.eid from stf_files inner join pilot_points_" + model_.getID() + " on ";
-					sql += "stf_files.file_id = pilot_points_" + model_.getID() + ".stf_id order by name";
+					sql += "stf_files.file_id = pilot_points_" + model_.getID() + ".stf_id" + exclusion + " order by name";
 					try (ResultSet getEIDs = statement.executeQuery(sql)) {
 
 						// loop over STF file names
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.io.BufferedWriter;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import equinox.Equinox;
+import equinox.data.FastESAOutput;
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.dataServer.remote.data.LinearMaterial;
+import equinox.dataServer.remote.data.Material;
+import equinox.dataServer.remote.data.PreffasMaterial;
+import equinox.process.ESAProcess;
+import equinox.process.InbuiltFastESA;
+import equinox.process.NativeFastESA;
+
+/**
+ * Class for cross validate native engine task. The native analysis engine and the inbuilt analysis engine are run on the same reference stress sequences, for a reference fatigue, preffas and linear propagation material
+ * each. The native engine passes the check if all of its equivalent stresses agree with those of the inbuilt engine within {@link #TOLERANCE}. The native analysis engine can only be selected once the check has
+ * passed (see {@link #isPassed()}).
+ * <p>
+ * Reference sequences are a constant amplitude sequence with positive stresses only, and a variable amplitude sequence with compressive stresses (generated with a fixed seed, so that every run checks the same
+ * sequence). The check is run at most once per session, unless it is cancelled.
+ *
+ * @author Murat Artim
+ * @date 18 Nov 2018
+ * @time 10:22:47
+ */
+public class CrossValidateNativeEngine extends TemporaryFileCreatingTask<Void> {
+
+	/** Maximum allowed relative deviation of native equivalent stresses from inbuilt equivalent stresses. */
+	public static final double TOLERANCE = 0.01;
+
+	/** True if the check has passed. */
+	private static final AtomicBoolean PASSED = new AtomicBoolean(false);
+
+	/** True if the check is already started in this session. */
+	private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+
+	/** Number of columns of STH file. */
+	private static final int NUM_COLS = 8;
+
+	/** Seed of the variable amplitude reference sequence. */
+	private static final long SEED = 20181118L;
+
+	/** Decimal format of STH peaks. */
+	private final DecimalFormat format_ = new DecimalFormat("0.00");
+
+	/** Currently running analysis process. */
+	private volatile ESAProcess<FastESAOutput> process_;
+
+	@Override
+	public String getTaskTitle() {
+		return "Cross validate native analysis engine";
+	}
+
+	@Override
+	public boolean canBeCancelled() {
+		return true;
+	}
+
+	/**
+	 * Returns true if the native analysis engine has passed the cross validation against the inbuilt analysis engine in this session.
+	 *
+	 * @return True if the native analysis engine has passed the cross validation.
+	 */
+	public static boolean isPassed() {
+		return PASSED.get();
+	}
+
+	/**
+	 * Returns true if the cross validation is neither passed nor started in this session.
+	 *
+	 * @return True if the cross validation is neither passed nor started in this session.
+	 */
+	public static boolean isRequired() {
+		return !PASSED.get() && !STARTED.get();
+	}
+
+	@Override
+	protected Void call() throws Exception {
+
+		// already started
+		if (!STARTED.compareAndSet(false, true))
+			return null;
+
+		// create reference sequences and materials
+		ReferenceSequence[] sequences = { createConstantAmplitudeSequence(), createVariableAmplitudeSequence() };
+		Material[] materials = createReferenceMaterials();
+
+		// create directory for reference input files
+		Path inputDir = Files.createDirectories(getWorkingDirectory().resolve("reference"));
+
+		// loop over reference sequences
+		ArrayList<String> failures = new ArrayList<>();
+		int total = sequences.length * materials.length, completed = 0;
+		for (ReferenceSequence sequence : sequences) {
+
+			// write input STH and FLS files
+			updateMessage("Writing reference sequence '" + sequence.name_ + "'...");
+			Path sthFile = writeSTHFile(inputDir.resolve(sequence.name_ + ".sth"), sequence);
+			Path flsFile = writeFLSFile(inputDir.resolve(sequence.name_ + ".fls"), sequence);
+			int validity = sequence.sequence_.length;
+
+			// loop over materials
+			for (Material material : materials) {
+
+				// task cancelled
+				if (isCancelled())
+					return null;
+
+				// run inbuilt engine (files of previous run are removed, since they are appended by the engine)
+				removeAnalysisFiles();
+				process_ = new InbuiltFastESA(this, sthFile, flsFile, material, validity, false, false, null);
+				FastESAOutput inbuiltOutput = process_.start(null);
+
+				// task cancelled
+				if (isCancelled() || inbuiltOutput == null)
+					return null;
+
+				// run native engine
+				process_ = new NativeFastESA(this, null, sthFile, flsFile, material, validity);
+				FastESAOutput nativeOutput = process_.start(null);
+
+				// task cancelled
+				if (isCancelled() || nativeOutput == null)
+					return null;
+
+				// compare equivalent stresses
+				double expected = inbuiltOutput.getStress(), actual = nativeOutput.getStress();
+				double deviation = Math.abs(actual - expected) / Math.abs(expected);
+				String result = sequence.name_ + " / " + material.getClass().getSimpleName() + ": inbuilt " + expected + ", native " + actual + " (deviation " + format_.format(100.0 * deviation) + "%)";
+				Equinox.LOGGER.info("Native engine cross validation " + result);
+				if (!(deviation <= TOLERANCE)) {
+					failures.add(result);
+				}
+
+				// update progress
+				updateProgress(++completed, total);
+			}
+		}
+
+		// native engine doesn't agree with inbuilt engine
+		if (!failures.isEmpty())
+			throw new Exception("Native analysis engine doesn't agree with inbuilt analysis engine within " + format_.format(100.0 * TOLERANCE) + "% tolerance:\n" + String.join("\n", failures));
+
+		// passed
+		PASSED.set(true);
+		return null;
+	}
+
+	@Override
+	protected void cancelled() {
+
+		// call ancestor
+		super.cancelled();
+
+		// destroy sub processes (if still running)
+		ESAProcess<FastESAOutput> process = process_;
+		if (process != null) {
+			process.cancel();
+		}
+
+		// allow the check to be started again
+		STARTED.set(false);
+	}
+
+	/**
+	 * Removes the files of the previous inbuilt engine run from the working directory. Reference input files are not removed.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void removeAnalysisFiles() throws Exception {
+		try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(getWorkingDirectory())) {
+			for (Path file : dirStream) {
+				if (Files.isRegularFile(file)) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes out input STH file of given reference sequence.
+	 *
+	 * @param output
+	 *            Output STH file.
+	 * @param sequence
+	 *            Reference sequence.
+	 * @return Output STH file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private Path writeSTHFile(Path output, ReferenceSequence sequence) throws Exception {
+
+		// count occurrences of typical flights
+		int[] occurrences = new int[sequence.flights_.length];
+		for (int flight : sequence.sequence_) {
+			occurrences[flight]++;
+		}
+
+		// create file writer
+		try (BufferedWriter writer = Files.newBufferedWriter(output, Charset.defaultCharset())) {
+
+			// write file header
+			writer.write(" # Reference sequence '" + sequence.name_ + "' for native analysis engine cross validation");
+			writer.newLine();
+			for (int i = 0; i < 3; i++) {
+				writer.write(" #");
+				writer.newLine();
+			}
+
+			// loop over typical flights
+			for (int i = 0; i < sequence.flights_.length; i++) {
+
+				// write flight header
+				double[] peaks = sequence.flights_[i];
+				writer.write(String.format("%10s", format_.format(occurrences[i])) + String.format("%10s", format_.format(1.0)));
+				writer.newLine();
+				String line = String.format("%10s", Integer.toString(peaks.length));
+				for (int j = 0; j < 62; j++) {
+					line += " ";
+				}
+				writer.write(line + (i + 1) + " 1");
+				writer.newLine();
+
+				// write peaks
+				for (int j = 0; j < peaks.length; j++) {
+					writer.write(String.format("%10s", format_.format(peaks[j])));
+					if ((j % NUM_COLS) == (NUM_COLS - 1) || j == (peaks.length - 1)) {
+						writer.newLine();
+					}
+				}
+			}
+		}
+
+		// return file
+		return output;
+	}
+
+	/**
+	 * Writes out input FLS file of given reference sequence.
+	 *
+	 * @param output
+	 *            Output FLS file.
+	 * @param sequence
+	 *            Reference sequence.
+	 * @return Output FLS file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static Path writeFLSFile(Path output, ReferenceSequence sequence) throws Exception {
+		try (BufferedWriter writer = Files.newBufferedWriter(output, Charset.defaultCharset())) {
+			for (int i = 0; i < sequence.sequence_.length; i++) {
+				writer.write((i + 1) + " TF_" + (sequence.sequence_[i] + 1) + " 1");
+				writer.newLine();
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Creates constant amplitude reference sequence. The sequence consists of a single typical flight with positive stresses only.
+	 *
+	 * @return Constant amplitude reference sequence.
+	 */
+	private static ReferenceSequence createConstantAmplitudeSequence() {
+		double[][] flights = { { 0.0, 120.0, 20.0, 120.0, 20.0, 120.0, 20.0, 120.0, 20.0, 120.0, 0.0 } };
+		return new ReferenceSequence("constantAmplitude", flights, new int[100]);
+	}
+
+	/**
+	 * Creates variable amplitude reference sequence. The sequence consists of typical flights with varying number of cycles and compressive stresses, which are flown in a random order.
+	 *
+	 * @return Variable amplitude reference sequence.
+	 */
+	private static ReferenceSequence createVariableAmplitudeSequence() {
+
+		// create random number generator
+		Random random = new Random(SEED);
+
+		// create typical flights (ground-air-ground cycle with in-flight cycles)
+		double[][] flights = new double[5][];
+		for (int i = 0; i < flights.length; i++) {
+			int numCycles = 5 + random.nextInt(20);
+			double[] peaks = new double[2 * numCycles + 2];
+			peaks[0] = -20.0 - random.nextInt(60);
+			for (int j = 0; j < numCycles; j++) {
+				peaks[2 * j + 1] = 60.0 + random.nextInt(150);
+				peaks[2 * j + 2] = -40.0 + random.nextInt(100);
+			}
+			peaks[peaks.length - 1] = -20.0 - random.nextInt(60);
+			flights[i] = peaks;
+		}
+
+		// create flight sequence
+		int[] sequence = new int[500];
+		for (int i = 0; i < sequence.length; i++) {
+			sequence[i] = random.nextInt(flights.length);
+		}
+		return new ReferenceSequence("variableAmplitude", flights, sequence);
+	}
+
+	/**
+	 * Creates reference fatigue, preffas and linear propagation materials.
+	 *
+	 * @return Reference materials.
+	 */
+	private static Material[] createReferenceMaterials() {
+
+		// fatigue material
+		FatigueMaterial fatigue = new FatigueMaterial(-1);
+		fatigue.setName("Reference fatigue material");
+		fatigue.setP(4.5);
+		fatigue.setQ(0.6);
+		fatigue.setM(0.5);
+
+		// preffas propagation material
+		PreffasMaterial preffas = new PreffasMaterial(-1);
+		preffas.setName("Reference preffas material");
+		preffas.setCeff(1.06E-7);
+		preffas.setM(3.5);
+		preffas.setA(0.61);
+		preffas.setB(0.39);
+		preffas.setC(0.0);
+		preffas.setFtu(440.0);
+		preffas.setFty(325.0);
+
+		// linear propagation material
+		LinearMaterial linear = new LinearMaterial(-1);
+		linear.setName("Reference linear material");
+		linear.setCeff(1.06E-7);
+		linear.setM(3.5);
+		linear.setA(0.61);
+		linear.setB(0.39);
+		linear.setC(0.0);
+		linear.setFtu(440.0);
+		linear.setFty(325.0);
+
+		// return materials
+		return new Material[] { fatigue, preffas, linear };
+	}
+
+	/**
+	 * Inner class for reference stress sequence.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Nov 2018
+	 * @time 10:31:05
+	 */
+	private static class ReferenceSequence {
+
+		/** Sequence name. */
+		private final String name_;
+
+		/** Peaks of typical flights. */
+		private final double[][] flights_;
+
+		/** Typical flight indices in the order of flights. */
+		private final int[] sequence_;
+
+		/**
+		 * Creates reference sequence.
+		 *
+		 * @param name
+		 *            Sequence name.
+		 * @param flights
+		 *            Peaks of typical flights.
+		 * @param sequence
+		 *            Typical flight indices in the order of flights.
+		 */
+		public ReferenceSequence(String name, double[][] flights, int[] sequence) {
+			name_ = name;
+			flights_ = flights;
+			sequence_ = sequence;
+		}
+	}
+}
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.ANAPeakCursor;
 import equinox.data.AnalysisEngine;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
@@ -45,6 +46,7 @@ import equinox.data.Segment;
 import equinox.data.SegmentFactor;
 import equinox.data.Settings;
 import equinox.data.StressComponent;
+import equinox.data.StressSequenceKernel.ModifierCache;
 import equinox.data.fileType.DamageAngle;
 import equinox.data.fileType.STFFile;
 import equinox.data.fileType.Spectrum;
@@ -63,6 +65,10 @@ import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableDamageAngleAnalysis;
+import equinox.utility.ANAPeakReader;
+import equinox.utility.PeakFormatter;
+import equinox.utility.QueryPlanAudit;
+import equinox.utility.StatementCache;
 import equinox.utility.Utility;
 
 /**
@@ -92,6 +98,9 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	/** Input. */
 	private final DamageAngleInput input_;
 
+	/** Compiled stress modifiers. */
+	private final ModifierCache modifiers_;
+
 	/** Material. */
 	private final FatigueMaterial material_;
 
@@ -117,7 +126,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	private int rowIndex_ = 0, colIndex_ = 0, maxPeaks_;
 
 	/** STH lines. */
-	private String[] lines_;
+	private PeakFormatter[] lines_;
 
 	/** Delta-p ratios. */
 	private DPRatio[] dpRatios_;
@@ -131,6 +140,9 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	/** Equivalent stress analysis process. */
 	private ESAProcess<Double[][]> equivalentStressAnalysis_;
 
+	/** Query plan audit. */
+	private QueryPlanAudit audit_;
+
 	/** Automatic tasks. */
 	private HashMap<String, AutomaticTask<DamageAngle>> automaticTasks_ = null;
 
@@ -152,6 +164,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	public DamageAngleAnalysis(STFFile stfFile, DamageAngleInput input, FatigueMaterial material, AnalysisEngine analysisEngine) {
 		stfFile_ = stfFile;
 		input_ = input;
+		modifiers_ = new ModifierCache(input);
 		material_ = material;
 		analysisEngine_ = analysisEngine;
 		stfID_ = null;
@@ -184,6 +197,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 		stfName_ = stfName;
 		spectrum_ = spectrum;
 		input_ = input;
+		modifiers_ = new ModifierCache(input);
 		material_ = material;
 		stfFile_ = null;
 		analysisEngine_ = analysisEngine;
@@ -559,6 +573,12 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 			}
 		}
 
+		// native engine (only supports equivalent stress analysis of fast stress sequences)
+		else if (analysisEngine_.equals(AnalysisEngine.NATIVE)) {
+			addWarning("Native analysis engine doesn't support damage angle analysis. Falling back to inbuilt analysis engine.");
+			equivalentStressAnalysis_ = new InbuiltDAA(this, sthFiles, flsFile, incAngles, material_, validity, maxPeaks_ > EquivalentStressAnalysis.MAX_PEAKS, input_.isApplyOmission(), input_.getOmissionlevel());
+		}
+
 		// inbuilt engine
 		else {
 			equivalentStressAnalysis_ = new InbuiltDAA(this, sthFiles, flsFile, incAngles, material_, validity, maxPeaks_ > EquivalentStressAnalysis.MAX_PEAKS, input_.isApplyOmission(), input_.getOmissionlevel());
@@ -664,8 +684,9 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 			Path rootDir = getWorkingDirectory();
 			String baseFileName = FileType.getNameWithoutExtension(stfFile_ == null ? stfName_ : stfFile_.getName());
 			double[] radians = new double[incAngles.length];
-			lines_ = new String[incAngles.length];
+			lines_ = new PeakFormatter[incAngles.length];
 			for (int i = 0; i < incAngles.length; i++) {
+				lines_[i] = new PeakFormatter("0.00", 10);
 				paths[i] = rootDir.resolve(FileType.appendExtension(Utility.correctFileName(baseFileName) + "_" + incAngles[i], FileType.STH));
 				writers[i] = Files.newBufferedWriter(paths[i], Charset.defaultCharset());
 				writeSTHHeader(writers[i], incAngles[i]);
@@ -682,69 +703,75 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 			// create statement
 			try (Statement statement = connection.createStatement()) {
 
-				// get DP ratio
-				updateMessage("Computing delta-p ratio...");
-				dpRatios_ = getDPRatios(connection, statement, anaFileID, txtFileID, convTableID, radians);
-
-				// get DT parameters
-				updateMessage("Computing delta-t interpolation...");
-				dtInterpolators_ = getDTInterpolators(connection, statement, txtFileID, radians);
-
-				// get number of flights and peaks of the ANA file
-				int numPeaks = getNumberOfPeaks(statement, anaFileID);
-
-				// get maximum number of peaks per typical flight
-				maxPeaks_ = getMaxPeaksPerFlight(statement, anaFileID);
-
-				// prepare statement for selecting ANA peaks
-				int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
-				int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
-				String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-				try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID
-								+ " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-								// execute query for selecting ANA flights
-								sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
-								try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-									// loop over flights
-									HashMap<String, OneGStresses> oneg = new HashMap<>();
-									HashMap<String, double[]> inc = new HashMap<>();
-									int peakCount = 0;
-									while (anaFlights.next()) {
-
-										// task cancelled
-										if (isCancelled())
-											return null;
-
-										// write flight header
-										int flightPeaks = anaFlights.getInt("num_peaks");
-										writeFlightHeaders(writers, anaFlights, flightPeaks);
-
-										// initialize variables
-										int rem = flightPeaks % NUM_COLS;
-										int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
-										rowIndex_ = 0;
-										colIndex_ = 0;
-										for (int i = 0; i < lines_.length; i++) {
-											lines_[i] = "";
-										}
+				// create statement cache
+				try (StatementCache statements = new StatementCache(connection)) {
+
+					// get DP ratio
+					updateMessage("Computing delta-p ratio...");
+					dpRatios_ = getDPRatios(connection, statement, statements, anaFileID, txtFileID, convTableID, radians);
+
+					// get DT parameters
+					updateMessage("Computing delta-t interpolation...");
+					dtInterpolators_ = getDTInterpolators(statement, statements, txtFileID, radians);
+
+					// get number of flights and peaks of the ANA file
+					int numPeaks = getNumberOfPeaks(statement, anaFileID);
+
+					// get maximum number of peaks per typical flight
+					maxPeaks_ = getMaxPeaksPerFlight(statement, anaFileID);
+
+					// create ANA peak reader
+					int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
+					int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
+					try (ANAPeakReader peakReader = new ANAPeakReader(connection, anaFileID)) {
+
+						// start query plan audit (falls back to application logger if task has no logger)
+						try (QueryPlanAudit audit = new QueryPlanAudit(logger_ == null ? Equinox.LOGGER : logger_, connection)) {
+							audit_ = audit;
+
+							// prepare statement for selecting 1g issy code
+							String sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = ? and one_g_code = ? and increment_num = 0";
+							try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
+								select1GIssyCode.setInt(1, txtFileID); // TXT file ID
+
+								// prepare statement for selecting increment issy code
+								sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
+								try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
+									selectIncrementIssyCode.setInt(1, txtFileID); // TXT file ID
+
+									// get statement for selecting STF stress
+									PreparedStatement selectSTFStress = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stressTableID);
+									selectSTFStress.setInt(1, stfID);
+
+									// execute query for selecting ANA flights
+									sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
+									try (ResultSet anaFlights = statement.executeQuery(sql)) {
+
+										// loop over flights
+										ArrayList<OneGStresses> oneg = new ArrayList<>();
+										ArrayList<double[]> inc = new ArrayList<>();
+										int peakCount = 0;
+										while (anaFlights.next()) {
+
+											// task cancelled
+											if (isCancelled())
+												return null;
+
+											// write flight header
+											int flightPeaks = anaFlights.getInt("num_peaks");
+											writeFlightHeaders(writers, anaFlights, flightPeaks);
+
+											// initialize variables
+											int rem = flightPeaks % NUM_COLS;
+											int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
+											rowIndex_ = 0;
+											colIndex_ = 0;
+											for (int i = 0; i < lines_.length; i++) {
+												lines_[i].clear();
+											}
 
-										// execute statement for getting ANA peaks
-										selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-										try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
+											// get ANA peaks
+											ANAPeakCursor anaPeaks = peakReader.read(anaFlights.getInt("flight_id"));
 
 											// loop over peaks
 											while (anaPeaks.next()) {
@@ -836,9 +863,9 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @param selectIncrementIssyCode
 	 *            Database statement for selecting increment issy codes.
 	 * @param oneg
-	 *            Mapping containing 1g codes versus the stresses.
+	 *            1g stresses indexed by 1g code IDs.
 	 * @param inc
-	 *            Mapping containing class codes versus the stresses.
+	 *            Increment stresses indexed by class code IDs.
 	 * @param dpRatios
 	 *            Delta-p ratios.
 	 * @param dtInterpolators
@@ -850,34 +877,42 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeSTHPeak(double[] radians, BufferedWriter[] writers, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OneGStresses> oneg, HashMap<String, double[]> inc, DPRatio[] dpRatios,
+	private void writeSTHPeak(double[] radians, BufferedWriter[] writers, ANAPeakCursor anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, ArrayList<OneGStresses> oneg, ArrayList<double[]> inc, DPRatio[] dpRatios,
 			DTInterpolator[] dtInterpolators, int rem, int numRows) throws Exception {
 
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		String onegCode = classCode.substring(0, 4);
+		// get class code IDs
+		int classCodeID = anaPeaks.getClassCodeID();
+		int onegCodeID = anaPeaks.getOnegCodeID();
 
 		// get 1g stresses
-		OneGStresses onegStress = oneg.get(onegCode);
+		OneGStresses onegStress = onegCodeID < oneg.size() ? oneg.get(onegCodeID) : null;
 		if (onegStress == null) {
+			String onegCode = anaPeaks.getDictionary().getOnegCode(onegCodeID);
 			onegStress = get1GStress(radians, selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
+			while (oneg.size() <= onegCodeID) {
+				oneg.add(null);
+			}
+			oneg.set(onegCodeID, onegStress);
 		}
 
 		// get segment
 		Segment segment = onegStress.getSegment();
 
 		// get increment stresses
-		double[] incStress = inc.get(classCode);
+		double[] incStress = classCodeID < inc.size() ? inc.get(classCodeID) : null;
 		if (incStress == null) {
-			incStress = getIncStress(radians, selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment);
-			inc.put(classCode, incStress);
+			String classCode = anaPeaks.getFourteenDigitCode();
+			incStress = getIncStress(radians, selectSTFStress, selectIncrementIssyCode, classCode, classCode.substring(0, 4), segment);
+			while (inc.size() <= classCodeID) {
+				inc.add(null);
+			}
+			inc.set(classCodeID, incStress);
 		}
 
 		// compute and modify delta-p stress
 		double[] dpStress = new double[radians.length];
 		if (dpRatios[0] != null) {
-			double pressure = anaPeaks.getDouble("delta_p");
+			double pressure = anaPeaks.getDeltaP();
 			for (int i = 0; i < dpStress.length; i++) {
 				dpStress[i] = dpRatios[i].getStress(pressure);
 				dpStress[i] = modifyStress(dpRatios[i].getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress[i]);
@@ -889,7 +924,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 		if (dtInterpolators != null) {
 
 			// get temperature
-			double temperature = anaPeaks.getDouble("delta_t");
+			double temperature = anaPeaks.getDeltaT();
 
 			// loop over angles
 			for (int i = 0; i < dtStress.length; i++) {
@@ -925,16 +960,15 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 
 			// add peaks
 			for (int i = 0; i < lines_.length; i++) {
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
+				lines_[i].append(totalStresses[i]);
 			}
 			colIndex_++;
 
 			// last column
 			if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
 				for (int i = 0; i < lines_.length; i++) {
-					writers[i].write(lines_[i]);
+					lines_[i].write(writers[i]);
 					writers[i].newLine();
-					lines_[i] = "";
 				}
 				colIndex_ = 0;
 				rowIndex_++;
@@ -946,16 +980,15 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 
 			// add peaks
 			for (int i = 0; i < lines_.length; i++) {
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
+				lines_[i].append(totalStresses[i]);
 			}
 			colIndex_++;
 
 			// last column
 			if (colIndex_ == NUM_COLS) {
 				for (int i = 0; i < lines_.length; i++) {
-					writers[i].write(lines_[i]);
+					lines_[i].write(writers[i]);
 					writers[i].newLine();
-					lines_[i] = "";
 				}
 				colIndex_ = 0;
 				rowIndex_++;
@@ -999,10 +1032,10 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 			}
 
 			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor number
+			selectIncrementIssyCode.setString(2, onegCode); // 1g code
+			selectIncrementIssyCode.setInt(3, i + 1); // increment number
+			selectIncrementIssyCode.setString(4, block.substring(1)); // direction number
+			selectIncrementIssyCode.setString(5, block.substring(0, 1)); // factor number
 
 			// query issy code, factor and event name
 			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
@@ -1049,7 +1082,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 		// get 1G issy code and event name
 		String issyCode = null, event = null, segmentName = null;
 		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
+		select1gIssyCode.setString(2, onegCode); // 1g code
 		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
 			while (resultSet.next()) {
 
@@ -1062,6 +1095,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 				segmentName = Utility.extractSegmentName(event);
 			}
 		}
+		audit_.log("1g issy code lookup");
 
 		// create segment
 		Segment segment = new Segment(segmentName, segmentNum);
@@ -1093,7 +1127,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 		double[] stresses = new double[radians.length];
 
 		// query stresses
-		selectSTFStress.setString(1, issyCode);
+		selectSTFStress.setString(2, issyCode);
 		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
 			while (resultSet.next()) {
 
@@ -1109,6 +1143,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 				}
 			}
 		}
+		audit_.log("STF stress lookup");
 		return stresses;
 	}
 
@@ -1126,57 +1161,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @return The modified stress value.
 	 */
 	private double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+		return modifiers_.modifyStress(issyCode, segment, stressType, stress);
 	}
 
 	/**
@@ -1191,57 +1176,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @return The modified stress value.
 	 */
 	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+		return modifiers_.modify2PointDTStress(interpolator, segment, stress);
 	}
 
 	/**
@@ -1291,10 +1226,10 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	/**
 	 * Returns delta-t interpolations, or null if no delta-t interpolation is supplied.
 	 *
-	 * @param connection
-	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param txtFileID
 	 *            TXT file ID.
 	 * @param radians
@@ -1303,7 +1238,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DTInterpolator[] getDTInterpolators(Connection connection, Statement statement, int txtFileID, double[] radians) throws Exception {
+	private DTInterpolator[] getDTInterpolators(Statement statement, StatementCache statements, int txtFileID, double[] radians) throws Exception {
 
 		// no delta-t interpolation
 		DTInterpolation interpolation = input_.getDTInterpolation();
@@ -1333,68 +1268,67 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 		int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
+			// get statement for selecting STF stresses
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stressTableID);
+			statement2.setInt(1, stfID);
 
-				// loop over delta-t cases
-				while (resultSet.next()) {
+			// loop over delta-t cases
+			while (resultSet.next()) {
 
-					// set issy code
-					String issyCode = resultSet.getString("issy_code");
-					statement2.setString(1, issyCode);
+				// set issy code
+				String issyCode = resultSet.getString("issy_code");
+				statement2.setString(2, issyCode);
 
-					// get delta-p stress from STF file
-					double[] stresses = new double[radians.length];
+				// get delta-p stress from STF file
+				double[] stresses = new double[radians.length];
 
-					// query STF stresses
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next()) {
+				// query STF stresses
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next()) {
 
-							// get stresses
-							double x = resultSet2.getDouble("stress_x");
-							double y = resultSet2.getDouble("stress_y");
-							double xy = resultSet2.getDouble("stress_xy");
+						// get stresses
+						double x = resultSet2.getDouble("stress_x");
+						double y = resultSet2.getDouble("stress_y");
+						double xy = resultSet2.getDouble("stress_xy");
 
-							// compute delta-p ratio
-							for (int i = 0; i < radians.length; i++) {
-								stresses[i] = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * radians[i]) + xy * Math.sin(2 * radians[i]);
-							}
+						// compute delta-p ratio
+						for (int i = 0; i < radians.length; i++) {
+							stresses[i] = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * radians[i]) + xy * Math.sin(2 * radians[i]);
 						}
 					}
+				}
 
-					// get event name
-					String event = resultSet.getString("flight_phase");
+				// get event name
+				String event = resultSet.getString("flight_phase");
 
-					// loop over stresses
-					for (int i = 0; i < stresses.length; i++)
-						// 1 point interpolation
-						if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-							dtInterpolators[i] = new DT1PointInterpolator(event, issyCode, stresses[i], refTemp[0]);
-							supLCFound = true;
-						}
+				// loop over stresses
+				for (int i = 0; i < stresses.length; i++)
+					// 1 point interpolation
+					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
+						dtInterpolators[i] = new DT1PointInterpolator(event, issyCode, stresses[i], refTemp[0]);
+						supLCFound = true;
+					}
 
-						// 2 points interpolation
-						else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+					// 2 points interpolation
+					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
 
-							// create interpolator
-							if (dtInterpolators[i] == null) {
-								dtInterpolators[i] = new DT2PointsInterpolator();
-							}
+						// create interpolator
+						if (dtInterpolators[i] == null) {
+							dtInterpolators[i] = new DT2PointsInterpolator();
+						}
 
-							// superior load case
-							if (issyCode.equals(input_.getDTLoadcaseSup())) {
-								((DT2PointsInterpolator) dtInterpolators[i]).setSupParameters(event, issyCode, stresses[i], refTemp[0]);
-								supLCFound = true;
-							}
+						// superior load case
+						if (issyCode.equals(input_.getDTLoadcaseSup())) {
+							((DT2PointsInterpolator) dtInterpolators[i]).setSupParameters(event, issyCode, stresses[i], refTemp[0]);
+							supLCFound = true;
+						}
 
-							// inferior load case
-							else if (issyCode.equals(input_.getDTLoadcaseInf())) {
-								((DT2PointsInterpolator) dtInterpolators[i]).setInfParameters(event, issyCode, stresses[i], refTemp[1]);
-								infLCFound = true;
-							}
+						// inferior load case
+						else if (issyCode.equals(input_.getDTLoadcaseInf())) {
+							((DT2PointsInterpolator) dtInterpolators[i]).setInfParameters(event, issyCode, stresses[i], refTemp[1]);
+							infLCFound = true;
 						}
-				}
+					}
 			}
 		}
 
@@ -1422,6 +1356,8 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param anaFileID
 	 *            ANA file ID.
 	 * @param txtFileID
@@ -1434,7 +1370,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DPRatio[] getDPRatios(Connection connection, Statement statement, int anaFileID, int txtFileID, int convTableID, double[] radians) throws Exception {
+	private DPRatio[] getDPRatios(Connection connection, Statement statement, StatementCache statements, int anaFileID, int txtFileID, int convTableID, double[] radians) throws Exception {
 
 		// get reference pressure
 		double refDP = getRefDP(connection, convTableID, anaFileID);
@@ -1456,47 +1392,46 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 		int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
+			// get statement for selecting STF stresses
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stressTableID);
+			statement2.setInt(1, stfID);
 
-				// loop over delta-p cases
-				while (resultSet.next()) {
+			// loop over delta-p cases
+			while (resultSet.next()) {
 
-					// get ISSY code
-					String issyCode = input_.getDPLoadcase() == null ? resultSet.getString("issy_code") : input_.getDPLoadcase();
+				// get ISSY code
+				String issyCode = input_.getDPLoadcase() == null ? resultSet.getString("issy_code") : input_.getDPLoadcase();
 
-					// get delta-p stress from STF file
-					double[] stresses = new double[radians.length];
+				// get delta-p stress from STF file
+				double[] stresses = new double[radians.length];
 
-					// non-zero reference pressure
-					if (refDP != 0.0) {
+				// non-zero reference pressure
+				if (refDP != 0.0) {
 
-						// query STF stresses
-						statement2.setString(1, issyCode);
-						try (ResultSet resultSet2 = statement2.executeQuery()) {
-							while (resultSet2.next()) {
+					// query STF stresses
+					statement2.setString(2, issyCode);
+					try (ResultSet resultSet2 = statement2.executeQuery()) {
+						while (resultSet2.next()) {
 
-								// get stresses
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
+							// get stresses
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
 
-								// compute delta-p ratio
-								for (int i = 0; i < radians.length; i++) {
-									stresses[i] = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * radians[i]) + xy * Math.sin(2 * radians[i]);
-								}
+							// compute delta-p ratio
+							for (int i = 0; i < radians.length; i++) {
+								stresses[i] = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * radians[i]) + xy * Math.sin(2 * radians[i]);
 							}
 						}
 					}
+				}
 
-					// create delta-p ratios
-					String event = resultSet.getString("flight_phase");
-					for (int i = 0; i < stresses.length; i++) {
-						dpRatios[i] = new DPRatio(refDP, stresses[i], event, issyCode);
-					}
-					break;
+				// create delta-p ratios
+				String event = resultSet.getString("flight_phase");
+				for (int i = 0; i < stresses.length; i++) {
+					dpRatios[i] = new DPRatio(refDP, stresses[i], event, issyCode);
 				}
+				break;
 			}
 		}
 
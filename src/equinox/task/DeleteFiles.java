@@ -23,6 +23,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 
 import equinox.Equinox;
+import equinox.data.ElementIndex;
 import equinox.data.fileType.AircraftFatigueEquivalentStress;
 import equinox.data.fileType.AircraftLoadCase;
 import equinox.data.fileType.AircraftModel;
@@ -47,10 +48,10 @@ import equinox.data.fileType.STFFileBucket;
 import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.SpectrumItem;
 import equinox.data.fileType.StressSequence;
-import equinox.dataServer.remote.data.PilotPointImageType;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.DeletedFiles;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
@@ -205,6 +206,14 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 				parent.getChildren().removeAll(toBeRemoved);
 			}
 		});
+
+		// reclaim deleted spectra and STF files on background
+		for (SpectrumItem file : files_) {
+			if (file instanceof Spectrum || file instanceof STFFile || file instanceof STFFileBucket) {
+				taskPanel_.getOwner().runTaskSilently(new ReclaimDeletedFiles(), false);
+				break;
+			}
+		}
 	}
 
 	/**
@@ -326,36 +335,19 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 			removeFlightDamageContribution((FlightDamageContributions) file, statement);
 		}
 		else if (file instanceof STFFile) {
-			removeSTFFile((STFFile) file, connection, statement);
+			updateMessage("Marking STF file as deleted...");
+			DeletedFiles.createTable(connection);
+			DeletedFiles.markSTFFile(statement, file.getID());
 		}
 		else if (file instanceof STFFileBucket) {
-			removeSTFFiles(statement, connection, ((STFFileBucket) file).getParentItem().getID());
+			updateMessage("Marking STF files as deleted...");
+			DeletedFiles.createTable(connection);
+			DeletedFiles.markSTFFiles(statement, ((STFFileBucket) file).getParentItem().getID());
 		}
 		else if (file instanceof Spectrum) {
-
-			// cast to spectrum
-			Spectrum spectrum = (Spectrum) file;
-
-			// remove ANA file
-			removeANAFile(statement, spectrum.getANAFileID());
-
-			// remove TXT file
-			removeTXTFile(statement, spectrum.getTXTFileID());
-
-			// remove FLS file
-			removeFLSFile(statement, spectrum.getFLSFileID());
-
-			// remove CVT file
-			removeCVTFile(statement, spectrum.getCVTFileID());
-
-			// remove conversion table file
-			removeConversionTable(statement, spectrum.getConversionTableID());
-
-			// remove STF files
-			removeSTFFiles(statement, connection, spectrum.getID());
-
-			// remove spectrum
-			removeSpectrum(spectrum, statement);
+			updateMessage("Marking spectrum as deleted...");
+			DeletedFiles.createTable(connection);
+			DeletedFiles.markSpectrum(statement, file.getID());
 		}
 
 		// external stress sequence
@@ -465,6 +457,7 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		statement.executeUpdate("drop table AURORA.grids_" + file.getID());
 		updateMessage("Deleting elements from database...");
 		statement.executeUpdate("drop table AURORA.elements_" + file.getID());
+		ElementIndex.invalidate(file.getID());
 
 		// delete element groups (if any)
 		updateMessage("Deleting element groups from database...");
@@ -520,547 +513,6 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		statement.executeUpdate("delete from ac_models where model_id = " + file.getID());
 	}
 
-	/**
-	 * Removes conversion table from database.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param convID
-	 *            Conversion table ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeConversionTable(Statement statement, int convID) throws Exception {
-		updateMessage("Deleting conversion table comments from database...");
-		statement.executeUpdate("delete from xls_comments where file_id = " + convID);
-		updateMessage("Deleting conversion table info from database...");
-		statement.executeUpdate("delete from xls_files where file_id = " + convID);
-	}
-
-	/**
-	 * Removes ANA file from database.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaID
-	 *            ANA file ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeANAFile(Statement statement, int anaID) throws Exception {
-		updateMessage("Deleting ANA peaks table from database...");
-		statement.executeUpdate("drop table AURORA.ana_peaks_" + anaID);
-		updateMessage("Deleting ANA flight info from database...");
-		statement.executeUpdate("delete from ana_flights where file_id = " + anaID);
-		updateMessage("Deleting ANA file info from database...");
-		statement.executeUpdate("delete from ana_files where file_id = " + anaID);
-	}
-
-	/**
-	 * Removes TXT file from database.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param txtID
-	 *            TXT file ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeTXTFile(Statement statement, int txtID) throws Exception {
-		updateMessage("Deleting TXT codes from database...");
-		statement.executeUpdate("delete from txt_codes where file_id = " + txtID);
-		updateMessage("Deleting TXT file info from database...");
-		statement.executeUpdate("delete from txt_files where file_id = " + txtID);
-	}
-
-	/**
-	 * Removes FLS file from database.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param flsID
-	 *            FLS file ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeFLSFile(Statement statement, int flsID) throws Exception {
-		updateMessage("Deleting FLS flights from database...");
-		statement.executeUpdate("delete from fls_flights where file_id = " + flsID);
-		updateMessage("Deleting FLS file info from database...");
-		statement.executeUpdate("delete from fls_files where file_id = " + flsID);
-	}
-
-	/**
-	 * Removes CVT file from database.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param cvtID
-	 *            CVT file ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeCVTFile(Statement statement, int cvtID) throws Exception {
-		updateMessage("Deleting CVT file info from database...");
-		statement.executeUpdate("delete from cvt_files where file_id = " + cvtID);
-	}
-
-	/**
-	 * Removes linked STF files.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param connection
-	 *            Database connection.
-	 * @param spectrumID
-	 *            Spectrum ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeSTFFiles(Statement statement, Connection connection, int spectrumID) throws Exception {
-
-		// get linked pilot point table names
-		updateMessage("Retrieving linked pilot point table names from database...");
-		ArrayList<String> linkedPPTableNames = null;
-		DatabaseMetaData dbmtadta = connection.getMetaData();
-		try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "PILOT_POINTS_%", null)) {
-			while (resultSet.next()) {
-				if (linkedPPTableNames == null) {
-					linkedPPTableNames = new ArrayList<>();
-				}
-				linkedPPTableNames.add("AURORA." + resultSet.getString(3));
-			}
-		}
-
-		// prepare statements
-		String sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-		sql += "from fatigue_equivalent_stresses inner join analysis_output_files on fatigue_equivalent_stresses.output_file_id = analysis_output_files.id ";
-		sql += "where fatigue_equivalent_stresses.output_file_id is not null and fatigue_equivalent_stresses.sth_id = ?)";
-		try (PreparedStatement removeFatigueOutputFiles = connection.prepareStatement(sql)) {
-			sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-			sql += "from preffas_equivalent_stresses inner join analysis_output_files on preffas_equivalent_stresses.output_file_id = analysis_output_files.id ";
-			sql += "where preffas_equivalent_stresses.output_file_id is not null and preffas_equivalent_stresses.sth_id = ?)";
-			try (PreparedStatement removePreffasOutputFiles = connection.prepareStatement(sql)) {
-				sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-				sql += "from linear_equivalent_stresses inner join analysis_output_files on linear_equivalent_stresses.output_file_id = analysis_output_files.id ";
-				sql += "where linear_equivalent_stresses.output_file_id is not null and linear_equivalent_stresses.sth_id = ?)";
-				try (PreparedStatement removeLinearOutputFiles = connection.prepareStatement(sql)) {
-					try (PreparedStatement removeFatigueRainflowCycles = connection.prepareStatement("delete from fatigue_rainflow_cycles where stress_id = ?")) {
-						try (PreparedStatement removePreffasRainflowCycles = connection.prepareStatement("delete from preffas_rainflow_cycles where stress_id = ?")) {
-							try (PreparedStatement removeLinearRainflowCycles = connection.prepareStatement("delete from linear_rainflow_cycles where stress_id = ?")) {
-								try (PreparedStatement removeFatigueEqStresses = connection.prepareStatement("delete from fatigue_equivalent_stresses where sth_id = ?")) {
-									try (PreparedStatement removePreffasEqStresses = connection.prepareStatement("delete from preffas_equivalent_stresses where sth_id = ?")) {
-										try (PreparedStatement removeLinearEqStresses = connection.prepareStatement("delete from linear_equivalent_stresses where sth_id = ?")) {
-											try (PreparedStatement removeEventModifiers = connection.prepareStatement("delete from event_modifiers where sth_id = ?")) {
-												try (PreparedStatement removeSegmentModifiers = connection.prepareStatement("delete from segment_modifiers where sth_id = ?")) {
-													try (PreparedStatement removeSTHFlights = connection.prepareStatement("delete from sth_flights where file_id = ?")) {
-														try (PreparedStatement removeSTHFiles = connection.prepareStatement("delete from sth_files where file_id = ?")) {
-															try (PreparedStatement removeDamageAngleEventModifiers = connection.prepareStatement("delete from dam_angle_event_modifiers where angle_id = ?")) {
-																try (PreparedStatement removeDamageAngleSegmentModifiers = connection.prepareStatement("delete from dam_angle_segment_modifiers where angle_id = ?")) {
-																	try (PreparedStatement removeDamageAngles = connection.prepareStatement("delete from damage_angles where angle_id = ?")) {
-																		try (PreparedStatement removeMaxdamAngles = connection.prepareStatement("delete from maxdam_angles where angle_id = ?")) {
-																			try (PreparedStatement removeDamContsGAGEvents = connection.prepareStatement("delete from dam_contributions_gag_events where contributions_id = ?")) {
-																				try (PreparedStatement removeDamContsEventModifiers = connection.prepareStatement("delete from dam_contributions_event_modifiers where contributions_id = ?")) {
-																					try (PreparedStatement removeDamContsSegmentModifiers = connection.prepareStatement("delete from dam_contributions_segment_modifiers where contributions_id = ?")) {
-																						try (PreparedStatement removeDamContEventModifiers = connection.prepareStatement("delete from dam_contribution_event_modifiers where contributions_id = ?")) {
-																							try (PreparedStatement removeDamCont = connection.prepareStatement("delete from dam_contribution where contributions_id = ?")) {
-																								try (PreparedStatement removeDamConts = connection.prepareStatement("delete from dam_contributions where contributions_id = ?")) {
-																									try (PreparedStatement removeFlightDamContWithOccurrences = connection.prepareStatement("delete from flight_dam_contribution_with_occurrences where id = ?")) {
-																										try (PreparedStatement removeFlightDamContWithoutOccurrences = connection.prepareStatement("delete from flight_dam_contribution_without_occurrences where id = ?")) {
-																											try (PreparedStatement removeFlightDamContsEventModifiers = connection.prepareStatement("delete from flight_dam_contributions_event_modifiers where id = ?")) {
-																												try (PreparedStatement removeFlightDamContsSegmentModifiers = connection.prepareStatement("delete from flight_dam_contributions_segment_modifiers where id = ?")) {
-																													try (PreparedStatement removeFlightDamConts = connection.prepareStatement("delete from flight_dam_contributions where id = ?")) {
-																														try (PreparedStatement removeFastFatigueEquivalentStresses = connection.prepareStatement("delete from fast_fatigue_equivalent_stresses where stf_id = ?")) {
-																															try (PreparedStatement removeFastPreffasEquivalentStresses = connection.prepareStatement("delete from fast_preffas_equivalent_stresses where stf_id = ?")) {
-																																try (PreparedStatement removeFastLinearEquivalentStresses = connection.prepareStatement("delete from fast_linear_equivalent_stresses where stf_id = ?")) {
-																																	try (PreparedStatement removeSTFMissionParameters = connection.prepareStatement("delete from stf_mission_parameters where stf_id = ?")) {
-																																		try (PreparedStatement removeSTFFiles = connection.prepareStatement("delete from stf_files where file_id = ?")) {
-																																			try (PreparedStatement getSTHIDs = connection.prepareStatement("select file_id from sth_files where stf_id = ?")) {
-																																				try (PreparedStatement getFatigueEqStressIDs = connection.prepareStatement("select id from fatigue_equivalent_stresses where sth_id = ?")) {
-																																					try (PreparedStatement getPreffasEqStressIDs = connection.prepareStatement("select id from preffas_equivalent_stresses where sth_id = ?")) {
-																																						try (PreparedStatement getLinearEqStressIDs = connection.prepareStatement("select id from linear_equivalent_stresses where sth_id = ?")) {
-																																							try (PreparedStatement getDamageAngleIDs = connection.prepareStatement("select angle_id from maxdam_angles where stf_id = ?")) {
-																																								try (PreparedStatement getDamageContIDs = connection.prepareStatement("select contributions_id from dam_contributions where stf_id = ?")) {
-																																									try (PreparedStatement getFlightDamageContIDs = connection
-																																											.prepareStatement("select id from flight_dam_contributions where stf_id = ?")) {
-																																										try (Statement statement2 = connection.createStatement()) {
-																																											try (ResultSet getSTFIDs = statement2
-																																													.executeQuery("select file_id, stress_table_id from stf_files where cdf_id = " + spectrumID)) {
-
-																																												// loop over STF files
-																																												while (getSTFIDs.next()) {
-
-																																													// get STF ID
-																																													int stfID = getSTFIDs.getInt("file_id");
-
-																																													// remove linked pilot points
-																																													if (linkedPPTableNames != null) {
-																																														updateMessage("Deleting linked pilot points from database...");
-																																														for (String ppTableName : linkedPPTableNames) {
-																																															sql = "delete from " + ppTableName + " where stf_id = " + stfID;
-																																															statement.executeUpdate(sql);
-																																														}
-																																													}
-
-																																													// remove STH files
-																																													removeStressSequences(connection, stfID, getFatigueEqStressIDs, getPreffasEqStressIDs, getLinearEqStressIDs, statement,
-																																															getSTHIDs, removeSTHFlights, removeSTHFiles, removeEventModifiers, removeSegmentModifiers,
-																																															removeFatigueRainflowCycles, removePreffasRainflowCycles, removeLinearRainflowCycles, removeFatigueEqStresses,
-																																															removePreffasEqStresses, removeLinearEqStresses, removeFatigueOutputFiles, removePreffasOutputFiles,
-																																															removeLinearOutputFiles);
-
-																																													// remove damage angles
-																																													removeDamageAngles(stfID, getDamageAngleIDs, removeDamageAngleEventModifiers, removeDamageAngleSegmentModifiers,
-																																															removeDamageAngles, removeMaxdamAngles);
-
-																																													// remove damage contributions
-																																													removeDamageContributions(stfID, getDamageContIDs, removeDamContsGAGEvents, removeDamContsEventModifiers,
-																																															removeDamContsSegmentModifiers, removeDamContEventModifiers, removeDamCont, removeDamConts);
-
-																																													// remove flight damage contributions
-																																													removeFlightDamageContributions(stfID, getFlightDamageContIDs, removeFlightDamContsEventModifiers,
-																																															removeFlightDamContsSegmentModifiers, removeFlightDamContWithOccurrences, removeFlightDamContWithoutOccurrences,
-																																															removeFlightDamConts);
-
-																																													// remove fast fatigue equivalent stress output entries
-																																													updateMessage("Deleting fast fatigue equivalent stress output file entries...");
-																																													sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-																																													sql += "from fast_fatigue_equivalent_stresses inner join analysis_output_files on fast_fatigue_equivalent_stresses.output_file_id = analysis_output_files.id ";
-																																													sql += "where fast_fatigue_equivalent_stresses.output_file_id is not null and fast_fatigue_equivalent_stresses.stf_id = "
-																																															+ stfID + ")";
-																																													statement.executeUpdate(sql);
-
-																																													// remove fast preffas equivalent stress output entries
-																																													updateMessage("Deleting fast preffas equivalent stress output file entries...");
-																																													sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-																																													sql += "from fast_preffas_equivalent_stresses inner join analysis_output_files on fast_preffas_equivalent_stresses.output_file_id = analysis_output_files.id ";
-																																													sql += "where fast_preffas_equivalent_stresses.output_file_id is not null and fast_preffas_equivalent_stresses.stf_id = "
-																																															+ stfID + ")";
-																																													statement.executeUpdate(sql);
-
-																																													// remove fast linear propagation equivalent stress output entries
-																																													updateMessage("Deleting fast linear propagation equivalent stress output file entries...");
-																																													sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-																																													sql += "from fast_linear_equivalent_stresses inner join analysis_output_files on fast_linear_equivalent_stresses.output_file_id = analysis_output_files.id ";
-																																													sql += "where fast_linear_equivalent_stresses.output_file_id is not null and fast_linear_equivalent_stresses.stf_id = "
-																																															+ stfID + ")";
-																																													statement.executeUpdate(sql);
-
-																																													// remove fast equivalent stresses
-																																													updateMessage("Deleting fast equivalent stresses from database...");
-																																													removeFastFatigueEquivalentStresses.setInt(1, stfID);
-																																													removeFastFatigueEquivalentStresses.executeUpdate();
-																																													removeFastPreffasEquivalentStresses.setInt(1, stfID);
-																																													removeFastPreffasEquivalentStresses.executeUpdate();
-																																													removeFastLinearEquivalentStresses.setInt(1, stfID);
-																																													removeFastLinearEquivalentStresses.executeUpdate();
-
-																																													// remove mission parameters
-																																													updateMessage("Deleting STF mission parameters from database...");
-																																													removeSTFMissionParameters.setInt(1, stfID);
-																																													removeSTFMissionParameters.executeUpdate();
-
-																																													// remove stresses
-																																													updateMessage("Deleting STF stresses from database...");
-																																													int stressTableID = getSTFIDs.getInt("stress_table_id");
-																																													statement.executeUpdate("delete from stf_stresses_" + stressTableID + " where file_id = " + stfID);
-
-																																													// remove stress table if empty
-																																													boolean isEmpty = false;
-																																													try (ResultSet resultSet = statement.executeQuery("select 1 from stf_stresses_" + stressTableID)) {
-																																														isEmpty = !resultSet.next();
-																																													}
-																																													if (isEmpty) {
-																																														statement.executeUpdate("drop table AURORA.stf_stresses_" + stressTableID);
-																																													}
-
-																																													// remove pilot point images
-																																													updateMessage("Deleting STF images from database...");
-																																													for (PilotPointImageType imageType : PilotPointImageType.values()) {
-																																														statement.executeUpdate("delete from " + imageType.getTableName() + " where id = " + stfID);
-																																													}
-
-																																													// remove file
-																																													updateMessage("Deleting STF file from database...");
-																																													removeSTFFiles.setInt(1, stfID);
-																																													removeSTFFiles.executeUpdate();
-																																												}
-																																											}
-																																										}
-																																									}
-																																								}
-																																							}
-																																						}
-																																					}
-																																				}
-																																			}
-																																		}
-																																	}
-																																}
-																															}
-																														}
-																													}
-																												}
-																											}
-																										}
-																									}
-																								}
-																							}
-																						}
-																					}
-																				}
-																			}
-																		}
-																	}
-																}
-															}
-														}
-													}
-												}
-											}
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-	}
-
-	/**
-	 * Removes damage contributions from the database.
-	 *
-	 * @param stfID
-	 *            STF file ID.
-	 * @param getFlightDamageContIDs
-	 *            Database statement for getting damage contribution IDs.
-	 * @param removeFlightDamContsEventModifiers
-	 *            Database statement for removing event based stress modifiers.
-	 * @param removeFlightDamContsSegmentModifiers
-	 *            Database statement for removing segment based stress modifiers.
-	 * @param removeFlightDamContWithOccurrences
-	 *            Database statement for removing damage contributions with occurrences.
-	 * @param removeFlightDamContWithoutOccurrences
-	 *            Database statement for removing damage contributions without occurrences.
-	 * @param removeFlightDamConts
-	 *            Database statement for removing damage contribution inputs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeFlightDamageContributions(int stfID, PreparedStatement getFlightDamageContIDs, PreparedStatement removeFlightDamContsEventModifiers, PreparedStatement removeFlightDamContsSegmentModifiers, PreparedStatement removeFlightDamContWithOccurrences,
-			PreparedStatement removeFlightDamContWithoutOccurrences, PreparedStatement removeFlightDamConts) throws Exception {
-
-		// get damage contribution IDs
-		getFlightDamageContIDs.setInt(1, stfID);
-		try (ResultSet damageContributions = getFlightDamageContIDs.executeQuery()) {
-
-			// loop over damage contributions
-			while (damageContributions.next()) {
-
-				// get damage contribution ID
-				int damContID = damageContributions.getInt("id");
-
-				// remove event based stress modifiers
-				updateMessage("Deleting flight damage contributions event stress modifiers from database...");
-				removeFlightDamContsEventModifiers.setInt(1, damContID);
-				removeFlightDamContsEventModifiers.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting flight damage contributions segment based stress modifiers from database...");
-				removeFlightDamContsSegmentModifiers.setInt(1, damContID);
-				removeFlightDamContsSegmentModifiers.executeUpdate();
-
-				// remove flight damage contributions with occurrences
-				updateMessage("Deleting flight damage contributions with occurrences from database...");
-				removeFlightDamContWithOccurrences.setInt(1, damContID);
-				removeFlightDamContWithOccurrences.executeUpdate();
-
-				// remove flight damage contributions without occurrences
-				updateMessage("Deleting flight damage contributions without occurrences from database...");
-				removeFlightDamContWithoutOccurrences.setInt(1, damContID);
-				removeFlightDamContWithoutOccurrences.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting flight damage contributions inputs from database...");
-				removeFlightDamConts.setInt(1, damContID);
-				removeFlightDamConts.executeUpdate();
-			}
-		}
-	}
-
-	/**
-	 * Removes stress sequences from the database.
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param stfID
-	 *            STF file ID.
-	 * @param getFatigueEqStressIDs
-	 *            Database statement for getting fatigue equivalent stress IDs.
-	 * @param getPreffasEqStressIDs
-	 *            Database statement for getting preffas equivalent stress IDs.
-	 * @param getLinearEqStressIDs
-	 *            Database statement for getting linear equivalent stress IDs.
-	 * @param removeSTHPeaks
-	 *            Database statement for removing STH peaks.
-	 * @param getSTHIDs
-	 *            Database statement for getting STH file IDs.
-	 * @param removeSTHFlights
-	 *            Database statement for removing STH flights.
-	 * @param removeSTHFiles
-	 *            Database statement for removing STH files.
-	 * @param removeEventModifiers
-	 *            Database statement for removing event based stress modifiers.
-	 * @param removeSegmentModifiers
-	 *            Database statement for removing segment based stress modifiers.
-	 * @param removeFatigueRainflowCycles
-	 *            Database statement for removing fatigue rainflow cycles.
-	 * @param removePreffasRainflowCycles
-	 *            Database statement for removing preffas rainflow cycles.
-	 * @param removeLinearRainflowCycles
-	 *            Database statement for removing linear rainflow cycles.
-	 * @param removeFatigueEqStresses
-	 *            Database statement for removing fatigue equivalent stresses.
-	 * @param removePreffasEqStresses
-	 *            Database statement for removing preffas equivalent stresses.
-	 * @param removeLinearEqStresses
-	 *            Database statement for removing linear equivalent stresses.
-	 * @param removeFatigueOutputFiles
-	 *            Database statement for removing fatigue equivalent stress analysis output files.
-	 * @param removePreffasOutputFiles
-	 *            Database statement for removing preffas equivalent stress analysis output files.
-	 * @param removeLinearOutputFiles
-	 *            Database statement for removing linear equivalent stress analysis output files.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeStressSequences(Connection connection, int stfID, PreparedStatement getFatigueEqStressIDs, PreparedStatement getPreffasEqStressIDs, PreparedStatement getLinearEqStressIDs, Statement removeSTHPeaks, PreparedStatement getSTHIDs, PreparedStatement removeSTHFlights,
-			PreparedStatement removeSTHFiles, PreparedStatement removeEventModifiers, PreparedStatement removeSegmentModifiers, PreparedStatement removeFatigueRainflowCycles, PreparedStatement removePreffasRainflowCycles, PreparedStatement removeLinearRainflowCycles,
-			PreparedStatement removeFatigueEqStresses, PreparedStatement removePreffasEqStresses, PreparedStatement removeLinearEqStresses, PreparedStatement removeFatigueOutputFiles, PreparedStatement removePreffasOutputFiles, PreparedStatement removeLinearOutputFiles) throws Exception {
-
-		// get STH file IDs
-		getSTHIDs.setInt(1, stfID);
-		try (ResultSet sthFiles = getSTHIDs.executeQuery()) {
-
-			// loop over STH files
-			while (sthFiles.next()) {
-
-				// get STH file ID
-				int sthID = sthFiles.getInt("file_id");
-
-				// remove fatigue output files
-				updateMessage("Deleting fatigue equivalent stress output file entries...");
-				removeFatigueOutputFiles.setInt(1, sthID);
-				removeFatigueOutputFiles.executeUpdate();
-
-				// remove preffas output files
-				updateMessage("Deleting Preffas equivalent stress output file entries...");
-				removePreffasOutputFiles.setInt(1, sthID);
-				removePreffasOutputFiles.executeUpdate();
-
-				// remove linear propagation output files
-				updateMessage("Deleting linear propagation equivalent stress output file entries...");
-				removeLinearOutputFiles.setInt(1, sthID);
-				removeLinearOutputFiles.executeUpdate();
-
-				// remove fatigue rainflow cycles
-				updateMessage("Deleting fatigue rainflow cycles from database...");
-				getFatigueEqStressIDs.setInt(1, sthID);
-				try (ResultSet fatigueEqStresses = getFatigueEqStressIDs.executeQuery()) {
-					while (fatigueEqStresses.next()) {
-						removeFatigueRainflowCycles.setInt(1, fatigueEqStresses.getInt("id"));
-						removeFatigueRainflowCycles.executeUpdate();
-					}
-				}
-
-				// remove preffas rainflow cycles
-				updateMessage("Deleting preffas rainflow cycles from database...");
-				getPreffasEqStressIDs.setInt(1, sthID);
-				try (ResultSet preffasEqStresses = getPreffasEqStressIDs.executeQuery()) {
-					while (preffasEqStresses.next()) {
-						removePreffasRainflowCycles.setInt(1, preffasEqStresses.getInt("id"));
-						removePreffasRainflowCycles.executeUpdate();
-					}
-				}
-
-				// remove linear rainflow cycles
-				updateMessage("Deleting linear rainflow cycles from database...");
-				getLinearEqStressIDs.setInt(1, sthID);
-				try (ResultSet linearEqStresses = getLinearEqStressIDs.executeQuery()) {
-					while (linearEqStresses.next()) {
-						removeLinearRainflowCycles.setInt(1, linearEqStresses.getInt("id"));
-						removeLinearRainflowCycles.executeUpdate();
-					}
-				}
-
-				// drop segment tables
-				updateMessage("Dropping flight segment tables from database...");
-				removeSTHPeaks.executeUpdate("drop table AURORA.segments_" + sthID);
-				removeSTHPeaks.executeUpdate("drop table AURORA.segment_steady_stresses_" + sthID);
-				removeSTHPeaks.executeUpdate("drop table AURORA.segment_increment_stresses_" + sthID);
-
-				// remove fatigue equivalent stresses
-				updateMessage("Deleting fatigue equivalent stresses from database...");
-				removeFatigueEqStresses.setInt(1, sthID);
-				removeFatigueEqStresses.executeUpdate();
-
-				// remove preffas equivalent stresses
-				updateMessage("Deleting preffas equivalent stresses from database...");
-				removePreffasEqStresses.setInt(1, sthID);
-				removePreffasEqStresses.executeUpdate();
-
-				// remove linear equivalent stresses
-				updateMessage("Deleting linear equivalent stresses from database...");
-				removeLinearEqStresses.setInt(1, sthID);
-				removeLinearEqStresses.executeUpdate();
-
-				// remove event based stress modifiers
-				updateMessage("Deleting event based stress modifiers from database...");
-				removeEventModifiers.setInt(1, sthID);
-				removeEventModifiers.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting segment based stress modifiers from database...");
-				removeSegmentModifiers.setInt(1, sthID);
-				removeSegmentModifiers.executeUpdate();
-
-				// remove peaks
-				updateMessage("Dropping stress sequence peaks table from database...");
-				removeSTHPeaks.executeUpdate("drop table AURORA.sth_peaks_" + sthID);
-
-				// remove flights
-				updateMessage("Deleting flight info from database...");
-				removeSTHFlights.setInt(1, sthID);
-				removeSTHFlights.executeUpdate();
-
-				// remove file
-				updateMessage("Deleting stress sequence info from database...");
-				removeSTHFiles.setInt(1, sthID);
-				removeSTHFiles.executeUpdate();
-			}
-		}
-	}
-
-	/**
-	 * Removes spectrum from database.
-	 *
-	 * @param spectrum
-	 *            Spectrum to remove.
-	 * @param statement
-	 *            Database statement.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeSpectrum(Spectrum spectrum, Statement statement) throws Exception {
-		updateMessage("Deleting spectrum mission parameters from database...");
-		statement.executeUpdate("delete from cdf_mission_parameters where cdf_id = " + spectrum.getID());
-		updateMessage("Deleting spectrum from database...");
-		statement.executeUpdate("delete from cdf_sets where set_id = " + spectrum.getID());
-
-	}
-
 	/**
 	 * Removes external stress sequence from database.
 	 *
@@ -1249,309 +701,6 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		statement.executeUpdate("delete from sth_files where file_id = " + file.getID());
 	}
 
-	/**
-	 * Removes STF file from the database.
-	 *
-	 * @param file
-	 *            STF file to remove.
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeSTFFile(STFFile file, Connection connection, Statement statement) throws Exception {
-		String sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-		sql += "from fatigue_equivalent_stresses inner join analysis_output_files on fatigue_equivalent_stresses.output_file_id = analysis_output_files.id ";
-		sql += "where fatigue_equivalent_stresses.output_file_id is not null and fatigue_equivalent_stresses.sth_id = ?)";
-		try (PreparedStatement removeFatigueOutputFiles = connection.prepareStatement(sql)) {
-			sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-			sql += "from preffas_equivalent_stresses inner join analysis_output_files on preffas_equivalent_stresses.output_file_id = analysis_output_files.id ";
-			sql += "where preffas_equivalent_stresses.output_file_id is not null and preffas_equivalent_stresses.sth_id = ?)";
-			try (PreparedStatement removePreffasOutputFiles = connection.prepareStatement(sql)) {
-				sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-				sql += "from linear_equivalent_stresses inner join analysis_output_files on linear_equivalent_stresses.output_file_id = analysis_output_files.id ";
-				sql += "where linear_equivalent_stresses.output_file_id is not null and linear_equivalent_stresses.sth_id = ?)";
-				try (PreparedStatement removeLinearOutputFiles = connection.prepareStatement(sql)) {
-					try (PreparedStatement removeFatigueRainflowCycles = connection.prepareStatement("delete from fatigue_rainflow_cycles where stress_id = ?")) {
-						try (PreparedStatement removePreffasRainflowCycles = connection.prepareStatement("delete from preffas_rainflow_cycles where stress_id = ?")) {
-							try (PreparedStatement removeLinearRainflowCycles = connection.prepareStatement("delete from linear_rainflow_cycles where stress_id = ?")) {
-								try (PreparedStatement removeFatigueEqStresses = connection.prepareStatement("delete from fatigue_equivalent_stresses where sth_id = ?")) {
-									try (PreparedStatement removePreffasEqStresses = connection.prepareStatement("delete from preffas_equivalent_stresses where sth_id = ?")) {
-										try (PreparedStatement removeLinearEqStresses = connection.prepareStatement("delete from linear_equivalent_stresses where sth_id = ?")) {
-											try (PreparedStatement removeEventModifiers = connection.prepareStatement("delete from event_modifiers where sth_id = ?")) {
-												try (PreparedStatement removeSegmentModifiers = connection.prepareStatement("delete from segment_modifiers where sth_id = ?")) {
-													try (PreparedStatement removeSTHFlights = connection.prepareStatement("delete from sth_flights where file_id = ?")) {
-														try (PreparedStatement removeSTHFiles = connection.prepareStatement("delete from sth_files where file_id = ?")) {
-															try (PreparedStatement removeDamageAngleEventModifiers = connection.prepareStatement("delete from dam_angle_event_modifiers where angle_id = ?")) {
-																try (PreparedStatement removeDamageAngleSegmentModifiers = connection.prepareStatement("delete from dam_angle_segment_modifiers where angle_id = ?")) {
-																	try (PreparedStatement removeDamageAngles = connection.prepareStatement("delete from damage_angles where angle_id = ?")) {
-																		try (PreparedStatement removeMaxdamAngles = connection.prepareStatement("delete from maxdam_angles where angle_id = ?")) {
-																			try (PreparedStatement removeDamContsGAGEvents = connection.prepareStatement("delete from dam_contributions_gag_events where contributions_id = ?")) {
-																				try (PreparedStatement removeDamContsEventModifiers = connection.prepareStatement("delete from dam_contributions_event_modifiers where contributions_id = ?")) {
-																					try (PreparedStatement removeDamContsSegmentModifiers = connection.prepareStatement("delete from dam_contributions_segment_modifiers where contributions_id = ?")) {
-																						try (PreparedStatement removeDamContEventModifiers = connection.prepareStatement("delete from dam_contribution_event_modifiers where contributions_id = ?")) {
-																							try (PreparedStatement removeDamCont = connection.prepareStatement("delete from dam_contribution where contributions_id = ?")) {
-																								try (PreparedStatement removeDamConts = connection.prepareStatement("delete from dam_contributions where contributions_id = ?")) {
-																									try (PreparedStatement removeFlightDamContsEventModifiers = connection.prepareStatement("delete from flight_dam_contributions_event_modifiers where id = ?")) {
-																										try (PreparedStatement removeFlightDamContsSegmentModifiers = connection.prepareStatement("delete from flight_dam_contributions_segment_modifiers where id = ?")) {
-																											try (PreparedStatement removeFlightDamContWithOccurrences = connection.prepareStatement("delete from flight_dam_contribution_with_occurrences where id = ?")) {
-																												try (PreparedStatement removeFlightDamContWithoutOccurrences = connection.prepareStatement("delete from flight_dam_contribution_without_occurrences where id = ?")) {
-																													try (PreparedStatement removeFlightDamConts = connection.prepareStatement("delete from flight_dam_contributions where id = ?")) {
-																														try (PreparedStatement getSTHIDs = connection.prepareStatement("select file_id from sth_files where stf_id = ?")) {
-																															try (PreparedStatement getFatigueEqStressIDs = connection.prepareStatement("select id from fatigue_equivalent_stresses where sth_id = ?")) {
-																																try (PreparedStatement getPreffasEqStressIDs = connection.prepareStatement("select id from preffas_equivalent_stresses where sth_id = ?")) {
-																																	try (PreparedStatement getLinearEqStressIDs = connection.prepareStatement("select id from linear_equivalent_stresses where sth_id = ?")) {
-																																		try (PreparedStatement getDamageAngleIDs = connection.prepareStatement("select angle_id from maxdam_angles where stf_id = ?")) {
-																																			try (PreparedStatement getDamageContIDs = connection.prepareStatement("select contributions_id from dam_contributions where stf_id = ?")) {
-																																				try (PreparedStatement getFlightDamageContIDs = connection.prepareStatement("select id from flight_dam_contributions where stf_id = ?")) {
-
-																																					// remove linked pilot points
-																																					updateMessage("Deleting linked pilot points from database...");
-																																					DatabaseMetaData dbmtadta = connection.getMetaData();
-																																					try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "PILOT_POINTS_%", null)) {
-
-																																						// loop over pilot point tables
-																																						while (resultSet.next()) {
-
-																																							// get table name
-																																							String tableName = "AURORA." + resultSet.getString(3);
-
-																																							// remove linked pilot points
-																																							statement.executeUpdate("delete from " + tableName + " where stf_id = " + file.getID());
-																																						}
-																																					}
-
-																																					// remove STH files
-																																					removeStressSequences(connection, file.getID(), getFatigueEqStressIDs, getPreffasEqStressIDs, getLinearEqStressIDs, statement, getSTHIDs,
-																																							removeSTHFlights, removeSTHFiles, removeEventModifiers, removeSegmentModifiers, removeFatigueRainflowCycles, removePreffasRainflowCycles,
-																																							removeLinearRainflowCycles, removeFatigueEqStresses, removePreffasEqStresses, removeLinearEqStresses, removeFatigueOutputFiles,
-																																							removePreffasOutputFiles, removeLinearOutputFiles);
-
-																																					// remove damage angles
-																																					removeDamageAngles(file.getID(), getDamageAngleIDs, removeDamageAngleEventModifiers, removeDamageAngleSegmentModifiers, removeDamageAngles,
-																																							removeMaxdamAngles);
-
-																																					// remove damage contributions
-																																					removeDamageContributions(file.getID(), getDamageContIDs, removeDamContsGAGEvents, removeDamContsEventModifiers, removeDamContsSegmentModifiers,
-																																							removeDamContEventModifiers, removeDamCont, removeDamConts);
-
-																																					// remove flight damage contributions
-																																					removeFlightDamageContributions(file.getID(), getFlightDamageContIDs, removeFlightDamContsEventModifiers, removeFlightDamContsSegmentModifiers,
-																																							removeFlightDamContWithOccurrences, removeFlightDamContWithoutOccurrences, removeFlightDamConts);
-
-																																					// remove fast fatigue equivalent stress output entries
-																																					updateMessage("Deleting fast fatigue equivalent stress output file entries...");
-																																					sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-																																					sql += "from fast_fatigue_equivalent_stresses inner join analysis_output_files on fast_fatigue_equivalent_stresses.output_file_id = analysis_output_files.id ";
-																																					sql += "where fast_fatigue_equivalent_stresses.output_file_id is not null and fast_fatigue_equivalent_stresses.stf_id = " + file.getID() + ")";
-																																					statement.executeUpdate(sql);
-
-																																					// remove fast preffas equivalent stress output entries
-																																					updateMessage("Deleting fast preffas equivalent stress output file entries...");
-																																					sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-																																					sql += "from fast_preffas_equivalent_stresses inner join analysis_output_files on fast_preffas_equivalent_stresses.output_file_id = analysis_output_files.id ";
-																																					sql += "where fast_preffas_equivalent_stresses.output_file_id is not null and fast_preffas_equivalent_stresses.stf_id = " + file.getID() + ")";
-																																					statement.executeUpdate(sql);
-
-																																					// remove fast linear propagation equivalent stress output entries
-																																					updateMessage("Deleting fast linear propagation equivalent stress output file entries...");
-																																					sql = "delete from analysis_output_files where analysis_output_files.id in (select analysis_output_files.id ";
-																																					sql += "from fast_linear_equivalent_stresses inner join analysis_output_files on fast_linear_equivalent_stresses.output_file_id = analysis_output_files.id ";
-																																					sql += "where fast_linear_equivalent_stresses.output_file_id is not null and fast_linear_equivalent_stresses.stf_id = " + file.getID() + ")";
-																																					statement.executeUpdate(sql);
-
-																																					// remove fast equivalent stresses
-																																					updateMessage("Deleting fast equivalet stresses from database...");
-																																					statement.executeUpdate("delete from fast_fatigue_equivalent_stresses where stf_id = " + file.getID());
-																																					statement.executeUpdate("delete from fast_preffas_equivalent_stresses where stf_id = " + file.getID());
-																																					statement.executeUpdate("delete from fast_linear_equivalent_stresses where stf_id = " + file.getID());
-
-																																					// remove mission parameters
-																																					updateMessage("Deleting STF mission parameters from database...");
-																																					statement.executeUpdate("delete from stf_mission_parameters where stf_id = " + file.getID());
-
-																																					// remove stresses
-																																					updateMessage("Deleting STF stresses from database...");
-																																					statement.executeUpdate("delete from stf_stresses_" + file.getStressTableID() + " where file_id = " + file.getID());
-
-																																					// drop stress table if empty
-																																					boolean isEmpty = false;
-																																					try (ResultSet resultSet = statement.executeQuery("select 1 from stf_stresses_" + file.getStressTableID())) {
-																																						isEmpty = !resultSet.next();
-																																					}
-																																					if (isEmpty) {
-																																						statement.executeUpdate("drop table AURORA.stf_stresses_" + file.getStressTableID());
-																																					}
-
-																																					// remove pilot point images
-																																					updateMessage("Deleting STF images from database...");
-																																					for (PilotPointImageType imageType : PilotPointImageType.values()) {
-																																						statement.executeUpdate("delete from " + imageType.getTableName() + " where id = " + file.getID());
-																																					}
-
-																																					// remove file
-																																					updateMessage("Deleting STF file from database...");
-																																					statement.executeUpdate("delete from stf_files where file_id = " + file.getID());
-																																				}
-																																			}
-																																		}
-																																	}
-																																}
-																															}
-																														}
-																													}
-																												}
-																											}
-																										}
-																									}
-																								}
-																							}
-																						}
-																					}
-																				}
-																			}
-																		}
-																	}
-																}
-															}
-														}
-													}
-												}
-											}
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-	}
-
-	/**
-	 * Removes damage angles from the database.
-	 *
-	 * @param stfID
-	 *            STF file ID.
-	 * @param getDamageAngleIDs
-	 *            Database statement for getting damage angle IDs.
-	 * @param removeDamageAngleEventModifiers
-	 *            Database statement for removing event based stress modifiers.
-	 * @param removeDamageAngleSegmentModifiers
-	 *            Database statement for removing segment based stress modifiers.
-	 * @param removeDamageAngles
-	 *            Database statement for removing damage angles.
-	 * @param removeMaxdamAngles
-	 *            Database statement for removing maximum damage angles.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeDamageAngles(int stfID, PreparedStatement getDamageAngleIDs, PreparedStatement removeDamageAngleEventModifiers, PreparedStatement removeDamageAngleSegmentModifiers, PreparedStatement removeDamageAngles, PreparedStatement removeMaxdamAngles) throws Exception {
-
-		// get damage angle IDs
-		getDamageAngleIDs.setInt(1, stfID);
-		try (ResultSet damageAngles = getDamageAngleIDs.executeQuery()) {
-
-			// loop over damage angles
-			while (damageAngles.next()) {
-
-				// get damage angle ID
-				int damageAngleID = damageAngles.getInt("angle_id");
-
-				// remove event based stress modifiers
-				updateMessage("Deleting damage angle event based stress modifiers from database...");
-				removeDamageAngleEventModifiers.setInt(1, damageAngleID);
-				removeDamageAngleEventModifiers.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting damage angle segment based stress modifiers from database...");
-				removeDamageAngleSegmentModifiers.setInt(1, damageAngleID);
-				removeDamageAngleSegmentModifiers.executeUpdate();
-
-				// remove damage angles
-				updateMessage("Deleting damage angles from database...");
-				removeDamageAngles.setInt(1, damageAngleID);
-				removeDamageAngles.executeUpdate();
-
-				// remove maximum damage angle
-				updateMessage("Deleting maximum damage angle from database...");
-				removeMaxdamAngles.setInt(1, damageAngleID);
-				removeMaxdamAngles.executeUpdate();
-			}
-		}
-	}
-
-	/**
-	 * Removes damage contributions from the database.
-	 *
-	 * @param stfID
-	 *            STF file ID.
-	 * @param getDamageContIDs
-	 *            Database statement for getting damage contribution IDs.
-	 * @param removeDamContsGAGEvents
-	 *            Database statement for removing GAG events.
-	 * @param removeDamContsEventModifiers
-	 *            Database statement for removing event based stress modifiers.
-	 * @param removeDamContsSegmentModifiers
-	 *            Database statement for removing segment based stress modifiers.
-	 * @param removeDamContEventModifiers
-	 *            Database statement for removing event based stress modifiers.
-	 * @param removeDamCont
-	 *            Database statement for removing damage contributions.
-	 * @param removeDamConts
-	 *            Database statement for removing damage contribution inputs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeDamageContributions(int stfID, PreparedStatement getDamageContIDs, PreparedStatement removeDamContsGAGEvents, PreparedStatement removeDamContsEventModifiers, PreparedStatement removeDamContsSegmentModifiers, PreparedStatement removeDamContEventModifiers,
-			PreparedStatement removeDamCont, PreparedStatement removeDamConts) throws Exception {
-
-		// get damage contribution IDs
-		getDamageContIDs.setInt(1, stfID);
-		try (ResultSet damageContributions = getDamageContIDs.executeQuery()) {
-
-			// loop over damage contributions
-			while (damageContributions.next()) {
-
-				// get damage contribution ID
-				int damContID = damageContributions.getInt("contributions_id");
-
-				// remove GAG events
-				updateMessage("Deleting damage contributions GAG events from database...");
-				removeDamContsGAGEvents.setInt(1, damContID);
-				removeDamContsGAGEvents.executeUpdate();
-
-				// remove event based stress modifiers
-				updateMessage("Deleting damage contributions event stress modifiers from database...");
-				removeDamContsEventModifiers.setInt(1, damContID);
-				removeDamContsEventModifiers.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting damage contributions segment based stress modifiers from database...");
-				removeDamContsSegmentModifiers.setInt(1, damContID);
-				removeDamContsSegmentModifiers.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting damage contribution event stress modifiers from database...");
-				removeDamContEventModifiers.setInt(1, damContID);
-				removeDamContEventModifiers.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting damage contributions from database...");
-				removeDamCont.setInt(1, damContID);
-				removeDamCont.executeUpdate();
-
-				// remove segment based stress modifiers
-				updateMessage("Deleting damage contributions inputs from database...");
-				removeDamConts.setInt(1, damContID);
-				removeDamConts.executeUpdate();
-			}
-		}
-	}
-
 	/**
 	 * Removes fast fatigue equivalent stress from the database.
 	 *
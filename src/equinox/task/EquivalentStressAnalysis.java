@@ -1323,6 +1323,12 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 			}
 		}
 
+		// native engine (only supports equivalent stress analysis of fast stress sequences)
+		else if (analysisEngine_.equals(AnalysisEngine.NATIVE)) {
+			addWarning("Native analysis engine doesn't support equivalent stress analysis. Falling back to inbuilt analysis engine.");
+			equivalentStressAnalysis_ = new InbuiltESA(this, inputSTH, eqStress, flsFileID, input_.getMaterial(), maxPeaks > MAX_PEAKS, keepOutputs, outputFileName);
+		}
+
 		// inbuilt engine
 		else {
 			equivalentStressAnalysis_ = new InbuiltESA(this, inputSTH, eqStress, flsFileID, input_.getMaterial(), maxPeaks > MAX_PEAKS, keepOutputs, outputFileName);
@@ -23,7 +23,6 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import equinox.Equinox;
@@ -36,6 +35,7 @@ import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.DirectoryOutputtingTask;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableExcalibur;
+import equinox.utility.Utility;
 
 /**
  * Class for Excalibur stress sorting task.
@@ -55,9 +55,6 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 	/** Analysis input. */
 	private final ExcaliburInput input_;
 
-	/** Number of completed analyses. */
-	private long completed_ = 0L;
-
 	/**
 	 * Creates Excalibur stress sorting task.
 	 *
@@ -158,6 +155,16 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 					return null;
 				}
 
+				// create stress indexes
+				createStressIndexes(connection, analysisID, analysisTables);
+
+				// task cancelled
+				if (isCancelled()) {
+					connection.rollback();
+					connection.setAutoCommit(true);
+					return null;
+				}
+
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
@@ -247,6 +254,9 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 		// get number of parallel processes
 		int maxParallel = Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_TASKS));
 
+		// create task pipeline
+		TaskPipeline pipeline = new TaskPipeline(this, "Sorting stresses...", maxParallel, numSTFs);
+
 		// prepare statement for getting STF files incrementally
 		String sql = "select id, filename from " + analysisTables[STF_FILES] + " where id > ? order by id asc";
 		try (PreparedStatement getSTFFiles = connection.prepareStatement(sql)) {
@@ -254,7 +264,7 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 			// set limit to rows returned
 			getSTFFiles.setMaxRows(maxParallel);
 
-			// execute as long as all tasks are completed
+			// submit tasks as long as there are STF files
 			long fileID = 0L;
 			while (fileID >= 0L) {
 
@@ -263,18 +273,21 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 					break;
 				}
 
-				// execute
+				// submit next STF files
 				getSTFFiles.setLong(1, fileID);
-				fileID = executeTasks(getSTFFiles, analysisTables, sectionMission, numSTFs, outputSTFDirectory, outputLOGDirectory);
+				fileID = submitTasks(getSTFFiles, analysisTables, sectionMission, outputSTFDirectory, outputLOGDirectory, pipeline);
 			}
 
 			// reset statement
 			getSTFFiles.setMaxRows(0);
 		}
+
+		// wait for remaining tasks
+		pipeline.drain();
 	}
 
 	/**
-	 * Executes tasks and waits for all of them to complete.
+	 * Submits stress sorting tasks for the next STF files to the task pipeline. Submission waits only as long as the pipeline window is full.
 	 *
 	 * @param getSTFFiles
 	 *            Database statement to get STF files incrementally.
@@ -282,54 +295,40 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 	 *            Analysis table names.
 	 * @param sectionMission
 	 *            Aircraft section and fatigue mission.
-	 * @param numSTFs
-	 *            Number of stress files to sort.
 	 * @param outputSTFDirectory
 	 *            Output directory where the STF files will be written to.
 	 * @param outputLOGDirectory
 	 *            Output directory where the log files will be written to. Can be null for no logging.
-	 * @return Maximum STF file ID.
+	 * @param pipeline
+	 *            Task pipeline.
+	 * @return Maximum STF file ID, or -1 if there are no more STF files.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private long executeTasks(PreparedStatement getSTFFiles, String[] analysisTables, String[] sectionMission, long numSTFs, Path outputSTFDirectory, Path outputLOGDirectory) throws Exception {
+	private long submitTasks(PreparedStatement getSTFFiles, String[] analysisTables, String[] sectionMission, Path outputSTFDirectory, Path outputLOGDirectory, TaskPipeline pipeline) throws Exception {
 
-		// initialize variables
+		// create tasks for next STF files (result set is closed before submission, since submission may wait)
 		long maxFileID = -1L;
-		ArrayList<Future<?>> results = null;
-
-		// get next STF files
+		ArrayList<InternalEquinoxTask<?>> tasks = new ArrayList<>();
 		try (ResultSet resultSet = getSTFFiles.executeQuery()) {
 
 			// loop over STF files
 			while (resultSet.next()) {
 
-				// task cancelled
-				if (isCancelled()) {
-					break;
-				}
-
 				// get STF file info
 				long fileID = resultSet.getLong("id");
 				String fileName = resultSet.getString("filename");
 
 				// create stress sorting task
-				InternalEquinoxTask<?> task = null;
 				if (input_.getStressType().equals(ExcaliburStressType.ELEMENT_1D)) {
-					task = new ExcaliburSort1DElementStresses(fileID, fileName, analysisTables, sectionMission, input_, outputSTFDirectory, outputLOGDirectory);
+					tasks.add(new ExcaliburSort1DElementStresses(fileID, fileName, analysisTables, sectionMission, input_, outputSTFDirectory, outputLOGDirectory));
 				}
 				else if (input_.getStressType().equals(ExcaliburStressType.ELEMENT_2D)) {
-					task = new ExcaliburSort2DElementStresses(fileID, fileName, analysisTables, sectionMission, input_, outputSTFDirectory, outputLOGDirectory);
+					tasks.add(new ExcaliburSort2DElementStresses(fileID, fileName, analysisTables, sectionMission, input_, outputSTFDirectory, outputLOGDirectory));
 				}
 				else if (input_.getStressType().equals(ExcaliburStressType.FRAME)) {
-					task = new ExcaliburSortFrameStresses(fileID, fileName, analysisTables, sectionMission, input_, outputSTFDirectory, outputLOGDirectory);
-				}
-
-				// execute task silently and in parallel
-				if (results == null) {
-					results = new ArrayList<>();
+					tasks.add(new ExcaliburSortFrameStresses(fileID, fileName, analysisTables, sectionMission, input_, outputSTFDirectory, outputLOGDirectory));
 				}
-				results.add(taskPanel_.getOwner().runTaskSilently(task, !input_.isRunInParallel()));
 
 				// update maximum file ID
 				if (fileID >= maxFileID) {
@@ -338,34 +337,10 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 			}
 		}
 
-		// there are results
-		if (results != null) {
-
-			// loop over results
-			for (Future<?> result : results) {
-
-				// task cancelled
-				if (isCancelled()) {
-					result.cancel(false);
-				}
-
-				// task completed
-				else {
-
-					// get task result
-					try {
-						result.get();
-						completed_++;
-						updateProgress(completed_, numSTFs);
-					}
-
-					// exception occurred (ignore since it is handled within the task)
-					catch (Exception e) {
-						completed_++;
-						updateProgress(completed_, numSTFs);
-					}
-				}
-			}
+		// submit tasks silently (in parallel if selected)
+		for (InternalEquinoxTask<?> task : tasks) {
+			if (!pipeline.submit(task, !input_.isRunInParallel()))
+				return -1L;
 		}
 
 		// return maximum file ID
@@ -413,30 +388,59 @@ public class Excalibur extends InternalEquinoxTask<Void> implements LongRunningT
 
 			// create stress table for 1D stresses
 			if (input_.getStressType().equals(ExcaliburStressType.ELEMENT_1D)) {
-				statement.executeUpdate("create table aurora." + tableNames[STF_STRESSES] + "(file_id bigint not null, lc_num int not null, sn double, unique(file_id, lc_num), foreign key(file_id) references aurora." + tableNames[STF_FILES] + "(id))");
+				statement.executeUpdate("create table aurora." + tableNames[STF_STRESSES] + "(file_id bigint not null, lc_num int not null, sn double)");
 			}
 
 			// create stress table for 2D stresses
 			else if (input_.getStressType().equals(ExcaliburStressType.ELEMENT_2D)) {
 				statement.executeUpdate("create table aurora." + tableNames[STF_STRESSES] + "(file_id bigint not null, lc_num int not null, sx double, sy double, sxy double, sigma_1 double, sigma_2 double, max_sigma double, "
-						+ "abs_max_sigma double, min_sigma double, unique(file_id, lc_num), foreign key(file_id) references aurora." + tableNames[STF_FILES] + "(id))");
+						+ "abs_max_sigma double, min_sigma double)");
 			}
 
 			// create stress table for frame stresses
 			else if (input_.getStressType().equals(ExcaliburStressType.FRAME)) {
-				statement.executeUpdate("create table aurora." + tableNames[STF_STRESSES] + "(file_id bigint not null, lc_num int not null, sn double, unique(file_id, lc_num), foreign key(file_id) references aurora." + tableNames[STF_FILES] + "(id))");
+				statement.executeUpdate("create table aurora." + tableNames[STF_STRESSES] + "(file_id bigint not null, lc_num int not null, sn double)");
 			}
 
 			// create indexes
 			statement.executeUpdate("create index select_events_" + analysisID + " on aurora." + tableNames[XLS] + "(section, mission)");
 			statement.executeUpdate("create index select_keys_" + analysisID + " on aurora." + tableNames[LCK] + "(section, mission, segment, load_type)");
-			statement.executeUpdate("create index select_stress_" + analysisID + " on aurora." + tableNames[STF_STRESSES] + "(file_id, lc_num)");
 		}
 
 		// return table names
 		return tableNames;
 	}
 
+	/**
+	 * Creates constraints and indexes of the stresses table. These are created after the stresses are loaded, so that they are built once instead of being maintained for every inserted row. The index statistics of
+	 * the remaining analysis tables (whose indexes are created while the tables are empty) are refreshed as well.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param analysisID
+	 *            Analysis ID.
+	 * @param tableNames
+	 *            Analysis table names.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void createStressIndexes(Connection connection, long analysisID, String[] tableNames) throws Exception {
+
+		// update progress info
+		updateMessage("Indexing element stresses...");
+
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("alter table aurora." + tableNames[STF_STRESSES] + " add constraint unique_stress_" + analysisID + " unique(file_id, lc_num)");
+			statement.executeUpdate("alter table aurora." + tableNames[STF_STRESSES] + " add constraint stress_file_" + analysisID + " foreign key(file_id) references aurora." + tableNames[STF_FILES] + "(id)");
+		}
+
+		// refresh index statistics of analysis tables
+		Utility.updateStatistics(connection, tableNames[XLS]);
+		Utility.updateStatistics(connection, tableNames[LCK]);
+		Utility.updateStatistics(connection, tableNames[STF_FILES]);
+	}
+
 	/**
 	 * Creates and returns analysis ID.
 	 *
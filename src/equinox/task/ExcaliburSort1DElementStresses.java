@@ -25,11 +25,12 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.function.IntToDoubleFunction;
 import java.util.logging.Level;
 
 import equinox.Equinox;
 import equinox.data.ExcaliburElement1DStressSortingCriteria;
-import equinox.data.ExcaliburStressSortingCriteria;
+import equinox.data.ExcaliburElementStresses;
 import equinox.data.input.ExcaliburInput;
 import equinox.plugin.FileType;
 import equinox.process.ExcaliburLoadLoadcaseCorrelations;
@@ -44,6 +45,9 @@ import equinox.task.InternalEquinoxTask.ShortRunningTask;
  */
 public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> implements ShortRunningTask {
 
+	/** Stress column indices. */
+	private static final int SN = 0;
+
 	/** STF file ID. */
 	private final long stfFileID;
 
@@ -127,124 +131,114 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 				sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and (segment = ? or segment = ?) and load_type like ?";
 				try (PreparedStatement selectLCKeys = connection.prepareStatement(sql)) {
 
-					// create statement for selecting stresses
-					try (Statement selectStresses = connection.createStatement()) {
-						selectStresses.setMaxRows(1);
-
-						// create output file writer
-						try (BufferedWriter writer = Files.newBufferedWriter(outputStf, Charset.defaultCharset())) {
-
-							// write file header
-							String line = "# STF file generated by Excalibur " + Excalibur.VERSION + ", Stress Sorting Plugin of Equinox." + Equinox.VERSION.toString() + ", for ";
-							line += "A/C section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", fatigue mission: ";
-							line += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", stress file name: " + stfFileName;
-							line += ", stress sorting criteria: " + input.getStressSortingCriteria().toString();
-							writer.write(line);
-							writer.newLine();
-							line = String.format("%-10s", "LOADCASE");
-							line += String.format("%-10s", "SN");
-							writer.write(line);
-							writer.newLine();
-
-							// add delta-p load case
-							long deltapID = addDP(selectStresses, writer);
-
-							// select load cases from attributes table
-							sql = "select * from " + analysisTables[Excalibur.XLS] + " where section = '";
-							sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + "' and mission = '";
-							sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and ";
-							sql += "id <> " + deltapID;
-							try (ResultSet attributesTable = selectAttributesTable.executeQuery(sql)) {
-
-								// create list to store load case names
-								ArrayList<String> lcNames = new ArrayList<>();
-
-								// get number of rows in the attributes table
-								int numRows = 0;
-								if (attributesTable.last()) {
-									numRows = attributesTable.getRow();
-									attributesTable.beforeFirst();
-								}
+					// load stresses of the element
+					ExcaliburElementStresses stresses = ExcaliburElementStresses.load(connection, analysisTables[Excalibur.STF_STRESSES], stfFileID, "sn");
+
+					// create output file writer
+					try (BufferedWriter writer = Files.newBufferedWriter(outputStf, Charset.defaultCharset())) {
+
+						// write file header
+						String line = "# STF file generated by Excalibur " + Excalibur.VERSION + ", Stress Sorting Plugin of Equinox." + Equinox.VERSION.toString() + ", for ";
+						line += "A/C section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", fatigue mission: ";
+						line += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", stress file name: " + stfFileName;
+						line += ", stress sorting criteria: " + input.getStressSortingCriteria().toString();
+						writer.write(line);
+						writer.newLine();
+						line = String.format("%-10s", "LOADCASE");
+						line += String.format("%-10s", "SN");
+						writer.write(line);
+						writer.newLine();
+
+						// add delta-p load case
+						long deltapID = addDP(selectAttributesTable, stresses, writer);
+
+						// select load cases from attributes table
+						sql = "select * from " + analysisTables[Excalibur.XLS] + " where section = '";
+						sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + "' and mission = '";
+						sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and ";
+						sql += "id <> " + deltapID;
+						try (ResultSet attributesTable = selectAttributesTable.executeQuery(sql)) {
+
+							// create lists to store load case names and numbers
+							ArrayList<String> lcNames = new ArrayList<>();
+							ArrayList<Integer> lcNums = new ArrayList<>();
+
+							// get number of rows in the attributes table
+							int numRows = 0;
+							if (attributesTable.last()) {
+								numRows = attributesTable.getRow();
+								attributesTable.beforeFirst();
+							}
+
+							// no rows found
+							if (numRows == 0) {
+								String msg = "No fatigue event found in attributes table for - ";
+								msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
+								msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ". ";
+								msg += "No STF is generated.";
+								throw new Exception(msg);
+							}
 
-								// no rows found
-								if (numRows == 0) {
-									String msg = "No fatigue event found in attributes table for - ";
-									msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
-									msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ". ";
-									msg += "No STF is generated.";
-									throw new Exception(msg);
+							// loop over attributes table rows
+							int currentRow = 0;
+							while (attributesTable.next()) {
+
+								// task cancelled
+								if (isCancelled())
+									return null;
+
+								// get conversion table columns
+								String segment = attributesTable.getString("segment");
+								String loadcaseNum = attributesTable.getString("issy_code");
+								String eventName = attributesTable.getString("event_name");
+								String loadType = attributesTable.getString("load_type");
+								String eventComment = attributesTable.getString("event_comment");
+								String loadCriteria = attributesTable.getString("load_criteria");
+								double loadFactor = attributesTable.getDouble("load_factor");
+
+								// update info
+								updateMessage("Processing '" + eventComment + "'...");
+								updateProgress(currentRow, numRows);
+								currentRow++;
+
+								// set segment
+								if (segment.contains("|")) {
+									String[] split = segment.split("\\|");
+									selectLCKeys.setString(1, split[0]);
+									selectLCKeys.setString(2, split[1]);
+								}
+								else {
+									selectLCKeys.setString(1, segment);
+									selectLCKeys.setString(2, segment);
 								}
 
-								// loop over attributes table rows
-								int currentRow = 0;
-								while (attributesTable.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return null;
-
-									// get conversion table columns
-									String segment = attributesTable.getString("segment");
-									String loadcaseNum = attributesTable.getString("issy_code");
-									String eventName = attributesTable.getString("event_name");
-									String loadType = attributesTable.getString("load_type");
-									String eventComment = attributesTable.getString("event_comment");
-									String loadCriteria = attributesTable.getString("load_criteria");
-									double loadFactor = attributesTable.getDouble("load_factor");
-
-									// update info
-									updateMessage("Processing '" + eventComment + "'...");
-									updateProgress(currentRow, numRows);
-									currentRow++;
-
-									// set segment
-									if (segment.contains("|")) {
-										String[] split = segment.split("\\|");
-										selectLCKeys.setString(1, split[0]);
-										selectLCKeys.setString(2, split[1]);
-									}
-									else {
-										selectLCKeys.setString(1, segment);
-										selectLCKeys.setString(2, segment);
+								// set parameters
+								selectLCKeys.setString(3, "%" + loadType + "%");
+
+								// select load case keys
+								try (ResultSet lcKeys = selectLCKeys.executeQuery()) {
+
+									// get load case numbers of fatigue event
+									if (!getLoadcases(lcKeys, segment, loadcaseNum, eventName, loadType, eventComment, lcNames, lcNums)) {
+										line = String.format("%-10s", loadcaseNum);
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										writer.write(line);
+										writer.newLine();
+										continue;
 									}
 
-									// set parameters
-									selectLCKeys.setString(3, "%" + loadType + "%");
-
-									// select load case keys
-									try (ResultSet lcKeys = selectLCKeys.executeQuery()) {
-
-										// create SQL query for selecting stresses
-										sql = createStressSelectionQuery(lcKeys, segment, loadcaseNum, eventName, loadType, eventComment, loadCriteria, lcNames);
-
-										// no load case found in load case keys
-										if (sql == null) {
-											line = String.format("%-10s", loadcaseNum);
-											line += String.format("%-10s", numberFormat_.format(0.0));
-											writer.write(line);
-											writer.newLine();
-											continue;
-										}
-
-										// select stresses
-										try (ResultSet stresses = selectStresses.executeQuery(sql)) {
-
-											// write stresses
-											if (!writeStresses(stresses, segment, loadcaseNum, eventName, loadType, eventComment, lcNames, loadFactor, writer)) {
-												line = String.format("%-10s", loadcaseNum);
-												line += String.format("%-10s", numberFormat_.format(0.0));
-												writer.write(line);
-												writer.newLine();
-												continue;
-											}
-										}
+									// select and write stresses
+									int row = stresses.select(lcNums, getSortValue(stresses, loadCriteria));
+									if (!writeStresses(stresses, row, segment, loadcaseNum, eventName, loadType, eventComment, lcNames, loadFactor, writer)) {
+										line = String.format("%-10s", loadcaseNum);
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										writer.write(line);
+										writer.newLine();
+										continue;
 									}
 								}
 							}
 						}
-
-						// reset statement
-						selectStresses.setMaxRows(0);
 					}
 				}
 			}
@@ -256,7 +250,9 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 	 * Writes out the extracted (selected) stresses to output file.
 	 *
 	 * @param stresses
-	 *            Result set containing the selected stresses.
+	 *            Stresses of the element.
+	 * @param row
+	 *            Selected stress row, or -1 if no stress is found.
 	 * @param segment
 	 *            Segment name.
 	 * @param loadcaseNum
@@ -277,40 +273,10 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private boolean writeStresses(ResultSet stresses, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, ArrayList<String> lcNames, double loadFactor, BufferedWriter writer) throws Exception {
-
-		// loop over stresses
-		int found = 0;
-		String line;
-		while (stresses.next()) {
-
-			// write stress
-			line = String.format("%-10s", loadcaseNum);
-			double stress = stresses.getDouble("sn");
-			line += String.format("%-10s", numberFormat_.format(stress * loadFactor));
-			writer.write(line);
-			writer.newLine();
-			found++;
-
-			// log fine
-			if ((logger_ != null) && logger_.getLevel().equals(Level.FINE)) {
-				String msg = "Stress found for fatigue event - ";
-				msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
-				msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
-				msg += "segment: " + segment + ", ";
-				msg += "load case number (from attributes table): " + loadcaseNum + ", ";
-				msg += "event name: " + eventName + ", ";
-				msg += "load type: " + loadType + ", ";
-				msg += "event comment: " + eventComment + ", ";
-				msg += "load case number (from stress file): " + stresses.getInt("lc_num") + ", ";
-				msg += "stress value: " + stress + ", ";
-				msg += "load factor: " + loadFactor + ".";
-				logger_.fine(msg);
-			}
-		}
+	private boolean writeStresses(ExcaliburElementStresses stresses, int row, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, ArrayList<String> lcNames, double loadFactor, BufferedWriter writer) throws Exception {
 
 		// no stress found (log warning)
-		if (found == 0) {
+		if (row == -1) {
 			if (logger_ != null) {
 				String msg = "No stress found for fatigue event - ";
 				msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
@@ -329,11 +295,34 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 			}
 			return false;
 		}
+
+		// write stress
+		String line = String.format("%-10s", loadcaseNum);
+		double stress = stresses.getStress(row, SN);
+		line += String.format("%-10s", numberFormat_.format(stress * loadFactor));
+		writer.write(line);
+		writer.newLine();
+
+		// log fine
+		if ((logger_ != null) && logger_.getLevel().equals(Level.FINE)) {
+			String msg = "Stress found for fatigue event - ";
+			msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
+			msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
+			msg += "segment: " + segment + ", ";
+			msg += "load case number (from attributes table): " + loadcaseNum + ", ";
+			msg += "event name: " + eventName + ", ";
+			msg += "load type: " + loadType + ", ";
+			msg += "event comment: " + eventComment + ", ";
+			msg += "load case number (from stress file): " + stresses.getLoadcaseNumber(row) + ", ";
+			msg += "stress value: " + stress + ", ";
+			msg += "load factor: " + loadFactor + ".";
+			logger_.fine(msg);
+		}
 		return true;
 	}
 
 	/**
-	 * Creates and returns the stress selection SQL query for the given stress selection criteria and load criteria from the conversion table.
+	 * Gets the load case names and numbers of a fatigue event from the given load case keys.
 	 *
 	 * @param lcKeys
 	 *            Load case keys.
@@ -347,29 +336,23 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 	 *            Load type.
 	 * @param eventComment
 	 *            Event comment.
-	 * @param loadCriteria
-	 *            Load criteria.
 	 * @param lcNames
 	 *            List storing the load case names.
-	 * @return Stress selection SQL query or null if no load case is found in the load case keys.
+	 * @param lcNums
+	 *            List storing the load case numbers.
+	 * @return True if any load case is found in the load case keys.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private String createStressSelectionQuery(ResultSet lcKeys, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, String loadCriteria, ArrayList<String> lcNames) throws Exception {
-
-		// initialize query
-		String sql = "select lc_num, sn from " + analysisTables[Excalibur.STF_STRESSES] + " where ";
+	private boolean getLoadcases(ResultSet lcKeys, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, ArrayList<String> lcNames, ArrayList<Integer> lcNums) throws Exception {
 
-		// add station criteria
-		sql += "file_id = " + stfFileID + " and (";
-
-		// add load case name criterion
+		// get load case names and numbers
 		lcNames.clear();
+		lcNums.clear();
 		while (lcKeys.next()) {
 			lcNames.add(lcKeys.getString("lc_name"));
-			sql += "(lc_num = " + lcKeys.getInt("lc_num") + ") or ";
+			lcNums.add(lcKeys.getInt("lc_num"));
 		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ") ";
 
 		// no load case found in load case keys
 		if (lcNames.isEmpty()) {
@@ -385,50 +368,55 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 				msg += "Stresses will be set to 0.0 for load case '" + loadcaseNum + "' in the output STF file.";
 				logger_.warning(msg);
 			}
-			return null;
+			return false;
 		}
+		return true;
+	}
 
-		// get stress sorting criteria
-		ExcaliburStressSortingCriteria criteria = input.getStressSortingCriteria();
+	/**
+	 * Returns the sort value function for the given stress sorting criteria and load criteria from the conversion table. The stress with the greatest sort value is selected.
+	 *
+	 * @param stresses
+	 *            Stresses of the element.
+	 * @param loadCriteria
+	 *            Load criteria.
+	 * @return The sort value function.
+	 */
+	private IntToDoubleFunction getSortValue(ExcaliburElementStresses stresses, String loadCriteria) {
 
 		// load criteria is 'MAX_ABS'
 		if (loadCriteria.equals("MAX_ABS")) {
-			sql += "order by ";
-			if (criteria.equals(ExcaliburElement1DStressSortingCriteria.MAX_ABS_STRESS)) {
-				sql += "abs(sn)";
-			}
-			else if (criteria.equals(ExcaliburElement1DStressSortingCriteria.MAX_STRESS)) {
-				sql += "sn";
-			}
-			sql += " desc";
+			if (input.getStressSortingCriteria().equals(ExcaliburElement1DStressSortingCriteria.MAX_ABS_STRESS))
+				return row -> Math.abs(stresses.getStress(row, SN));
+			return row -> stresses.getStress(row, SN);
 		}
 
 		// load criteria is 'MAX'
-		else if (loadCriteria.equals("MAX")) {
-			sql += "order by sn desc";
-		}
+		else if (loadCriteria.equals("MAX"))
+			return row -> stresses.getStress(row, SN);
 
 		// load criteria is 'MIN'
-		else if (loadCriteria.equals("MIN")) {
-			sql += "order by sn asc";
-		}
+		else if (loadCriteria.equals("MIN"))
+			return row -> -stresses.getStress(row, SN);
 
-		// return query
-		return sql;
+		// no sorting
+		return row -> 0.0;
 	}
 
 	/**
 	 * Adds delta-p stresses to output file.
 	 *
-	 * @param selectStresses
-	 *            Database statement for selecting stresses.
+	 * @param selectAttributesTable
+	 *            Database statement for selecting attributes table rows.
+	 * @param stresses
+	 *            Stresses of the element.
 	 * @param writer
 	 *            File writer.
 	 * @return Delta-p issy code ID in attributes table.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private long addDP(Statement selectStresses, BufferedWriter writer) throws Exception {
+	private long addDP(Statement selectAttributesTable, ExcaliburElementStresses stresses, BufferedWriter writer) throws Exception {
 
 		// initialize delta-p issy code ID in attributes table
 		long deltapID = -1L;
@@ -451,7 +439,7 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 		sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and ";
 		sql += "(ref_intensity like '%mbar%' or UPPER(event_name) = 'PRESSLC' or UPPER(segment) = 'ALL') ";
 		sql += "order by issy_code asc";
-		try (ResultSet attributesTable = selectStresses.executeQuery(sql)) {
+		try (ResultSet attributesTable = selectAttributesTable.executeQuery(sql)) {
 			if (attributesTable.next()) {
 				issyCode = attributesTable.getString("issy_code");
 				deltapID = attributesTable.getLong("id");
@@ -469,38 +457,33 @@ public class ExcaliburSort1DElementStresses extends InternalEquinoxTask<Void> im
 			return deltapID;
 		}
 
-		// select stresses
-		sql = "select sn from " + analysisTables[Excalibur.STF_STRESSES] + " where file_id = ";
-		sql += stfFileID + " and lc_num = " + dp + " order by sn desc";
-		try (ResultSet stresses = selectStresses.executeQuery(sql)) {
-
-			// loop over stresses
-			int found = 0;
-			String line;
-			while (stresses.next()) {
-				line = String.format("%-10s", issyCode);
-				line += String.format("%-10s", numberFormat_.format(stresses.getDouble("sn")));
-				writer.write(line);
-				writer.newLine();
-				found++;
-			}
+		// get delta-p stresses
+		int row = stresses.getRow(dp);
+		String line;
 
-			// no stress found
-			if (found == 0) {
-				if (logger_ != null) {
-					String msg = "No stress found in stress input file for delta-p load case - ";
-					msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
-					msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
-					msg += "user supplied delta-p load case number: " + dp + ", ";
-					msg += "delta-p ISSY code in attributes table: " + issyCode + ". ";
-					msg += "Stresses will be set to 0.0 for load case '" + issyCode + "' in the output STF file.";
-					logger_.warning(msg);
-				}
-				line = String.format("%-10s", issyCode);
-				line += String.format("%-10s", numberFormat_.format(0.0));
-				writer.write(line);
-				writer.newLine();
+		// no stress found
+		if (row == -1) {
+			if (logger_ != null) {
+				String msg = "No stress found in stress input file for delta-p load case - ";
+				msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
+				msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
+				msg += "user supplied delta-p load case number: " + dp + ", ";
+				msg += "delta-p ISSY code in attributes table: " + issyCode + ". ";
+				msg += "Stresses will be set to 0.0 for load case '" + issyCode + "' in the output STF file.";
+				logger_.warning(msg);
 			}
+			line = String.format("%-10s", issyCode);
+			line += String.format("%-10s", numberFormat_.format(0.0));
+			writer.write(line);
+			writer.newLine();
+		}
+
+		// write stresses
+		else {
+			line = String.format("%-10s", issyCode);
+			line += String.format("%-10s", numberFormat_.format(stresses.getStress(row, SN)));
+			writer.write(line);
+			writer.newLine();
 		}
 
 		// return delta-p issy code id in attributes table
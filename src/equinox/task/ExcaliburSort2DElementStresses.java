@@ -25,10 +25,12 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.function.IntToDoubleFunction;
 import java.util.logging.Level;
 
 import equinox.Equinox;
 import equinox.data.ExcaliburElement2DStressSortingCriteria;
+import equinox.data.ExcaliburElementStresses;
 import equinox.data.ExcaliburStressSortingCriteria;
 import equinox.data.input.ExcaliburInput;
 import equinox.plugin.FileType;
@@ -44,6 +46,9 @@ import equinox.task.InternalEquinoxTask.ShortRunningTask;
  */
 public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> implements ShortRunningTask {
 
+	/** Stress column indices. */
+	private static final int SX = 0, SY = 1, SXY = 2;
+
 	/** STF file ID. */
 	private final long stfFileID;
 
@@ -127,130 +132,120 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 				sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and (segment = ? or segment = ?) and load_type like ?";
 				try (PreparedStatement selectLCKeys = connection.prepareStatement(sql)) {
 
-					// create statement for selecting stresses
-					try (Statement selectStresses = connection.createStatement()) {
-						selectStresses.setMaxRows(1);
-
-						// create output file writer
-						try (BufferedWriter writer = Files.newBufferedWriter(outputStf, Charset.defaultCharset())) {
-
-							// write file header
-							String line = "# STF file generated by Excalibur " + Excalibur.VERSION + ", Stress Sorting Plugin of Equinox." + Equinox.VERSION.toString() + ", for ";
-							line += "A/C section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", fatigue mission: ";
-							line += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", stress file name: " + stfFileName;
-							line += ", stress sorting criteria: " + input.getStressSortingCriteria().toString();
-							writer.write(line);
-							writer.newLine();
-							line = String.format("%-10s", "LOADCASE");
-							line += String.format("%-10s", "SX");
-							line += String.format("%-10s", "SY");
-							line += String.format("%-10s", "SXY");
-							writer.write(line);
-							writer.newLine();
-
-							// add delta-p load case
-							long deltapID = addDP(selectStresses, writer);
-
-							// select load cases from attributes table
-							sql = "select * from " + analysisTables[Excalibur.XLS] + " where section = '";
-							sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + "' and mission = '";
-							sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and ";
-							sql += "id <> " + deltapID;
-							try (ResultSet attributesTable = selectAttributesTable.executeQuery(sql)) {
-
-								// create list to store load case names
-								ArrayList<String> lcNames = new ArrayList<>();
-
-								// get number of rows in the attributes table
-								int numRows = 0;
-								if (attributesTable.last()) {
-									numRows = attributesTable.getRow();
-									attributesTable.beforeFirst();
-								}
+					// load stresses of the element
+					ExcaliburElementStresses stresses = ExcaliburElementStresses.load(connection, analysisTables[Excalibur.STF_STRESSES], stfFileID, "sx", "sy", "sxy");
+
+					// create output file writer
+					try (BufferedWriter writer = Files.newBufferedWriter(outputStf, Charset.defaultCharset())) {
+
+						// write file header
+						String line = "# STF file generated by Excalibur " + Excalibur.VERSION + ", Stress Sorting Plugin of Equinox." + Equinox.VERSION.toString() + ", for ";
+						line += "A/C section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", fatigue mission: ";
+						line += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", stress file name: " + stfFileName;
+						line += ", stress sorting criteria: " + input.getStressSortingCriteria().toString();
+						writer.write(line);
+						writer.newLine();
+						line = String.format("%-10s", "LOADCASE");
+						line += String.format("%-10s", "SX");
+						line += String.format("%-10s", "SY");
+						line += String.format("%-10s", "SXY");
+						writer.write(line);
+						writer.newLine();
+
+						// add delta-p load case
+						long deltapID = addDP(selectAttributesTable, stresses, writer);
+
+						// select load cases from attributes table
+						sql = "select * from " + analysisTables[Excalibur.XLS] + " where section = '";
+						sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + "' and mission = '";
+						sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and ";
+						sql += "id <> " + deltapID;
+						try (ResultSet attributesTable = selectAttributesTable.executeQuery(sql)) {
+
+							// create lists to store load case names and numbers
+							ArrayList<String> lcNames = new ArrayList<>();
+							ArrayList<Integer> lcNums = new ArrayList<>();
+
+							// get number of rows in the attributes table
+							int numRows = 0;
+							if (attributesTable.last()) {
+								numRows = attributesTable.getRow();
+								attributesTable.beforeFirst();
+							}
 
-								// no rows found
-								if (numRows == 0) {
-									String msg = "No fatigue event found in attributes table for - ";
-									msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
-									msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ". ";
-									msg += "No STF is generated.";
-									throw new Exception(msg);
+							// no rows found
+							if (numRows == 0) {
+								String msg = "No fatigue event found in attributes table for - ";
+								msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
+								msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ". ";
+								msg += "No STF is generated.";
+								throw new Exception(msg);
+							}
+
+							// loop over attributes table rows
+							int currentRow = 0;
+							while (attributesTable.next()) {
+
+								// task cancelled
+								if (isCancelled())
+									return null;
+
+								// get conversion table columns
+								String segment = attributesTable.getString("segment");
+								String loadcaseNum = attributesTable.getString("issy_code");
+								String eventName = attributesTable.getString("event_name");
+								String loadType = attributesTable.getString("load_type");
+								String eventComment = attributesTable.getString("event_comment");
+								String loadCriteria = attributesTable.getString("load_criteria");
+								double loadFactor = attributesTable.getDouble("load_factor");
+
+								// update info
+								updateMessage("Processing '" + eventComment + "'...");
+								updateProgress(currentRow, numRows);
+								currentRow++;
+
+								// set segment
+								if (segment.contains("|")) {
+									String[] split = segment.split("\\|");
+									selectLCKeys.setString(1, split[0]);
+									selectLCKeys.setString(2, split[1]);
+								}
+								else {
+									selectLCKeys.setString(1, segment);
+									selectLCKeys.setString(2, segment);
 								}
 
-								// loop over attributes table rows
-								int currentRow = 0;
-								while (attributesTable.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return null;
-
-									// get conversion table columns
-									String segment = attributesTable.getString("segment");
-									String loadcaseNum = attributesTable.getString("issy_code");
-									String eventName = attributesTable.getString("event_name");
-									String loadType = attributesTable.getString("load_type");
-									String eventComment = attributesTable.getString("event_comment");
-									String loadCriteria = attributesTable.getString("load_criteria");
-									double loadFactor = attributesTable.getDouble("load_factor");
-
-									// update info
-									updateMessage("Processing '" + eventComment + "'...");
-									updateProgress(currentRow, numRows);
-									currentRow++;
-
-									// set segment
-									if (segment.contains("|")) {
-										String[] split = segment.split("\\|");
-										selectLCKeys.setString(1, split[0]);
-										selectLCKeys.setString(2, split[1]);
-									}
-									else {
-										selectLCKeys.setString(1, segment);
-										selectLCKeys.setString(2, segment);
+								// set parameters
+								selectLCKeys.setString(3, "%" + loadType + "%");
+
+								// select load case keys
+								try (ResultSet lcKeys = selectLCKeys.executeQuery()) {
+
+									// get load case numbers of fatigue event
+									if (!getLoadcases(lcKeys, segment, loadcaseNum, eventName, loadType, eventComment, lcNames, lcNums)) {
+										line = String.format("%-10s", loadcaseNum);
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										writer.write(line);
+										writer.newLine();
+										continue;
 									}
 
-									// set parameters
-									selectLCKeys.setString(3, "%" + loadType + "%");
-
-									// select load case keys
-									try (ResultSet lcKeys = selectLCKeys.executeQuery()) {
-
-										// create SQL query for selecting stresses
-										sql = createStressSelectionQuery(lcKeys, segment, loadcaseNum, eventName, loadType, eventComment, loadCriteria, lcNames);
-
-										// no load case found in load case keys
-										if (sql == null) {
-											line = String.format("%-10s", loadcaseNum);
-											line += String.format("%-10s", numberFormat_.format(0.0));
-											line += String.format("%-10s", numberFormat_.format(0.0));
-											line += String.format("%-10s", numberFormat_.format(0.0));
-											writer.write(line);
-											writer.newLine();
-											continue;
-										}
-
-										// select stresses
-										try (ResultSet stresses = selectStresses.executeQuery(sql)) {
-
-											// write stresses
-											if (!writeStresses(stresses, segment, loadcaseNum, eventName, loadType, eventComment, lcNames, loadFactor, writer)) {
-												line = String.format("%-10s", loadcaseNum);
-												line += String.format("%-10s", numberFormat_.format(0.0));
-												line += String.format("%-10s", numberFormat_.format(0.0));
-												line += String.format("%-10s", numberFormat_.format(0.0));
-												writer.write(line);
-												writer.newLine();
-												continue;
-											}
-										}
+									// select and write stresses
+									int row = stresses.select(lcNums, getSortValue(stresses, loadCriteria));
+									if (!writeStresses(stresses, row, segment, loadcaseNum, eventName, loadType, eventComment, lcNames, loadFactor, writer)) {
+										line = String.format("%-10s", loadcaseNum);
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										line += String.format("%-10s", numberFormat_.format(0.0));
+										writer.write(line);
+										writer.newLine();
+										continue;
 									}
 								}
 							}
 						}
-
-						// reset statement
-						selectStresses.setMaxRows(0);
 					}
 				}
 			}
@@ -262,7 +257,9 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 	 * Writes out the extracted (selected) stresses to output file.
 	 *
 	 * @param stresses
-	 *            Result set containing the selected stresses.
+	 *            Stresses of the element.
+	 * @param row
+	 *            Selected stress row, or -1 if no stress is found.
 	 * @param segment
 	 *            Segment name.
 	 * @param loadcaseNum
@@ -283,46 +280,10 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private boolean writeStresses(ResultSet stresses, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, ArrayList<String> lcNames, double loadFactor, BufferedWriter writer) throws Exception {
-
-		// loop over stresses
-		int found = 0;
-		String line;
-		while (stresses.next()) {
-
-			// write stresses
-			line = String.format("%-10s", loadcaseNum);
-			double sx = stresses.getDouble("sx");
-			double sy = stresses.getDouble("sy");
-			double sxy = stresses.getDouble("sxy");
-			line += String.format("%-10s", numberFormat_.format(sx * loadFactor));
-			line += String.format("%-10s", numberFormat_.format(sy * loadFactor));
-			line += String.format("%-10s", numberFormat_.format(sxy * loadFactor));
-			writer.write(line);
-			writer.newLine();
-			found++;
-
-			// log fine
-			if ((logger_ != null) && logger_.getLevel().equals(Level.FINE)) {
-				String msg = "Stress found for fatigue event - ";
-				msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
-				msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
-				msg += "segment: " + segment + ", ";
-				msg += "loadcase number (from attributes table): " + loadcaseNum + ", ";
-				msg += "event name: " + eventName + ", ";
-				msg += "load type: " + loadType + ", ";
-				msg += "event comment: " + eventComment + ", ";
-				msg += "load case number (from stress file): " + stresses.getInt("lc_num") + ", ";
-				msg += "stress SX: " + sx + ", ";
-				msg += "stress SY: " + sy + ", ";
-				msg += "stress SXY: " + sxy + ", ";
-				msg += "load factor: " + loadFactor + ".";
-				logger_.fine(msg);
-			}
-		}
+	private boolean writeStresses(ExcaliburElementStresses stresses, int row, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, ArrayList<String> lcNames, double loadFactor, BufferedWriter writer) throws Exception {
 
 		// no stress found
-		if (found == 0) {
+		if (row == -1) {
 			if (logger_ != null) {
 				String msg = "No stress found for fatigue event - ";
 				msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
@@ -341,11 +302,40 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 			}
 			return false;
 		}
+
+		// write stresses
+		String line = String.format("%-10s", loadcaseNum);
+		double sx = stresses.getStress(row, SX);
+		double sy = stresses.getStress(row, SY);
+		double sxy = stresses.getStress(row, SXY);
+		line += String.format("%-10s", numberFormat_.format(sx * loadFactor));
+		line += String.format("%-10s", numberFormat_.format(sy * loadFactor));
+		line += String.format("%-10s", numberFormat_.format(sxy * loadFactor));
+		writer.write(line);
+		writer.newLine();
+
+		// log fine
+		if ((logger_ != null) && logger_.getLevel().equals(Level.FINE)) {
+			String msg = "Stress found for fatigue event - ";
+			msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
+			msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
+			msg += "segment: " + segment + ", ";
+			msg += "loadcase number (from attributes table): " + loadcaseNum + ", ";
+			msg += "event name: " + eventName + ", ";
+			msg += "load type: " + loadType + ", ";
+			msg += "event comment: " + eventComment + ", ";
+			msg += "load case number (from stress file): " + stresses.getLoadcaseNumber(row) + ", ";
+			msg += "stress SX: " + sx + ", ";
+			msg += "stress SY: " + sy + ", ";
+			msg += "stress SXY: " + sxy + ", ";
+			msg += "load factor: " + loadFactor + ".";
+			logger_.fine(msg);
+		}
 		return true;
 	}
 
 	/**
-	 * Creates and returns the stress selection SQL query for the given stress selection criteria and load criteria from the conversion table.
+	 * Gets the load case names and numbers of a fatigue event from the given load case keys.
 	 *
 	 * @param lcKeys
 	 *            Load case keys.
@@ -359,29 +349,23 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 	 *            Load type.
 	 * @param eventComment
 	 *            Event comment.
-	 * @param loadCriteria
-	 *            Load criteria.
 	 * @param lcNames
 	 *            List storing the load case names.
-	 * @return Stress selection SQL query or null if no load case is found in the load case keys.
+	 * @param lcNums
+	 *            List storing the load case numbers.
+	 * @return True if any load case is found in the load case keys.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private String createStressSelectionQuery(ResultSet lcKeys, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, String loadCriteria, ArrayList<String> lcNames) throws Exception {
-
-		// initialize query
-		String sql = "select lc_num, sx, sy, sxy from " + analysisTables[Excalibur.STF_STRESSES] + " where ";
-
-		// add station criteria
-		sql += "file_id = " + stfFileID + " and (";
+	private boolean getLoadcases(ResultSet lcKeys, String segment, String loadcaseNum, String eventName, String loadType, String eventComment, ArrayList<String> lcNames, ArrayList<Integer> lcNums) throws Exception {
 
-		// add load case name criterion
+		// get load case names and numbers
 		lcNames.clear();
+		lcNums.clear();
 		while (lcKeys.next()) {
 			lcNames.add(lcKeys.getString("lc_name"));
-			sql += "(lc_num = " + lcKeys.getInt("lc_num") + ") or ";
+			lcNums.add(lcKeys.getInt("lc_num"));
 		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ") ";
 
 		// no load case found in load case keys
 		if (lcNames.isEmpty()) {
@@ -397,127 +381,103 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 				msg += "Stresses will be set to 0.0 for load case '" + loadcaseNum + "' in the output STF file.";
 				logger_.warning(msg);
 			}
-			return null;
+			return false;
 		}
+		return true;
+	}
 
-		// get stress sorting criteria
-		ExcaliburStressSortingCriteria criteria = input.getStressSortingCriteria();
-
-		// load criteria is 'MAX_ABS'
-		if (loadCriteria.equals("MAX_ABS")) {
-			sql += "order by ";
-			if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_PRINCIPAL)) {
-				sql += "abs_max_sigma";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SX)) {
-				sql += "abs(sx)";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SY)) {
-				sql += "abs(sy)";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SXY)) {
-				sql += "abs(sxy)";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_PRINCIPAL)) {
-				sql += "max_sigma";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SX)) {
-				sql += "sx";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SY)) {
-				sql += "sy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SXY)) {
-				sql += "sxy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ROTATED_STRESS)) {
-				sql += "(0.5 * (sx + sy) + 0.5 * (sx - sy) * cos(2 * " + input.getRotationAngle() + ") + sxy * sin(2 * " + input.getRotationAngle() + "))";
-			}
-			sql += " desc";
-		}
+	/**
+	 * Returns the sort value function for the given stress sorting criteria and load criteria from the conversion table. The stress with the greatest sort value is selected.
+	 *
+	 * @param stresses
+	 *            Stresses of the element.
+	 * @param loadCriteria
+	 *            Load criteria.
+	 * @return The sort value function.
+	 */
+	private IntToDoubleFunction getSortValue(ExcaliburElementStresses stresses, String loadCriteria) {
 
-		// load criteria is 'MAX'
-		else if (loadCriteria.equals("MAX")) {
-			sql += "order by ";
-			if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_PRINCIPAL)) {
-				sql += "max_sigma";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SX)) {
-				sql += "sx";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SY)) {
-				sql += "sy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SXY)) {
-				sql += "sxy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_PRINCIPAL)) {
-				sql += "max_sigma";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SX)) {
-				sql += "sx";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SY)) {
-				sql += "sy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SXY)) {
-				sql += "sxy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ROTATED_STRESS)) {
-				sql += "(0.5 * (sx + sy) + 0.5 * (sx - sy) * cos(2 * " + input.getRotationAngle() + ") + sxy * sin(2 * " + input.getRotationAngle() + "))";
-			}
-			sql += " desc";
-		}
+		// load criteria is 'MAX_ABS' or 'MAX'
+		if (loadCriteria.equals("MAX_ABS") || loadCriteria.equals("MAX"))
+			return row -> getSortStress(stresses, row, loadCriteria);
 
 		// load criteria is 'MIN'
-		else if (loadCriteria.equals("MIN")) {
-			sql += "order by ";
-			if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_PRINCIPAL)) {
-				sql += "min_sigma";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SX)) {
-				sql += "sx";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SY)) {
-				sql += "sy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SXY)) {
-				sql += "sxy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_PRINCIPAL)) {
-				sql += "min_sigma";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SX)) {
-				sql += "sx";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SY)) {
-				sql += "sy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SXY)) {
-				sql += "sxy";
-			}
-			else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ROTATED_STRESS)) {
-				sql += "(0.5 * (sx + sy) + 0.5 * (sx - sy) * cos(2 * " + input.getRotationAngle() + ") + sxy * sin(2 * " + input.getRotationAngle() + "))";
-			}
-			sql += " asc";
+		else if (loadCriteria.equals("MIN"))
+			return row -> -getSortStress(stresses, row, loadCriteria);
+
+		// no sorting
+		return row -> 0.0;
+	}
+
+	/**
+	 * Returns the stress to sort the given row by, for the given stress sorting criteria and load criteria from the conversion table.
+	 *
+	 * @param stresses
+	 *            Stresses of the element.
+	 * @param row
+	 *            Stress row.
+	 * @param loadCriteria
+	 *            Load criteria.
+	 * @return The stress to sort by.
+	 */
+	private double getSortStress(ExcaliburElementStresses stresses, int row, String loadCriteria) {
+
+		// get stresses
+		double sx = stresses.getStress(row, SX);
+		double sy = stresses.getStress(row, SY);
+		double sxy = stresses.getStress(row, SXY);
+
+		// get stress sorting criteria
+		ExcaliburStressSortingCriteria criteria = input.getStressSortingCriteria();
+
+		// rotated stress
+		if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ROTATED_STRESS)) {
+			double angle = input.getRotationAngle();
+			return 0.5 * (sx + sy) + 0.5 * (sx - sy) * Math.cos(2 * angle) + sxy * Math.sin(2 * angle);
 		}
 
-		// return query
-		return sql;
+		// stress components
+		if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SX))
+			return loadCriteria.equals("MAX_ABS") ? Math.abs(sx) : sx;
+		else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SY))
+			return loadCriteria.equals("MAX_ABS") ? Math.abs(sy) : sy;
+		else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_SXY))
+			return loadCriteria.equals("MAX_ABS") ? Math.abs(sxy) : sxy;
+		else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SX))
+			return sx;
+		else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SY))
+			return sy;
+		else if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_SXY))
+			return sxy;
+
+		// calculate principal stresses
+		double a = 0.5 * (sx + sy);
+		double b = Math.sqrt(Math.pow(0.5 * (sx - sy), 2.0) + Math.pow(sxy, 2.0));
+		double sigma1 = a + b;
+		double sigma2 = a - b;
+
+		// maximum absolute principal stress (only for 'MAX_ABS' load criteria)
+		if (criteria.equals(ExcaliburElement2DStressSortingCriteria.MAX_ABS_PRINCIPAL) && loadCriteria.equals("MAX_ABS"))
+			return Math.max(Math.abs(sigma1), Math.abs(sigma2));
+
+		// maximum or minimum principal stress
+		return loadCriteria.equals("MIN") ? Math.min(sigma1, sigma2) : Math.max(sigma1, sigma2);
 	}
 
 	/**
 	 * Adds delta-p stresses to output file.
 	 *
-	 * @param selectStresses
-	 *            Database statement for selecting stresses.
+	 * @param selectAttributesTable
+	 *            Database statement for selecting attributes table rows.
+	 * @param stresses
+	 *            Stresses of the element.
 	 * @param writer
 	 *            File writer.
 	 * @return Delta-p issy code ID in attributes table.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private long addDP(Statement selectStresses, BufferedWriter writer) throws Exception {
+	private long addDP(Statement selectAttributesTable, ExcaliburElementStresses stresses, BufferedWriter writer) throws Exception {
 
 		// initialize delta-p issy code ID in attributes table
 		long deltapID = -1L;
@@ -540,7 +500,7 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 		sql += sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + "' and ";
 		sql += "(ref_intensity like '%mbar%' or UPPER(event_name) = 'PRESSLC' or UPPER(segment) = 'ALL') ";
 		sql += "order by issy_code asc";
-		try (ResultSet attributesTable = selectStresses.executeQuery(sql)) {
+		try (ResultSet attributesTable = selectAttributesTable.executeQuery(sql)) {
 			if (attributesTable.next()) {
 				issyCode = attributesTable.getString("issy_code");
 				deltapID = attributesTable.getLong("id");
@@ -558,42 +518,37 @@ public class ExcaliburSort2DElementStresses extends InternalEquinoxTask<Void> im
 			return deltapID;
 		}
 
-		// select stresses
-		sql = "select sx, sy, sxy from " + analysisTables[Excalibur.STF_STRESSES] + " where file_id = ";
-		sql += stfFileID + " and lc_num = " + dp + " order by abs_max_sigma desc";
-		try (ResultSet stresses = selectStresses.executeQuery(sql)) {
-
-			// loop over stresses
-			int found = 0;
-			String line;
-			while (stresses.next()) {
-				line = String.format("%-10s", issyCode);
-				line += String.format("%-10s", numberFormat_.format(stresses.getDouble("sx")));
-				line += String.format("%-10s", numberFormat_.format(stresses.getDouble("sy")));
-				line += String.format("%-10s", numberFormat_.format(stresses.getDouble("sxy")));
-				writer.write(line);
-				writer.newLine();
-				found++;
-			}
+		// get delta-p stresses
+		int row = stresses.getRow(dp);
+		String line;
 
-			// no stress found
-			if (found == 0) {
-				if (logger_ != null) {
-					String msg = "No stress found in stress input file for delta-p load case - ";
-					msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
-					msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
-					msg += "user supplied delta-p load case number: " + dp + ", ";
-					msg += "delta-p ISSY code in attributes table: " + issyCode + ". ";
-					msg += "Stresses will be set to 0.0 for load case '" + issyCode + "' in the output STF file.";
-					logger_.warning(msg);
-				}
-				line = String.format("%-10s", issyCode);
-				line += String.format("%-10s", numberFormat_.format(0.0));
-				line += String.format("%-10s", numberFormat_.format(0.0));
-				line += String.format("%-10s", numberFormat_.format(0.0));
-				writer.write(line);
-				writer.newLine();
+		// no stress found
+		if (row == -1) {
+			if (logger_ != null) {
+				String msg = "No stress found in stress input file for delta-p load case - ";
+				msg += "section: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.SECTION] + ", ";
+				msg += "mission: " + sectionMission[ExcaliburLoadLoadcaseCorrelations.MISSION] + ", ";
+				msg += "user supplied delta-p load case number: " + dp + ", ";
+				msg += "delta-p ISSY code in attributes table: " + issyCode + ". ";
+				msg += "Stresses will be set to 0.0 for load case '" + issyCode + "' in the output STF file.";
+				logger_.warning(msg);
 			}
+			line = String.format("%-10s", issyCode);
+			line += String.format("%-10s", numberFormat_.format(0.0));
+			line += String.format("%-10s", numberFormat_.format(0.0));
+			line += String.format("%-10s", numberFormat_.format(0.0));
+			writer.write(line);
+			writer.newLine();
+		}
+
+		// write stresses
+		else {
+			line = String.format("%-10s", issyCode);
+			line += String.format("%-10s", numberFormat_.format(stresses.getStress(row, SX)));
+			line += String.format("%-10s", numberFormat_.format(stresses.getStress(row, SY)));
+			line += String.format("%-10s", numberFormat_.format(stresses.getStress(row, SXY)));
+			writer.write(line);
+			writer.newLine();
 		}
 
 		// return delta-p issy code id in attributes table
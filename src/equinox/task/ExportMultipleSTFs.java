@@ -36,6 +36,7 @@ import equinox.plugin.FileType;
 import equinox.process.SaveSTFFile;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
+import equinox.utility.DeletedFiles;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 import jxl.CellType;
@@ -168,7 +169,7 @@ public class ExportMultipleSTFs extends InternalEquinoxTask<Void> implements Lon
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 			// prepare statement for getting STF file info
-			String sql = "select * from stf_files where cdf_id = ? order by name";
+			String sql = "select * from stf_files where cdf_id = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id") + " order by name";
 			try (PreparedStatement getSTFs = connection.prepareStatement(sql)) {
 
 				// prepare statement for getting pilot point images
@@ -29,6 +29,7 @@ import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
+import equinox.utility.DeletedFiles;
 import equinox.utility.Utility;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
@@ -149,7 +150,7 @@ public class ExportMultipleSpectra extends TemporaryFileCreatingTask<Void> imple
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 			// prepare statement for getting spectrum info
-			String sql = "select * from cdf_sets where set_id = ?";
+			String sql = "select * from cdf_sets where set_id = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.SPECTRUM, "set_id");
 			try (PreparedStatement getSpectrumInfo = connection.prepareStatement(sql)) {
 
 				// prepare statement for getting ANA file
@@ -31,6 +31,7 @@ import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
 import equinox.data.AnalysisEngine;
+import equinox.data.EquivalentStressEngine;
 import equinox.data.FastESAOutput;
 import equinox.data.IsamiSubVersion;
 import equinox.data.IsamiVersion;
@@ -54,6 +55,7 @@ import equinox.process.ESAProcess;
 import equinox.process.InbuiltFastESA;
 import equinox.process.InbuiltFlightDCA;
 import equinox.process.IsamiFastESA;
+import equinox.process.NativeFastESA;
 import equinox.process.SafeFastESA;
 import equinox.process.SafeFlightDCA;
 import equinox.serverUtilities.Permission;
@@ -100,6 +102,9 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 	/** Input files. */
 	private Path sequenceFile_, flsFile_ = null;
 
+	/** Equivalent stress engine containing the counted cycles of the sequence (used by native analysis engine). */
+	private EquivalentStressEngine engine_ = null;
+
 	/** Material. */
 	private final Material material_;
 
@@ -263,6 +268,16 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 		flsFile_ = flsFile;
 	}
 
+	/**
+	 * Sets the equivalent stress engine containing the counted cycles of the stress sequence. This is used by native analysis engine instead of stress sequence and FLS files. The engine can be shared by the analyses of different materials.
+	 *
+	 * @param engine
+	 *            Equivalent stress engine containing the counted cycles of the sequence.
+	 */
+	public void setEngine(EquivalentStressEngine engine) {
+		engine_ = engine;
+	}
+
 	@Override
 	public String getTaskTitle() {
 		String title = " analysis for '" + (stfFile_ == null ? stfName_ : stfFile_.getName()) + "'";
@@ -722,6 +737,12 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 			}
 		}
 
+		// native engine (only supports equivalent stress analysis of fast stress sequences)
+		else if (analysisEngine_.equals(AnalysisEngine.NATIVE)) {
+			addWarning("Native analysis engine doesn't support typical flight damage contribution analysis. Falling back to inbuilt analysis engine.");
+			analysisProcess_ = new InbuiltFlightDCA(this, sequenceFile_, flsFile_, flsID_, (FatigueMaterial) material_, validity_, useExtended_, keepFailedOutputs);
+		}
+
 		// inbuilt engine
 		else {
 			analysisProcess_ = new InbuiltFlightDCA(this, sequenceFile_, flsFile_, flsID_, (FatigueMaterial) material_, validity_, useExtended_, keepFailedOutputs);
@@ -1210,8 +1231,15 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 		boolean isFallback = (boolean) taskPanel_.getOwner().getOwner().getSettings().getValue(Settings.FALLBACK_TO_INBUILT);
 		boolean keepOutputs = (boolean) taskPanel_.getOwner().getOwner().getSettings().getValue(Settings.KEEP_ANALYSIS_OUTPUTS);
 
-		// generate output file name
-		String outputFileName = !keepOutputs ? null : generateOutputFileName(analysisEngine_.getOutputFileType());
+		// native engine not cross validated (cycles can only be counted in advance if cross validated)
+		boolean isNative = analysisEngine_.equals(AnalysisEngine.NATIVE);
+		if (isNative && engine_ == null && !CrossValidateNativeEngine.isPassed()) {
+			addWarning("Native analysis engine has not passed the cross validation against inbuilt analysis engine. Falling back to inbuilt analysis engine.");
+			isNative = false;
+		}
+
+		// generate output file name (native engine doesn't produce output files)
+		String outputFileName = !keepOutputs || isNative ? null : generateOutputFileName(analysisEngine_.getOutputFileType());
 
 		// ISAMI engine
 		if (analysisEngine_.equals(AnalysisEngine.ISAMI)) {
@@ -1271,6 +1299,16 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 			}
 		}
 
+		// native engine
+		else if (isNative) {
+
+			// output files cannot be kept
+			if (keepOutputs) {
+				addWarning("Native analysis engine doesn't produce analysis output files. Analysis outputs are not kept.");
+			}
+			analysisProcess_ = new NativeFastESA(this, engine_, sequenceFile_, flsFile_, material_, validity_);
+		}
+
 		// inbuilt engine
 		else {
 			analysisProcess_ = new InbuiltFastESA(this, sequenceFile_, flsFile_, material_, validity_, useExtended_, keepOutputs, outputFileName);
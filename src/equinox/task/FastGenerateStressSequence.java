@@ -15,11 +15,8 @@
  */
 package equinox.task;
 
-import java.io.File;
-import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
@@ -35,8 +32,10 @@ import java.util.concurrent.ExecutionException;
 import equinox.Equinox;
 import equinox.controller.ActiveTasksPanel;
 import equinox.data.AnalysisEngine;
+import equinox.data.EquivalentStressEngine;
 import equinox.data.IsamiSubVersion;
 import equinox.data.IsamiVersion;
+import equinox.data.PeakSequence;
 import equinox.data.Settings;
 import equinox.data.fileType.STFFile;
 import equinox.data.fileType.Spectrum;
@@ -45,10 +44,11 @@ import equinox.data.input.FastEquivalentStressInput;
 import equinox.dataServer.remote.data.Material;
 import equinox.plugin.FileType;
 import equinox.process.EquinoxProcess;
+import equinox.process.FastGeneratePeakSequence;
 import equinox.process.FastGenerateSigma;
 import equinox.process.FastGenerateSth;
+import equinox.process.NativeFastESA;
 import equinox.serverUtilities.Permission;
-import equinox.serverUtilities.ServerUtility;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
@@ -86,9 +86,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 	/** True if typical flight damage contribution analysis is requested. */
 	private final boolean isFlightDamageContributionAnalysis_;
 
-	/** Omission process. */
-	private Process omission_;
-
 	/** Analysis engine. */
 	private final AnalysisEngine analysisEngine_;
 
@@ -230,7 +227,8 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		checkPermission(Permission.GENERATE_STRESS_SEQUENCE);
 
 		// declare variables
-		Path sequenceFile, flsFile = null;
+		Path sequenceFile = null, flsFile = null;
+		EquivalentStressEngine engine = null;
 		int validity;
 		boolean useExtended;
 
@@ -254,30 +252,43 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 			// get spectrum validity
 			validity = getValidity(connection);
 
-			// generate stress sequence file
-			sequenceFile = generateStressSequence(connection, generateSigmaFile, validity);
+			// native engine (peak sequence is generated into memory and rainflow counted once for all materials)
+			if (isNativeEngine()) {
+
+				// generate peak sequence (omission is applied during generation, if selected)
+				PeakSequence peakSequence = new FastGeneratePeakSequence(this, input_, stfFile_, stfID_, stressTableID_, spectrum_).start(connection);
+
+				// task cancelled
+				if (isCancelled() || peakSequence == null)
+					return null;
 
-			// task cancelled
-			if (isCancelled() || sequenceFile == null)
-				return null;
+				// count cycles
+				engine = NativeFastESA.count(this, peakSequence);
 
-			// apply omission (if selected and not 0-level)
-			if (input_.isApplyOmission() && input_.getOmissionLevel() > 0.0) {
-				sequenceFile = applyOmission(sequenceFile);
+				// task cancelled
+				if (isCancelled() || engine == null)
+					return null;
 			}
 
-			// task cancelled
-			if (isCancelled())
-				return null;
+			// other engines
+			else {
+
+				// generate stress sequence file (omission is applied during generation, if selected)
+				sequenceFile = generateStressSequence(connection, generateSigmaFile, validity);
 
-			// save FLS file (if not ISAMI analysis)
-			if (!isIsami) {
-				flsFile = saveFLSFile(getWorkingDirectory().resolve("input.fls"), connection, flsFileID);
+				// task cancelled
+				if (isCancelled() || sequenceFile == null)
+					return null;
+
+				// save FLS file (if not ISAMI analysis)
+				if (!isIsami) {
+					flsFile = saveFLSFile(getWorkingDirectory().resolve("input.fls"), connection, flsFileID);
+				}
 			}
 		}
 
 		// create and return equivalent stress analysis tasks
-		return createEquivalentStressAnalysisTasks(sequenceFile, flsFile, validity, anaFileID, flsFileID, useExtended);
+		return createEquivalentStressAnalysisTasks(sequenceFile, flsFile, engine, validity, anaFileID, flsFileID, useExtended);
 	}
 
 	@Override
@@ -319,11 +330,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		// call ancestor
 		super.cancelled();
 
-		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
-
 		// manage automatic tasks
 		automaticTaskOwnerFailed(automaticTasks_, executeAutomaticTasksInParallel_);
 	}
@@ -334,11 +340,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		// call ancestor
 		super.failed();
 
-		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
-
 		// manage automatic tasks
 		automaticTaskOwnerFailed(automaticTasks_, executeAutomaticTasksInParallel_);
 	}
@@ -347,9 +348,11 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 	 * Creates and returns equivalent stress analysis tasks.
 	 *
 	 * @param sequenceFile
-	 *            Stress sequence file.
+	 *            Stress sequence file. Null if cycles are counted in memory.
 	 * @param flsFile
 	 *            FLS file.
+	 * @param engine
+	 *            Equivalent stress engine containing the counted cycles of the sequence, shared by the analyses of all materials. Null if stress sequence file is generated.
 	 * @param validity
 	 *            Spectrum validity.
 	 * @param anaFileID
@@ -362,7 +365,7 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private ArrayList<FastEquivalentStressAnalysis> createEquivalentStressAnalysisTasks(Path sequenceFile, Path flsFile, int validity, int anaFileID, int flsFileID, boolean useExtended) throws Exception {
+	private ArrayList<FastEquivalentStressAnalysis> createEquivalentStressAnalysisTasks(Path sequenceFile, Path flsFile, EquivalentStressEngine engine, int validity, int anaFileID, int flsFileID, boolean useExtended) throws Exception {
 
 		// progress info
 		updateMessage("Creating equivalent stress analysis tasks...");
@@ -391,6 +394,13 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 				task.setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_);
 			}
 
+			// set shared equivalent stress engine
+			if (engine != null) {
+				task.setEngine(engine);
+				tasks.add(task);
+				continue;
+			}
+
 			// copy and set stress sequence file
 			FileType sequenceFileType = FileType.getFileType(sequenceFile.toFile());
 			Path sequenceFileCopy = task.getWorkingDirectory().resolve("input." + (sequenceFileType.equals(FileType.SIGMA) ? "sigma" : "sth"));
@@ -410,74 +420,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		return tasks;
 	}
 
-	/**
-	 * Runs omission script on a separate process. This method will wait till the process has ended.
-	 *
-	 * @param inputSTH
-	 *            Input STH file.
-	 * @return Path to omission output file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Path applyOmission(Path inputSTH) throws Exception {
-
-		// update info
-		updateMessage("Applying omission to stress sequence '" + inputSTH.getFileName() + "'...");
-		updateProgress(-1, 100);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get input STH file name
-		Path inputSTHFileName = inputSTH.getFileName();
-		if (inputSTHFileName == null)
-			throw new Exception("Cannot get input STH file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait till it ends
-		Path workingDir = getWorkingDirectory();
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve("omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omission_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omission_.getInputStream().read() == -1;
-
-		// process failed
-		if (omission_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
-		Path output = Paths.get(inputSTH.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
-	}
-
 	/**
 	 * Retrieves and returns the validity of spectrum from FLS file.
 	 *
@@ -564,6 +506,15 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		return output;
 	}
 
+	/**
+	 * Returns true if native analysis engine will be used for analysis. Native engine is not used for flight damage contribution analysis, or if it has not passed the cross validation against inbuilt engine.
+	 *
+	 * @return True if native analysis engine will be used for analysis.
+	 */
+	private boolean isNativeEngine() {
+		return analysisEngine_.equals(AnalysisEngine.NATIVE) && !isFlightDamageContributionAnalysis_ && CrossValidateNativeEngine.isPassed();
+	}
+
 	/**
 	 * Returns true if ISAMI analysis engine will be used for analysis.
 	 *
@@ -57,16 +57,17 @@ import org.jfree.ui.RectangleInsets;
 
 import equinox.Equinox;
 import equinox.controller.DamageContributionViewPanel;
+import equinox.data.ANAPeakCursor;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
 import equinox.data.DTInterpolation;
 import equinox.data.DTInterpolator;
-import equinox.data.LoadcaseFactor;
 import equinox.data.OnegStress;
 import equinox.data.Segment;
-import equinox.data.SegmentFactor;
 import equinox.data.StressComponent;
+import equinox.data.StressSequenceKernel;
+import equinox.data.StressSequenceKernel.ModifierCache;
 import equinox.data.fileType.FastFatigueEquivalentStress;
 import equinox.data.fileType.FastLinearEquivalentStress;
 import equinox.data.fileType.FastPreffasEquivalentStress;
@@ -89,6 +90,9 @@ import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.ANAPeakReader;
+import equinox.utility.PeakFormatter;
+import equinox.utility.StatementCache;
 import equinox.utility.Utility;
 
 /**
@@ -113,7 +117,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	private int rowIndex_ = 0, colIndex_ = 0;
 
 	/** STH line. */
-	private String line_;
+	private final PeakFormatter line_ = new PeakFormatter("0.00", 10);
 
 	/** Omission process. */
 	private Process omission_;
@@ -319,49 +323,53 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		// create statement
 		try (Statement statement = connection.createStatement()) {
 
-			// get analysis input
-			FastEquivalentStressInput input = getAnalysisInput(statement);
+			// create statement cache
+			try (StatementCache statements = new StatementCache(connection)) {
 
-			// generate stress sequence
-			Path sthFile = generateStressSequence(connection, statement, input, stfFile);
+				// get analysis input
+				FastEquivalentStressInput input = getAnalysisInput(statement);
 
-			// task cancelled
-			if (isCancelled() || sthFile == null)
-				return;
+				// generate stress sequence
+				Path sthFile = generateStressSequence(connection, statement, statements, input, stfFile);
 
-			// apply omission
-			if (input.isApplyOmission()) {
-				sthFile = applyOmission(sthFile, input);
-			}
+				// task cancelled
+				if (isCancelled() || sthFile == null)
+					return;
 
-			// task cancelled
-			if (isCancelled())
-				return;
+				// apply omission
+				if (input.isApplyOmission()) {
+					sthFile = applyOmission(sthFile, input);
+				}
 
-			// create rainflow cycles table
-			String rainflowCyclesTableName = createRainflowCyclesTable(statement);
+				// task cancelled
+				if (isCancelled())
+					return;
 
-			// set progress indeterminate
-			updateProgress(-1, 100);
+				// create rainflow cycles table
+				String rainflowCyclesTableName = createRainflowCyclesTable(statement);
 
-			// run rainflow process
-			rainflow_ = new Rainflow(this, sthFile, eqStress_, rainflowCyclesTableName);
-			rainflow_.start(connection);
+				// set progress indeterminate
+				updateProgress(-1, 100);
 
-			// plot level crossings
-			Path levelCrossingsPlotFile = plotLevelCrossings(connection, stfFile, rainflowCyclesTableName);
+				// run rainflow process
+				rainflow_ = new Rainflow(this, sthFile, eqStress_, rainflowCyclesTableName);
+				rainflow_.start(connection);
 
-			// save level crossings plot
-			saveLevelCrossingPlot(statement, connection, levelCrossingsPlotFile, stfFile);
+				// plot level crossings
+				Path levelCrossingsPlotFile = plotLevelCrossings(connection, stfFile, rainflowCyclesTableName);
+
+				// save level crossings plot
+				saveLevelCrossingPlot(statement, connection, levelCrossingsPlotFile, stfFile);
 
-			// plot rainflow histogram
-			Path rainflowHistogramPlotFile = plotRainflowHistogram(connection, stfFile, rainflowCyclesTableName);
+				// plot rainflow histogram
+				Path rainflowHistogramPlotFile = plotRainflowHistogram(connection, stfFile, rainflowCyclesTableName);
 
-			// save rainflow histogram plot
-			saveRainflowHistogramPlot(statement, connection, rainflowHistogramPlotFile, stfFile);
+				// save rainflow histogram plot
+				saveRainflowHistogramPlot(statement, connection, rainflowHistogramPlotFile, stfFile);
 
-			// remove rainflow cycles table
-			statement.executeUpdate("drop table AURORA." + rainflowCyclesTableName);
+				// remove rainflow cycles table
+				statement.executeUpdate("drop table AURORA." + rainflowCyclesTableName);
+			}
 		}
 	}
 
@@ -747,6 +755,8 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param input
 	 *            Analysis inputs.
 	 * @param stfFile
@@ -755,7 +765,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Path generateStressSequence(Connection connection, Statement statement, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
+	private Path generateStressSequence(Connection connection, Statement statement, StatementCache statements, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
 
 		// update info
 		updateMessage("Generating stress sequence...");
@@ -784,75 +794,74 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 
 			// get DP ratio
 			updateMessage("Computing delta-p ratio...");
-			DPRatio dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID, input, stfFile);
+			DPRatio dpRatio = getDPRatio(connection, statement, statements, anaFileID, txtFileID, convTableID, input, stfFile);
 
 			// get DT parameters
 			updateMessage("Computing delta-t interpolation...");
-			DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID, input, stfFile);
+			DTInterpolator dtInterpolator = getDTInterpolator(statement, statements, txtFileID, input, stfFile);
 
 			// get number of flights and peaks of the ANA file
 			int numPeaks = getNumberOfPeaks(statement, anaFileID);
 
-			// prepare statement for selecting ANA peaks
-			String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-			try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
+			// create ANA peak reader
+			try (ANAPeakReader peakReader = new ANAPeakReader(connection, anaFileID)) {
 
 				// prepare statement for selecting 1g issy code
-				sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
+				String sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = ? and one_g_code = ? and increment_num = 0";
 				try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
+					select1GIssyCode.setInt(1, txtFileID); // TXT file ID
 
 					// prepare statement for selecting increment issy code
-					sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
+					sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
 					try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
+						selectIncrementIssyCode.setInt(1, txtFileID); // TXT file ID
 
-						// prepare statement for selecting STF stress
-						sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-						try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
+						// get statement for selecting STF stress
+						PreparedStatement selectSTFStress = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stfFile.getStressTableID());
+						selectSTFStress.setInt(1, stfFile.getID());
 
-							// execute query for selecting ANA flights
-							sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
-							try (ResultSet anaFlights = statement.executeQuery(sql)) {
+						// execute query for selecting ANA flights
+						sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
+						try (ResultSet anaFlights = statement.executeQuery(sql)) {
 
-								// loop over flights
-								HashMap<String, OnegStress> oneg = new HashMap<>();
-								HashMap<String, Double> inc = new HashMap<>();
-								int peakCount = 0;
-								while (anaFlights.next()) {
+							// loop over flights
+							HashMap<String, OnegStress> oneg = new HashMap<>();
+							HashMap<String, Double> inc = new HashMap<>();
+							ModifierCache modifiers = new ModifierCache(input);
+							int peakCount = 0;
+							while (anaFlights.next()) {
 
-									// task cancelled
-									if (isCancelled())
-										return null;
+								// task cancelled
+								if (isCancelled())
+									return null;
 
-									// write flight header
-									int flightPeaks = anaFlights.getInt("num_peaks");
-									writeFlightHeader(writer, anaFlights, flightPeaks);
+								// write flight header
+								int flightPeaks = anaFlights.getInt("num_peaks");
+								writeFlightHeader(writer, anaFlights, flightPeaks);
 
-									// initialize variables
-									int rem = flightPeaks % NUM_COLS;
-									int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
-									rowIndex_ = 0;
-									colIndex_ = 0;
-									line_ = "";
+								// initialize variables
+								int rem = flightPeaks % NUM_COLS;
+								int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
+								rowIndex_ = 0;
+								colIndex_ = 0;
+								line_.clear();
 
-									// execute statement for getting ANA peaks
-									selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-									try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
+								// get ANA peaks
+								ANAPeakCursor anaPeaks = peakReader.read(anaFlights.getInt("flight_id"));
 
-										// loop over peaks
-										while (anaPeaks.next()) {
+								// loop over peaks
+								while (anaPeaks.next()) {
 
-											// task cancelled
-											if (isCancelled())
-												return null;
+									// task cancelled
+									if (isCancelled())
+										return null;
 
-											// update progress
-											updateProgress(peakCount, numPeaks);
-											peakCount++;
+									// update progress
+									updateProgress(peakCount, numPeaks);
+									peakCount++;
 
-											// insert peak into STH peaks table
-											writeSTHPeak(writer, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio, dtInterpolator, rem, numRows, input);
-										}
-									}
+									// insert peak into STH peaks table
+									writeSTHPeak(writer, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio, dtInterpolator, rem, numRows, modifiers, input);
 								}
 							}
 						}
@@ -890,16 +899,18 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 *            Number of rows to write.
 	 * @param rem
 	 *            Remaining number of columns in the STH output file.
+	 * @param modifiers
+	 *            Compiled stress modifiers.
 	 * @param input
 	 *            Analysis input.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeSTHPeak(BufferedWriter writer, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OnegStress> oneg, HashMap<String, Double> inc, DPRatio dpRatio, DTInterpolator dtInterpolator,
-			int rem, int numRows, FastEquivalentStressInput input) throws Exception {
+	private void writeSTHPeak(BufferedWriter writer, ANAPeakCursor anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OnegStress> oneg, HashMap<String, Double> inc, DPRatio dpRatio, DTInterpolator dtInterpolator,
+			int rem, int numRows, ModifierCache modifiers, FastEquivalentStressInput input) throws Exception {
 
 		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
+		String classCode = anaPeaks.getFourteenDigitCode();
 		String onegCode = classCode.substring(0, 4);
 
 		// get 1g stress
@@ -920,20 +931,20 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		}
 
 		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
+		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDeltaP());
 		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress, input);
+			dpStress = modifiers.modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
 		}
 
 		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
+		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDeltaT());
 		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
 			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress, input);
+			dtStress = modifiers.modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
 		}
 		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
 			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress, input);
+			dtStress = modifiers.modify2PointDTStress(twoPoints, segment, dtStress);
 		}
 
 		// compute and modify total stress
@@ -943,14 +954,13 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		if (rowIndex_ == numRows - 1) {
 
 			// add peaks
-			line_ += String.format("%10s", format_.format(totalStress));
+			line_.append(totalStress);
 			colIndex_++;
 
 			// last column
 			if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-				writer.write(line_);
+				line_.write(writer);
 				writer.newLine();
-				line_ = "";
 				colIndex_ = 0;
 				rowIndex_++;
 			}
@@ -960,87 +970,19 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		else {
 
 			// add peaks
-			line_ += String.format("%10s", format_.format(totalStress));
+			line_.append(totalStress);
 			colIndex_++;
 
 			// last column
 			if (colIndex_ == NUM_COLS) {
-				writer.write(line_);
+				line_.write(writer);
 				writer.newLine();
-				line_ = "";
 				colIndex_ = 0;
 				rowIndex_++;
 			}
 		}
 	}
 
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return The modified stress value.
-	 */
-	private static double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
 	/**
 	 * Sets increment stress to given ANA peak.
 	 *
@@ -1077,11 +1019,11 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 			}
 
 			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction
+			selectIncrementIssyCode.setString(2, onegCode); // 1g code
+			selectIncrementIssyCode.setInt(3, i + 1); // increment number
+			selectIncrementIssyCode.setString(4, block.substring(1)); // direction
 																		// number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor
+			selectIncrementIssyCode.setString(5, block.substring(0, 1)); // factor
 																			// number
 
 			// query issy code, factor and event name
@@ -1128,7 +1070,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		// get 1G issy code and event name
 		String issyCode = null, event = null, segmentName = null;
 		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
+		select1gIssyCode.setString(2, onegCode); // 1g code
 		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
 			while (resultSet.next()) {
 
@@ -1169,57 +1111,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 * @return The modified stress value.
 	 */
 	private static double modifyStress(String issyCode, Segment segment, int stressType, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+		return StressSequenceKernel.modifyStress(input, issyCode, segment, stressType, stress);
 	}
 
 	/**
@@ -1238,7 +1130,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	private static double getSTFStress(PreparedStatement selectSTFStress, String issyCode, FastEquivalentStressInput input) throws Exception {
 		StressComponent component = input.getStressComponent();
 		double angle = input.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
+		selectSTFStress.setString(2, issyCode); // issy code
 		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
 			while (resultSet.next())
 				if (component.equals(StressComponent.NORMAL_X))
@@ -1316,10 +1208,10 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	/**
 	 * Returns delta-t interpolation, or null if no delta-t interpolation is supplied.
 	 *
-	 * @param connection
-	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param txtFileID
 	 *            TXT file ID.
 	 * @param input
@@ -1330,7 +1222,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DTInterpolator getDTInterpolator(Connection connection, Statement statement, int txtFileID, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
+	private DTInterpolator getDTInterpolator(Statement statement, StatementCache statements, int txtFileID, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
 
 		// no delta-t interpolation
 		DTInterpolation interpolation = input.getDTInterpolation();
@@ -1358,64 +1250,63 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		}
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
+			// get statement for selecting STF stresses
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stfFile.getStressTableID());
+			statement2.setInt(1, stfFile.getID());
 
-				// loop over delta-t cases
-				while (resultSet.next()) {
+			// loop over delta-t cases
+			while (resultSet.next()) {
 
-					// set issy code
-					String issyCode = resultSet.getString("issy_code");
-					statement2.setString(1, issyCode);
-
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
+				// set issy code
+				String issyCode = resultSet.getString("issy_code");
+				statement2.setString(2, issyCode);
 
-					// 1 point interpolation
-					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-						dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-						supLCFound = true;
-						break;
-					}
+				// get delta-p stress from STF file
+				double stress = 0.0;
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next())
+						if (component.equals(StressComponent.NORMAL_X)) {
+							stress = resultSet2.getDouble("stress_x");
+						}
+						else if (component.equals(StressComponent.NORMAL_Y)) {
+							stress = resultSet2.getDouble("stress_y");
+						}
+						else if (component.equals(StressComponent.SHEAR_XY)) {
+							stress = resultSet2.getDouble("stress_xy");
+						}
+						else if (component.equals(StressComponent.ROTATED)) {
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
+							stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
+						}
+				}
 
-					// 2 points interpolation
-					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+				// 1 point interpolation
+				if (interpolation.equals(DTInterpolation.ONE_POINT)) {
+					dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+					supLCFound = true;
+					break;
+				}
 
-						// create interpolator
-						if (dtInterpolator == null) {
-							dtInterpolator = new DT2PointsInterpolator();
-						}
+				// 2 points interpolation
+				else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
 
-						// superior load case
-						if (issyCode.equals(input.getDTLoadcaseSup())) {
-							((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-							supLCFound = true;
-						}
+					// create interpolator
+					if (dtInterpolator == null) {
+						dtInterpolator = new DT2PointsInterpolator();
+					}
 
-						// inferior load case
-						else if (issyCode.equals(input.getDTLoadcaseInf())) {
-							((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
-							infLCFound = true;
-						}
+					// superior load case
+					if (issyCode.equals(input.getDTLoadcaseSup())) {
+						((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+						supLCFound = true;
+					}
+
+					// inferior load case
+					else if (issyCode.equals(input.getDTLoadcaseInf())) {
+						((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
+						infLCFound = true;
 					}
 				}
 			}
@@ -1445,6 +1336,8 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param anaFileID
 	 *            ANA file ID.
 	 * @param txtFileID
@@ -1459,7 +1352,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DPRatio getDPRatio(Connection connection, Statement statement, int anaFileID, int txtFileID, int convTableID, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
+	private DPRatio getDPRatio(Connection connection, Statement statement, StatementCache statements, int anaFileID, int txtFileID, int convTableID, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
 
 		// get reference pressure
 		double refDP = getRefDP(connection, convTableID, anaFileID, input);
@@ -1481,42 +1374,41 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		// execute statement
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-				// loop over delta-p cases
-				while (resultSet.next()) {
+			// get statement for selecting STF stresses
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stfFile.getStressTableID());
+			statement2.setInt(1, stfFile.getID());
 
-					// set issy code
-					String issyCode = input.getDPLoadcase() == null ? resultSet.getString("issy_code") : input.getDPLoadcase();
-					statement2.setString(1, issyCode);
+			// loop over delta-p cases
+			while (resultSet.next()) {
 
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
+				// set issy code
+				String issyCode = input.getDPLoadcase() == null ? resultSet.getString("issy_code") : input.getDPLoadcase();
+				statement2.setString(2, issyCode);
 
-					// create delta-p ratio
-					dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
-					break;
+				// get delta-p stress from STF file
+				double stress = 0.0;
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next())
+						if (component.equals(StressComponent.NORMAL_X)) {
+							stress = resultSet2.getDouble("stress_x");
+						}
+						else if (component.equals(StressComponent.NORMAL_Y)) {
+							stress = resultSet2.getDouble("stress_y");
+						}
+						else if (component.equals(StressComponent.SHEAR_XY)) {
+							stress = resultSet2.getDouble("stress_xy");
+						}
+						else if (component.equals(StressComponent.ROTATED)) {
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
+							stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
+						}
 				}
+
+				// create delta-p ratio
+				dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
+				break;
 			}
 		}
 
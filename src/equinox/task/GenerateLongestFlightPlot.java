@@ -39,16 +39,7 @@ import org.jfree.data.xy.XYDataset;
 import org.jfree.ui.RectangleInsets;
 
 import equinox.Equinox;
-import equinox.data.DPRatio;
-import equinox.data.DT1PointInterpolator;
-import equinox.data.DT2PointsInterpolator;
-import equinox.data.DTInterpolation;
-import equinox.data.DTInterpolator;
-import equinox.data.LoadcaseFactor;
-import equinox.data.OnegStress;
-import equinox.data.Segment;
-import equinox.data.SegmentFactor;
-import equinox.data.StressComponent;
+import equinox.data.StressSequenceKernel;
 import equinox.data.fileType.FastFatigueEquivalentStress;
 import equinox.data.fileType.FastLinearEquivalentStress;
 import equinox.data.fileType.FastPreffasEquivalentStress;
@@ -56,8 +47,10 @@ import equinox.data.fileType.STFFile;
 import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.SpectrumItem;
 import equinox.data.input.FastEquivalentStressInput;
-import equinox.data.input.GenerateStressSequenceInput;
 import equinox.plugin.FileType;
+import equinox.process.CreateStressSequenceKernel;
+import equinox.process.FlightPeaksTableSink;
+import equinox.process.GenerateStressSequencePeaks;
 import equinox.process.PlotFlightProcess;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
@@ -65,7 +58,6 @@ import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.utility.CrosshairListenerXYPlot;
-import equinox.utility.Utility;
 
 /**
  * Class for generate longest typical flight plot task.
@@ -439,437 +431,25 @@ public class GenerateLongestFlightPlot extends TemporaryFileCreatingTask<Path> i
 		// update info
 		updateMessage("Generating flight peaks...");
 
-		// get spectrum file IDs
-		updateMessage("Getting spectrum file IDs from database...");
-		Spectrum cdfSet = stfFile.getParentItem();
-		int anaFileID = cdfSet.getANAFileID();
-		int txtFileID = cdfSet.getTXTFileID();
-		int convTableID = cdfSet.getConversionTableID();
-
-		// get DP ratio
-		updateMessage("Computing delta-p ratio...");
-		DPRatio dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID, stfFile, input);
-
-		// get DT parameters
-		updateMessage("Computing delta-t interpolation...");
-		DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID, stfFile, input);
+		// create stress sequence kernel
+		StressSequenceKernel kernel = new CreateStressSequenceKernel(this, input, input.getStressComponent(), input.getRotationAngle(), stfFile.getParentItem(), stfFile.getID(), stfFile.getStressTableID(), false).start(connection);
+		if (kernel == null)
+			return null;
 
 		// create peaks table
 		updateMessage("Creating flight peaks table...");
 		String sthPeaksTableName = createPeaksTable(statement);
 
-		// prepare statement for inserting STH peaks
-		String sql = "insert into " + sthPeaksTableName + "(peak_num, peak_val, oneg, dp, dt) values(?, ?, ?, ?, ?)";
-		try (PreparedStatement insertPeak = connection.prepareStatement(sql)) {
-
-			// prepare statement for selecting 1g issy code
-			sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-			try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-				// prepare statement for selecting increment issy code
-				sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 ";
-				sql += " from txt_codes where file_id = " + txtFileID;
-				sql += " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-				try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting STF stress
-					sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-					try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-						// execute statement for getting ANA peaks
-						sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = " + info.getFlightID();
-						try (ResultSet anaPeaks = statement.executeQuery(sql)) {
-
-							// loop over peaks
-							HashMap<String, OnegStress> oneg = new HashMap<>();
-							HashMap<String, Double> inc = new HashMap<>();
-							int peakCount = 0;
-							while (anaPeaks.next()) {
-
-								// task cancelled
-								if (isCancelled() || Thread.currentThread().isInterrupted())
-									return null;
-
-								// update progress
-								updateProgress(peakCount, info.getNumberOfPeaks());
-								peakCount++;
-
-								// insert peak into peaks table
-								insertPeak(anaPeaks, dpRatio, dtInterpolator, insertPeak, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, input);
-							}
-						}
-					}
-				}
-			}
+		// generate flight peaks into peaks table
+		try (FlightPeaksTableSink sink = new FlightPeaksTableSink(connection, sthPeaksTableName)) {
+			if (new GenerateStressSequencePeaks(this, kernel, stfFile.getParentItem().getANAFileID(), info.getFlightID(), sink).start(connection) == null)
+				return null;
 		}
 
 		// return name of peaks table
 		return sthPeaksTableName;
 	}
 
-	/**
-	 * Inserts peak into peaks table.
-	 *
-	 * @param anaPeaks
-	 *            Result set storing the ANA peaks.
-	 * @param dpRatio
-	 *            Delta-p ratio.
-	 * @param dtInterpolator
-	 *            Delta-t interpolator.
-	 * @param insertPeak
-	 *            Database statement for inserting peak.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g load case.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stresses.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment load case.
-	 * @param oneg
-	 *            1g stress mapping.
-	 * @param inc
-	 *            Incremental stress mapping.
-	 * @param input
-	 *            Analysis input.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static void insertPeak(ResultSet anaPeaks, DPRatio dpRatio, DTInterpolator dtInterpolator, PreparedStatement insertPeak, PreparedStatement select1gIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OnegStress> oneg,
-			HashMap<String, Double> inc, FastEquivalentStressInput input) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		int peakNum = anaPeaks.getInt("peak_num");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stress
-		OnegStress onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(selectSTFStress, select1gIssyCode, onegCode, input);
-			oneg.put(onegCode, onegStress);
-		}
-
-		// get segment
-		Segment segment = onegStress.getSegment();
-
-		// get increment stress
-		Double incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment, input);
-			inc.put(classCode, incStress);
-		}
-
-		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
-		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress, input);
-		}
-
-		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
-		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
-			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress, input);
-		}
-		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
-			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress, input);
-		}
-
-		// compute and modify total stress
-		double totalStress = onegStress.getStress() + incStress + dpStress + dtStress;
-
-		// execute update
-		insertPeak.setInt(1, peakNum); // peak number
-		insertPeak.setDouble(2, totalStress); // peak value (total stress)
-		insertPeak.setDouble(3, onegStress.getStress()); // 1g stress
-		insertPeak.setDouble(4, dpStress); // delta-p stress
-		insertPeak.setDouble(5, dtStress); // delta-t stress
-		insertPeak.executeUpdate();
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return The modified stress value.
-	 */
-	private static double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Sets increment stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
-	 * @param input
-	 *            Analysis input.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static Double getIncStress(PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment, FastEquivalentStressInput input) throws Exception {
-
-		// add default increment stress
-		double totalIncrementStress = 0.0;
-
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
-
-			// get increment block
-			String block = classCode.substring(2 * i + 4, 2 * i + 6);
-
-			// no increment
-			if (block.equals("00")) {
-				continue;
-			}
-
-			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction
-																		// number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor
-																			// number
-
-			// query issy code, factor and event name
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
-
-				// loop over increments
-				while (resultSet.next()) {
-
-					// get issy code, factor and event name
-					String issyCode = resultSet.getString("issy_code");
-					double factor = resultSet.getDouble("factor_" + block.substring(0, 1));
-
-					// compute and modify increment stress
-					double stress = factor * getSTFStress(selectSTFStress, issyCode, input);
-					stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.INCREMENT, stress, input);
-
-					// add to total increment stress
-					totalIncrementStress += stress;
-				}
-			}
-		}
-
-		// set increment stresses
-		return totalIncrementStress;
-	}
-
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @param input
-	 *            Analysis input.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static OnegStress get1GStress(PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode, FastEquivalentStressInput input) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
-		}
-
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and modify 1g stress
-		double stress = getSTFStress(selectSTFStress, issyCode, input);
-		stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.ONEG, stress, input);
-
-		// set to peak
-		return new OnegStress(segment, stress);
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return The modified stress value.
-	 */
-	private static double modifyStress(String issyCode, Segment segment, int stressType, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param input
-	 *            Analysis input.
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static double getSTFStress(PreparedStatement selectSTFStress, String issyCode, FastEquivalentStressInput input) throws Exception {
-		StressComponent component = input.getStressComponent();
-		double angle = input.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next())
-				if (component.equals(StressComponent.NORMAL_X))
-					return resultSet.getDouble("stress_x");
-				else if (component.equals(StressComponent.NORMAL_Y))
-					return resultSet.getDouble("stress_y");
-				else if (component.equals(StressComponent.SHEAR_XY))
-					return resultSet.getDouble("stress_xy");
-				else if (component.equals(StressComponent.ROTATED)) {
-					double x = resultSet.getDouble("stress_x");
-					double y = resultSet.getDouble("stress_y");
-					double xy = resultSet.getDouble("stress_xy");
-					return 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-				}
-		}
-		return 0.0;
-	}
-
 	/**
 	 * Creates STH peaks table.
 	 *
@@ -900,280 +480,6 @@ public class GenerateLongestFlightPlot extends TemporaryFileCreatingTask<Path> i
 		return tableName;
 	}
 
-	/**
-	 * Returns delta-t interpolation, or null if no delta-t interpolation is supplied.
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @param txtFileID
-	 *            TXT file ID.
-	 * @param stfFile
-	 *            STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return Delta-t interpolation, or null if no delta-t interpolation is supplied.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private DTInterpolator getDTInterpolator(Connection connection, Statement statement, int txtFileID, STFFile stfFile, FastEquivalentStressInput input) throws Exception {
-
-		// no delta-t interpolation
-		DTInterpolation interpolation = input.getDTInterpolation();
-		if (interpolation.equals(DTInterpolation.NONE))
-			return null;
-
-		// get reference temperatures
-		double[] refTemp = new double[2];
-		refTemp[0] = input.getReferenceDTSup() == null ? 0.0 : input.getReferenceDTSup().doubleValue();
-		refTemp[1] = input.getReferenceDTInf() == null ? 0.0 : input.getReferenceDTInf().doubleValue();
-
-		// set variables
-		DTInterpolator dtInterpolator = null;
-		StressComponent component = input.getStressComponent();
-		double angle = input.getRotationAngle();
-
-		// get delta-p issy code from TXT file
-		boolean supLCFound = false, infLCFound = false;
-		String sql = null;
-		if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-			sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID + " and issy_code = '" + input.getDTLoadcaseSup() + "'";
-		}
-		else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
-			sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID + " and (issy_code = '" + input.getDTLoadcaseSup() + "' or issy_code = '" + input.getDTLoadcaseInf() + "')";
-		}
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-				// loop over delta-t cases
-				while (resultSet.next()) {
-
-					// set issy code
-					String issyCode = resultSet.getString("issy_code");
-					statement2.setString(1, issyCode);
-
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
-
-					// 1 point interpolation
-					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-						dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-						supLCFound = true;
-						break;
-					}
-
-					// 2 points interpolation
-					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
-
-						// create interpolator
-						if (dtInterpolator == null) {
-							dtInterpolator = new DT2PointsInterpolator();
-						}
-
-						// superior load case
-						if (issyCode.equals(input.getDTLoadcaseSup())) {
-							((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-							supLCFound = true;
-						}
-
-						// inferior load case
-						else if (issyCode.equals(input.getDTLoadcaseInf())) {
-							((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
-							infLCFound = true;
-						}
-					}
-				}
-			}
-		}
-
-		// delta-t load case could not be found
-		if (interpolation.equals(DTInterpolation.ONE_POINT) && !supLCFound) {
-			warnings_ += "Delta-T superior load case '" + input.getDTLoadcaseSup() + "' could not be found.\n";
-		}
-		else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
-			if (!supLCFound) {
-				warnings_ += "Delta-T superior load case '" + input.getDTLoadcaseSup() + "' could not be found.\n";
-			}
-			if (!infLCFound) {
-				warnings_ += "Delta-T inferior load case '" + input.getDTLoadcaseInf() + "' could not be found.\n";
-			}
-		}
-
-		// return interpolator
-		return dtInterpolator;
-	}
-
-	/**
-	 * Returns delta-p ratio.
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @param txtFileID
-	 *            TXT file ID.
-	 * @param convTableID
-	 *            Conversion table ID.
-	 * @param stfFile
-	 *            STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return Delta-p ratio.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private DPRatio getDPRatio(Connection connection, Statement statement, int anaFileID, int txtFileID, int convTableID, STFFile stfFile, FastEquivalentStressInput input) throws Exception {
-
-		// get reference pressure
-		double refDP = getRefDP(connection, convTableID, anaFileID, input);
-
-		// set variables
-		DPRatio dpRatio = null;
-		StressComponent component = input.getStressComponent();
-		double angle = input.getRotationAngle();
-
-		// create statement to get delta-p event name and issy code
-		String sql = null;
-		if (input.getDPLoadcase() == null) {
-			sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID + " and dp_case = 1";
-		}
-		else {
-			sql = "select flight_phase from txt_codes where file_id = " + txtFileID + " and issy_code = '" + input.getDPLoadcase() + "'";
-		}
-
-		// execute statement
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-				// loop over delta-p cases
-				while (resultSet.next()) {
-
-					// set issy code
-					String issyCode = input.getDPLoadcase() == null ? resultSet.getString("issy_code") : input.getDPLoadcase();
-					statement2.setString(1, issyCode);
-
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
-
-					// create delta-p ratio
-					dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
-					break;
-				}
-			}
-		}
-
-		// delta-p load case could not be found
-		if (input.getDPLoadcase() != null && dpRatio == null) {
-			warnings_ += "Delta-P load case '" + input.getDPLoadcase() + "' could not be found.\n";
-		}
-
-		// return delta-p ratio
-		return dpRatio;
-	}
-
-	/**
-	 * Returns reference delta-p pressure. The process is composed of the following logic;
-	 * <UL>
-	 * <LI>If the reference delta-p pressure is supplied by the user, this value is returned. Otherwise, the process falls back to next step.
-	 * <LI>If the reference delta-p pressure is supplied within the conversion table, this value is returned. Otherwise, the process falls back to next step.
-	 * <LI>Maximum pressure value within the ANA file is returned.
-	 * </UL>
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param convTableID
-	 *            Conversion table ID.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @param input
-	 *            Analysis input.
-	 * @return Reference delta-p pressure.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static double getRefDP(Connection connection, int convTableID, int anaFileID, FastEquivalentStressInput input) throws Exception {
-
-		// initialize reference delta-p
-		double refPressure = input.getReferenceDP() == null ? 0.0 : input.getReferenceDP().doubleValue();
-
-		// no reference delta-p value given
-		if (refPressure == 0.0) {
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get reference pressure from conversion table
-				String sql = "select ref_dp from xls_files where file_id = " + convTableID;
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						refPressure = resultSet.getDouble("ref_dp");
-					}
-				}
-
-				// reference pressure is zero
-				if (refPressure == 0.0) {
-
-					// get maximum pressure from ANA file
-					sql = "select max_dp from ana_flights where file_id = " + anaFileID + " order by max_dp desc";
-					statement.setMaxRows(1);
-					try (ResultSet resultSet = statement.executeQuery(sql)) {
-						while (resultSet.next()) {
-							refPressure = resultSet.getDouble("max_dp");
-						}
-					}
-					statement.setMaxRows(0);
-				}
-			}
-		}
-
-		// return reference pressure
-		return refPressure;
-	}
-
 	/**
 	 * Retrieves and returns longest typical flight info.
 	 *
@@ -41,18 +41,19 @@ import org.jfree.ui.RectangleInsets;
 
 import equinox.Equinox;
 import equinox.controller.MissionProfileViewPanel;
+import equinox.data.ANAPeakCursor;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
 import equinox.data.DTInterpolation;
 import equinox.data.DTInterpolator;
 import equinox.data.IncrementStress;
-import equinox.data.LoadcaseFactor;
 import equinox.data.Segment;
-import equinox.data.SegmentFactor;
 import equinox.data.SteadyStress;
 import equinox.data.Stress;
 import equinox.data.StressComponent;
+import equinox.data.StressSequenceKernel;
+import equinox.data.StressSequenceKernel.ModifierCache;
 import equinox.data.fileType.FastFatigueEquivalentStress;
 import equinox.data.fileType.FastLinearEquivalentStress;
 import equinox.data.fileType.FastPreffasEquivalentStress;
@@ -68,7 +69,9 @@ import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.ANAPeakReader;
 import equinox.utility.CrosshairListenerXYPlot;
+import equinox.utility.StatementCache;
 import equinox.utility.Utility;
 
 /**
@@ -266,44 +269,48 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 		// create statement
 		try (Statement statement = connection.createStatement()) {
 
-			// get analysis input
-			FastEquivalentStressInput input = getAnalysisInput(statement);
+			// create statement cache
+			try (StatementCache statements = new StatementCache(connection)) {
 
-			// get DP ratio
-			updateMessage("Computing delta-p ratio...");
-			DPRatio dpRatio = getDPRatio(connection, statement, stfFile, anaFileID, txtFileID, convTableID, input);
+				// get analysis input
+				FastEquivalentStressInput input = getAnalysisInput(statement);
 
-			// get DT parameters
-			updateMessage("Computing delta-t interpolation...");
-			DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, stfFile, txtFileID, input);
+				// get DP ratio
+				updateMessage("Computing delta-p ratio...");
+				DPRatio dpRatio = getDPRatio(connection, statement, statements, stfFile, anaFileID, txtFileID, convTableID, input);
 
-			// get number of flights and peaks of the ANA file
-			int numPeaks = getNumberOfPeaks(statement, anaFileID);
+				// get DT parameters
+				updateMessage("Computing delta-t interpolation...");
+				DTInterpolator dtInterpolator = getDTInterpolator(statement, statements, stfFile, txtFileID, input);
 
-			// create segment tables
-			updateMessage("Creating flight segment tables...");
-			createFlightSegmentTables(statement);
+				// get number of flights and peaks of the ANA file
+				int numPeaks = getNumberOfPeaks(statement, anaFileID);
 
-			// create mappings to store incremental and steady stresses for each
-			// segment
-			HashMap<Segment, SteadyStress> steadyStresses = new HashMap<>();
-			HashMap<Segment, IncrementStress> incStresses = new HashMap<>();
+				// create segment tables
+				updateMessage("Creating flight segment tables...");
+				createFlightSegmentTables(statement);
 
-			// prepare statement for selecting ANA peaks
-			String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-			try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
+				// create mappings to store incremental and steady stresses for each
+				// segment
+				HashMap<Segment, SteadyStress> steadyStresses = new HashMap<>();
+				HashMap<Segment, IncrementStress> incStresses = new HashMap<>();
 
-				// prepare statement for selecting 1g issy code
-				sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-				try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
+				// create ANA peak reader
+				try (ANAPeakReader peakReader = new ANAPeakReader(connection, anaFileID)) {
 
-					// prepare statement for selecting increment issy code
-					sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-					try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
+					// prepare statement for selecting 1g issy code
+					String sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = ? and one_g_code = ? and increment_num = 0";
+					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
+						select1GIssyCode.setInt(1, txtFileID); // TXT file ID
 
-						// prepare statement for selecting STF stress
-						sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-						try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
+						// prepare statement for selecting increment issy code
+						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
+						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
+							selectIncrementIssyCode.setInt(1, txtFileID); // TXT file ID
+
+							// get statement for selecting STF stress
+							PreparedStatement selectSTFStress = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stfFile.getStressTableID());
+							selectSTFStress.setInt(1, stfFile.getID());
 
 							// execute query for selecting ANA flights
 							sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
@@ -312,6 +319,7 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 								// loop over flights
 								HashMap<String, Stress> oneg = new HashMap<>();
 								HashMap<String, Stress> inc = new HashMap<>();
+								ModifierCache modifiers = new ModifierCache(input);
 								ArrayList<Integer> factorNumbers = new ArrayList<>();
 								int peakCount = 0;
 								while (anaFlights.next()) {
@@ -320,43 +328,41 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 									if (isCancelled())
 										return;
 
-									// execute statement for getting ANA peaks
-									selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-									try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
+									// get ANA peaks
+									ANAPeakCursor anaPeaks = peakReader.read(anaFlights.getInt("flight_id"));
 
-										// loop over peaks
-										while (anaPeaks.next()) {
+									// loop over peaks
+									while (anaPeaks.next()) {
 
-											// task cancelled
-											if (isCancelled())
-												return;
+										// task cancelled
+										if (isCancelled())
+											return;
 
-											// update progress
-											updateProgress(peakCount, numPeaks);
-											peakCount++;
+										// update progress
+										updateProgress(peakCount, numPeaks);
+										peakCount++;
 
-											// process peak
-											processSTHPeak(anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio, dtInterpolator, incStresses, steadyStresses, factorNumbers, input);
-										}
+										// process peak
+										processSTHPeak(anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio, dtInterpolator, incStresses, steadyStresses, factorNumbers, modifiers, input);
 									}
 								}
 							}
 						}
 					}
 				}
-			}
 
-			// set segment information
-			setSegmentInfo(connection, steadyStresses, incStresses);
+				// set segment information
+				setSegmentInfo(connection, steadyStresses, incStresses);
 
-			// plot mission profile
-			Path file = plotMissionProfile(connection, stfFile);
+				// plot mission profile
+				Path file = plotMissionProfile(connection, stfFile);
 
-			// save mission profile plot
-			savePlot(statement, connection, file, stfFile.getID());
+				// save mission profile plot
+				savePlot(statement, connection, file, stfFile.getID());
 
-			// remove segment tables
-			removeFlightSegmentTables(statement);
+				// remove segment tables
+				removeFlightSegmentTables(statement);
+			}
 		}
 	}
 
@@ -638,17 +644,19 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	 *            Steady stress mapping for each segment.
 	 * @param factorNumbers
 	 *            Array list to store increment factor numbers of a segment.
+	 * @param modifiers
+	 *            Compiled stress modifiers.
 	 * @param input
 	 *            Analysis input.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void processSTHPeak(ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, Stress> oneg, HashMap<String, Stress> inc, DPRatio dpRatio, DTInterpolator dtInterpolator,
-			HashMap<Segment, IncrementStress> incStresses, HashMap<Segment, SteadyStress> steadyStresses, ArrayList<Integer> factorNumbers, FastEquivalentStressInput input) throws Exception {
+	private static void processSTHPeak(ANAPeakCursor anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, Stress> oneg, HashMap<String, Stress> inc, DPRatio dpRatio, DTInterpolator dtInterpolator,
+			HashMap<Segment, IncrementStress> incStresses, HashMap<Segment, SteadyStress> steadyStresses, ArrayList<Integer> factorNumbers, ModifierCache modifiers, FastEquivalentStressInput input) throws Exception {
 
 		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		int peakNum = anaPeaks.getInt("peak_num");
+		String classCode = anaPeaks.getFourteenDigitCode();
+		int peakNum = anaPeaks.getPeakNumber();
 		String onegCode = classCode.substring(0, 4);
 
 		// get 1g stress
@@ -669,20 +677,20 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 		}
 
 		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
+		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDeltaP());
 		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress, input);
+			dpStress = modifiers.modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
 		}
 
 		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
+		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDeltaT());
 		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
 			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress, input);
+			dtStress = modifiers.modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
 		}
 		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
 			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress, input);
+			dtStress = modifiers.modify2PointDTStress(twoPoints, segment, dtStress);
 		}
 
 		// add steady stress if it doesn't exist
@@ -691,73 +699,6 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 		}
 	}
 
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return The modified stress value.
-	 */
-	private static double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
 	/**
 	 * Sets increment stress to given ANA peak.
 	 *
@@ -807,10 +748,10 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 			String facNum = block.substring(0, 1);
 			String issyCode = null;
 			double factor = 0.0;
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, dirNum); // direction number
-			selectIncrementIssyCode.setString(4, facNum); // factor number
+			selectIncrementIssyCode.setString(2, onegCode); // 1g code
+			selectIncrementIssyCode.setInt(3, i + 1); // increment number
+			selectIncrementIssyCode.setString(4, dirNum); // direction number
+			selectIncrementIssyCode.setString(5, facNum); // factor number
 			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
 				while (resultSet.next()) {
 					issyCode = resultSet.getString("issy_code");
@@ -870,7 +811,7 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 		// get 1G issy code and event name
 		String issyCode = null, event = null, segmentName = null;
 		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
+		select1gIssyCode.setString(2, onegCode); // 1g code
 		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
 			while (resultSet.next()) {
 
@@ -911,57 +852,7 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	 * @return The modified stress value.
 	 */
 	private static double modifyStress(String issyCode, Segment segment, int stressType, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+		return StressSequenceKernel.modifyStress(input, issyCode, segment, stressType, stress);
 	}
 
 	/**
@@ -980,7 +871,7 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	private static double getSTFStress(PreparedStatement selectSTFStress, String issyCode, FastEquivalentStressInput input) throws Exception {
 		StressComponent component = input.getStressComponent();
 		double angle = input.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
+		selectSTFStress.setString(2, issyCode); // issy code
 		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
 			while (resultSet.next())
 				if (component.equals(StressComponent.NORMAL_X))
@@ -1099,10 +990,10 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	/**
 	 * Returns delta-t interpolation, or null if no delta-t interpolation is supplied.
 	 *
-	 * @param connection
-	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param stfFile
 	 *            STF file.
 	 * @param txtFileID
@@ -1113,7 +1004,7 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DTInterpolator getDTInterpolator(Connection connection, Statement statement, STFFile stfFile, int txtFileID, FastEquivalentStressInput input) throws Exception {
+	private DTInterpolator getDTInterpolator(Statement statement, StatementCache statements, STFFile stfFile, int txtFileID, FastEquivalentStressInput input) throws Exception {
 
 		// no delta-t interpolation
 		DTInterpolation interpolation = input.getDTInterpolation();
@@ -1141,64 +1032,63 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 		}
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
+			// get statement for selecting STF stresses
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stfFile.getStressTableID());
+			statement2.setInt(1, stfFile.getID());
 
-				// loop over delta-t cases
-				while (resultSet.next()) {
+			// loop over delta-t cases
+			while (resultSet.next()) {
 
-					// set issy code
-					String issyCode = resultSet.getString("issy_code");
-					statement2.setString(1, issyCode);
+				// set issy code
+				String issyCode = resultSet.getString("issy_code");
+				statement2.setString(2, issyCode);
 
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
+				// get delta-p stress from STF file
+				double stress = 0.0;
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next())
+						if (component.equals(StressComponent.NORMAL_X)) {
+							stress = resultSet2.getDouble("stress_x");
+						}
+						else if (component.equals(StressComponent.NORMAL_Y)) {
+							stress = resultSet2.getDouble("stress_y");
+						}
+						else if (component.equals(StressComponent.SHEAR_XY)) {
+							stress = resultSet2.getDouble("stress_xy");
+						}
+						else if (component.equals(StressComponent.ROTATED)) {
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
+							stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
+						}
+				}
 
-					// 1 point interpolation
-					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-						dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-						supLCFound = true;
-						break;
-					}
+				// 1 point interpolation
+				if (interpolation.equals(DTInterpolation.ONE_POINT)) {
+					dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+					supLCFound = true;
+					break;
+				}
 
-					// 2 points interpolation
-					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+				// 2 points interpolation
+				else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
 
-						// create interpolator
-						if (dtInterpolator == null) {
-							dtInterpolator = new DT2PointsInterpolator();
-						}
+					// create interpolator
+					if (dtInterpolator == null) {
+						dtInterpolator = new DT2PointsInterpolator();
+					}
 
-						// superior load case
-						if (issyCode.equals(input.getDTLoadcaseSup())) {
-							((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-							supLCFound = true;
-						}
+					// superior load case
+					if (issyCode.equals(input.getDTLoadcaseSup())) {
+						((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+						supLCFound = true;
+					}
 
-						// inferior load case
-						else if (issyCode.equals(input.getDTLoadcaseInf())) {
-							((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
-							infLCFound = true;
-						}
+					// inferior load case
+					else if (issyCode.equals(input.getDTLoadcaseInf())) {
+						((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
+						infLCFound = true;
 					}
 				}
 			}
@@ -1228,6 +1118,8 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param stfFile
 	 *            STF file.
 	 * @param anaFileID
@@ -1242,7 +1134,7 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DPRatio getDPRatio(Connection connection, Statement statement, STFFile stfFile, int anaFileID, int txtFileID, int convTableID, FastEquivalentStressInput input) throws Exception {
+	private DPRatio getDPRatio(Connection connection, Statement statement, StatementCache statements, STFFile stfFile, int anaFileID, int txtFileID, int convTableID, FastEquivalentStressInput input) throws Exception {
 
 		// get reference pressure
 		double refDP = getRefDP(connection, convTableID, anaFileID, input);
@@ -1264,42 +1156,41 @@ public class GenerateMissionProfilePlot extends TemporaryFileCreatingTask<Path>
 		// execute statement
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
+			// get statement for selecting STF stresses
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stfFile.getStressTableID());
+			statement2.setInt(1, stfFile.getID());
 
-				// loop over delta-p cases
-				while (resultSet.next()) {
+			// loop over delta-p cases
+			while (resultSet.next()) {
 
-					// set issy code
-					String issyCode = input.getDPLoadcase() == null ? resultSet.getString("issy_code") : input.getDPLoadcase();
-					statement2.setString(1, issyCode);
+				// set issy code
+				String issyCode = input.getDPLoadcase() == null ? resultSet.getString("issy_code") : input.getDPLoadcase();
+				statement2.setString(2, issyCode);
 
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
-
-					// create delta-p ratio
-					dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
-					break;
+				// get delta-p stress from STF file
+				double stress = 0.0;
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next())
+						if (component.equals(StressComponent.NORMAL_X)) {
+							stress = resultSet2.getDouble("stress_x");
+						}
+						else if (component.equals(StressComponent.NORMAL_Y)) {
+							stress = resultSet2.getDouble("stress_y");
+						}
+						else if (component.equals(StressComponent.SHEAR_XY)) {
+							stress = resultSet2.getDouble("stress_xy");
+						}
+						else if (component.equals(StressComponent.ROTATED)) {
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
+							stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
+						}
 				}
+
+				// create delta-p ratio
+				dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
+				break;
 			}
 		}
 
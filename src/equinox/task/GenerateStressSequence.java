@@ -28,7 +28,6 @@ import equinox.Equinox;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
-import equinox.data.DTInterpolation;
 import equinox.data.DTInterpolator;
 import equinox.data.IncrementStress;
 import equinox.data.LoadcaseFactor;
@@ -36,7 +35,7 @@ import equinox.data.Segment;
 import equinox.data.SegmentFactor;
 import equinox.data.SteadyStress;
 import equinox.data.Stress;
-import equinox.data.StressComponent;
+import equinox.data.StressSequenceKernel;
 import equinox.data.fileType.Flight;
 import equinox.data.fileType.Flights;
 import equinox.data.fileType.STFFile;
@@ -44,6 +43,9 @@ import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.SpectrumItem;
 import equinox.data.fileType.StressSequence;
 import equinox.data.input.GenerateStressSequenceInput;
+import equinox.process.CreateStressSequenceKernel;
+import equinox.process.GenerateStressSequencePeaks;
+import equinox.process.StressSequencePeakSink;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
@@ -250,26 +252,18 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 		updateMessage("Getting spectrum file IDs from database...");
 		Spectrum cdfSet = stfFile_.getParentItem();
 		int anaFileID = cdfSet.getANAFileID();
-		int txtFileID = cdfSet.getTXTFileID();
-		int convTableID = cdfSet.getConversionTableID();
+
+		// create stress sequence kernel
+		StressSequenceKernel kernel = new CreateStressSequenceKernel(this, input_, input_.getStressComponent(), input_.getRotationAngle(), cdfSet, stfFile_.getID(), stfFile_.getStressTableID(), false).start(connection);
+		if (kernel == null)
+			return null;
 
 		// create statement
 		try (Statement statement = connection.createStatement()) {
 
-			// get DP ratio
-			updateMessage("Computing delta-p ratio...");
-			DPRatio dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID);
-
-			// get DT parameters
-			updateMessage("Computing delta-t interpolation...");
-			DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID);
-
-			// get number of flights and peaks of the ANA file
-			int numPeaks = getNumberOfPeaks(statement, anaFileID);
-
 			// insert file into STH files table
 			updateMessage("Saving stress sequence info to database...");
-			int sthFileID = insertSTHFile(connection, statement, anaFileID, dpRatio, dtInterpolator);
+			int sthFileID = insertSTHFile(connection, statement, anaFileID, kernel.getDPRatio(), kernel.getDTInterpolator());
 
 			// create STH peaks table
 			updateMessage("Creating stress peaks table...");
@@ -290,107 +284,34 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 			// insert STH flights
 			ArrayList<Flight> sthFlights = insertSTHFlights(anaFileID, sthFileID, statement, connection);
 
-			// prepare statement for selecting ANA peaks
-			String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-			try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
-
-				// prepare statement for inserting STH peaks
-				sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val, oneg_stress, inc_stress, dp_stress, dt_stress, oneg_event, inc_event, segment, segment_num) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-				try (PreparedStatement insertSTHPeak = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 ";
-						sql += " from txt_codes where file_id = " + txtFileID;
-						sql += " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile_.getStressTableID() + " where file_id = " + stfFile_.getID() + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-								// prepare statement for setting max-min values to flight
-								sql = "update sth_flights set max_val = ?, min_val = ?, max_1g = ?, min_1g = ?, max_inc = ?, min_inc = ?, max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where flight_id = ?";
-								try (PreparedStatement setMaxMinToFlight = connection.prepareStatement(sql)) {
-
-									// execute query for selecting ANA flights
-									sql = "select flight_id from ana_flights where file_id = " + anaFileID + " order by flight_num";
-									try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-										// loop over flights
-										HashMap<String, Stress> oneg = new HashMap<>();
-										HashMap<String, Stress> inc = new HashMap<>();
-										ArrayList<Integer> factorNumbers = new ArrayList<>();
-										double[] maxMin = new double[10];
-										int peakCount = 0, flightIndex = 0;
-										while (anaFlights.next()) {
-
-											// task cancelled
-											if (isCancelled() || Thread.currentThread().isInterrupted())
-												return null;
-
-											// reset max-min values
-											maxMin[0] = Double.NEGATIVE_INFINITY; // max peak
-											maxMin[1] = Double.POSITIVE_INFINITY; // min peak
-											maxMin[2] = Double.NEGATIVE_INFINITY; // max 1g
-											maxMin[3] = Double.POSITIVE_INFINITY; // min 1g
-											maxMin[4] = Double.NEGATIVE_INFINITY; // max inc
-											maxMin[5] = Double.POSITIVE_INFINITY; // min inc
-											maxMin[6] = Double.NEGATIVE_INFINITY; // max dp
-											maxMin[7] = Double.POSITIVE_INFINITY; // min dp
-											maxMin[8] = Double.NEGATIVE_INFINITY; // max dt
-											maxMin[9] = Double.POSITIVE_INFINITY; // min dt
-
-											// get STH flight
-											Flight flight = sthFlights.get(flightIndex);
-											updateMessage("Generating flight '" + flight.getName() + "'...");
-
-											// execute statement for getting ANA peaks
-											selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-											try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
-
-												// loop over peaks
-												while (anaPeaks.next()) {
-
-													// task cancelled
-													if (isCancelled() || Thread.currentThread().isInterrupted())
-														return null;
-
-													// update progress
-													updateProgress(peakCount, numPeaks);
-													peakCount++;
-
-													// insert peak into STH peaks table
-													maxMin = insertSTHPeak(anaPeaks, flight.getID(), dpRatio, dtInterpolator, insertSTHPeak, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, maxMin, oneg, inc, incStresses, steadyStresses, factorNumbers);
-												}
-											}
-
-											// set max-min values to flight
-											setMaxMinToFlight(flight.getID(), setMaxMinToFlight, maxMin);
-
-											// add flight to flights folder
-											flights.getChildren().add(flight);
-
-											// increment flight index
-											flightIndex++;
-										}
-
-										// add flights folder to spectrum
-										sthFile.getChildren().add(flights);
-									}
-								}
-							}
-						}
-					}
+			// prepare statement for inserting STH peaks
+			String sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val, oneg_stress, inc_stress, dp_stress, dt_stress, oneg_event, inc_event, segment, segment_num) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+			try (PreparedStatement insertSTHPeak = connection.prepareStatement(sql)) {
+
+				// prepare statement for setting max-min values to flight
+				sql = "update sth_flights set max_val = ?, min_val = ?, max_1g = ?, min_1g = ?, max_inc = ?, min_inc = ?, max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where flight_id = ?";
+				try (PreparedStatement setMaxMinToFlight = connection.prepareStatement(sql)) {
+
+					// generate peaks
+					STHPeakSink sink = new STHPeakSink(sthFlights, flights, insertSTHPeak, setMaxMinToFlight, steadyStresses, incStresses);
+					if (new GenerateStressSequencePeaks(this, kernel, anaFileID, sink).start(connection) == null)
+						return null;
+
+					// add flights folder to spectrum
+					sthFile.getChildren().add(flights);
 				}
 			}
 
 			// set segment information
 			setSegmentInfo(connection, sthFileID, steadyStresses, incStresses);
 
+			// refresh index statistics of STH peaks and segment tables
+			updateMessage("Updating stress peaks table statistics...");
+			Utility.updateStatistics(connection, sthPeaksTableName);
+			Utility.updateStatistics(connection, "SEGMENTS_" + sthFileID);
+			Utility.updateStatistics(connection, "SEGMENT_STEADY_STRESSES_" + sthFileID);
+			Utility.updateStatistics(connection, "SEGMENT_INCREMENT_STRESSES_" + sthFileID);
+
 			// return STH file
 			return sthFile;
 		}
@@ -584,26 +505,6 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 		return tableName;
 	}
 
-	/**
-	 * Returns the number of peaks of the ANA file.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Number of peaks of the ANA file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getNumberOfPeaks(Statement statement, int anaFileID) throws Exception {
-		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next())
-				return resultSet.getInt("totalPeaks");
-		}
-		return 0;
-	}
-
 	/**
 	 * Sets max-min values to given STH flight.
 	 *
@@ -624,450 +525,6 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 		setMaxMinToFlight.executeUpdate();
 	}
 
-	/**
-	 * Inserts peak values into STH peaks table.
-	 *
-	 * @param anaPeaks
-	 *            Result set containing the ANA peak info.
-	 * @param sthFlightID
-	 *            STH flight ID.
-	 * @param dpRatio
-	 *            Delta-p ratio.
-	 * @param dtInterpolator
-	 *            Delta-t interpolator.
-	 * @param insertSTHPeak
-	 *            Database statement for inserting STH peak.
-	 * @param select1GIssyCode
-	 *            Database statement for selecting 1G issy code.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stress.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param maxMin
-	 *            Array containing the max-min values.
-	 * @param oneg
-	 *            Array containing the 1g stresses.
-	 * @param inc
-	 *            Array containing the increment stresses.
-	 * @param incStresses
-	 *            Incremental stress mapping for each segment.
-	 * @param steadyStresses
-	 *            Steady stress mapping for each segment.
-	 * @param factorNumbers
-	 *            Array list to store increment factor numbers of a segment.
-	 * @return Returns an array containing the max/min values of peak, 1g, increment, delta-p and delta-t stresses (i.e. array length is 10).
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double[] insertSTHPeak(ResultSet anaPeaks, int sthFlightID, DPRatio dpRatio, DTInterpolator dtInterpolator, PreparedStatement insertSTHPeak, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, double[] maxMin,
-			HashMap<String, Stress> oneg, HashMap<String, Stress> inc, HashMap<Segment, IncrementStress> incStresses, HashMap<Segment, SteadyStress> steadyStresses, ArrayList<Integer> factorNumbers) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		int peakNum = anaPeaks.getInt("peak_num");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stress
-		Stress onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
-		}
-
-		// get segment
-		Segment segment = onegStress.getSegment();
-
-		// get increment stress
-		Stress incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment, incStresses, sthFlightID, peakNum, factorNumbers);
-			inc.put(classCode, incStress);
-		}
-
-		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
-		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
-		}
-
-		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
-		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
-			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
-		}
-		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
-			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress);
-		}
-
-		// compute and modify total stress
-		double totalStress = onegStress.getStress() + incStress.getStress() + dpStress + dtStress;
-
-		// execute update
-		insertSTHPeak.setInt(1, sthFlightID); // flight ID
-		insertSTHPeak.setInt(2, peakNum); // peak number
-		insertSTHPeak.setDouble(3, totalStress); // peak value (total stress)
-		insertSTHPeak.setDouble(4, onegStress.getStress()); // 1g stress
-		insertSTHPeak.setDouble(5, incStress.getStress()); // increment stress
-		insertSTHPeak.setDouble(6, dpStress); // delta-p stress
-		insertSTHPeak.setDouble(7, dtStress); // delta-t stress
-		if (onegStress.getEvent() != null) {
-			insertSTHPeak.setString(8, onegStress.getEvent()); // 1g event
-		}
-		else {
-			insertSTHPeak.setNull(8, java.sql.Types.VARCHAR);
-		}
-		if (incStress.getEvent() != null) {
-			insertSTHPeak.setString(9, incStress.getEvent()); // increment event
-		}
-		else {
-			insertSTHPeak.setNull(9, java.sql.Types.VARCHAR);
-		}
-		insertSTHPeak.setString(10, segment.getName()); // segment name
-		insertSTHPeak.setInt(11, segment.getSegmentNumber()); // segment number
-		insertSTHPeak.executeUpdate();
-
-		// update max-min values
-		if (totalStress >= maxMin[0]) {
-			maxMin[0] = totalStress;
-		}
-		if (totalStress <= maxMin[1]) {
-			maxMin[1] = totalStress;
-		}
-		if (onegStress.getStress() >= maxMin[2]) {
-			maxMin[2] = onegStress.getStress();
-		}
-		if (onegStress.getStress() <= maxMin[3]) {
-			maxMin[3] = onegStress.getStress();
-		}
-		if (incStress.getStress() >= maxMin[4]) {
-			maxMin[4] = incStress.getStress();
-		}
-		if (incStress.getStress() <= maxMin[5]) {
-			maxMin[5] = incStress.getStress();
-		}
-		if (dpStress >= maxMin[6]) {
-			maxMin[6] = dpStress;
-		}
-		if (dpStress <= maxMin[7]) {
-			maxMin[7] = dpStress;
-		}
-		if (dtStress >= maxMin[8]) {
-			maxMin[8] = dtStress;
-		}
-		if (dtStress <= maxMin[9]) {
-			maxMin[9] = dtStress;
-		}
-
-		// add steady stress if it doesn't exist
-		if (steadyStresses.get(segment) == null) {
-			steadyStresses.put(segment, new SteadyStress(onegStress.getStress(), dpStress, dtStress, sthFlightID, peakNum));
-		}
-
-		// return max-min values
-		return maxMin;
-	}
-
-	/**
-	 * Sets increment stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
-	 * @param incStresses
-	 *            Increment stress mapping.
-	 * @param flightID
-	 *            Typical flight ID.
-	 * @param peakNum
-	 *            ANA peak number.
-	 * @param factorNumbers
-	 *            Array list to store increment factor numbers of a segment.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Stress getIncStress(PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment, HashMap<Segment, IncrementStress> incStresses, int flightID, int peakNum, ArrayList<Integer> factorNumbers) throws Exception {
-
-		// add default increment stress
-		double totalIncrementStress = 0.0;
-		String event = null;
-		factorNumbers.clear();
-
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
-
-			// get increment block, direction number and factor number
-			String block = classCode.substring(2 * i + 4, 2 * i + 6);
-
-			// no increment
-			if (block.equals("00")) {
-				continue;
-			}
-
-			// get issy code and factor
-			String dirNum = block.substring(1);
-			String facNum = block.substring(0, 1);
-			String issyCode = null;
-			double factor = 0.0;
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, dirNum); // direction number
-			selectIncrementIssyCode.setString(4, facNum); // factor number
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
-				while (resultSet.next()) {
-					issyCode = resultSet.getString("issy_code");
-					factor = resultSet.getDouble("factor_" + facNum);
-					String flightPhase = resultSet.getString("flight_phase");
-					if (event == null) {
-						event = flightPhase;
-					}
-					else {
-						event += "," + flightPhase;
-					}
-
-					// compute and modify increment stress
-					double stress = factor * getSTFStress(selectSTFStress, issyCode);
-					stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.INCREMENT, stress);
-
-					// add to total increment stress
-					totalIncrementStress += stress;
-				}
-			}
-
-			// add factor number
-			factorNumbers.add(Integer.parseInt(facNum) - 1);
-		}
-
-		// set segment incremental stresses
-		IncrementStress incStress = incStresses.get(segment);
-		if (incStress == null) {
-			incStress = new IncrementStress();
-		}
-		for (Integer factorNum : factorNumbers) {
-			incStress.setInfo(factorNum, totalIncrementStress, flightID, peakNum);
-		}
-		incStresses.put(segment, incStress);
-
-		// set increment stress
-		return new Stress(totalIncrementStress, event, null, segment);
-	}
-
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Stress get1GStress(PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
-		}
-
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and modify 1g stress
-		double stress = getSTFStress(selectSTFStress, issyCode);
-		stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.ONEG, stress);
-
-		// set to peak
-		return new Stress(stress, event, issyCode, segment);
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double getSTFStress(PreparedStatement selectSTFStress, String issyCode) throws Exception {
-		StressComponent component = input_.getStressComponent();
-		double angle = input_.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next())
-				if (component.equals(StressComponent.NORMAL_X))
-					return resultSet.getDouble("stress_x");
-				else if (component.equals(StressComponent.NORMAL_Y))
-					return resultSet.getDouble("stress_y");
-				else if (component.equals(StressComponent.SHEAR_XY))
-					return resultSet.getDouble("stress_xy");
-				else if (component.equals(StressComponent.ROTATED)) {
-					double x = resultSet.getDouble("stress_x");
-					double y = resultSet.getDouble("stress_y");
-					double xy = resultSet.getDouble("stress_xy");
-					return 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-				}
-		}
-		return 0.0;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
 	/**
 	 * Inserts given ANA flight into STH flights table.
 	 *
@@ -1250,266 +707,192 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 	}
 
 	/**
-	 * Returns delta-t interpolation, or null if no delta-t interpolation is supplied.
+	 * Inner class for STH peak sink. Peaks are inserted into STH peaks table, and flight max-min values and segment stresses are collected.
 	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @param txtFileID
-	 *            TXT file ID.
-	 * @return Delta-t interpolation, or null if no delta-t interpolation is supplied.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @author Murat Artim
+	 * @date 23 Oct 2018
+	 * @time 14:52:18
 	 */
-	private DTInterpolator getDTInterpolator(Connection connection, Statement statement, int txtFileID) throws Exception {
-
-		// no delta-t interpolation
-		DTInterpolation interpolation = input_.getDTInterpolation();
-		if (interpolation.equals(DTInterpolation.NONE))
-			return null;
+	private class STHPeakSink implements StressSequencePeakSink {
+
+		/** STH flights. */
+		private final ArrayList<Flight> sthFlights_;
+
+		/** Flights folder. */
+		private final Flights flights_;
+
+		/** Database statements. */
+		private final PreparedStatement insertSTHPeak_, setMaxMinToFlight_;
+
+		/** Steady stress mapping for each segment. */
+		private final HashMap<Segment, SteadyStress> steadyStresses_;
+
+		/** Incremental stress mapping for each segment. */
+		private final HashMap<Segment, IncrementStress> incStresses_;
+
+		/** Array containing the max/min values of peak, 1g, increment, delta-p and delta-t stresses of current flight. */
+		private final double[] maxMin_ = new double[10];
+
+		/** Current flight. */
+		private Flight flight_;
+
+		/** Current flight index. */
+		private int flightIndex_ = 0;
+
+		/**
+		 * Creates STH peak sink.
+		 *
+		 * @param sthFlights
+		 *            STH flights.
+		 * @param flights
+		 *            Flights folder.
+		 * @param insertSTHPeak
+		 *            Database statement for inserting STH peak.
+		 * @param setMaxMinToFlight
+		 *            Database statement for setting max/min values.
+		 * @param steadyStresses
+		 *            Steady stress mapping for each segment.
+		 * @param incStresses
+		 *            Incremental stress mapping for each segment.
+		 */
+		public STHPeakSink(ArrayList<Flight> sthFlights, Flights flights, PreparedStatement insertSTHPeak, PreparedStatement setMaxMinToFlight, HashMap<Segment, SteadyStress> steadyStresses, HashMap<Segment, IncrementStress> incStresses) {
+			sthFlights_ = sthFlights;
+			flights_ = flights;
+			insertSTHPeak_ = insertSTHPeak;
+			setMaxMinToFlight_ = setMaxMinToFlight;
+			steadyStresses_ = steadyStresses;
+			incStresses_ = incStresses;
+		}
+
+		@Override
+		public void startFlight(ResultSet flight, int numPeaks) throws Exception {
+
+			// reset max-min values
+			for (int i = 0; i < maxMin_.length; i++) {
+				maxMin_[i] = i % 2 == 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+			}
 
-		// get reference temperatures
-		double[] refTemp = new double[2];
-		refTemp[0] = input_.getReferenceDTSup() == null ? 0.0 : input_.getReferenceDTSup().doubleValue();
-		refTemp[1] = input_.getReferenceDTInf() == null ? 0.0 : input_.getReferenceDTInf().doubleValue();
-
-		// set variables
-		DTInterpolator dtInterpolator = null;
-		StressComponent component = input_.getStressComponent();
-		double angle = input_.getRotationAngle();
-
-		// get delta-p issy code from TXT file
-		boolean supLCFound = false, infLCFound = false;
-		String sql = null;
-		if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-			sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID + " and issy_code = '" + input_.getDTLoadcaseSup() + "'";
-		}
-		else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
-			sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID + " and (issy_code = '" + input_.getDTLoadcaseSup() + "' or issy_code = '" + input_.getDTLoadcaseInf() + "')";
+			// get STH flight
+			flight_ = sthFlights_.get(flightIndex_);
 		}
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile_.getStressTableID() + " where file_id = " + stfFile_.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-				// loop over delta-t cases
-				while (resultSet.next()) {
-
-					// set issy code
-					String issyCode = resultSet.getString("issy_code");
-					statement2.setString(1, issyCode);
-
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
 
-					// 1 point interpolation
-					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-						dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-						supLCFound = true;
-						break;
-					}
+		@Override
+		public void addPeak(int peakNum, double stress, StressSequenceKernel kernel) throws Exception {
 
-					// 2 points interpolation
-					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+			// get stress components
+			Segment segment = kernel.getSegment();
+			double onegStress = kernel.getOnegStress();
+			double incStress = kernel.getIncrementStress();
+			double dpStress = kernel.getDPStress();
+			double dtStress = kernel.getDTStress();
 
-						// create interpolator
-						if (dtInterpolator == null) {
-							dtInterpolator = new DT2PointsInterpolator();
-						}
-
-						// superior load case
-						if (issyCode.equals(input_.getDTLoadcaseSup())) {
-							((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-							supLCFound = true;
-						}
-
-						// inferior load case
-						else if (issyCode.equals(input_.getDTLoadcaseInf())) {
-							((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
-							infLCFound = true;
-						}
-					}
-				}
+			// set segment incremental stresses
+			if (kernel.isNewClassCode()) {
+				setIncrementStress(kernel.getClassCode(), segment, incStress, peakNum);
 			}
-		}
 
-		// delta-t load case could not be found
-		if (interpolation.equals(DTInterpolation.ONE_POINT) && !supLCFound) {
-			warnings_ += "Delta-T superior load case '" + input_.getDTLoadcaseSup() + "' could not be found.\n";
-		}
-		else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
-			if (!supLCFound) {
-				warnings_ += "Delta-T superior load case '" + input_.getDTLoadcaseSup() + "' could not be found.\n";
+			// execute update
+			insertSTHPeak_.setInt(1, flight_.getID()); // flight ID
+			insertSTHPeak_.setInt(2, peakNum); // peak number
+			insertSTHPeak_.setDouble(3, stress); // peak value (total stress)
+			insertSTHPeak_.setDouble(4, onegStress); // 1g stress
+			insertSTHPeak_.setDouble(5, incStress); // increment stress
+			insertSTHPeak_.setDouble(6, dpStress); // delta-p stress
+			insertSTHPeak_.setDouble(7, dtStress); // delta-t stress
+			if (kernel.getOnegEvent() != null) {
+				insertSTHPeak_.setString(8, kernel.getOnegEvent()); // 1g event
+			}
+			else {
+				insertSTHPeak_.setNull(8, java.sql.Types.VARCHAR);
+			}
+			if (kernel.getIncrementEvent() != null) {
+				insertSTHPeak_.setString(9, kernel.getIncrementEvent()); // increment event
+			}
+			else {
+				insertSTHPeak_.setNull(9, java.sql.Types.VARCHAR);
 			}
-			if (!infLCFound) {
-				warnings_ += "Delta-T inferior load case '" + input_.getDTLoadcaseInf() + "' could not be found.\n";
+			insertSTHPeak_.setString(10, segment.getName()); // segment name
+			insertSTHPeak_.setInt(11, segment.getSegmentNumber()); // segment number
+			insertSTHPeak_.executeUpdate();
+
+			// update max-min values
+			updateMaxMin(0, stress);
+			updateMaxMin(2, onegStress);
+			updateMaxMin(4, incStress);
+			updateMaxMin(6, dpStress);
+			updateMaxMin(8, dtStress);
+
+			// add steady stress if it doesn't exist
+			if (steadyStresses_.get(segment) == null) {
+				steadyStresses_.put(segment, new SteadyStress(onegStress, dpStress, dtStress, flight_.getID(), peakNum));
 			}
 		}
 
-		// return interpolator
-		return dtInterpolator;
-	}
-
-	/**
-	 * Returns delta-p ratio.
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @param txtFileID
-	 *            TXT file ID.
-	 * @param convTableID
-	 *            Conversion table ID.
-	 * @return Delta-p ratio.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private DPRatio getDPRatio(Connection connection, Statement statement, int anaFileID, int txtFileID, int convTableID) throws Exception {
+		@Override
+		public void endFlight() throws Exception {
 
-		// get reference pressure
-		double refDP = getRefDP(connection, convTableID, anaFileID);
+			// set max-min values to flight
+			setMaxMinToFlight(flight_.getID(), setMaxMinToFlight_, maxMin_);
 
-		// set variables
-		DPRatio dpRatio = null;
-		StressComponent component = input_.getStressComponent();
-		double angle = input_.getRotationAngle();
+			// add flight to flights folder
+			flights_.getChildren().add(flight_);
 
-		// create statement to get delta-p event name and issy code
-		String sql = null;
-		if (input_.getDPLoadcase() == null) {
-			sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID + " and dp_case = 1";
-		}
-		else {
-			sql = "select flight_phase from txt_codes where file_id = " + txtFileID + " and issy_code = '" + input_.getDPLoadcase() + "'";
+			// increment flight index
+			flightIndex_++;
 		}
 
-		// execute statement
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-			// prepare statement to get STF stresses
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile_.getStressTableID() + " where file_id = " + stfFile_.getID() + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-				// loop over delta-p cases
-				while (resultSet.next()) {
-
-					// set issy code
-					String issyCode = input_.getDPLoadcase() == null ? resultSet.getString("issy_code") : input_.getDPLoadcase();
-					statement2.setString(1, issyCode);
-
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
-
-					// create delta-p ratio
-					dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
-					break;
-				}
+		/**
+		 * Updates max-min values.
+		 *
+		 * @param index
+		 *            Index of the max value within the max-min array. Min value is at the next index.
+		 * @param stress
+		 *            Stress value.
+		 */
+		private void updateMaxMin(int index, double stress) {
+			if (stress >= maxMin_[index]) {
+				maxMin_[index] = stress;
+			}
+			if (stress <= maxMin_[index + 1]) {
+				maxMin_[index + 1] = stress;
 			}
 		}
 
-		// delta-p load case could not be found
-		if (input_.getDPLoadcase() != null && dpRatio == null) {
-			warnings_ += "Delta-P load case '" + input_.getDPLoadcase() + "' could not be found.\n";
-		}
-
-		// return delta-p ratio
-		return dpRatio;
-	}
-
-	/**
-	 * Returns reference delta-p pressure. The process is composed of the following logic;
-	 * <UL>
-	 * <LI>If the reference delta-p pressure is supplied by the user, this value is returned. Otherwise, the process falls back to next step.
-	 * <LI>If the reference delta-p pressure is supplied within the conversion table, this value is returned. Otherwise, the process falls back to next step.
-	 * <LI>Maximum pressure value within the ANA file is returned.
-	 * </UL>
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param convTableID
-	 *            Conversion table ID.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Reference delta-p pressure.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double getRefDP(Connection connection, int convTableID, int anaFileID) throws Exception {
+		/**
+		 * Sets segment incremental stresses for the increment factors of the given class code.
+		 *
+		 * @param classCode
+		 *            14 digit class code.
+		 * @param segment
+		 *            Segment.
+		 * @param totalIncrementStress
+		 *            Total increment stress.
+		 * @param peakNum
+		 *            ANA peak number.
+		 */
+		private void setIncrementStress(String classCode, Segment segment, double totalIncrementStress, int peakNum) {
+
+			// get segment incremental stresses
+			IncrementStress incStress = incStresses_.get(segment);
+			if (incStress == null) {
+				incStress = new IncrementStress();
+			}
 
-		// initialize reference delta-p
-		double refPressure = input_.getReferenceDP() == null ? 0.0 : input_.getReferenceDP().doubleValue();
+			// loop over increments
+			for (int i = 0; i < 5; i++) {
 
-		// no reference delta-p value given
-		if (refPressure == 0.0) {
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+				// get increment block
+				String block = classCode.substring(2 * i + 4, 2 * i + 6);
 
-				// get reference pressure from conversion table
-				String sql = "select ref_dp from xls_files where file_id = " + convTableID;
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						refPressure = resultSet.getDouble("ref_dp");
-					}
+				// no increment
+				if (block.equals("00")) {
+					continue;
 				}
 
-				// reference pressure is zero
-				if (refPressure == 0.0) {
-
-					// get maximum pressure from ANA file
-					sql = "select max_dp from ana_flights where file_id = " + anaFileID + " order by max_dp desc";
-					statement.setMaxRows(1);
-					try (ResultSet resultSet = statement.executeQuery(sql)) {
-						while (resultSet.next()) {
-							refPressure = resultSet.getDouble("max_dp");
-						}
-					}
-					statement.setMaxRows(0);
-				}
+				// set info
+				incStress.setInfo(Integer.parseInt(block.substring(0, 1)) - 1, totalIncrementStress, flight_.getID(), peakNum);
 			}
+			incStresses_.put(segment, incStress);
 		}
-
-		// return reference pressure
-		return refPressure;
 	}
 }
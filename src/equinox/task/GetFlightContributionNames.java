@@ -33,6 +33,7 @@ import equinox.task.automation.MultipleInputTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.utility.AlphanumComparator;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for get typical flight contribution names task.
@@ -271,7 +272,7 @@ public class GetFlightContributionNames extends InternalEquinoxTask<Triple<List<
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 			// prepare statement for getting STF files
-			String sql = "select file_id from stf_files where cdf_id = ?";
+			String sql = "select file_id from stf_files where cdf_id = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 			try (PreparedStatement getSTFIDs = connection.prepareStatement(sql)) {
 
 				// prepare statement for getting contribution IDs
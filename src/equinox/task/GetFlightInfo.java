@@ -16,8 +16,8 @@
 package equinox.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
@@ -77,12 +77,8 @@ public class GetFlightInfo extends InternalEquinoxTask<ArrayList<TreeItem<TableI
 		// get database connection
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get flight info
-				getFlightInfo(statement, list);
-			}
+			// get flight info
+			getFlightInfo(connection, list);
 		}
 
 		// return list
@@ -112,38 +108,42 @@ public class GetFlightInfo extends InternalEquinoxTask<ArrayList<TreeItem<TableI
 	/**
 	 * Retrieves and returns info for the selected flight.
 	 *
-	 * @param statement
-	 *            SQL statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param list
 	 *            List to store the flight info.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void getFlightInfo(Statement statement, ArrayList<TreeItem<TableItem>> list) throws Exception {
+	private void getFlightInfo(Connection connection, ArrayList<TreeItem<TableItem>> list) throws Exception {
 		updateMessage("Please wait...");
-		String sql = "select * from sth_flights where flight_id = " + flight_.getID() + " and name = '" + flight_.getName() + "'";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				list.add(new TreeItem<>(new TableItem("Flight name", resultSet.getString("name"))));
-				list.add(new TreeItem<>(new TableItem("A/C program", flight_.getParentItem().getParentItem().getParentItem().getParentItem().getProgram())));
-				list.add(new TreeItem<>(new TableItem("A/C section", flight_.getParentItem().getParentItem().getParentItem().getParentItem().getSection())));
-				list.add(new TreeItem<>(new TableItem("Fatigue mission", flight_.getParentItem().getParentItem().getParentItem().getMission())));
-				list.add(new TreeItem<>(new TableItem("Severity", resultSet.getString("severity"))));
-				list.add(new TreeItem<>(new TableItem("Number of peaks", Integer.toString(resultSet.getInt("num_peaks")))));
-				list.add(new TreeItem<>(new TableItem("Occurrence", format_.format(resultSet.getDouble("validity")))));
-				list.add(new TreeItem<>(new TableItem("Block size", format_.format(resultSet.getDouble("block_size")))));
-				TreeItem<TableItem> stress = new TreeItem<>(new TableItem("Stress info", ""));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Maximum total stress", format_.format(resultSet.getDouble("max_val")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Minimum total stress", format_.format(resultSet.getDouble("min_val")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Maximum 1g stress", format_.format(resultSet.getDouble("max_1g")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Minimum 1g stress", format_.format(resultSet.getDouble("min_1g")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Maximum increment stress", format_.format(resultSet.getDouble("max_inc")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Minimum increment stress", format_.format(resultSet.getDouble("min_inc")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Maximum delta-p stress", format_.format(resultSet.getDouble("max_dp")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Minimum delta-p stress", format_.format(resultSet.getDouble("min_dp")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Maximum delta-t stress", format_.format(resultSet.getDouble("max_dt")))));
-				stress.getChildren().add(new TreeItem<>(new TableItem("Minimum delta-t stress", format_.format(resultSet.getDouble("min_dt")))));
-				list.add(stress);
+		String sql = "select * from sth_flights where flight_id = ? and name = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, flight_.getID()); // flight ID
+			statement.setString(2, flight_.getName()); // flight name
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					list.add(new TreeItem<>(new TableItem("Flight name", resultSet.getString("name"))));
+					list.add(new TreeItem<>(new TableItem("A/C program", flight_.getParentItem().getParentItem().getParentItem().getParentItem().getProgram())));
+					list.add(new TreeItem<>(new TableItem("A/C section", flight_.getParentItem().getParentItem().getParentItem().getParentItem().getSection())));
+					list.add(new TreeItem<>(new TableItem("Fatigue mission", flight_.getParentItem().getParentItem().getParentItem().getMission())));
+					list.add(new TreeItem<>(new TableItem("Severity", resultSet.getString("severity"))));
+					list.add(new TreeItem<>(new TableItem("Number of peaks", Integer.toString(resultSet.getInt("num_peaks")))));
+					list.add(new TreeItem<>(new TableItem("Occurrence", format_.format(resultSet.getDouble("validity")))));
+					list.add(new TreeItem<>(new TableItem("Block size", format_.format(resultSet.getDouble("block_size")))));
+					TreeItem<TableItem> stress = new TreeItem<>(new TableItem("Stress info", ""));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Maximum total stress", format_.format(resultSet.getDouble("max_val")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Minimum total stress", format_.format(resultSet.getDouble("min_val")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Maximum 1g stress", format_.format(resultSet.getDouble("max_1g")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Minimum 1g stress", format_.format(resultSet.getDouble("min_1g")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Maximum increment stress", format_.format(resultSet.getDouble("max_inc")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Minimum increment stress", format_.format(resultSet.getDouble("min_inc")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Maximum delta-p stress", format_.format(resultSet.getDouble("max_dp")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Minimum delta-p stress", format_.format(resultSet.getDouble("min_dp")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Maximum delta-t stress", format_.format(resultSet.getDouble("max_dt")))));
+					stress.getChildren().add(new TreeItem<>(new TableItem("Minimum delta-t stress", format_.format(resultSet.getDouble("min_dt")))));
+					list.add(stress);
+				}
 			}
 		}
 	}
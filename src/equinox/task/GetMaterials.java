@@ -31,6 +31,7 @@ import equinox.dataServer.remote.data.LinearMaterial;
 import equinox.dataServer.remote.data.Material;
 import equinox.dataServer.remote.data.PreffasMaterial;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import equinox.utility.DeletedFiles;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 
@@ -278,6 +279,9 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 	 */
 	private void getSTFBucketMaterialInfo(Material[] materials, Statement statement) throws Exception {
 
+		// get condition excluding deleted STF files
+		String exclusion = DeletedFiles.andExclusion(statement.getConnection(), DeletedFiles.STF, "file_id");
+
 		// get null fatigue materials
 		boolean hasNull = false;
 		int fatigueCount = 0;
@@ -285,7 +289,7 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 		for (TreeItem<String> item : items_) {
 			sql += "cdf_id = " + ((STFFileBucket) item).getParentItem().getID() + " or ";
 		}
-		sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")";
+		sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")" + exclusion;
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 			while (resultSet.next()) {
 				hasNull = resultSet.getInt("nullCount") != 0;
@@ -296,11 +300,11 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 		if (!hasNull) {
 
 			// get fatigue material count
-			sql = "select count(distinct fatigue_material) as fatigueCount from stf_files where ";
+			sql = "select count(distinct fatigue_material) as fatigueCount from stf_files where (";
 			for (TreeItem<String> item : items_) {
 				sql += "cdf_id = " + ((STFFileBucket) item).getParentItem().getID() + " or ";
 			}
-			sql = sql.substring(0, sql.lastIndexOf(" or "));
+			sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")" + exclusion;
 			try (ResultSet resultSet = statement.executeQuery(sql)) {
 				while (resultSet.next()) {
 					fatigueCount = resultSet.getInt("fatigueCount");
@@ -315,7 +319,7 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 		for (TreeItem<String> item : items_) {
 			sql += "cdf_id = " + ((STFFileBucket) item).getParentItem().getID() + " or ";
 		}
-		sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")";
+		sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")" + exclusion;
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 			while (resultSet.next()) {
 				hasNull = resultSet.getInt("nullCount") != 0;
@@ -326,11 +330,11 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 		if (!hasNull) {
 
 			// get preffas material count
-			sql = "select count(distinct preffas_material) as preffasCount from stf_files where ";
+			sql = "select count(distinct preffas_material) as preffasCount from stf_files where (";
 			for (TreeItem<String> item : items_) {
 				sql += "cdf_id = " + ((STFFileBucket) item).getParentItem().getID() + " or ";
 			}
-			sql = sql.substring(0, sql.lastIndexOf(" or "));
+			sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")" + exclusion;
 			try (ResultSet resultSet = statement.executeQuery(sql)) {
 				while (resultSet.next()) {
 					preffasCount = resultSet.getInt("preffasCount");
@@ -345,7 +349,7 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 		for (TreeItem<String> item : items_) {
 			sql += "cdf_id = " + ((STFFileBucket) item).getParentItem().getID() + " or ";
 		}
-		sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")";
+		sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")" + exclusion;
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 			while (resultSet.next()) {
 				hasNull = resultSet.getInt("nullCount") != 0;
@@ -356,11 +360,11 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 		if (!hasNull) {
 
 			// get linear material count
-			sql = "select count(distinct linear_material) as linearCount from stf_files where ";
+			sql = "select count(distinct linear_material) as linearCount from stf_files where (";
 			for (TreeItem<String> item : items_) {
 				sql += "cdf_id = " + ((STFFileBucket) item).getParentItem().getID() + " or ";
 			}
-			sql = sql.substring(0, sql.lastIndexOf(" or "));
+			sql = sql.substring(0, sql.lastIndexOf(" or ")) + ")" + exclusion;
 			try (ResultSet resultSet = statement.executeQuery(sql)) {
 				while (resultSet.next()) {
 					linearCount = resultSet.getInt("linearCount");
@@ -374,7 +378,7 @@ public class GetMaterials extends InternalEquinoxTask<Material[]> implements Sho
 
 		// set material info
 		String fatigueMaterialName = null, preffasMaterialName = null, linearMaterialName = null;
-		sql = "select fatigue_material, preffas_material, linear_material from stf_files where cdf_id = " + ((STFFileBucket) items_.get(0)).getParentItem().getID();
+		sql = "select fatigue_material, preffas_material, linear_material from stf_files where cdf_id = " + ((STFFileBucket) items_.get(0)).getParentItem().getID() + exclusion;
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 			while (resultSet.next()) {
 				fatigueMaterialName = fatigueCount == 1 ? resultSet.getString("fatigue_material") : null;
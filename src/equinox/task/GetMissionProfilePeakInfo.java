@@ -26,9 +26,11 @@ import equinox.Equinox;
 import equinox.controller.MissionProfileComparisonViewPanel;
 import equinox.controller.MissionProfileViewPanel;
 import equinox.controller.ViewPanel;
+import equinox.data.ANAPeakCursor;
 import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.StressSequence;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import equinox.utility.ANAPeakReader;
 
 /**
  * Class for get mission profile peak info task.
@@ -219,15 +221,9 @@ public class GetMissionProfilePeakInfo extends InternalEquinoxTask<String> imple
 		// get class code
 		String classCode = null;
 		int anaFlightID = getANAFlightID(anaFileID, flightIDAndPeakNum[0], statement);
-		String sql = "select fourteen_digit_code";
-		sql += " from ana_peaks_" + anaFileID;
-		sql += " where flight_id = " + anaFlightID;
-		sql += " and peak_num = " + flightIDAndPeakNum[1];
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				classCode = resultSet.getString("fourteen_digit_code");
-				break;
-			}
+		ANAPeakCursor peak = ANAPeakReader.readPeak(statement.getConnection(), anaFileID, anaFlightID, flightIDAndPeakNum[1]);
+		if (peak != null) {
+			classCode = peak.getFourteenDigitCode();
 		}
 
 		// class code couldn't be found
@@ -238,7 +234,7 @@ public class GetMissionProfilePeakInfo extends InternalEquinoxTask<String> imple
 		String info = "";
 
 		// prepare statement for getting increment info
-		sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
+		String sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
 		try (PreparedStatement getIncrementInfo = connection.prepareStatement(sql)) {
 
 			// prepare statement for getting comment
@@ -359,15 +355,9 @@ public class GetMissionProfilePeakInfo extends InternalEquinoxTask<String> imple
 		// get class code
 		String classCode = null;
 		int anaFlightID = getANAFlightID(anaFileID, flightIDAndPeakNum[0], statement);
-		String sql = "select fourteen_digit_code";
-		sql += " from ana_peaks_" + anaFileID;
-		sql += " where flight_id = " + anaFlightID;
-		sql += " and peak_num = " + flightIDAndPeakNum[1];
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				classCode = resultSet.getString("fourteen_digit_code");
-				break;
-			}
+		ANAPeakCursor peak = ANAPeakReader.readPeak(statement.getConnection(), anaFileID, anaFlightID, flightIDAndPeakNum[1]);
+		if (peak != null) {
+			classCode = peak.getFourteenDigitCode();
 		}
 
 		// class code couldn't be found
@@ -376,7 +366,7 @@ public class GetMissionProfilePeakInfo extends InternalEquinoxTask<String> imple
 
 		// get 1G info
 		String event = null, issyCode = null;
-		sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID;
+		String sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID;
 		sql += " and one_g_code = '" + classCode.substring(0, 4) + "'";
 		sql += " and increment_num = 0";
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
@@ -443,31 +433,15 @@ public class GetMissionProfilePeakInfo extends InternalEquinoxTask<String> imple
 		int anaFileID = sequence_.getParentItem().getParentItem().getANAFileID();
 		int anaFlightID = getANAFlightID(anaFileID, flightIDAndPeakNum[0], statement);
 
-		// create query
-		String sql = "select ";
-		if (info_ == CLASS_CODE) {
-			sql += "fourteen_digit_code";
-		}
-		else if (info_ == DELTA_P_PRESSURE) {
-			sql += "delta_p";
-		}
-		else if (info_ == DELTA_T_TEMPERATURE) {
-			sql += "delta_t";
-		}
-		sql += " from ana_peaks_" + anaFileID;
-		sql += " where flight_id = " + anaFlightID;
-		sql += " and peak_num = " + flightIDAndPeakNum[1];
-
 		// get ANA info
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				if (info_ == CLASS_CODE)
-					return "Class code: " + resultSet.getString("fourteen_digit_code");
-				else if (info_ == DELTA_P_PRESSURE)
-					return "Delta-p pressure: " + format_.format(resultSet.getDouble("delta_p"));
-				else if (info_ == DELTA_T_TEMPERATURE)
-					return "Delta-t temperature: " + format_.format(resultSet.getDouble("delta_t"));
-			}
+		ANAPeakCursor peak = ANAPeakReader.readPeak(statement.getConnection(), anaFileID, anaFlightID, flightIDAndPeakNum[1]);
+		if (peak != null) {
+			if (info_ == CLASS_CODE)
+				return "Class code: " + peak.getFourteenDigitCode();
+			else if (info_ == DELTA_P_PRESSURE)
+				return "Delta-p pressure: " + format_.format(peak.getDeltaP());
+			else if (info_ == DELTA_T_TEMPERATURE)
+				return "Delta-t temperature: " + format_.format(peak.getDeltaT());
 		}
 		throw new Exception("ANA info couldn't be obtained from database.");
 	}
@@ -24,9 +24,11 @@ import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
 import equinox.controller.PlotViewPanel;
+import equinox.data.ANAPeakCursor;
 import equinox.data.fileType.Flight;
 import equinox.data.fileType.Spectrum;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import equinox.utility.ANAPeakReader;
 
 /**
  * Class for get peak info task.
@@ -156,15 +158,9 @@ public class GetPeakInfo extends InternalEquinoxTask<String> implements ShortRun
 		// get class code
 		String classCode = null;
 		int anaFlightID = getANAFlightID(anaFileID, statement);
-		String sql = "select fourteen_digit_code";
-		sql += " from ana_peaks_" + anaFileID;
-		sql += " where flight_id = " + anaFlightID;
-		sql += " and peak_num = " + peakNum_;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				classCode = resultSet.getString("fourteen_digit_code");
-				break;
-			}
+		ANAPeakCursor peak = ANAPeakReader.readPeak(statement.getConnection(), anaFileID, anaFlightID, peakNum_);
+		if (peak != null) {
+			classCode = peak.getFourteenDigitCode();
 		}
 
 		// class code couldn't be found
@@ -175,7 +171,7 @@ public class GetPeakInfo extends InternalEquinoxTask<String> implements ShortRun
 		String info = "";
 
 		// prepare statement for getting increment info
-		sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
+		String sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
 		try (PreparedStatement getIncrementInfo = connection.prepareStatement(sql)) {
 
 			// prepare statement for getting comment
@@ -260,15 +256,9 @@ public class GetPeakInfo extends InternalEquinoxTask<String> implements ShortRun
 		// get class code
 		String classCode = null;
 		int anaFlightID = getANAFlightID(anaFileID, statement);
-		String sql = "select fourteen_digit_code";
-		sql += " from ana_peaks_" + anaFileID;
-		sql += " where flight_id = " + anaFlightID;
-		sql += " and peak_num = " + peakNum_;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				classCode = resultSet.getString("fourteen_digit_code");
-				break;
-			}
+		ANAPeakCursor peak = ANAPeakReader.readPeak(statement.getConnection(), anaFileID, anaFlightID, peakNum_);
+		if (peak != null) {
+			classCode = peak.getFourteenDigitCode();
 		}
 
 		// class code couldn't be found
@@ -277,7 +267,7 @@ public class GetPeakInfo extends InternalEquinoxTask<String> implements ShortRun
 
 		// get 1G info
 		String event = null, issyCode = null;
-		sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID;
+		String sql = "select flight_phase, issy_code from txt_codes where file_id = " + txtFileID;
 		sql += " and one_g_code = '" + classCode.substring(0, 4) + "'";
 		sql += " and increment_num = 0";
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
@@ -431,31 +421,15 @@ public class GetPeakInfo extends InternalEquinoxTask<String> implements ShortRun
 		int anaFileID = flight_.getParentItem().getParentItem().getParentItem().getParentItem().getANAFileID();
 		int anaFlightID = getANAFlightID(anaFileID, statement);
 
-		// create query
-		String sql = "select ";
-		if (info_ == CLASS_CODE) {
-			sql += "fourteen_digit_code";
-		}
-		else if (info_ == DELTA_P_PRESSURE) {
-			sql += "delta_p";
-		}
-		else if (info_ == DELTA_T_TEMPERATURE) {
-			sql += "delta_t";
-		}
-		sql += " from ana_peaks_" + anaFileID;
-		sql += " where flight_id = " + anaFlightID;
-		sql += " and peak_num = " + peakNum_;
-
 		// get ANA info
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				if (info_ == CLASS_CODE)
-					return "Class code: " + resultSet.getString("fourteen_digit_code");
-				else if (info_ == DELTA_P_PRESSURE)
-					return "Delta-p pressure: " + format_.format(resultSet.getDouble("delta_p"));
-				else if (info_ == DELTA_T_TEMPERATURE)
-					return "Delta-t temperature: " + format_.format(resultSet.getDouble("delta_t"));
-			}
+		ANAPeakCursor peak = ANAPeakReader.readPeak(statement.getConnection(), anaFileID, anaFlightID, peakNum_);
+		if (peak != null) {
+			if (info_ == CLASS_CODE)
+				return "Class code: " + peak.getFourteenDigitCode();
+			else if (info_ == DELTA_P_PRESSURE)
+				return "Delta-p pressure: " + format_.format(peak.getDeltaP());
+			else if (info_ == DELTA_T_TEMPERATURE)
+				return "Delta-t temperature: " + format_.format(peak.getDeltaT());
 		}
 		throw new Exception("ANA info couldn't be obtained from database.");
 	}
@@ -25,6 +25,7 @@ import equinox.Equinox;
 import equinox.controller.LinkPilotPointsPopup;
 import equinox.data.ui.PilotPointTableItem;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for get pilot points task.
@@ -111,7 +112,12 @@ public class GetPilotPoints extends InternalEquinoxTask<ArrayList<PilotPointTabl
 	 */
 	private static void getPilotPoints(Statement statement, ArrayList<PilotPointTableItem> pilotPoints) throws Exception {
 		String sql = "select file_id, stf_files.name, stf_files.eid, cdf_sets.ac_program, cdf_sets.ac_section, cdf_sets.fat_mission from stf_files ";
-		sql += "inner join cdf_sets on stf_files.cdf_id = cdf_sets.set_id order by stf_files.name";
+		sql += "inner join cdf_sets on stf_files.cdf_id = cdf_sets.set_id";
+		String exclusion = DeletedFiles.getExclusion(statement.getConnection(), DeletedFiles.STF, "stf_files.file_id");
+		if (exclusion != null) {
+			sql += " where " + exclusion;
+		}
+		sql += " order by stf_files.name";
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 			while (resultSet.next()) {
 				PilotPointTableItem item = new PilotPointTableItem(resultSet.getInt("file_id"));
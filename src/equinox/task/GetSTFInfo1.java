@@ -20,7 +20,6 @@ import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -89,15 +88,11 @@ public class GetSTFInfo1 extends InternalEquinoxTask<Void> implements ShortRunni
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// get info
+			getInfo(connection);
 
-				// get info
-				getInfo(statement);
-
-				// get content
-				getContent(statement, connection);
-			}
+			// get content
+			getContent(connection);
 		}
 
 		// return
@@ -127,78 +122,84 @@ public class GetSTFInfo1 extends InternalEquinoxTask<Void> implements ShortRunni
 	/**
 	 * Returns info.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void getInfo(Statement statement) throws Exception {
+	private void getInfo(Connection connection) throws Exception {
 
 		// create info
 		info_ = new ArrayList<>();
 
 		// get info
 		String sql = "select description, element_type, frame_rib_position, stringer_position, data_source, ";
-		sql += "generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material from stf_files where file_id = " + stfFile_.getID();
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-
-				// pilot point name
-				info_.add(new TreeItem<>(new TableItem("Pilot point name", stfFile_.getName())));
-
-				// spectrum info
-				TreeItem<TableItem> spectrumInfo = new TreeItem<>(new TableItem("Spectrum info", ""));
-				spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("Spectrum", stfFile_.getParentItem().getName())));
-				spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("A/C program", stfFile_.getParentItem().getProgram())));
-				spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("A/C section", stfFile_.getParentItem().getSection())));
-				String mission = stfFile_.getMission();
-				spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("Mission", mission)));
-				info_.add(spectrumInfo);
-
-				// pilot point info
-				TreeItem<TableItem> ppInfo = new TreeItem<>(new TableItem("Pilot point info", ""));
-				String info = resultSet.getString("description");
-				ppInfo.getChildren().add(new TreeItem<>(new TableItem("Description", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("data_source");
-				ppInfo.getChildren().add(new TreeItem<>(new TableItem("Data source", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("generation_source");
-				ppInfo.getChildren().add(new TreeItem<>(new TableItem("Gen. source", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("delivery_ref_num");
-				ppInfo.getChildren().add(new TreeItem<>(new TableItem("Delivery ref.", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("issue");
-				ppInfo.getChildren().add(new TreeItem<>(new TableItem("Issue", info == null || info.isEmpty() ? "-" : info)));
-				info_.add(ppInfo);
-
-				// location info
-				TreeItem<TableItem> locationInfo = new TreeItem<>(new TableItem("Location info", ""));
-				info = resultSet.getString("eid");
-				locationInfo.getChildren().add(new TreeItem<>(new TableItem("EID/LIQ/SG", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("element_type");
-				locationInfo.getChildren().add(new TreeItem<>(new TableItem("Element type", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("frame_rib_position");
-				locationInfo.getChildren().add(new TreeItem<>(new TableItem("Frame/Rib", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("stringer_position");
-				locationInfo.getChildren().add(new TreeItem<>(new TableItem("Stringer", info == null || info.isEmpty() ? "-" : info)));
-				info_.add(locationInfo);
-
-				// material info
-				TreeItem<TableItem> materialInfo = new TreeItem<>(new TableItem("Material info", ""));
-				info = resultSet.getString("fatigue_material");
-				materialInfo.getChildren().add(new TreeItem<>(new TableItem("Fatigue", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("preffas_material");
-				materialInfo.getChildren().add(new TreeItem<>(new TableItem("Preffas", info == null || info.isEmpty() ? "-" : info)));
-				info = resultSet.getString("linear_material");
-				materialInfo.getChildren().add(new TreeItem<>(new TableItem("Linear", info == null || info.isEmpty() ? "-" : info)));
-				info_.add(materialInfo);
+		sql += "generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material from stf_files where file_id = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, stfFile_.getID()); // STF file ID
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+
+					// pilot point name
+					info_.add(new TreeItem<>(new TableItem("Pilot point name", stfFile_.getName())));
+
+					// spectrum info
+					TreeItem<TableItem> spectrumInfo = new TreeItem<>(new TableItem("Spectrum info", ""));
+					spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("Spectrum", stfFile_.getParentItem().getName())));
+					spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("A/C program", stfFile_.getParentItem().getProgram())));
+					spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("A/C section", stfFile_.getParentItem().getSection())));
+					String mission = stfFile_.getMission();
+					spectrumInfo.getChildren().add(new TreeItem<>(new TableItem("Mission", mission)));
+					info_.add(spectrumInfo);
+
+					// pilot point info
+					TreeItem<TableItem> ppInfo = new TreeItem<>(new TableItem("Pilot point info", ""));
+					String info = resultSet.getString("description");
+					ppInfo.getChildren().add(new TreeItem<>(new TableItem("Description", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("data_source");
+					ppInfo.getChildren().add(new TreeItem<>(new TableItem("Data source", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("generation_source");
+					ppInfo.getChildren().add(new TreeItem<>(new TableItem("Gen. source", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("delivery_ref_num");
+					ppInfo.getChildren().add(new TreeItem<>(new TableItem("Delivery ref.", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("issue");
+					ppInfo.getChildren().add(new TreeItem<>(new TableItem("Issue", info == null || info.isEmpty() ? "-" : info)));
+					info_.add(ppInfo);
+
+					// location info
+					TreeItem<TableItem> locationInfo = new TreeItem<>(new TableItem("Location info", ""));
+					info = resultSet.getString("eid");
+					locationInfo.getChildren().add(new TreeItem<>(new TableItem("EID/LIQ/SG", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("element_type");
+					locationInfo.getChildren().add(new TreeItem<>(new TableItem("Element type", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("frame_rib_position");
+					locationInfo.getChildren().add(new TreeItem<>(new TableItem("Frame/Rib", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("stringer_position");
+					locationInfo.getChildren().add(new TreeItem<>(new TableItem("Stringer", info == null || info.isEmpty() ? "-" : info)));
+					info_.add(locationInfo);
+
+					// material info
+					TreeItem<TableItem> materialInfo = new TreeItem<>(new TableItem("Material info", ""));
+					info = resultSet.getString("fatigue_material");
+					materialInfo.getChildren().add(new TreeItem<>(new TableItem("Fatigue", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("preffas_material");
+					materialInfo.getChildren().add(new TreeItem<>(new TableItem("Preffas", info == null || info.isEmpty() ? "-" : info)));
+					info = resultSet.getString("linear_material");
+					materialInfo.getChildren().add(new TreeItem<>(new TableItem("Linear", info == null || info.isEmpty() ? "-" : info)));
+					info_.add(materialInfo);
+				}
 			}
 		}
 
 		// get mission parameters of STF file
 		TreeItem<TableItem> missionParameters = new TreeItem<>(new TableItem("Mission params", ""));
-		sql = "select name, val from stf_mission_parameters where stf_id = " + stfFile_.getID() + " order by name";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				missionParameters.getChildren().add(new TreeItem<>(new TableItem(resultSet.getString("name"), format_.format(resultSet.getDouble("val")))));
+		sql = "select name, val from stf_mission_parameters where stf_id = ? order by name";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, stfFile_.getID()); // STF file ID
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					missionParameters.getChildren().add(new TreeItem<>(new TableItem(resultSet.getString("name"), format_.format(resultSet.getDouble("val")))));
+				}
 			}
 		}
 
@@ -206,10 +207,13 @@ public class GetSTFInfo1 extends InternalEquinoxTask<Void> implements ShortRunni
 		if (missionParameters.getChildren().isEmpty()) {
 
 			// get parameters of the owner spectrum
-			sql = "select name, val from cdf_mission_parameters where cdf_id = " + stfFile_.getParentItem().getID() + " order by name";
-			try (ResultSet resultSet = statement.executeQuery(sql)) {
-				while (resultSet.next()) {
-					missionParameters.getChildren().add(new TreeItem<>(new TableItem(resultSet.getString("name"), format_.format(resultSet.getDouble("val")))));
+			sql = "select name, val from cdf_mission_parameters where cdf_id = ? order by name";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setInt(1, stfFile_.getParentItem().getID()); // CDF set ID
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						missionParameters.getChildren().add(new TreeItem<>(new TableItem(resultSet.getString("name"), format_.format(resultSet.getDouble("val")))));
+					}
 				}
 			}
 		}
@@ -222,15 +226,18 @@ public class GetSTFInfo1 extends InternalEquinoxTask<Void> implements ShortRunni
 		// get pilot point images
 		images_ = new HashMap<>();
 		for (PilotPointImageType imageType : PilotPointImageType.values()) {
-			sql = "select image from " + imageType.getTableName() + " where id = " + stfFile_.getID();
-			try (ResultSet resultSet = statement.executeQuery(sql)) {
-				while (resultSet.next()) {
-					Blob blob = resultSet.getBlob("image");
-					if (blob != null) {
-						byte[] imageBytes = blob.getBytes(1L, (int) blob.length());
-						Image image = imageBytes == null ? null : new Image(new ByteArrayInputStream(imageBytes));
-						images_.put(imageType, image);
-						blob.free();
+			sql = "select image from " + imageType.getTableName() + " where id = ?";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setInt(1, stfFile_.getID()); // STF file ID
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						Blob blob = resultSet.getBlob("image");
+						if (blob != null) {
+							byte[] imageBytes = blob.getBytes(1L, (int) blob.length());
+							Image image = imageBytes == null ? null : new Image(new ByteArrayInputStream(imageBytes));
+							images_.put(imageType, image);
+							blob.free();
+						}
 					}
 				}
 			}
@@ -240,68 +247,71 @@ public class GetSTFInfo1 extends InternalEquinoxTask<Void> implements ShortRunni
 	/**
 	 * Returns STF content.
 	 *
-	 * @param statement
-	 *            Database statement.
 	 * @param connection
 	 *            Database connection.
 	 * @return STF content.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private ArrayList<STFTableItem> getContent(Statement statement, Connection connection) throws Exception {
+	private ArrayList<STFTableItem> getContent(Connection connection) throws Exception {
 
 		// create content list
 		content_ = new ArrayList<>();
 
 		// prepare statement for getting event name and comments from conversion table
-		String sql = "select fue_translated, comment from xls_comments where file_id = " + stfFile_.getParentItem().getConversionTableID() + " and issy_code = ?";
+		String sql = "select fue_translated, comment from xls_comments where file_id = ? and issy_code = ?";
 		try (PreparedStatement getEventInfo = connection.prepareStatement(sql)) {
+			getEventInfo.setInt(1, stfFile_.getParentItem().getConversionTableID()); // conversion table ID
 
 			// prepare statement for getting load case type from TXT file content
-			sql = "select dp_case, increment_num from txt_codes where file_id = " + stfFile_.getParentItem().getTXTFileID() + " and issy_code = ?";
+			sql = "select dp_case, increment_num from txt_codes where file_id = ? and issy_code = ?";
 			try (PreparedStatement getLCType = connection.prepareStatement(sql)) {
+				getLCType.setInt(1, stfFile_.getParentItem().getTXTFileID()); // TXT file ID
 				getLCType.setMaxRows(1);
 
 				// get STF file content
-				sql = "select * from stf_stresses_" + stfFile_.getStressTableID() + " where file_id = " + stfFile_.getID() + " order by issy_code";
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-
-						// get columns
-						String issyCode = resultSet.getString("issy_code");
-						int loadcase = Integer.parseInt(issyCode);
-						double sx = resultSet.getDouble("stress_x");
-						double sy = resultSet.getDouble("stress_y");
-						double sxy = resultSet.getDouble("stress_xy");
-
-						// create and set values
-						STFTableItem item = new STFTableItem();
-						item.setLoadcase(loadcase);
-						item.setSx(sx);
-						item.setSy(sy);
-						item.setSxy(sxy);
-
-						// get load case type
-						getLCType.setString(1, issyCode);
-						try (ResultSet resultSet1 = getLCType.executeQuery()) {
-							while (resultSet1.next()) {
-								boolean isDP = resultSet1.getBoolean("dp_case");
-								boolean isInc = resultSet1.getInt("increment_num") != 0;
-								item.setType(isDP ? STFTableItem.DELTA_P : isInc ? STFTableItem.INCREMENT : STFTableItem.STEADY);
+				sql = "select * from stf_stresses_" + stfFile_.getStressTableID() + " where file_id = ? order by issy_code";
+				try (PreparedStatement getStresses = connection.prepareStatement(sql)) {
+					getStresses.setInt(1, stfFile_.getID()); // STF file ID
+					try (ResultSet resultSet = getStresses.executeQuery()) {
+						while (resultSet.next()) {
+
+							// get columns
+							String issyCode = resultSet.getString("issy_code");
+							int loadcase = Integer.parseInt(issyCode);
+							double sx = resultSet.getDouble("stress_x");
+							double sy = resultSet.getDouble("stress_y");
+							double sxy = resultSet.getDouble("stress_xy");
+
+							// create and set values
+							STFTableItem item = new STFTableItem();
+							item.setLoadcase(loadcase);
+							item.setSx(sx);
+							item.setSy(sy);
+							item.setSxy(sxy);
+
+							// get load case type
+							getLCType.setString(2, issyCode);
+							try (ResultSet resultSet1 = getLCType.executeQuery()) {
+								while (resultSet1.next()) {
+									boolean isDP = resultSet1.getBoolean("dp_case");
+									boolean isInc = resultSet1.getInt("increment_num") != 0;
+									item.setType(isDP ? STFTableItem.DELTA_P : isInc ? STFTableItem.INCREMENT : STFTableItem.STEADY);
+								}
 							}
-						}
 
-						// get event info
-						getEventInfo.setString(1, issyCode);
-						try (ResultSet resultSet1 = getEventInfo.executeQuery()) {
-							while (resultSet1.next()) {
-								item.setEventname(resultSet1.getString("fue_translated"));
-								item.setEventcomment(resultSet1.getString("comment"));
+							// get event info
+							getEventInfo.setString(2, issyCode);
+							try (ResultSet resultSet1 = getEventInfo.executeQuery()) {
+								while (resultSet1.next()) {
+									item.setEventname(resultSet1.getString("fue_translated"));
+									item.setEventcomment(resultSet1.getString("comment"));
+								}
 							}
-						}
 
-						// add to content
-						content_.add(item);
+							// add to content
+							content_.add(item);
+						}
 					}
 				}
 			}
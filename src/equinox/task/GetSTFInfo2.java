@@ -16,8 +16,8 @@
 package equinox.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
@@ -77,13 +77,12 @@ public class GetSTFInfo2 extends InternalEquinoxTask<String[]> implements ShortR
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get info
-				String sql = "select description, element_type, frame_rib_position, stringer_position, data_source, ";
-				sql += "generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material from stf_files where file_id = " + stfFile_.getID();
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
+			// get info
+			String sql = "select description, element_type, frame_rib_position, stringer_position, data_source, ";
+			sql += "generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material from stf_files where file_id = ?";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setInt(1, stfFile_.getID()); // STF file ID
+				try (ResultSet resultSet = statement.executeQuery()) {
 					while (resultSet.next()) {
 						info[DESCRIPTION] = resultSet.getString("description");
 						info[ELEMENT_TYPE] = resultSet.getString("element_type");
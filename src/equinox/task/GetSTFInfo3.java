@@ -18,9 +18,9 @@ package equinox.task;
 import java.io.ByteArrayInputStream;
 import java.sql.Blob;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
@@ -107,15 +107,11 @@ public class GetSTFInfo3 extends InternalEquinoxTask<Triple<STFFile, String[], H
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// get pilot point info
+			results.setElement2(getPilotPointInfo(connection));
 
-				// get pilot point info
-				results.setElement2(getPilotPointInfo(statement));
-
-				// get pilot point images
-				results.setElement3(getPilotPointImages(statement));
-			}
+			// get pilot point images
+			results.setElement3(getPilotPointImages(connection));
 		}
 
 		// return results
@@ -167,13 +163,13 @@ public class GetSTFInfo3 extends InternalEquinoxTask<Triple<STFFile, String[], H
 	/**
 	 * Retrieves pilot point images from database.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @return Pilot point images.
 	 * @throws SQLException
 	 *             If exception occurs during process.
 	 */
-	private HashMap<PilotPointImageType, Image> getPilotPointImages(Statement statement) throws SQLException {
+	private HashMap<PilotPointImageType, Image> getPilotPointImages(Connection connection) throws SQLException {
 
 		// get pilot point images
 		HashMap<PilotPointImageType, Image> images = new HashMap<>();
@@ -182,16 +178,19 @@ public class GetSTFInfo3 extends InternalEquinoxTask<Triple<STFFile, String[], H
 		for (PilotPointImageType imageType : PilotPointImageType.values()) {
 
 			// create and execute query
-			String sql = "select image from " + imageType.getTableName() + " where id = " + stfFile.getID();
-			try (ResultSet resultSet = statement.executeQuery(sql)) {
-				while (resultSet.next()) {
-
-					// set image
-					Blob blob = resultSet.getBlob("image");
-					if (blob != null) {
-						byte[] imageBytes = blob.getBytes(1L, (int) blob.length());
-						images.put(imageType, imageBytes == null ? null : new Image(new ByteArrayInputStream(imageBytes)));
-						blob.free();
+			String sql = "select image from " + imageType.getTableName() + " where id = ?";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setInt(1, stfFile.getID()); // STF file ID
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+
+						// set image
+						Blob blob = resultSet.getBlob("image");
+						if (blob != null) {
+							byte[] imageBytes = blob.getBytes(1L, (int) blob.length());
+							images.put(imageType, imageBytes == null ? null : new Image(new ByteArrayInputStream(imageBytes)));
+							blob.free();
+						}
 					}
 				}
 			}
@@ -204,13 +203,13 @@ public class GetSTFInfo3 extends InternalEquinoxTask<Triple<STFFile, String[], H
 	/**
 	 * Retrieves STF information from database.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @return STF information.
 	 * @throws SQLException
 	 *             If exception occurs during process.
 	 */
-	private String[] getPilotPointInfo(Statement statement) throws SQLException {
+	private String[] getPilotPointInfo(Connection connection) throws SQLException {
 
 		// progress info
 		updateMessage("Getting STF info from database");
@@ -220,21 +219,24 @@ public class GetSTFInfo3 extends InternalEquinoxTask<Triple<STFFile, String[], H
 
 		// get info
 		String sql = "select description, element_type, frame_rib_position, stringer_position, data_source, ";
-		sql += "generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material from stf_files where file_id = " + stfFile.getID();
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				info[GetSTFInfo2.DESCRIPTION] = resultSet.getString("description");
-				info[GetSTFInfo2.ELEMENT_TYPE] = resultSet.getString("element_type");
-				info[GetSTFInfo2.FRAME_RIB_POS] = resultSet.getString("frame_rib_position");
-				info[GetSTFInfo2.STRINGER_POS] = resultSet.getString("stringer_position");
-				info[GetSTFInfo2.DATA_SOURCE] = resultSet.getString("data_source");
-				info[GetSTFInfo2.GEN_SOURCE] = resultSet.getString("generation_source");
-				info[GetSTFInfo2.DELIVERY_REF] = resultSet.getString("delivery_ref_num");
-				info[GetSTFInfo2.ISSUE] = resultSet.getString("issue");
-				info[GetSTFInfo2.EID] = resultSet.getString("eid");
-				info[GetSTFInfo2.FATIGUE_MATERIAL] = resultSet.getString("fatigue_material");
-				info[GetSTFInfo2.PREFFAS_MATERIAL] = resultSet.getString("preffas_material");
-				info[GetSTFInfo2.LINEAR_MATERIAL] = resultSet.getString("linear_material");
+		sql += "generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material from stf_files where file_id = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, stfFile.getID()); // STF file ID
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					info[GetSTFInfo2.DESCRIPTION] = resultSet.getString("description");
+					info[GetSTFInfo2.ELEMENT_TYPE] = resultSet.getString("element_type");
+					info[GetSTFInfo2.FRAME_RIB_POS] = resultSet.getString("frame_rib_position");
+					info[GetSTFInfo2.STRINGER_POS] = resultSet.getString("stringer_position");
+					info[GetSTFInfo2.DATA_SOURCE] = resultSet.getString("data_source");
+					info[GetSTFInfo2.GEN_SOURCE] = resultSet.getString("generation_source");
+					info[GetSTFInfo2.DELIVERY_REF] = resultSet.getString("delivery_ref_num");
+					info[GetSTFInfo2.ISSUE] = resultSet.getString("issue");
+					info[GetSTFInfo2.EID] = resultSet.getString("eid");
+					info[GetSTFInfo2.FATIGUE_MATERIAL] = resultSet.getString("fatigue_material");
+					info[GetSTFInfo2.PREFFAS_MATERIAL] = resultSet.getString("preffas_material");
+					info[GetSTFInfo2.LINEAR_MATERIAL] = resultSet.getString("linear_material");
+				}
 			}
 		}
 
@@ -28,6 +28,7 @@ import equinox.controller.ViewPanel;
 import equinox.data.fileType.Spectrum;
 import equinox.data.ui.TableItem;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import equinox.utility.DeletedFiles;
 import javafx.scene.control.TreeItem;
 
 /**
@@ -81,7 +82,7 @@ public class GetSpectrumInfo extends InternalEquinoxTask<ArrayList<TreeItem<Tabl
 			try (Statement statement = connection.createStatement()) {
 
 				// get basic CDF info
-				String sql = "select * from cdf_sets where set_id = " + spectrum_.getID();
+				String sql = "select * from cdf_sets where set_id = " + spectrum_.getID() + DeletedFiles.andExclusion(connection, DeletedFiles.SPECTRUM, "set_id");
 				try (ResultSet resultSet = statement.executeQuery(sql)) {
 					while (resultSet.next()) {
 						list.add(new TreeItem<>(new TableItem("Spectrum name", resultSet.getString("name"))));
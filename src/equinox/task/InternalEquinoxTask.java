@@ -47,7 +47,7 @@ import equinox.utility.Utility;
  * @date Dec 12, 2013
  * @time 4:09:17 PM
  */
-public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
+public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> implements TaskMonitor {
 
 	/** Progress panel of this task. */
 	protected TaskPanel taskPanel_;
@@ -28,6 +28,7 @@ import equinox.data.fileType.AircraftModel;
 import equinox.data.fileType.PilotPoint;
 import equinox.data.ui.PilotPointTableItem;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
+import equinox.utility.DeletedFiles;
 import javafx.collections.ObservableList;
 
 /**
@@ -172,7 +173,7 @@ public class LinkPilotPoints extends InternalEquinoxTask<ArrayList<PilotPoint>>
 				sql = "select stf_files.name from stf_files inner join pilot_points_" + model_.getID();
 				sql += " on stf_files.file_id = pilot_points_" + model_.getID() + ".stf_id";
 				sql += " inner join cdf_sets on stf_files.cdf_id = cdf_sets.set_id";
-				sql += " where stf_files.name like ? and cdf_sets.fat_mission = ?";
+				sql += " where stf_files.name like ? and cdf_sets.fat_mission = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "stf_files.file_id");
 				try (PreparedStatement checkEID2 = connection.prepareStatement(sql)) {
 
 					// prepare statement to insert pilot point link
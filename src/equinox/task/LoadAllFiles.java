@@ -106,6 +106,9 @@ public class LoadAllFiles extends InternalEquinoxTask<ArrayList<SpectrumItem>> i
 			taskPanel_.getOwner().getOwner().getSavedTasksPanel().getSavedTasks().getItems().setAll(savedTasks_);
 			taskPanel_.getOwner().getOwner().getScheduledTasksPanel().getScheduledTasks().getItems().setAll(scheduledTasks_);
 
+			// reclaim remaining deleted files on background
+			taskPanel_.getOwner().runTaskSilently(new ReclaimDeletedFiles(), false);
+
 			// startup
 			if (introPanel_ != null) {
 
@@ -115,6 +118,10 @@ public class LoadAllFiles extends InternalEquinoxTask<ArrayList<SpectrumItem>> i
 				// start scheduled thread pool
 				CheckScheduledTasks check = new CheckScheduledTasks(introPanel_.getOwner().getActiveTasksPanel());
 				((ScheduledExecutorService) Equinox.SCHEDULED_THREADPOOL).scheduleAtFixedRate(check, 30, 60, TimeUnit.SECONDS);
+
+				// start workspace maintenance checks
+				CheckWorkspaceMaintenance maintenance = new CheckWorkspaceMaintenance(introPanel_.getOwner().getActiveTasksPanel());
+				((ScheduledExecutorService) Equinox.SCHEDULED_THREADPOOL).scheduleWithFixedDelay(maintenance, 15, 15, TimeUnit.MINUTES);
 			}
 		}
 
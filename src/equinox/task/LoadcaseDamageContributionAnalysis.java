@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.ANAPeakCursor;
 import equinox.data.AnalysisEngine;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
@@ -49,6 +50,7 @@ import equinox.data.SegmentFactor;
 import equinox.data.Settings;
 import equinox.data.Stress;
 import equinox.data.StressComponent;
+import equinox.data.StressSequenceKernel.ModifierCache;
 import equinox.data.fileType.LoadcaseDamageContributions;
 import equinox.data.fileType.STFFile;
 import equinox.data.fileType.Spectrum;
@@ -65,6 +67,9 @@ import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableLoadcaseDamageContributionAnalysis;
+import equinox.utility.ANAPeakReader;
+import equinox.utility.PeakFormatter;
+import equinox.utility.StatementCache;
 import equinox.utility.Utility;
 
 /**
@@ -94,6 +99,9 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	/** Input. */
 	private final LoadcaseDamageContributionInput input_;
 
+	/** Compiled stress modifiers. */
+	private final ModifierCache modifiers_;
+
 	/** Analysis engine. */
 	private final AnalysisEngine analysisEngine_;
 
@@ -104,7 +112,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	private static final int NUM_COLS = 8;
 
 	/** STH lines. */
-	private String[] lines_;
+	private PeakFormatter[] lines_;
 
 	/** STH file indices. */
 	private int rowIndex_ = 0, colIndex_ = 0, maxPeaks_;
@@ -140,6 +148,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	public LoadcaseDamageContributionAnalysis(STFFile stfFile, LoadcaseDamageContributionInput input, AnalysisEngine analysisEngine) {
 		stfFile_ = stfFile;
 		input_ = input;
+		modifiers_ = new ModifierCache(input);
 		stfID_ = null;
 		stressTableID_ = null;
 		stfName_ = null;
@@ -169,6 +178,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 		stfName_ = stfName;
 		spectrum_ = spectrum;
 		input_ = input;
+		modifiers_ = new ModifierCache(input);
 		stfFile_ = null;
 		analysisEngine_ = analysisEngine;
 	}
@@ -775,6 +785,12 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 			}
 		}
 
+		// native engine (only supports equivalent stress analysis of fast stress sequences)
+		else if (analysisEngine_.equals(AnalysisEngine.NATIVE)) {
+			addWarning("Native analysis engine doesn't support loadcase damage contribution analysis. Falling back to inbuilt analysis engine.");
+			damageAnalysis_ = new InbuiltDCA(this, sthFiles, flsFile, input_.getContributions(), input_.getMaterial(), validity, maxPeaks_ > EquivalentStressAnalysis.MAX_PEAKS, input_.isApplyOmission(), input_.getOmissionLevel());
+		}
+
 		// inbuilt engine
 		else {
 			damageAnalysis_ = new InbuiltDCA(this, sthFiles, flsFile, input_.getContributions(), input_.getMaterial(), validity, maxPeaks_ > EquivalentStressAnalysis.MAX_PEAKS, input_.isApplyOmission(), input_.getOmissionLevel());
@@ -861,8 +877,9 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 			updateMessage("Creating STH file writers...");
 			Path rootDir = getWorkingDirectory();
 			String baseFileName = FileType.getNameWithoutExtension(stfFile_ == null ? stfName_ : stfFile_.getName());
-			lines_ = new String[paths.length];
+			lines_ = new PeakFormatter[paths.length];
 			for (int i = 0; i < paths.length; i++) {
+				lines_[i] = new PeakFormatter("0.00", 10);
 				String name = i == 0 ? "full" : contributions.get(i - 1).getName();
 				paths[i] = rootDir.resolve(FileType.appendExtension(Utility.correctFileName(baseFileName) + "_" + name, FileType.STH));
 				writers[i] = Files.newBufferedWriter(paths[i], Charset.defaultCharset());
@@ -881,44 +898,47 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 			// create statement
 			try (Statement statement = connection.createStatement()) {
 
-				// get DP ratio
-				updateMessage("Computing delta-p ratio...");
-				dpRatio_ = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID);
+				// create statement cache
+				try (StatementCache statements = new StatementCache(connection)) {
+
+					// get DP ratio
+					updateMessage("Computing delta-p ratio...");
+					dpRatio_ = getDPRatio(connection, statement, statements, anaFileID, txtFileID, convTableID);
 
-				// get DT parameters
-				updateMessage("Computing delta-t interpolation...");
-				dtInterpolator_ = getDTInterpolator(connection, statement, txtFileID);
+					// get DT parameters
+					updateMessage("Computing delta-t interpolation...");
+					dtInterpolator_ = getDTInterpolator(statement, statements, txtFileID);
 
-				// get number of flights and peaks of the ANA file
-				int numPeaks = getNumberOfPeaks(statement, anaFileID);
+					// get number of flights and peaks of the ANA file
+					int numPeaks = getNumberOfPeaks(statement, anaFileID);
 
-				// get maximum number of peaks per typical flight
-				maxPeaks_ = getMaxPeaksPerFlight(statement, anaFileID);
+					// get maximum number of peaks per typical flight
+					maxPeaks_ = getMaxPeaksPerFlight(statement, anaFileID);
 
-				// prepare statement for selecting ANA peaks
-				String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-				try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
+					// create ANA peak reader
+					try (ANAPeakReader peakReader = new ANAPeakReader(connection, anaFileID)) {
 
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
+						// prepare statement for selecting 1g issy code
+						String sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = ? and one_g_code = ? and increment_num = 0";
+						try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
+							select1GIssyCode.setInt(1, txtFileID); // TXT file ID
 
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID
-								+ " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
+							// prepare statement for selecting increment issy code
+							sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = ? and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
+							try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
+								selectIncrementIssyCode.setInt(1, txtFileID); // TXT file ID
 
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
+								// get statement for selecting STF stress
+								PreparedStatement selectSTFStress = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stressTableID);
+								selectSTFStress.setInt(1, stfID);
 
 								// execute query for selecting ANA flights
 								sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
 								try (ResultSet anaFlights = statement.executeQuery(sql)) {
 
 									// loop over flights
-									HashMap<String, Stress> oneg = new HashMap<>();
-									HashMap<String, IncStress> inc = new HashMap<>();
+									ArrayList<Stress> oneg = new ArrayList<>();
+									ArrayList<IncStress> inc = new ArrayList<>();
 									GAGPeak[] flightGAGPeaks = new GAGPeak[] { new GAGPeak(), new GAGPeak() };
 									int peakCount = 0;
 									while (anaFlights.next()) {
@@ -945,27 +965,25 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 										rowIndex_ = 0;
 										colIndex_ = 0;
 										for (int i = 0; i < lines_.length; i++) {
-											lines_[i] = "";
+											lines_[i].clear();
 										}
 
-										// execute statement for getting ANA peaks
-										selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-										try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
+										// get ANA peaks
+										ANAPeakCursor anaPeaks = peakReader.read(anaFlights.getInt("flight_id"));
 
-											// loop over peaks
-											while (anaPeaks.next()) {
+										// loop over peaks
+										while (anaPeaks.next()) {
 
-												// task cancelled
-												if (isCancelled())
-													return null;
+											// task cancelled
+											if (isCancelled())
+												return null;
 
-												// update progress
-												updateProgress(peakCount, numPeaks);
-												peakCount++;
+											// update progress
+											updateProgress(peakCount, numPeaks);
+											peakCount++;
 
-												// insert peak into STH peaks table
-												flightGAGPeaks = writeSTHPeak(writers, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio_, dtInterpolator_, rem, numRows, contributions, flightGAGPeaks);
-											}
+											// insert peak into STH peaks table
+											flightGAGPeaks = writeSTHPeak(writers, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio_, dtInterpolator_, rem, numRows, contributions, flightGAGPeaks);
 										}
 
 										// write GAG peaks
@@ -1099,9 +1117,9 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 * @param selectIncrementIssyCode
 	 *            Database statement for selecting increment issy codes.
 	 * @param oneg
-	 *            Mapping containing 1g codes versus the stresses.
+	 *            1g stresses indexed by 1g code IDs.
 	 * @param inc
-	 *            Mapping containing class codes versus the stresses.
+	 *            Increment stresses indexed by class code IDs.
 	 * @param dpRatio
 	 *            Delta-p ratio.
 	 * @param dtInterpolator
@@ -1118,38 +1136,46 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private GAGPeak[] writeSTHPeak(BufferedWriter[] writers, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, Stress> oneg, HashMap<String, IncStress> inc, DPRatio dpRatio,
+	private GAGPeak[] writeSTHPeak(BufferedWriter[] writers, ANAPeakCursor anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, ArrayList<Stress> oneg, ArrayList<IncStress> inc, DPRatio dpRatio,
 			DTInterpolator dtInterpolator, int rem, int numRows, ArrayList<DamageContribution> contributions, GAGPeak[] gagPeaks) throws Exception {
 
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		String onegCode = classCode.substring(0, 4);
+		// get class code IDs
+		int classCodeID = anaPeaks.getClassCodeID();
+		int onegCodeID = anaPeaks.getOnegCodeID();
 
 		// get 1g stress
-		Stress onegStress = oneg.get(onegCode);
+		Stress onegStress = onegCodeID < oneg.size() ? oneg.get(onegCodeID) : null;
 		if (onegStress == null) {
+			String onegCode = anaPeaks.getDictionary().getOnegCode(onegCodeID);
 			onegStress = get1GStress(selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
+			while (oneg.size() <= onegCodeID) {
+				oneg.add(null);
+			}
+			oneg.set(onegCodeID, onegStress);
 		}
 
 		// get segment
 		Segment segment = onegStress.getSegment();
 
 		// get increment stresses
-		IncStress incStress = inc.get(classCode);
+		IncStress incStress = classCodeID < inc.size() ? inc.get(classCodeID) : null;
 		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment, contributions);
-			inc.put(classCode, incStress);
+			String classCode = anaPeaks.getFourteenDigitCode();
+			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, classCode.substring(0, 4), segment, contributions);
+			while (inc.size() <= classCodeID) {
+				inc.add(null);
+			}
+			inc.set(classCodeID, incStress);
 		}
 
 		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
+		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDeltaP());
 		if (dpRatio != null) {
 			dpStress = modify1GStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
 		}
 
 		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
+		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDeltaT());
 		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
 			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
 			dtStress = modify1GStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
@@ -1193,7 +1219,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 				if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
 					continue;
 				}
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
+				lines_[i].append(totalStresses[i]);
 			}
 			colIndex_++;
 
@@ -1203,9 +1229,8 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 					if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
 						continue;
 					}
-					writers[i].write(lines_[i]);
+					lines_[i].write(writers[i]);
 					writers[i].newLine();
-					lines_[i] = "";
 				}
 				colIndex_ = 0;
 				rowIndex_++;
@@ -1220,7 +1245,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 				if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
 					continue;
 				}
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
+				lines_[i].append(totalStresses[i]);
 			}
 			colIndex_++;
 
@@ -1230,9 +1255,8 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 					if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
 						continue;
 					}
-					writers[i].write(lines_[i]);
+					lines_[i].write(writers[i]);
 					writers[i].newLine();
-					lines_[i] = "";
 				}
 				colIndex_ = 0;
 				rowIndex_++;
@@ -1269,57 +1293,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 * @return The modified stress value.
 	 */
 	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+		return modifiers_.modify2PointDTStress(interpolator, segment, stress);
 	}
 
 	/**
@@ -1359,10 +1333,10 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 			}
 
 			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor number
+			selectIncrementIssyCode.setString(2, onegCode); // 1g code
+			selectIncrementIssyCode.setInt(3, i + 1); // increment number
+			selectIncrementIssyCode.setString(4, block.substring(1)); // direction number
+			selectIncrementIssyCode.setString(5, block.substring(0, 1)); // factor number
 
 			// query issy code, factor and event name
 			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
@@ -1499,7 +1473,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 		// get 1G issy code and event name
 		String issyCode = null, event = null, segmentName = null;
 		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
+		select1gIssyCode.setString(2, onegCode); // 1g code
 		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
 			while (resultSet.next()) {
 
@@ -1538,7 +1512,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	private double getSTFStress(PreparedStatement selectSTFStress, String issyCode) throws Exception {
 		StressComponent component = input_.getStressComponent();
 		double angle = input_.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
+		selectSTFStress.setString(2, issyCode); // issy code
 		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
 			while (resultSet.next())
 				if (component.equals(StressComponent.NORMAL_X))
@@ -1571,57 +1545,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 * @return The modified stress value.
 	 */
 	private double modify1GStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+		return modifiers_.modifyStress(issyCode, segment, stressType, stress);
 	}
 
 	/**
@@ -1729,17 +1653,17 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	/**
 	 * Returns delta-t interpolation, or null if no delta-t interpolation is supplied.
 	 *
-	 * @param connection
-	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param txtFileID
 	 *            TXT file ID.
 	 * @return Delta-t interpolation, or null if no delta-t interpolation is supplied.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DTInterpolator getDTInterpolator(Connection connection, Statement statement, int txtFileID) throws Exception {
+	private DTInterpolator getDTInterpolator(Statement statement, StatementCache statements, int txtFileID) throws Exception {
 
 		// no delta-t interpolation
 		DTInterpolation interpolation = input_.getDTInterpolation();
@@ -1767,66 +1691,65 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 		}
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
+			// get statement for selecting STF stresses
 			int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
 			int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stressTableID);
+			statement2.setInt(1, stfID);
 
-				// loop over delta-t cases
-				while (resultSet.next()) {
+			// loop over delta-t cases
+			while (resultSet.next()) {
 
-					// set issy code
-					String issyCode = resultSet.getString("issy_code");
-					statement2.setString(1, issyCode);
-
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
+				// set issy code
+				String issyCode = resultSet.getString("issy_code");
+				statement2.setString(2, issyCode);
 
-					// 1 point interpolation
-					if (interpolation.equals(DTInterpolation.ONE_POINT)) {
-						dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-						supLCFound = true;
-						break;
-					}
+				// get delta-p stress from STF file
+				double stress = 0.0;
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next())
+						if (component.equals(StressComponent.NORMAL_X)) {
+							stress = resultSet2.getDouble("stress_x");
+						}
+						else if (component.equals(StressComponent.NORMAL_Y)) {
+							stress = resultSet2.getDouble("stress_y");
+						}
+						else if (component.equals(StressComponent.SHEAR_XY)) {
+							stress = resultSet2.getDouble("stress_xy");
+						}
+						else if (component.equals(StressComponent.ROTATED)) {
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
+							stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
+						}
+				}
 
-					// 2 points interpolation
-					else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
+				// 1 point interpolation
+				if (interpolation.equals(DTInterpolation.ONE_POINT)) {
+					dtInterpolator = new DT1PointInterpolator(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+					supLCFound = true;
+					break;
+				}
 
-						// create interpolator
-						if (dtInterpolator == null) {
-							dtInterpolator = new DT2PointsInterpolator();
-						}
+				// 2 points interpolation
+				else if (interpolation.equals(DTInterpolation.TWO_POINTS)) {
 
-						// superior load case
-						if (issyCode.equals(input_.getDTLoadcaseSup())) {
-							((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
-							supLCFound = true;
-						}
+					// create interpolator
+					if (dtInterpolator == null) {
+						dtInterpolator = new DT2PointsInterpolator();
+					}
 
-						// inferior load case
-						else if (issyCode.equals(input_.getDTLoadcaseInf())) {
-							((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
-							infLCFound = true;
-						}
+					// superior load case
+					if (issyCode.equals(input_.getDTLoadcaseSup())) {
+						((DT2PointsInterpolator) dtInterpolator).setSupParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[0]);
+						supLCFound = true;
+					}
+
+					// inferior load case
+					else if (issyCode.equals(input_.getDTLoadcaseInf())) {
+						((DT2PointsInterpolator) dtInterpolator).setInfParameters(resultSet.getString("flight_phase"), issyCode, stress, refTemp[1]);
+						infLCFound = true;
 					}
 				}
 			}
@@ -1856,6 +1779,8 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 *            Database connection.
 	 * @param statement
 	 *            Database statement.
+	 * @param statements
+	 *            Statement cache.
 	 * @param anaFileID
 	 *            ANA file ID.
 	 * @param txtFileID
@@ -1866,7 +1791,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private DPRatio getDPRatio(Connection connection, Statement statement, int anaFileID, int txtFileID, int convTableID) throws Exception {
+	private DPRatio getDPRatio(Connection connection, Statement statement, StatementCache statements, int anaFileID, int txtFileID, int convTableID) throws Exception {
 
 		// get reference pressure
 		double refDP = getRefDP(connection, convTableID, anaFileID);
@@ -1888,44 +1813,43 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 		// execute statement
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
-			// prepare statement to get STF stresses
+			// get statement for selecting STF stresses
 			int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
 			int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
-			sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-			try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-				// loop over delta-p cases
-				while (resultSet.next()) {
+			PreparedStatement statement2 = statements.get(StatementCache.STF_STRESS, "stf_stresses_" + stressTableID);
+			statement2.setInt(1, stfID);
 
-					// set issy code
-					String issyCode = input_.getDPLoadcase() == null ? resultSet.getString("issy_code") : input_.getDPLoadcase();
-					statement2.setString(1, issyCode);
+			// loop over delta-p cases
+			while (resultSet.next()) {
 
-					// get delta-p stress from STF file
-					double stress = 0.0;
-					try (ResultSet resultSet2 = statement2.executeQuery()) {
-						while (resultSet2.next())
-							if (component.equals(StressComponent.NORMAL_X)) {
-								stress = resultSet2.getDouble("stress_x");
-							}
-							else if (component.equals(StressComponent.NORMAL_Y)) {
-								stress = resultSet2.getDouble("stress_y");
-							}
-							else if (component.equals(StressComponent.SHEAR_XY)) {
-								stress = resultSet2.getDouble("stress_xy");
-							}
-							else if (component.equals(StressComponent.ROTATED)) {
-								double x = resultSet2.getDouble("stress_x");
-								double y = resultSet2.getDouble("stress_y");
-								double xy = resultSet2.getDouble("stress_xy");
-								stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-							}
-					}
+				// set issy code
+				String issyCode = input_.getDPLoadcase() == null ? resultSet.getString("issy_code") : input_.getDPLoadcase();
+				statement2.setString(2, issyCode);
 
-					// create delta-p ratio
-					dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
-					break;
+				// get delta-p stress from STF file
+				double stress = 0.0;
+				try (ResultSet resultSet2 = statement2.executeQuery()) {
+					while (resultSet2.next())
+						if (component.equals(StressComponent.NORMAL_X)) {
+							stress = resultSet2.getDouble("stress_x");
+						}
+						else if (component.equals(StressComponent.NORMAL_Y)) {
+							stress = resultSet2.getDouble("stress_y");
+						}
+						else if (component.equals(StressComponent.SHEAR_XY)) {
+							stress = resultSet2.getDouble("stress_xy");
+						}
+						else if (component.equals(StressComponent.ROTATED)) {
+							double x = resultSet2.getDouble("stress_x");
+							double y = resultSet2.getDouble("stress_y");
+							double xy = resultSet2.getDouble("stress_xy");
+							stress = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
+						}
 				}
+
+				// create delta-p ratio
+				dpRatio = new DPRatio(refDP, stress, resultSet.getString("flight_phase"), issyCode);
+				break;
 			}
 		}
 
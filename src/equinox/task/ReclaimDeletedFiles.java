@@ -0,0 +1,402 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import equinox.Equinox;
+import equinox.dataServer.remote.data.PilotPointImageType;
+import equinox.utility.ANAPeakStore;
+import equinox.utility.DeletedFiles;
+
+/**
+ * Class for reclaim deleted files task. This task runs on background with low thread priority and removes the data of deleted (tombstoned) spectra and STF files from the database. Each STF file and spectrum is
+ * reclaimed within its own short transaction using set based deletes, so that the locks held on shared tables are kept small. Files are reclaimed only while no other task is running; the task stops as soon as
+ * other tasks are started, so that reclamation never runs concurrently with tasks reading or writing the data of the files. Deletion marks are kept until the data of a file is completely removed, so interrupted
+ * reclamations are resumed by the next run.
+ * <p>
+ * Reclaim requests made while a reclaim task is running are not lost; they are served by the running task once it completes its current pass. Pending reclamations (requested during a run, or interrupted since
+ * the workspace was busy) are started by the workspace maintenance checks during idle time (see {@link CheckWorkspaceMaintenance}).
+ *
+ * @author Murat Artim
+ * @date 5 Nov 2018
+ * @time 10:41:18
+ */
+public class ReclaimDeletedFiles extends InternalEquinoxTask<Void> {
+
+	/** True if a reclaim task is already running. */
+	private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
+
+	/** True if reclamation is requested while a reclaim task is running, or if the last reclamation was interrupted. */
+	private static final AtomicBoolean PENDING = new AtomicBoolean(false);
+
+	@Override
+	public String getTaskTitle() {
+		return "Reclaim deleted files";
+	}
+
+	@Override
+	public boolean canBeCancelled() {
+		return true;
+	}
+
+	/**
+	 * Returns true if there is pending reclamation. This is the case if reclamation is requested while a reclaim task was running, or if the last reclamation was interrupted.
+	 *
+	 * @return True if there is pending reclamation.
+	 */
+	public static boolean isPending() {
+		return PENDING.get();
+	}
+
+	@Override
+	protected Void call() throws Exception {
+
+		// another reclaim task is already running (request it to run once more)
+		if (!RUNNING.compareAndSet(false, true)) {
+			PENDING.set(true);
+			return null;
+		}
+
+		// lower thread priority
+		Thread thread = Thread.currentThread();
+		int priority = thread.getPriority();
+		thread.setPriority(Thread.MIN_PRIORITY);
+
+		try {
+
+			// reclaim until no request is pending
+			do {
+				PENDING.set(false);
+				if (!reclaimAll()) {
+					PENDING.set(true);
+					break;
+				}
+			}
+			while (PENDING.get());
+		}
+
+		// reset thread priority and running flag
+		finally {
+			thread.setPriority(priority);
+			RUNNING.set(false);
+		}
+
+		// return
+		return null;
+	}
+
+	/**
+	 * Reclaims all deleted files. Reclamation is stopped if the task is cancelled or other tasks are started.
+	 *
+	 * @return True if all deleted files are reclaimed, false if reclamation is stopped.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean reclaimAll() throws Exception {
+
+		// get connection to database
+		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+
+			// no deleted files
+			if (!DeletedFiles.tableExists(connection))
+				return true;
+
+			// create statement
+			try (Statement statement = connection.createStatement()) {
+
+				// get linked pilot point table names
+				ArrayList<String> ppTableNames = new ArrayList<>();
+				DatabaseMetaData dbmtadta = connection.getMetaData();
+				try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "PILOT_POINTS_%", null)) {
+					while (resultSet.next()) {
+						ppTableNames.add("AURORA." + resultSet.getString(3));
+					}
+				}
+
+				// reclaim STF files
+				ArrayList<Integer> stfIDs = new ArrayList<>(DeletedFiles.getIDs(connection, DeletedFiles.STF));
+				for (int i = 0; i < stfIDs.size(); i++) {
+
+					// task cancelled or workspace is not idle anymore
+					if (isCancelled() || taskPanel_.getOwner().getNumberOfRunningTasks() > 1)
+						return false;
+
+					// reclaim STF file
+					updateProgress(i, stfIDs.size());
+					reclaim(connection, statement, DeletedFiles.STF, stfIDs.get(i), ppTableNames);
+				}
+
+				// reclaim spectra
+				for (int spectrumID : DeletedFiles.getIDs(connection, DeletedFiles.SPECTRUM)) {
+
+					// task cancelled or workspace is not idle anymore
+					if (isCancelled() || taskPanel_.getOwner().getNumberOfRunningTasks() > 1)
+						return false;
+
+					// reclaim spectrum
+					reclaim(connection, statement, DeletedFiles.SPECTRUM, spectrumID, ppTableNames);
+				}
+			}
+		}
+
+		// all deleted files reclaimed
+		return true;
+	}
+
+	/**
+	 * Reclaims given deleted file within a single transaction.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param statement
+	 *            Database statement.
+	 * @param fileType
+	 *            File type.
+	 * @param fileID
+	 *            File ID.
+	 * @param ppTableNames
+	 *            Pilot point table names.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void reclaim(Connection connection, Statement statement, int fileType, int fileID, ArrayList<String> ppTableNames) throws Exception {
+
+		try {
+
+			// disable auto-commit
+			connection.setAutoCommit(false);
+
+			// reclaim STF file
+			if (fileType == DeletedFiles.STF) {
+				reclaimSTFFile(statement, fileID, ppTableNames);
+			}
+
+			// reclaim spectrum (only after all of its STF files are reclaimed)
+			else {
+				try (ResultSet resultSet = statement.executeQuery("select 1 from stf_files where cdf_id = " + fileID)) {
+					if (resultSet.next()) {
+						connection.rollback();
+						connection.setAutoCommit(true);
+						return;
+					}
+				}
+				reclaimSpectrum(statement, fileID);
+			}
+
+			// remove deletion mark
+			DeletedFiles.unmark(statement, fileType, fileID);
+
+			// commit updates
+			connection.commit();
+			connection.setAutoCommit(true);
+		}
+
+		// exception occurred during process
+		catch (Exception e) {
+
+			// roll back updates
+			connection.rollback();
+			connection.setAutoCommit(true);
+
+			// propagate exception
+			throw e;
+		}
+	}
+
+	/**
+	 * Removes the data of given deleted STF file from the database.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param stfID
+	 *            STF file ID.
+	 * @param ppTableNames
+	 *            Pilot point table names.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void reclaimSTFFile(Statement statement, int stfID, ArrayList<String> ppTableNames) throws Exception {
+
+		// get stress table ID
+		int stressTableID = -1;
+		try (ResultSet resultSet = statement.executeQuery("select stress_table_id from stf_files where file_id = " + stfID)) {
+			while (resultSet.next()) {
+				stressTableID = resultSet.getInt("stress_table_id");
+			}
+		}
+
+		// get STH file IDs
+		ArrayList<Integer> sthIDs = new ArrayList<>();
+		try (ResultSet resultSet = statement.executeQuery("select file_id from sth_files where stf_id = " + stfID)) {
+			while (resultSet.next()) {
+				sthIDs.add(resultSet.getInt("file_id"));
+			}
+		}
+
+		// remove linked pilot points
+		updateMessage("Deleting linked pilot points from database...");
+		for (String ppTableName : ppTableNames) {
+			statement.executeUpdate("delete from " + ppTableName + " where stf_id = " + stfID);
+		}
+
+		// remove stress sequences
+		updateMessage("Deleting stress sequences from database...");
+		String sths = "(select file_id from sth_files where stf_id = " + stfID + ")";
+		for (String eqStressTable : new String[] { "fatigue_equivalent_stresses", "preffas_equivalent_stresses", "linear_equivalent_stresses" }) {
+			statement.executeUpdate("delete from analysis_output_files where id in (select output_file_id from " + eqStressTable + " where output_file_id is not null and sth_id in " + sths + ")");
+		}
+		statement.executeUpdate("delete from fatigue_rainflow_cycles where stress_id in (select id from fatigue_equivalent_stresses where sth_id in " + sths + ")");
+		statement.executeUpdate("delete from preffas_rainflow_cycles where stress_id in (select id from preffas_equivalent_stresses where sth_id in " + sths + ")");
+		statement.executeUpdate("delete from linear_rainflow_cycles where stress_id in (select id from linear_equivalent_stresses where sth_id in " + sths + ")");
+		statement.executeUpdate("delete from fatigue_equivalent_stresses where sth_id in " + sths);
+		statement.executeUpdate("delete from preffas_equivalent_stresses where sth_id in " + sths);
+		statement.executeUpdate("delete from linear_equivalent_stresses where sth_id in " + sths);
+		statement.executeUpdate("delete from event_modifiers where sth_id in " + sths);
+		statement.executeUpdate("delete from segment_modifiers where sth_id in " + sths);
+		for (int sthID : sthIDs) {
+			statement.executeUpdate("drop table AURORA.segments_" + sthID);
+			statement.executeUpdate("drop table AURORA.segment_steady_stresses_" + sthID);
+			statement.executeUpdate("drop table AURORA.segment_increment_stresses_" + sthID);
+			statement.executeUpdate("drop table AURORA.sth_peaks_" + sthID);
+		}
+		statement.executeUpdate("delete from sth_flights where file_id in " + sths);
+		statement.executeUpdate("delete from sth_files where stf_id = " + stfID);
+
+		// remove damage angles
+		updateMessage("Deleting damage angles from database...");
+		String angles = "(select angle_id from maxdam_angles where stf_id = " + stfID + ")";
+		statement.executeUpdate("delete from dam_angle_event_modifiers where angle_id in " + angles);
+		statement.executeUpdate("delete from dam_angle_segment_modifiers where angle_id in " + angles);
+		statement.executeUpdate("delete from damage_angles where angle_id in " + angles);
+		statement.executeUpdate("delete from maxdam_angles where stf_id = " + stfID);
+
+		// remove damage contributions
+		updateMessage("Deleting damage contributions from database...");
+		String contributions = "(select contributions_id from dam_contributions where stf_id = " + stfID + ")";
+		statement.executeUpdate("delete from dam_contributions_gag_events where contributions_id in " + contributions);
+		statement.executeUpdate("delete from dam_contributions_event_modifiers where contributions_id in " + contributions);
+		statement.executeUpdate("delete from dam_contributions_segment_modifiers where contributions_id in " + contributions);
+		statement.executeUpdate("delete from dam_contribution_event_modifiers where contributions_id in " + contributions);
+		statement.executeUpdate("delete from dam_contribution where contributions_id in " + contributions);
+		statement.executeUpdate("delete from dam_contributions where stf_id = " + stfID);
+
+		// remove flight damage contributions
+		updateMessage("Deleting flight damage contributions from database...");
+		String flightContributions = "(select id from flight_dam_contributions where stf_id = " + stfID + ")";
+		statement.executeUpdate("delete from flight_dam_contributions_event_modifiers where id in " + flightContributions);
+		statement.executeUpdate("delete from flight_dam_contributions_segment_modifiers where id in " + flightContributions);
+		statement.executeUpdate("delete from flight_dam_contribution_with_occurrences where id in " + flightContributions);
+		statement.executeUpdate("delete from flight_dam_contribution_without_occurrences where id in " + flightContributions);
+		statement.executeUpdate("delete from flight_dam_contributions where stf_id = " + stfID);
+
+		// remove fast equivalent stresses
+		updateMessage("Deleting fast equivalent stresses from database...");
+		for (String eqStressTable : new String[] { "fast_fatigue_equivalent_stresses", "fast_preffas_equivalent_stresses", "fast_linear_equivalent_stresses" }) {
+			statement.executeUpdate("delete from analysis_output_files where id in (select output_file_id from " + eqStressTable + " where output_file_id is not null and stf_id = " + stfID + ")");
+			statement.executeUpdate("delete from " + eqStressTable + " where stf_id = " + stfID);
+		}
+
+		// remove mission parameters
+		updateMessage("Deleting STF mission parameters from database...");
+		statement.executeUpdate("delete from stf_mission_parameters where stf_id = " + stfID);
+
+		// remove stresses
+		if (stressTableID != -1) {
+
+			// remove stresses
+			updateMessage("Deleting STF stresses from database...");
+			statement.executeUpdate("delete from stf_stresses_" + stressTableID + " where file_id = " + stfID);
+
+			// remove stress table if empty
+			boolean isEmpty = false;
+			try (ResultSet resultSet = statement.executeQuery("select 1 from stf_stresses_" + stressTableID)) {
+				isEmpty = !resultSet.next();
+			}
+			if (isEmpty) {
+				statement.executeUpdate("drop table AURORA.stf_stresses_" + stressTableID);
+			}
+		}
+
+		// remove pilot point images
+		updateMessage("Deleting STF images from database...");
+		for (PilotPointImageType imageType : PilotPointImageType.values()) {
+			statement.executeUpdate("delete from " + imageType.getTableName() + " where id = " + stfID);
+		}
+
+		// remove file
+		updateMessage("Deleting STF file from database...");
+		statement.executeUpdate("delete from stf_files where file_id = " + stfID);
+	}
+
+	/**
+	 * Removes the data of given deleted spectrum from the database. Note that, the STF files of the spectrum must already be reclaimed.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param spectrumID
+	 *            Spectrum ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void reclaimSpectrum(Statement statement, int spectrumID) throws Exception {
+
+		// get ANA file IDs
+		ArrayList<Integer> anaIDs = new ArrayList<>();
+		try (ResultSet resultSet = statement.executeQuery("select file_id from ana_files where cdf_id = " + spectrumID)) {
+			while (resultSet.next()) {
+				anaIDs.add(resultSet.getInt("file_id"));
+			}
+		}
+
+		// remove ANA files
+		updateMessage("Deleting ANA files from database...");
+		for (int anaID : anaIDs) {
+			ANAPeakStore.dropTable(statement, anaID);
+		}
+		statement.executeUpdate("delete from ana_flights where file_id in (select file_id from ana_files where cdf_id = " + spectrumID + ")");
+		statement.executeUpdate("delete from ana_files where cdf_id = " + spectrumID);
+
+		// remove TXT files
+		updateMessage("Deleting TXT files from database...");
+		statement.executeUpdate("delete from txt_codes where file_id in (select file_id from txt_files where cdf_id = " + spectrumID + ")");
+		statement.executeUpdate("delete from txt_files where cdf_id = " + spectrumID);
+
+		// remove FLS files
+		updateMessage("Deleting FLS files from database...");
+		statement.executeUpdate("delete from fls_flights where file_id in (select file_id from fls_files where cdf_id = " + spectrumID + ")");
+		statement.executeUpdate("delete from fls_files where cdf_id = " + spectrumID);
+
+		// remove CVT files
+		updateMessage("Deleting CVT files from database...");
+		statement.executeUpdate("delete from cvt_files where cdf_id = " + spectrumID);
+
+		// remove conversion tables
+		updateMessage("Deleting conversion tables from database...");
+		statement.executeUpdate("delete from xls_comments where file_id in (select file_id from xls_files where cdf_id = " + spectrumID + ")");
+		statement.executeUpdate("delete from xls_files where cdf_id = " + spectrumID);
+
+		// remove spectrum
+		updateMessage("Deleting spectrum from database...");
+		statement.executeUpdate("delete from cdf_mission_parameters where cdf_id = " + spectrumID);
+		statement.executeUpdate("delete from cdf_sets where set_id = " + spectrumID);
+	}
+}
@@ -25,8 +25,10 @@ import equinox.Equinox;
 import equinox.controller.InfoViewPanel;
 import equinox.controller.InputPanel;
 import equinox.controller.ViewPanel;
+import equinox.data.ElementIndex;
 import equinox.data.fileType.SpectrumItem;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
+import equinox.utility.DeletedFiles;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 
@@ -234,6 +236,11 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 			DatabaseMetaData dbmtadta = connection.getMetaData();
 
 			// drop tables
+			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", DeletedFiles.TABLE, null)) {
+				while (resultSet.next()) {
+					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
+				}
+			}
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "GRIDS_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -244,6 +251,7 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			ElementIndex.invalidateAll();
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "ELEMENT_GROUPS_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -304,6 +312,16 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "ANA_PEAK_BLOCKS_%", null)) {
+				while (resultSet.next()) {
+					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
+				}
+			}
+			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "ANA_CLASS_CODES_%", null)) {
+				while (resultSet.next()) {
+					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
+				}
+			}
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "STF_STRESSES_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -23,6 +23,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.EnumMap;
+import java.util.EnumSet;
 
 import equinox.data.ProgramArguments.ArgumentType;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
@@ -89,8 +90,16 @@ public class RewriteCFGFile extends TemporaryFileCreatingTask<Void> implements S
 
 				// read file till the end
 				String line;
+				EnumSet<ArgumentType> written = EnumSet.noneOf(ArgumentType.class);
+				boolean inArguments = false;
 				while ((line = reader.readLine()) != null) {
 
+					// end of program arguments block (append arguments missing from file)
+					if (inArguments && !line.startsWith("--")) {
+						writeMissingArguments(writer, written);
+						inArguments = false;
+					}
+
 					// min heap size
 					if (line.startsWith("-Xms")) {
 						writer.write("-Xms" + arguments_.get(ArgumentType.JVM_MIN_HEAP_SIZE) + "m");
@@ -99,9 +108,11 @@ public class RewriteCFGFile extends TemporaryFileCreatingTask<Void> implements S
 						writer.write("-Xmx" + arguments_.get(ArgumentType.JVM_MAX_HEAP_SIZE) + "m");
 					}
 					else if (line.startsWith("--")) {
+						inArguments = true;
 						for (ArgumentType type : ArgumentType.values()) {
 							if (line.contains(type.getName())) {
 								writer.write("--" + type.getName() + "=" + arguments_.get(type));
+								written.add(type);
 								break;
 							}
 						}
@@ -113,6 +124,11 @@ public class RewriteCFGFile extends TemporaryFileCreatingTask<Void> implements S
 					// new line
 					writer.newLine();
 				}
+
+				// program arguments block is at the end of file
+				if (inArguments) {
+					writeMissingArguments(writer, written);
+				}
 			}
 		}
 
@@ -122,4 +138,31 @@ public class RewriteCFGFile extends TemporaryFileCreatingTask<Void> implements S
 		// return
 		return null;
 	}
+
+	/**
+	 * Writes program arguments which are not contained in the original configuration file (i.e. arguments introduced after the installation).
+	 *
+	 * @param writer
+	 *            File writer.
+	 * @param written
+	 *            Arguments already written to the new configuration file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void writeMissingArguments(BufferedWriter writer, EnumSet<ArgumentType> written) throws Exception {
+		for (ArgumentType type : ArgumentType.values()) {
+
+			// heap sizes are JVM options
+			if (type.equals(ArgumentType.JVM_MIN_HEAP_SIZE) || type.equals(ArgumentType.JVM_MAX_HEAP_SIZE)) {
+				continue;
+			}
+
+			// argument not in file
+			if (!written.contains(type) && arguments_.get(type) != null) {
+				writer.write("--" + type.getName() + "=" + arguments_.get(type));
+				writer.newLine();
+				written.add(type);
+			}
+		}
+	}
 }
@@ -25,6 +25,7 @@ import equinox.Equinox;
 import equinox.data.fileType.STFFileBucket;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableSaveBucketDamageAngles;
+import equinox.utility.DeletedFiles;
 import javafx.beans.property.BooleanProperty;
 import jxl.CellType;
 import jxl.Workbook;
@@ -114,7 +115,7 @@ public class SaveBucketDamageAngles extends InternalEquinoxTask<Void> implements
 			try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 				// prepare statement for getting STF files
-				String sql = "select file_id, name, eid from stf_files where cdf_id = ? order by name";
+				String sql = "select file_id, name, eid from stf_files where cdf_id = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id") + " order by name";
 				try (PreparedStatement getSTFs = connection.prepareStatement(sql)) {
 
 					// prepare statement for getting damage angles
@@ -26,6 +26,7 @@ import equinox.data.fileType.STFFileBucket;
 import equinox.dataServer.remote.data.ContributionType;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableSaveBucketDamageContributions;
+import equinox.utility.DeletedFiles;
 import jxl.CellType;
 import jxl.Workbook;
 import jxl.format.Border;
@@ -120,7 +121,7 @@ public class SaveBucketDamageContributions extends InternalEquinoxTask<Void> imp
 			try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
 				// prepare statement for getting STF files
-				String sql = "select file_id, name, eid from stf_files where cdf_id = ? order by name";
+				String sql = "select file_id, name, eid from stf_files where cdf_id = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id") + " order by name";
 				try (PreparedStatement getSTFs = connection.prepareStatement(sql)) {
 
 					// prepare statement to get overall damage contribution info
@@ -26,6 +26,7 @@ import equinox.controller.SaveEquivalentStressInfoPanel;
 import equinox.data.fileType.STFFileBucket;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableSaveBucketEquivalentStresses;
+import equinox.utility.DeletedFiles;
 import javafx.beans.property.BooleanProperty;
 import jxl.CellType;
 import jxl.Workbook;
@@ -125,7 +126,7 @@ public class SaveBucketEquivalentStresses extends InternalEquinoxTask<Void> impl
 				try (PreparedStatement getStresses = connection.prepareStatement(sql)) {
 
 					// prepare statement for getting STF files
-					sql = "select file_id, name, eid from stf_files where cdf_id = ? order by name";
+					sql = "select file_id, name, eid from stf_files where cdf_id = ?" + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id") + " order by name";
 					try (PreparedStatement getSTFs = connection.prepareStatement(sql)) {
 
 						// loop over buckets
@@ -37,6 +37,7 @@ import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.DeletedFiles;
 import equinox.utility.Utility;
 
 /**
@@ -434,7 +435,7 @@ public class SaveSpectrum extends TemporaryFileCreatingTask<Path> implements Lon
 		ArrayList<Path> outputs = new ArrayList<>();
 
 		// get STF file IDs
-		String sql = "select file_id, stress_table_id, name, is_2d from stf_files where cdf_id = " + spectrum_.getID();
+		String sql = "select file_id, stress_table_id, name, is_2d from stf_files where cdf_id = " + spectrum_.getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
 			// loop over STF files
@@ -24,7 +24,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
@@ -35,6 +34,7 @@ import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.PeakFormatter;
 
 /**
  * Class for save stress sequence as SIGMA file task.
@@ -57,8 +57,8 @@ public class SaveStressSequenceAsSIGMA extends InternalEquinoxTask<Path> impleme
 	/** Number of columns. */
 	private static final int NUM_COLS = 10;
 
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.000000E00");
+	/** SIGMA line. */
+	private final PeakFormatter line_ = new PeakFormatter("0.000000E00", 14);
 
 	/** Automatic tasks. */
 	private HashMap<String, AutomaticTask<Path>> automaticTasks_ = null;
@@ -292,7 +292,7 @@ public class SaveStressSequenceAsSIGMA extends InternalEquinoxTask<Path> impleme
 		// get peaks
 		int rem = numPeaks % NUM_COLS;
 		int numRows = numPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
-		String line = "";
+		line_.clear();
 		selectPeaks.setInt(1, flights.getInt("flight_id"));
 		try (ResultSet peaks = selectPeaks.executeQuery()) {
 
@@ -308,14 +308,13 @@ public class SaveStressSequenceAsSIGMA extends InternalEquinoxTask<Path> impleme
 				if (rowIndex == numRows - 1) {
 
 					// add peak
-					line += String.format("%14s", format_.format(peaks.getDouble("peak_val")));
+					line_.append(peaks.getDouble("peak_val"));
 					colIndex++;
 
 					// last column
 					if (colIndex == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(line);
+						line_.write(writer);
 						writer.newLine();
-						line = "";
 						colIndex = 0;
 						rowIndex++;
 					}
@@ -325,14 +324,13 @@ public class SaveStressSequenceAsSIGMA extends InternalEquinoxTask<Path> impleme
 				else {
 
 					// add peak
-					line += String.format("%14s", format_.format(peaks.getDouble("peak_val")));
+					line_.append(peaks.getDouble("peak_val"));
 					colIndex++;
 
 					// last column
 					if (colIndex == NUM_COLS) {
-						writer.write(line);
+						line_.write(writer);
 						writer.newLine();
-						line = "";
 						colIndex = 0;
 						rowIndex++;
 					}
@@ -36,6 +36,7 @@ import equinox.serverUtilities.SharedFileInfo;
 import equinox.task.InternalEquinoxTask.FileSharingTask;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.DeletedFiles;
 import equinox.utility.Utility;
 
 /**
@@ -389,7 +390,7 @@ public class ShareSpectrum extends TemporaryFileCreatingTask<Void> implements Lo
 		ArrayList<Path> outputs = new ArrayList<>();
 
 		// get STF file IDs
-		String sql = "select file_id, stress_table_id, name, is_2d from stf_files where cdf_id = " + spectrum_.getID();
+		String sql = "select file_id, stress_table_id, name, is_2d from stf_files where cdf_id = " + spectrum_.getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id");
 		try (ResultSet resultSet = statement.executeQuery(sql)) {
 
 			// loop over STF files
@@ -39,6 +39,7 @@ import equinox.data.fileType.STFFileBucket;
 import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.StressSequence;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import equinox.utility.DeletedFiles;
 
 /**
  * Class for show STF files task.
@@ -204,7 +205,7 @@ public class ShowSTFFiles extends InternalEquinoxTask<ArrayList<STFFile>> implem
 
 													// get STF files
 													sql = "select file_id, stress_table_id, name, is_2d, fat_mission, eid from stf_files where cdf_id = ";
-													sql += bucket_.getParentItem().getID() + " order by name";
+													sql += bucket_.getParentItem().getID() + DeletedFiles.andExclusion(connection, DeletedFiles.STF, "file_id") + " order by name";
 													try (ResultSet getSTFFiles = statement.executeQuery(sql)) {
 
 														// loop over STF files
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+/**
+ * Interface for task monitor. Processes report their messages, warnings and progress to the monitor, and check the monitor for cancellation. All internal tasks are task monitors, but processes can also be given a
+ * monitor which forwards to the owner task (such as when several processes of a task run concurrently).
+ *
+ * @author Murat Artim
+ * @date 17 Nov 2018
+ * @time 14:02:11
+ */
+public interface TaskMonitor {
+
+	/**
+	 * Returns true if the monitored task is cancelled.
+	 *
+	 * @return True if the monitored task is cancelled.
+	 */
+	boolean isCancelled();
+
+	/**
+	 * Updates the progress message.
+	 *
+	 * @param message
+	 *            Progress message.
+	 */
+	void updateMessage(String message);
+
+	/**
+	 * Updates the progress.
+	 *
+	 * @param workDone
+	 *            Work done.
+	 * @param max
+	 *            Total work.
+	 */
+	void updateProgress(long workDone, long max);
+
+	/**
+	 * Adds given warning to warnings.
+	 *
+	 * @param warning
+	 *            Warning message to add.
+	 */
+	void addWarning(String warning);
+
+	/**
+	 * Adds given warning message with the related exception message.
+	 *
+	 * @param warning
+	 *            Warning message to add.
+	 * @param e
+	 *            Exception to add.
+	 */
+	void addWarning(String warning, Throwable e);
+}
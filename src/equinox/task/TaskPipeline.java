@@ -0,0 +1,231 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.time.DurationFormatUtils;
+
+/**
+ * Class for bounded task pipeline. Sub tasks are submitted as long as the number of in-flight tasks is below the window size. As soon as any in-flight task completes, the next sub task can be submitted. So, a slow task
+ * doesn't block the submission of the others (as opposed to submitting tasks in waves and waiting for all of them to complete). Progress, throughput and estimated remaining time are reported to the owner task.
+ * <p>
+ * Note that, this class is not thread safe. It should be used from within the thread of the owner task.
+ *
+ * @author Murat Artim
+ * @date 29 Oct 2018
+ * @time 10:34:12
+ */
+public class TaskPipeline {
+
+	/** Polling period in milliseconds for waiting in-flight tasks. */
+	private static final long POLL_PERIOD = 100L;
+
+	/** Minimum period in nanoseconds between two progress reports. */
+	private static final long REPORT_PERIOD = 500000000L;
+
+	/** The owner task. */
+	private final InternalEquinoxTask<?> owner_;
+
+	/** Progress message prefix. */
+	private final String message_;
+
+	/** Maximum number of in-flight tasks. */
+	private final int window_;
+
+	/** Total number of tasks to be executed. */
+	private final long total_;
+
+	/** In-flight tasks. */
+	private final ArrayList<Future<?>> inFlight_ = new ArrayList<>();
+
+	/** Number of completed tasks. */
+	private long completed_ = 0L;
+
+	/** Start time and last progress report time (in nanoseconds). */
+	private long startTime_ = -1L, lastReport_ = 0L;
+
+	/**
+	 * Creates bounded task pipeline.
+	 *
+	 * @param owner
+	 *            The owner task.
+	 * @param message
+	 *            Progress message prefix.
+	 * @param window
+	 *            Maximum number of in-flight tasks.
+	 * @param total
+	 *            Total number of tasks to be executed. This is used for progress and remaining time computation.
+	 */
+	public TaskPipeline(InternalEquinoxTask<?> owner, String message, int window, long total) {
+		owner_ = owner;
+		message_ = message;
+		window_ = Math.max(1, window);
+		total_ = total;
+	}
+
+	/**
+	 * Submits given sub task. If the window is full, this method waits until any in-flight task completes.
+	 *
+	 * @param task
+	 *            Sub task to submit.
+	 * @param isSequential
+	 *            True if task should be executed within the sequential task queue.
+	 * @return True if the task is submitted, false if the owner task is cancelled.
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting.
+	 */
+	public boolean submit(InternalEquinoxTask<?> task, boolean isSequential) throws InterruptedException {
+
+		// start timer
+		if (startTime_ == -1L) {
+			startTime_ = System.nanoTime();
+		}
+
+		// wait for a free slot
+		while (inFlight_.size() >= window_) {
+			if (owner_.isCancelled()) {
+				cancel();
+				return false;
+			}
+			awaitAny();
+		}
+
+		// owner task cancelled
+		if (owner_.isCancelled()) {
+			cancel();
+			return false;
+		}
+
+		// submit task
+		inFlight_.add(owner_.getTaskPanel().getOwner().runTaskSilently(task, isSequential));
+		return true;
+	}
+
+	/**
+	 * Waits until all in-flight tasks complete. In-flight tasks are cancelled if the owner task is cancelled.
+	 *
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting.
+	 */
+	public void drain() throws InterruptedException {
+		while (!inFlight_.isEmpty()) {
+			if (owner_.isCancelled()) {
+				cancel();
+				return;
+			}
+			awaitAny();
+		}
+	}
+
+	/**
+	 * Cancels all in-flight tasks.
+	 */
+	public void cancel() {
+		for (Future<?> task : inFlight_) {
+			task.cancel(false);
+		}
+		inFlight_.clear();
+	}
+
+	/**
+	 * Waits until at least one in-flight task completes, removes completed tasks and reports progress.
+	 *
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting.
+	 */
+	private void awaitAny() throws InterruptedException {
+
+		// remove completed tasks
+		int removed = removeCompleted();
+
+		// none completed (wait for the oldest task for a while)
+		if (removed == 0) {
+			try {
+				inFlight_.get(0).get(POLL_PERIOD, TimeUnit.MILLISECONDS);
+			}
+
+			// still running
+			catch (TimeoutException e) {
+				return;
+			}
+
+			// interrupted (owner task is cancelled)
+			catch (InterruptedException e) {
+				cancel();
+				throw e;
+			}
+
+			// exception occurred (ignore since it is handled within the task)
+			catch (Exception e) {
+				// no implementation
+			}
+			removed = removeCompleted();
+		}
+
+		// report progress
+		if (removed > 0) {
+			report();
+		}
+	}
+
+	/**
+	 * Removes completed in-flight tasks.
+	 *
+	 * @return Number of removed tasks.
+	 */
+	private int removeCompleted() {
+		int removed = 0;
+		Iterator<Future<?>> iterator = inFlight_.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().isDone()) {
+				iterator.remove();
+				completed_++;
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Reports progress, throughput and estimated remaining time to the owner task.
+	 */
+	private void report() {
+
+		// update progress
+		owner_.updateProgress(completed_, total_);
+
+		// too early for next message
+		long now = System.nanoTime();
+		if ((now - lastReport_) < REPORT_PERIOD && completed_ < total_)
+			return;
+		lastReport_ = now;
+
+		// compute throughput and remaining time
+		double seconds = (now - startTime_) / 1e9;
+		double throughput = seconds <= 0.0 ? 0.0 : completed_ / seconds;
+		String message = message_ + " " + completed_ + "/" + total_ + String.format(" (%.2f per sec", throughput);
+		if (throughput > 0.0 && completed_ < total_) {
+			long remaining = (long) (((total_ - completed_) / throughput) * 1000.0);
+			message += ", ETA " + DurationFormatUtils.formatDuration(remaining, "HH:mm:ss");
+		}
+		owner_.updateMessage(message + ")");
+	}
+}
@@ -32,7 +32,7 @@ import equinox.utility.Utility;
  * @date May 13, 2014
  * @time 11:22:38 AM
  */
-public abstract class TemporaryFileCreatingTask<V> extends InternalEquinoxTask<V> {
+public abstract class TemporaryFileCreatingTask<V> extends InternalEquinoxTask<V> implements TemporaryFileTaskMonitor {
 
 	/** Working directory. */
 	private Path workingDirectory_;
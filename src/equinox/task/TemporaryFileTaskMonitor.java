@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Interface for task monitor with working directory. Processes creating temporary files create them within the working directory of the monitor.
+ *
+ * @author Murat Artim
+ * @date 17 Nov 2018
+ * @time 14:05:47
+ */
+public interface TemporaryFileTaskMonitor extends TaskMonitor {
+
+	/**
+	 * Returns the working directory of the monitored task. If the directory doesn't exist, it will be created and returned.
+	 *
+	 * @return The working directory of the monitored task.
+	 * @throws IOException
+	 *             If exception occurs during creating the directory.
+	 */
+	Path getWorkingDirectory() throws IOException;
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import equinox.data.ANAPeakCursor;
+import equinox.data.ClassCodeDictionary;
+
+/**
+ * Class for ANA peak reader. Reads the peaks of typical flights of an ANA file, independent of the storage type of the file (see {@link ANAPeakStore}). The returned cursor is reused between the reads. Class code IDs
+ * are read as stored at ingest, so that no class code strings are handled per peak. Only the peaks tables of legacy files (without class code dictionary) are read by class code strings, which are then interned into
+ * the class code dictionary of the cursor.
+ *
+ * @author Murat Artim
+ * @date 1 Nov 2018
+ * @time 10:47:33
+ */
+public class ANAPeakReader implements AutoCloseable {
+
+	/** Database statement for reading peaks. */
+	private final PreparedStatement statement_;
+
+	/** True if the peaks are stored in columnar blocks, or class code IDs are stored. */
+	private final boolean isColumnar_, hasDictionary_;
+
+	/** Peak cursor. */
+	private final ANAPeakCursor cursor_;
+
+	/**
+	 * Creates ANA peak reader.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public ANAPeakReader(Connection connection, int anaFileID) throws Exception {
+		isColumnar_ = ANAPeakStore.isColumnar(connection, anaFileID);
+		hasDictionary_ = ANAPeakStore.hasDictionary(connection, anaFileID);
+		cursor_ = new ANAPeakCursor(hasDictionary_ ? ANAPeakStore.loadDictionary(connection, anaFileID) : new ClassCodeDictionary());
+		String sql = null;
+		if (isColumnar_) {
+			sql = "select data from " + ANAPeakStore.BLOCKS_TABLE + anaFileID + " where flight_id = ?";
+		}
+		else if (hasDictionary_) {
+			sql = "select peak_num, code_id, delta_p, delta_t from " + ANAPeakStore.PEAKS_TABLE + anaFileID + " where flight_id = ?";
+		}
+		else {
+			sql = "select peak_num, four_digit_code, fourteen_digit_code, delta_p, delta_t from " + ANAPeakStore.PEAKS_TABLE + anaFileID + " where flight_id = ?";
+		}
+		statement_ = connection.prepareStatement(sql);
+	}
+
+	/**
+	 * Returns the class code dictionary of this reader.
+	 *
+	 * @return The class code dictionary of this reader.
+	 */
+	public ClassCodeDictionary getDictionary() {
+		return cursor_.getDictionary();
+	}
+
+	/**
+	 * Reads the peaks of given typical flight.
+	 *
+	 * @param flightID
+	 *            Typical flight ID.
+	 * @return Cursor positioned before the first peak of the flight.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public ANAPeakCursor read(int flightID) throws Exception {
+
+		// clear cursor
+		cursor_.clear();
+
+		// execute query
+		statement_.setInt(1, flightID);
+		try (ResultSet resultSet = statement_.executeQuery()) {
+
+			// columnar block
+			if (isColumnar_) {
+				if (resultSet.next()) {
+					Blob blob = resultSet.getBlob("data");
+					cursor_.decode(blob.getBytes(1L, (int) blob.length()));
+					blob.free();
+				}
+			}
+
+			// peak rows with class code IDs
+			else if (hasDictionary_) {
+				while (resultSet.next()) {
+					cursor_.add(resultSet.getInt("peak_num"), resultSet.getInt("code_id"), resultSet.getDouble("delta_p"), resultSet.getDouble("delta_t"));
+				}
+			}
+
+			// legacy peak rows
+			else {
+				while (resultSet.next()) {
+					cursor_.add(resultSet.getInt("peak_num"), resultSet.getString("four_digit_code"), resultSet.getString("fourteen_digit_code"), resultSet.getDouble("delta_p"), resultSet.getDouble("delta_t"));
+				}
+			}
+		}
+
+		// return cursor
+		return cursor_;
+	}
+
+	/**
+	 * Reads a single peak of given typical flight.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param flightID
+	 *            Typical flight ID.
+	 * @param peakNum
+	 *            Peak number.
+	 * @return Cursor positioned at the requested peak, or null if the peak couldn't be found.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static ANAPeakCursor readPeak(Connection connection, int anaFileID, int flightID, int peakNum) throws Exception {
+
+		// columnar block (read whole flight)
+		if (ANAPeakStore.isColumnar(connection, anaFileID)) {
+			try (ANAPeakReader reader = new ANAPeakReader(connection, anaFileID)) {
+				ANAPeakCursor cursor = reader.read(flightID);
+				return cursor.moveTo(peakNum) ? cursor : null;
+			}
+		}
+
+		// peak row
+		String sql = "select four_digit_code, fourteen_digit_code, delta_p, delta_t from " + ANAPeakStore.PEAKS_TABLE + anaFileID + " where flight_id = " + flightID + " and peak_num = " + peakNum;
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+					ANAPeakCursor cursor = new ANAPeakCursor(new ClassCodeDictionary());
+					cursor.add(peakNum, resultSet.getString("four_digit_code"), resultSet.getString("fourteen_digit_code"), resultSet.getDouble("delta_p"), resultSet.getDouble("delta_t"));
+					cursor.next();
+					return cursor;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		statement_.close();
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import equinox.Equinox;
+import equinox.data.ClassCodeDictionary;
+import equinox.data.ProgramArguments;
+import equinox.data.ProgramArguments.ArgumentType;
+
+/**
+ * Utility class for ANA peak storage. ANA peaks are either stored row by row in peaks table (<code>ANA_PEAKS_[fileID]</code>), or as one compressed columnar block per typical flight in block table
+ * (<code>ANA_PEAK_BLOCKS_[fileID]</code>). Both peak rows and columnar blocks store class code IDs, which refer to the class code dictionary of the file (<code>ANA_CLASS_CODES_[fileID]</code>). Peaks tables of
+ * files loaded before the class code dictionary was introduced have no class code IDs, and are read by their class code strings. The storage type of new ANA files is selected by the program argument {@link ArgumentType#ANA_PEAK_STORAGE}, while the storage type of existing files is determined from the
+ * existing table. So, files of both types can coexist within the same workspace.
+ *
+ * @author Murat Artim
+ * @date 1 Nov 2018
+ * @time 10:31:48
+ */
+public class ANAPeakStore {
+
+	/** Table name prefixes. */
+	public static final String PEAKS_TABLE = "ANA_PEAKS_", BLOCKS_TABLE = "ANA_PEAK_BLOCKS_", CODES_TABLE = "ANA_CLASS_CODES_";
+
+	/**
+	 * Returns true if columnar storage is selected for new ANA files.
+	 *
+	 * @return True if columnar storage is selected for new ANA files.
+	 */
+	public static boolean isColumnarStorageSelected() {
+		return ProgramArguments.ANA_PEAK_STORAGE_COLUMNAR.equals(Equinox.ARGUMENTS.getArgument(ArgumentType.ANA_PEAK_STORAGE));
+	}
+
+	/**
+	 * Returns true if the peaks of given ANA file are stored in columnar blocks.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @return True if the peaks of given ANA file are stored in columnar blocks.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static boolean isColumnar(Connection connection, int anaFileID) throws SQLException {
+		try (ResultSet resultSet = connection.getMetaData().getTables(null, "AURORA", BLOCKS_TABLE + anaFileID, null)) {
+			return resultSet.next();
+		}
+	}
+
+	/**
+	 * Returns true if the class code dictionary of given ANA file is stored. This is always the case for columnar files, and for row based files loaded with the class code dictionary.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @return True if the class code dictionary of given ANA file is stored.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static boolean hasDictionary(Connection connection, int anaFileID) throws SQLException {
+		try (ResultSet resultSet = connection.getMetaData().getTables(null, "AURORA", CODES_TABLE + anaFileID, null)) {
+			return resultSet.next();
+		}
+	}
+
+	/**
+	 * Creates ANA peak blocks table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID. This is used to generate unique table name.
+	 * @return Name of newly created ANA peak blocks table.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static String createBlocksTable(Connection connection, int anaFileID) throws SQLException {
+		String tableName = BLOCKS_TABLE + anaFileID;
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA." + tableName + "(FLIGHT_ID INT NOT NULL, NUM_PEAKS INT NOT NULL, DATA BLOB(16M) NOT NULL, PRIMARY KEY(FLIGHT_ID))");
+		}
+		return tableName;
+	}
+
+	/**
+	 * Creates ANA class codes table and saves given class code dictionary to it.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID. This is used to generate unique table name.
+	 * @param dictionary
+	 *            Class code dictionary of the ANA file.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void saveDictionary(Connection connection, int anaFileID, ClassCodeDictionary dictionary) throws SQLException {
+
+		// create table
+		String tableName = CODES_TABLE + anaFileID;
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA." + tableName + "(CODE_ID INT NOT NULL, FOUR_DIGIT_CODE VARCHAR(4) NOT NULL, FOURTEEN_DIGIT_CODE VARCHAR(14) NOT NULL, PRIMARY KEY(CODE_ID))");
+		}
+
+		// insert class codes
+		String sql = "insert into " + tableName + "(code_id, four_digit_code, fourteen_digit_code) values(?, ?, ?)";
+		try (PreparedStatement update = connection.prepareStatement(sql)) {
+			for (int i = 0; i < dictionary.size(); i++) {
+				update.setInt(1, i);
+				update.setString(2, dictionary.getFourDigitCode(i));
+				update.setString(3, dictionary.getFourteenDigitCode(i));
+				update.addBatch();
+			}
+			update.executeBatch();
+		}
+	}
+
+	/**
+	 * Loads the class code dictionary of given ANA file.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @return The class code dictionary.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static ClassCodeDictionary loadDictionary(Connection connection, int anaFileID) throws SQLException {
+		ClassCodeDictionary dictionary = new ClassCodeDictionary();
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("select code_id, four_digit_code, fourteen_digit_code from " + CODES_TABLE + anaFileID + " order by code_id")) {
+				while (resultSet.next()) {
+					if (dictionary.intern(resultSet.getString("four_digit_code"), resultSet.getString("fourteen_digit_code")) != resultSet.getInt("code_id"))
+						throw new SQLException("Invalid class code dictionary for ANA file " + anaFileID + ".");
+				}
+			}
+		}
+		return dictionary;
+	}
+
+	/**
+	 * Drops the peaks (or peak blocks) and class codes tables of given ANA file.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void dropTable(Statement statement, int anaFileID) throws SQLException {
+		Connection connection = statement.getConnection();
+		boolean hasDictionary = hasDictionary(connection, anaFileID);
+		if (isColumnar(connection, anaFileID)) {
+			statement.executeUpdate("drop table AURORA." + BLOCKS_TABLE + anaFileID);
+		}
+		else {
+			statement.executeUpdate("drop table AURORA." + PEAKS_TABLE + anaFileID);
+		}
+		if (hasDictionary) {
+			statement.executeUpdate("drop table AURORA." + CODES_TABLE + anaFileID);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import equinox.Equinox;
+import equinox.data.ProgramArguments;
+import equinox.data.ProgramArguments.ArgumentType;
+
+/**
+ * Class for collecting rows of a prepared insert statement into JDBC batches. The rows are sent to database once the batch size is reached. Note that, the owner of the statement is responsible for closing it and for committing the
+ * transaction.
+ *
+ * @author Murat Artim
+ * @date 16 Oct 2018
+ * @time 10:12:45
+ */
+public class BatchInserter {
+
+	/** Insert statement. */
+	private final PreparedStatement statement_;
+
+	/** Batch size. */
+	private final int batchSize_;
+
+	/** Number of pending and inserted rows. */
+	private int pending_ = 0, inserted_ = 0;
+
+	/** Start time of insertion (in nanoseconds). */
+	private final long startTime_;
+
+	/**
+	 * Creates batch inserter with the batch size given in program arguments.
+	 *
+	 * @param statement
+	 *            Insert statement. The parameters of each row must be set before calling {@link #add()}.
+	 */
+	public BatchInserter(PreparedStatement statement) {
+		this(statement, getBatchSize());
+	}
+
+	/**
+	 * Creates batch inserter.
+	 *
+	 * @param statement
+	 *            Insert statement. The parameters of each row must be set before calling {@link #add()}.
+	 * @param batchSize
+	 *            Number of rows to collect before sending the batch to database.
+	 */
+	public BatchInserter(PreparedStatement statement, int batchSize) {
+		statement_ = statement;
+		batchSize_ = Math.max(1, batchSize);
+		startTime_ = System.nanoTime();
+	}
+
+	/**
+	 * Adds the current parameters of the statement to batch. The batch is executed if the batch size is reached.
+	 *
+	 * @return True if the batch was executed.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public boolean add() throws SQLException {
+		statement_.addBatch();
+		pending_++;
+		if (pending_ >= batchSize_) {
+			flush();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Executes pending rows (if any).
+	 *
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public void flush() throws SQLException {
+		if (pending_ == 0)
+			return;
+		statement_.executeBatch();
+		inserted_ += pending_;
+		pending_ = 0;
+	}
+
+	/**
+	 * Returns the number of rows sent to database.
+	 *
+	 * @return The number of rows sent to database.
+	 */
+	public int getInsertedRows() {
+		return inserted_;
+	}
+
+	/**
+	 * Returns the insertion rate in rows per second.
+	 *
+	 * @return The insertion rate in rows per second.
+	 */
+	public long getRowsPerSecond() {
+		return getRowsPerSecond(inserted_, startTime_);
+	}
+
+	/**
+	 * Returns the batch size given in program arguments.
+	 *
+	 * @return The batch size given in program arguments.
+	 */
+	public static int getBatchSize() {
+		String batchSize = Equinox.ARGUMENTS == null ? ProgramArguments.DEFAULT_DATABASE_BATCH_SIZE : Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_BATCH_SIZE);
+		try {
+			return Integer.parseInt(batchSize);
+		}
+		catch (NumberFormatException e) {
+			return Integer.parseInt(ProgramArguments.DEFAULT_DATABASE_BATCH_SIZE);
+		}
+	}
+
+	/**
+	 * Returns the insertion rate in rows per second.
+	 *
+	 * @param rows
+	 *            Number of inserted rows.
+	 * @param startTime
+	 *            Start time of insertion (in nanoseconds).
+	 * @return The insertion rate in rows per second.
+	 */
+	public static long getRowsPerSecond(long rows, long startTime) {
+		long elapsed = System.nanoTime() - startTime;
+		return elapsed <= 0L ? 0L : rows * 1000000000L / elapsed;
+	}
+}
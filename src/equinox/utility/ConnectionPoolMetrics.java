@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import equinox.Equinox;
+
+/**
+ * Class for runtime metrics of the local database connection pool. Collects connection wait times and timeouts, and supplies the connection counts of the pool. Slow connection acquisitions and timeouts are
+ * written to the log.
+ *
+ * @author Murat Artim
+ * @date 8 Nov 2018
+ * @time 10:41:07
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+	/** Connection wait time in milliseconds, above which a warning is logged. */
+	public static final long SLOW_ACQUISITION = 1000L;
+
+	/** Number of connection acquisitions and timeouts. */
+	private final AtomicLong acquisitions_ = new AtomicLong(), timeouts_ = new AtomicLong();
+
+	/** Total connection wait time in nanoseconds. */
+	private final AtomicLong waitTime_ = new AtomicLong();
+
+	/** Maximum connection wait time in nanoseconds. */
+	private final LongAccumulator maxWaitTime_ = new LongAccumulator(Math::max, 0L);
+
+	/** Connection counts of the pool. */
+	private volatile PoolStats stats_;
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		stats_ = poolStats;
+		return new Tracker(poolName);
+	}
+
+	/**
+	 * Returns the number of active (in use) connections.
+	 *
+	 * @return The number of active connections.
+	 */
+	public int getActiveConnections() {
+		return stats_ == null ? 0 : stats_.getActiveConnections();
+	}
+
+	/**
+	 * Returns the total number of connections (active and idle).
+	 *
+	 * @return The total number of connections.
+	 */
+	public int getTotalConnections() {
+		return stats_ == null ? 0 : stats_.getTotalConnections();
+	}
+
+	/**
+	 * Returns the maximum number of connections.
+	 *
+	 * @return The maximum number of connections.
+	 */
+	public int getMaxConnections() {
+		return stats_ == null ? 0 : stats_.getMaxConnections();
+	}
+
+	/**
+	 * Returns the number of threads waiting for a connection.
+	 *
+	 * @return The number of threads waiting for a connection.
+	 */
+	public int getPendingThreads() {
+		return stats_ == null ? 0 : stats_.getPendingThreads();
+	}
+
+	/**
+	 * Returns the average connection wait time in milliseconds.
+	 *
+	 * @return The average connection wait time in milliseconds.
+	 */
+	public double getAverageWaitTime() {
+		long acquisitions = acquisitions_.get();
+		return acquisitions == 0L ? 0.0 : waitTime_.get() / 1000000.0 / acquisitions;
+	}
+
+	/**
+	 * Returns the maximum connection wait time in milliseconds.
+	 *
+	 * @return The maximum connection wait time in milliseconds.
+	 */
+	public long getMaxWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(maxWaitTime_.get());
+	}
+
+	/**
+	 * Returns the number of connection timeouts.
+	 *
+	 * @return The number of connection timeouts.
+	 */
+	public long getTimeouts() {
+		return timeouts_.get();
+	}
+
+	/**
+	 * Returns the summary of the metrics.
+	 *
+	 * @return The summary of the metrics.
+	 */
+	public String getSummary() {
+		String summary = "active " + getActiveConnections() + " / " + getTotalConnections() + " (max " + getMaxConnections() + "), waiting threads " + getPendingThreads();
+		summary += ", acquisitions " + acquisitions_.get() + ", average wait " + String.format("%.2f", getAverageWaitTime()) + " ms, max wait " + getMaxWaitTime() + " ms, timeouts " + getTimeouts();
+		return summary;
+	}
+
+	/**
+	 * Inner class for metrics tracker of the connection pool.
+	 *
+	 * @author Murat Artim
+	 * @date 8 Nov 2018
+	 * @time 10:52:33
+	 */
+	private class Tracker implements IMetricsTracker {
+
+		/** Pool name. */
+		private final String poolName_;
+
+		/**
+		 * Creates metrics tracker.
+		 *
+		 * @param poolName
+		 *            Pool name.
+		 */
+		Tracker(String poolName) {
+			poolName_ = poolName;
+		}
+
+		@Override
+		public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+
+			// update wait times
+			acquisitions_.incrementAndGet();
+			waitTime_.addAndGet(elapsedAcquiredNanos);
+			maxWaitTime_.accumulate(elapsedAcquiredNanos);
+
+			// slow acquisition
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos);
+			if (elapsed >= SLOW_ACQUISITION) {
+				Equinox.LOGGER.warning("Waited " + elapsed + " ms for a connection from '" + poolName_ + "' (" + getSummary() + ").");
+			}
+		}
+
+		@Override
+		public void recordConnectionTimeout() {
+			timeouts_.incrementAndGet();
+			Equinox.LOGGER.warning("Connection request to '" + poolName_ + "' timed out (" + getSummary() + ").");
+		}
+	}
+}
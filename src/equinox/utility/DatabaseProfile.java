@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.util.Properties;
+
+import equinox.Equinox;
+import equinox.data.ProgramArguments;
+import equinox.data.ProgramArguments.ArgumentType;
+
+/**
+ * Utility class for local database profile. The profile collects the embedded database settings (page size, page cache size, statement cache size, log buffer size and durability) and the connection pool settings
+ * (pool size and connection lifetimes) from the program arguments. Unless a pool size is given, the connection pool is sized automatically from the task thread pool settings, so that parallel tasks and their
+ * sub-tasks don't contend for connections.
+ *
+ * @author Murat Artim
+ * @date 8 Nov 2018
+ * @time 10:14:52
+ */
+public class DatabaseProfile {
+
+	/** Number of connections reserved for the single, scheduled and cached thread pools. */
+	public static final int RESERVED_CONNECTIONS = 4;
+
+	/** Minimum connection lifetime in seconds (imposed by the connection pool). */
+	public static final int MIN_CONNECTION_LIFETIME = 30;
+
+	/**
+	 * Sets the embedded database system properties. This must be called before the database engine is booted.
+	 */
+	public static void setSystemProperties() {
+		Properties props = System.getProperties();
+		props.setProperty("derby.storage.pageSize", Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_SIZE));
+		props.setProperty("derby.storage.pageCacheSize", Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_CACHE_SIZE));
+		props.setProperty("derby.language.statementCacheSize", Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_STATEMENT_CACHE_SIZE));
+		props.setProperty("derby.storage.logBufferSize", Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_LOG_BUFFER_SIZE));
+		if (isTestDurability()) {
+			props.setProperty("derby.system.durability", ProgramArguments.DATABASE_DURABILITY_TEST);
+		}
+		System.setProperties(props);
+	}
+
+	/**
+	 * Returns true if the database durability is set to test. In this mode, the database doesn't force writes to disk on commits. This speeds up bulk loads, but the workspace may be corrupted if the application
+	 * crashes.
+	 *
+	 * @return True if the database durability is set to test.
+	 */
+	public static boolean isTestDurability() {
+		return ProgramArguments.DATABASE_DURABILITY_TEST.equals(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_DURABILITY));
+	}
+
+	/**
+	 * Returns true if the connection pool is sized automatically from the task thread pool settings.
+	 *
+	 * @return True if the connection pool is sized automatically.
+	 */
+	public static boolean isAutomaticPoolSize() {
+		return Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_POOL_SIZE)) <= 0;
+	}
+
+	/**
+	 * Returns the maximum number of connections of the connection pool. If no pool size is given, this is the sum of maximum parallel tasks, maximum parallel sub-tasks and reserved connections.
+	 *
+	 * @return The maximum number of connections of the connection pool.
+	 */
+	public static int getPoolSize() {
+
+		// pool size given
+		if (!isAutomaticPoolSize())
+			return Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_POOL_SIZE));
+
+		// size from task thread pools
+		int maxTasks = Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_TASKS));
+		int maxSubTasks = Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_SUBTASKS));
+		return maxTasks + maxSubTasks + RESERVED_CONNECTIONS;
+	}
+
+	/**
+	 * Returns the minimum number of idle connections of the connection pool. Connections above this number are retired once they are idle for {@link #getIdleTimeout()}.
+	 *
+	 * @return The minimum number of idle connections of the connection pool.
+	 */
+	public static int getMinimumIdle() {
+		int maxTasks = Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_TASKS));
+		return Math.min(maxTasks, getPoolSize());
+	}
+
+	/**
+	 * Returns the maximum lifetime of pooled connections in milliseconds.
+	 *
+	 * @return The maximum lifetime of pooled connections in milliseconds.
+	 */
+	public static long getMaxLifetime() {
+		int lifetime = Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_CONNECTION_LIFETIME));
+		return Math.max(MIN_CONNECTION_LIFETIME, lifetime) * 1000L;
+	}
+
+	/**
+	 * Returns the idle timeout of pooled connections in milliseconds. This is half of the maximum connection lifetime.
+	 *
+	 * @return The idle timeout of pooled connections in milliseconds.
+	 */
+	public static long getIdleTimeout() {
+		return getMaxLifetime() / 2L;
+	}
+
+	/**
+	 * Returns the description of the profile to be logged.
+	 *
+	 * @return The description of the profile.
+	 */
+	public static String getDescription() {
+		String description = "Database profile, pool size: " + getPoolSize() + (isAutomaticPoolSize() ? " (automatic)" : "");
+		description += ", minimum idle: " + getMinimumIdle();
+		description += ", connection lifetime: " + getMaxLifetime() / 1000L + " s";
+		description += ", idle timeout: " + getIdleTimeout() / 1000L + " s";
+		description += ", page size: " + Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_SIZE);
+		description += ", page cache size: " + Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_PAGE_CACHE_SIZE);
+		description += ", statement cache size: " + Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_STATEMENT_CACHE_SIZE);
+		description += ", log buffer size: " + Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_LOG_BUFFER_SIZE);
+		description += ", durability: " + Equinox.ARGUMENTS.getArgument(ArgumentType.DATABASE_DURABILITY);
+		return description;
+	}
+}
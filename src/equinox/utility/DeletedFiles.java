@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+
+/**
+ * Utility class for deleted (tombstoned) spectra and STF files. Deleting a spectrum or STF file only marks it as deleted in the deleted files table, which hides the file from the workspace at once. The data of
+ * deleted files is then reclaimed on background (see {@link equinox.task.ReclaimDeletedFiles}).
+ *
+ * @author Murat Artim
+ * @date 5 Nov 2018
+ * @time 10:12:44
+ */
+public class DeletedFiles {
+
+	/** Deleted files table name. */
+	public static final String TABLE = "DELETED_FILES";
+
+	/** File types. */
+	public static final int SPECTRUM = 0, STF = 1;
+
+	/**
+	 * Creates the deleted files table, if it doesn't already exist.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void createTable(Connection connection) throws SQLException {
+
+		// table already exists
+		if (tableExists(connection))
+			return;
+
+		// create table
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA." + TABLE + "(FILE_TYPE SMALLINT NOT NULL, FILE_ID INT NOT NULL, PRIMARY KEY(FILE_TYPE, FILE_ID))");
+		}
+	}
+
+	/**
+	 * Returns true if the deleted files table exists.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @return True if the deleted files table exists.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static boolean tableExists(Connection connection) throws SQLException {
+		DatabaseMetaData dbmtadta = connection.getMetaData();
+		try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", TABLE, null)) {
+			return resultSet.next();
+		}
+	}
+
+	/**
+	 * Marks given spectrum and all of its STF files as deleted. Note that, the deleted files table must exist.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param spectrumID
+	 *            Spectrum ID.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void markSpectrum(Statement statement, int spectrumID) throws SQLException {
+		markSTFFiles(statement, spectrumID);
+		statement.executeUpdate("insert into AURORA." + TABLE + "(file_type, file_id) values(" + SPECTRUM + ", " + spectrumID + ")");
+	}
+
+	/**
+	 * Marks all STF files of given spectrum as deleted. Note that, the deleted files table must exist.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param spectrumID
+	 *            Spectrum ID.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void markSTFFiles(Statement statement, int spectrumID) throws SQLException {
+		String sql = "insert into AURORA." + TABLE + "(file_type, file_id) select " + STF + ", file_id from stf_files where cdf_id = " + spectrumID;
+		sql += " and file_id not in (select file_id from AURORA." + TABLE + " where file_type = " + STF + ")";
+		statement.executeUpdate(sql);
+	}
+
+	/**
+	 * Marks given STF file as deleted. Note that, the deleted files table must exist.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param stfID
+	 *            STF file ID.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void markSTFFile(Statement statement, int stfID) throws SQLException {
+		String sql = "insert into AURORA." + TABLE + "(file_type, file_id) select " + STF + ", file_id from stf_files where file_id = " + stfID;
+		sql += " and file_id not in (select file_id from AURORA." + TABLE + " where file_type = " + STF + ")";
+		statement.executeUpdate(sql);
+	}
+
+	/**
+	 * Removes the deleted mark of given file. This is called once the data of the file is reclaimed.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param fileType
+	 *            File type.
+	 * @param fileID
+	 *            File ID.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void unmark(Statement statement, int fileType, int fileID) throws SQLException {
+		statement.executeUpdate("delete from AURORA." + TABLE + " where file_type = " + fileType + " and file_id = " + fileID);
+	}
+
+	/**
+	 * Returns the SQL condition excluding deleted files of given type, or null if the deleted files table doesn't exist.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileType
+	 *            File type.
+	 * @param idColumn
+	 *            File ID column of the queried table.
+	 * @return The SQL condition excluding deleted files of given type, or null if the deleted files table doesn't exist.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static String getExclusion(Connection connection, int fileType, String idColumn) throws SQLException {
+		if (!tableExists(connection))
+			return null;
+		return idColumn + " not in (select file_id from AURORA." + TABLE + " where file_type = " + fileType + ")";
+	}
+
+	/**
+	 * Returns the SQL condition excluding deleted files of given type to be appended to an existing where clause (i.e. starting with <code>and</code>), or an empty string if the deleted files table doesn't exist.
+	 * This should be used by all queries enumerating spectra or STF files, so that deleted files are not processed until they are reclaimed.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileType
+	 *            File type.
+	 * @param idColumn
+	 *            File ID column of the queried table.
+	 * @return The SQL condition excluding deleted files of given type, or an empty string if the deleted files table doesn't exist.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static String andExclusion(Connection connection, int fileType, String idColumn) throws SQLException {
+		String exclusion = getExclusion(connection, fileType, idColumn);
+		return exclusion == null ? "" : " and " + exclusion;
+	}
+
+	/**
+	 * Returns the IDs of deleted files of given type, or an empty set if the deleted files table doesn't exist.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileType
+	 *            File type.
+	 * @return The IDs of deleted files of given type.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static HashSet<Integer> getIDs(Connection connection, int fileType) throws SQLException {
+		HashSet<Integer> ids = new HashSet<>();
+		if (tableExists(connection)) {
+			try (PreparedStatement statement = connection.prepareStatement("select file_id from AURORA." + TABLE + " where file_type = ?")) {
+				statement.setInt(1, fileType);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						ids.add(resultSet.getInt(1));
+					}
+				}
+			}
+		}
+		return ids;
+	}
+}
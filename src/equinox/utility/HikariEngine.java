@@ -15,12 +15,11 @@
  */
 package equinox.utility;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import equinox.Equinox;
+
 /**
  * Class for Hikari database connection pool.
  *
@@ -33,22 +32,40 @@ public class HikariEngine extends HikariDataSource {
 	/** Engine name. */
 	public static final String NAME = "Hikari";
 
+	/** Runtime metrics of the pool. */
+	private final ConnectionPoolMetrics metrics_;
+
 	/**
 	 * Creates Hikari database connection pool.
 	 *
 	 * @param config
 	 *            Hikari configuration object.
+	 * @param metrics
+	 *            Runtime metrics of the pool. This must be set as metrics tracker factory of the configuration.
 	 */
-	public HikariEngine(HikariConfig config) {
+	public HikariEngine(HikariConfig config, ConnectionPoolMetrics metrics) {
 		super(config);
+		metrics_ = metrics;
+	}
+
+	/**
+	 * Returns the runtime metrics of the pool.
+	 *
+	 * @return The runtime metrics of the pool.
+	 */
+	public ConnectionPoolMetrics getMetrics() {
+		return metrics_;
 	}
 
 	@Override
-	public Connection getConnection() throws SQLException {
+	public void close() {
+
+		// log metrics
+		if (!isClosed()) {
+			Equinox.LOGGER.info("Closing connection pool '" + getPoolName() + "', " + metrics_.getSummary());
+		}
 
-		// allow dirty reads
-		Connection conn = super.getConnection();
-		conn.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
-		return conn;
+		// close pool
+		super.close();
 	}
 }
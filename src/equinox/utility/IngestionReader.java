@@ -0,0 +1,393 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import equinox.plugin.FileType;
+import equinox.task.TaskMonitor;
+
+/**
+ * Class for single pass input file reader. The input file (either plain, ZIP or GZIP) is decompressed on the fly while it is read line by line (see {@link TextTokenizer}). The decompressed bytes can be written to a ZIP archive (for saving the
+ * file to database) and to a plain copy at the same time. Progress is reported from the number of input file bytes consumed, so that no line counting pass is needed.
+ * <p>
+ * Usage: create the reader, optionally call {@link #archiveTo(Path)} and/or {@link #copyTo(Path)}, read lines with {@link #readLine()} and finally call {@link #finish()} before closing the reader.
+ *
+ * @author Murat Artim
+ * @date 30 Oct 2018
+ * @time 09:41:27
+ */
+public class IngestionReader implements Closeable {
+
+	/** Buffer size. */
+	private static final int BUFSIZE = 65536;
+
+	/** Number of lines between two progress updates. */
+	private static final int PROGRESS_PERIOD = 256;
+
+	/** The owner task. Can be null if progress shall not be updated. */
+	private final TaskMonitor task_;
+
+	/** Name of the (decompressed) input file. */
+	private final String fileName_;
+
+	/** Size of the input file in bytes. */
+	private final long fileSize_;
+
+	/** Input stream counting the consumed input file bytes. */
+	private final CountingInputStream counter_;
+
+	/** Decompressed input stream (also writes to archive and copy, if any). */
+	private final TeeInputStream input_;
+
+	/** Line tokenizer. */
+	private TextTokenizer tokenizer_;
+
+	/** Archive output stream. */
+	private ZipOutputStream archive_;
+
+	/** Copy output stream. */
+	private OutputStream copy_;
+
+	/** Number of lines read. */
+	private int numLines_ = 0;
+
+	/**
+	 * Creates single pass input file reader.
+	 *
+	 * @param task
+	 *            The owner task. Can be null if progress shall not be updated.
+	 * @param inputFile
+	 *            Input file. This can be a plain, ZIP or GZIP file.
+	 * @param type
+	 *            Type of the (decompressed) input file. The first file with this type is read from ZIP files.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public IngestionReader(TaskMonitor task, Path inputFile, FileType type) throws Exception {
+
+		// set task and file size
+		task_ = task;
+		fileSize_ = Files.size(inputFile);
+		counter_ = new CountingInputStream(new BufferedInputStream(Files.newInputStream(inputFile), BUFSIZE));
+
+		try {
+
+			// get input file type
+			FileType inputType = FileType.getFileType(inputFile.toFile());
+
+			// ZIP file (move to first entry with required type)
+			if (FileType.ZIP.equals(inputType)) {
+				ZipInputStream zis = new ZipInputStream(counter_, Charset.defaultCharset());
+				ZipEntry ze;
+				while ((ze = zis.getNextEntry()) != null) {
+					if (!ze.isDirectory() && ze.getName().toUpperCase().endsWith(type.getExtension().toUpperCase())) {
+						break;
+					}
+				}
+				if (ze == null)
+					throw new Exception("No " + type.getExtension() + " file found in '" + inputFile.getFileName() + "'.");
+				Path entryName = inputFile.getFileSystem().getPath(ze.getName()).getFileName();
+				fileName_ = entryName == null ? ze.getName() : entryName.toString();
+				input_ = new TeeInputStream(zis);
+			}
+
+			// GZIP file
+			else if (FileType.GZ.equals(inputType)) {
+				fileName_ = FileType.appendExtension(FileType.getNameWithoutExtension(inputFile), type);
+				input_ = new TeeInputStream(new GZIPInputStream(counter_, BUFSIZE));
+			}
+
+			// plain file
+			else {
+				Path fileName = inputFile.getFileName();
+				if (fileName == null)
+					throw new Exception("Cannot get input file name.");
+				fileName_ = fileName.toString();
+				input_ = new TeeInputStream(counter_);
+			}
+		}
+
+		// close input file
+		catch (Exception e) {
+			counter_.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the decompressed input file to given ZIP archive while it is read. The archive contains a single entry with the input file name. This must be called before reading.
+	 *
+	 * @param zipFile
+	 *            Output ZIP file.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public void archiveTo(Path zipFile) throws IOException {
+		archive_ = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipFile), BUFSIZE));
+		archive_.putNextEntry(new ZipEntry(fileName_));
+	}
+
+	/**
+	 * Writes the decompressed input file to given plain file while it is read. This must be called before reading.
+	 *
+	 * @param file
+	 *            Output file.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public void copyTo(Path file) throws IOException {
+		copy_ = new BufferedOutputStream(Files.newOutputStream(file), BUFSIZE);
+	}
+
+	/**
+	 * Returns the name of the (decompressed) input file.
+	 *
+	 * @return The name of the input file.
+	 */
+	public String getFileName() {
+		return fileName_;
+	}
+
+	/**
+	 * Returns the number of lines read so far.
+	 *
+	 * @return The number of lines read so far.
+	 */
+	public int getNumberOfLines() {
+		return numLines_;
+	}
+
+	/**
+	 * Reads and returns the next line, or null if the end of file is reached.
+	 *
+	 * @return The next line, or null if the end of file is reached.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public String readLine() throws IOException {
+		return nextLine() ? tokenizer_.getLine() : null;
+	}
+
+	/**
+	 * Moves to the next line without creating a string. The columns of the line can be parsed with the tokenizer of this reader.
+	 *
+	 * @return True if there is a next line, false if the end of file is reached.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 * @see #getTokenizer()
+	 */
+	public boolean nextLine() throws IOException {
+
+		// read line
+		if (!getTokenizer().nextLine())
+			return false;
+
+		// update progress
+		numLines_++;
+		if ((task_ != null) && ((numLines_ % PROGRESS_PERIOD) == 0)) {
+			task_.updateProgress(counter_.count_, fileSize_);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the tokenizer of this reader, positioned at the current line.
+	 *
+	 * @return The tokenizer of this reader.
+	 */
+	public TextTokenizer getTokenizer() {
+		if (tokenizer_ == null) {
+			tokenizer_ = new TextTokenizer(input_);
+		}
+		return tokenizer_;
+	}
+
+	/**
+	 * Reads the rest of the input file (so that the archive and copy are complete), counts the remaining lines and closes the archive and copy.
+	 *
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public void finish() throws IOException {
+
+		// read remaining lines
+		while (nextLine()) {
+			// no implementation
+		}
+
+		// close outputs
+		closeOutputs();
+
+		// update progress
+		if (task_ != null) {
+			task_.updateProgress(fileSize_, fileSize_);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			closeOutputs();
+		}
+		finally {
+			input_.close();
+		}
+	}
+
+	/**
+	 * Closes archive and copy output streams.
+	 *
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	private void closeOutputs() throws IOException {
+		try {
+			if (archive_ != null) {
+				archive_.closeEntry();
+				archive_.close();
+			}
+		}
+		finally {
+			archive_ = null;
+			if (copy_ != null) {
+				copy_.close();
+				copy_ = null;
+			}
+		}
+	}
+
+	/**
+	 * Inner class for input stream counting the consumed bytes.
+	 *
+	 * @author Murat Artim
+	 * @date 30 Oct 2018
+	 * @time 09:44:02
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+
+		/** Number of consumed bytes. */
+		private long count_ = 0L;
+
+		/**
+		 * Creates counting input stream.
+		 *
+		 * @param in
+		 *            Underlying input stream.
+		 */
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count_++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count_ += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count_ += skipped;
+			return skipped;
+		}
+	}
+
+	/**
+	 * Inner class for input stream writing the read bytes to the archive and copy outputs.
+	 *
+	 * @author Murat Artim
+	 * @date 30 Oct 2018
+	 * @time 09:46:15
+	 */
+	private class TeeInputStream extends FilterInputStream {
+
+		/**
+		 * Creates tee input stream.
+		 *
+		 * @param in
+		 *            Underlying input stream.
+		 */
+		TeeInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				if (archive_ != null) {
+					archive_.write(b);
+				}
+				if (copy_ != null) {
+					copy_.write(b);
+				}
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				if (archive_ != null) {
+					archive_.write(b, off, n);
+				}
+				if (copy_ != null) {
+					copy_.write(b, off, n);
+				}
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			byte[] buffer = new byte[(int) Math.min(n, BUFSIZE)];
+			int read = read(buffer, 0, buffer.length);
+			return read < 0 ? 0 : read;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+
+/**
+ * Class for fixed width peak formatter. The formatter writes numbers right aligned into a reusable line buffer, producing exactly the same characters as <code>String.format("%10s", new DecimalFormat("0.00").format(value))</code>
+ * (or any other width and <code>0.0...</code> / <code>0.0...E0...</code> pattern), without creating intermediate objects per value. Values which cannot be formatted exactly with the fast path (i.e. very large values, non-finite
+ * values and values lying on a rounding tie) are delegated to {@link DecimalFormat}.
+ * <p>
+ * Note that, this class is not thread safe. Each writer should use its own formatter.
+ *
+ * @author Murat Artim
+ * @date 24 Oct 2018
+ * @time 09:41:27
+ */
+public class PeakFormatter {
+
+	/** Powers of 10 which are exactly representable as double. */
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** Upper limit of scaled values for fast path formatting. */
+	private static final double MAX_SCALED = 1e15;
+
+	/** Fallback decimal format. */
+	private final DecimalFormat format_;
+
+	/** Field width, number of fraction digits and minimum number of exponent digits (zero for fixed point patterns). */
+	private final int width_, fractionDigits_, exponentDigits_;
+
+	/** Format symbols. */
+	private final char decimalSeparator_, minusSign_;
+
+	/** Exponent separator. */
+	private final char[] exponentSeparator_;
+
+	/** True if fast path formatting can be used with the format symbols of the default locale. */
+	private final boolean fastPath_;
+
+	/** Digit buffer. */
+	private final char[] digits_ = new char[32];
+
+	/** Line buffer. */
+	private char[] line_ = new char[128];
+
+	/** Length of current line. */
+	private int length_ = 0;
+
+	/**
+	 * Creates fixed width peak formatter.
+	 *
+	 * @param pattern
+	 *            Decimal format pattern. Only fixed point (e.g. <code>0.00</code>) and scientific (e.g. <code>0.000000E00</code>) patterns with single integer digit are supported.
+	 * @param width
+	 *            Field width. Formatted values are right aligned within this width.
+	 */
+	public PeakFormatter(String pattern, int width) {
+
+		// parse pattern
+		if (!pattern.matches("0\\.0+(E0+)?"))
+			throw new IllegalArgumentException("Unsupported peak format pattern '" + pattern + "'.");
+		int exponent = pattern.indexOf('E');
+		fractionDigits_ = (exponent == -1 ? pattern.length() : exponent) - 2;
+		exponentDigits_ = exponent == -1 ? 0 : pattern.length() - exponent - 1;
+		width_ = width;
+
+		// create fallback format and get symbols
+		format_ = new DecimalFormat(pattern);
+		DecimalFormatSymbols symbols = format_.getDecimalFormatSymbols();
+		decimalSeparator_ = symbols.getDecimalSeparator();
+		minusSign_ = symbols.getMinusSign();
+		exponentSeparator_ = symbols.getExponentSeparator().toCharArray();
+		fastPath_ = symbols.getZeroDigit() == '0' && fractionDigits_ < 16;
+	}
+
+	/**
+	 * Appends given value to current line, right aligned within the field width.
+	 *
+	 * @param value
+	 *            Value to append.
+	 * @return This formatter.
+	 */
+	public PeakFormatter append(double value) {
+
+		// format value into digit buffer
+		int length = fastPath_ ? exponentDigits_ == 0 ? formatFixed(value) : formatScientific(value) : -1;
+
+		// cannot be formatted with fast path
+		if (length == -1)
+			return append(format_.format(value));
+
+		// append
+		return append(digits_, length);
+	}
+
+	/**
+	 * Appends given text to current line, right aligned within the field width.
+	 *
+	 * @param text
+	 *            Text to append.
+	 * @return This formatter.
+	 */
+	public PeakFormatter append(String text) {
+		int length = text.length();
+		ensureCapacity(Math.max(length, width_));
+		for (int i = length; i < width_; i++) {
+			line_[length_++] = ' ';
+		}
+		text.getChars(0, length, line_, length_);
+		length_ += length;
+		return this;
+	}
+
+	/**
+	 * Returns the length of current line.
+	 *
+	 * @return The length of current line.
+	 */
+	public int length() {
+		return length_;
+	}
+
+	/**
+	 * Clears current line.
+	 */
+	public void clear() {
+		length_ = 0;
+	}
+
+	/**
+	 * Writes current line to given writer and clears the line. Note that, no line separator is written.
+	 *
+	 * @param writer
+	 *            Writer.
+	 * @throws IOException
+	 *             If exception occurs during writing.
+	 */
+	public void write(Writer writer) throws IOException {
+		writer.write(line_, 0, length_);
+		length_ = 0;
+	}
+
+	@Override
+	public String toString() {
+		return new String(line_, 0, length_);
+	}
+
+	/**
+	 * Appends given characters to current line, right aligned within the field width.
+	 *
+	 * @param chars
+	 *            Characters to append.
+	 * @param length
+	 *            Number of characters.
+	 * @return This formatter.
+	 */
+	private PeakFormatter append(char[] chars, int length) {
+		ensureCapacity(Math.max(length, width_));
+		for (int i = length; i < width_; i++) {
+			line_[length_++] = ' ';
+		}
+		System.arraycopy(chars, 0, line_, length_, length);
+		length_ += length;
+		return this;
+	}
+
+	/**
+	 * Ensures that given number of characters can be appended to the line buffer.
+	 *
+	 * @param length
+	 *            Number of characters to append.
+	 */
+	private void ensureCapacity(int length) {
+		if (length_ + length > line_.length) {
+			line_ = Arrays.copyOf(line_, Math.max(line_.length * 2, length_ + length));
+		}
+	}
+
+	/**
+	 * Formats given value with fixed point notation into digit buffer.
+	 *
+	 * @param value
+	 *            Value to format.
+	 * @return Number of characters written, or -1 if the value cannot be formatted with fast path.
+	 */
+	private int formatFixed(double value) {
+
+		// scale value
+		double scaled = Math.abs(value) * POW10[fractionDigits_];
+		if (!(scaled < MAX_SCALED))
+			return -1;
+
+		// round
+		long unscaled = round(scaled);
+		if (unscaled == -1)
+			return -1;
+
+		// write sign
+		int index = 0;
+		if (isNegative(value)) {
+			digits_[index++] = minusSign_;
+		}
+
+		// write integer and fraction digits
+		long divisor = (long) POW10[fractionDigits_];
+		index = writeDigits(unscaled / divisor, 1, index);
+		digits_[index++] = decimalSeparator_;
+		return writeDigits(unscaled % divisor, fractionDigits_, index);
+	}
+
+	/**
+	 * Formats given value with scientific notation into digit buffer.
+	 *
+	 * @param value
+	 *            Value to format.
+	 * @return Number of characters written, or -1 if the value cannot be formatted with fast path.
+	 */
+	private int formatScientific(double value) {
+
+		// get absolute value
+		double abs = Math.abs(value);
+		if (Double.isNaN(abs) || Double.isInfinite(abs))
+			return -1;
+
+		// compute mantissa and exponent
+		long unscaled = 0;
+		int exponent = 0;
+		if (abs != 0.0) {
+
+			// scale value to [10^fractionDigits, 10^(fractionDigits+1))
+			exponent = (int) Math.floor(Math.log10(abs));
+			double scaled = scale(abs, fractionDigits_ - exponent);
+			if (scaled >= POW10[fractionDigits_ + 1]) {
+				exponent++;
+				scaled = scale(abs, fractionDigits_ - exponent);
+			}
+			else if (scaled < POW10[fractionDigits_]) {
+				exponent--;
+				scaled = scale(abs, fractionDigits_ - exponent);
+			}
+			if (Double.isNaN(scaled))
+				return -1;
+
+			// round
+			unscaled = round(scaled);
+			if (unscaled == -1)
+				return -1;
+			if (unscaled == (long) POW10[fractionDigits_ + 1]) {
+				unscaled /= 10;
+				exponent++;
+			}
+		}
+
+		// write sign
+		int index = 0;
+		if (isNegative(value)) {
+			digits_[index++] = minusSign_;
+		}
+
+		// write mantissa
+		long divisor = (long) POW10[fractionDigits_];
+		index = writeDigits(unscaled / divisor, 1, index);
+		digits_[index++] = decimalSeparator_;
+		index = writeDigits(unscaled % divisor, fractionDigits_, index);
+
+		// write exponent
+		for (char c : exponentSeparator_) {
+			digits_[index++] = c;
+		}
+		if (exponent < 0) {
+			digits_[index++] = minusSign_;
+		}
+		return writeDigits(Math.abs(exponent), exponentDigits_, index);
+	}
+
+	/**
+	 * Returns true if given value is negative (including negative zero), similar to {@link DecimalFormat}.
+	 *
+	 * @param value
+	 *            Value.
+	 * @return True if given value is negative.
+	 */
+	private static boolean isNegative(double value) {
+		return (value < 0.0) || ((value == 0.0) && ((1.0 / value) < 0.0));
+	}
+
+	/**
+	 * Multiplies given value with the given power of 10.
+	 *
+	 * @param value
+	 *            Value to scale.
+	 * @param power
+	 *            Power of 10.
+	 * @return The scaled value, or NaN if the power of 10 is not exactly representable.
+	 */
+	private static double scale(double value, int power) {
+		if (power >= 0)
+			return power < POW10.length ? value * POW10[power] : Double.NaN;
+		return -power < POW10.length ? value / POW10[-power] : Double.NaN;
+	}
+
+	/**
+	 * Rounds given scaled value to the nearest integer with half-even rounding. The scaled value carries at most half ulp error from scaling, so values which are closer to a tie than this error cannot be rounded safely.
+	 *
+	 * @param scaled
+	 *            Non-negative scaled value.
+	 * @return The rounded value, or -1 if the value is too close to a rounding tie.
+	 */
+	private static long round(double scaled) {
+		double floor = Math.floor(scaled);
+		double fraction = scaled - floor;
+		if (Math.abs(fraction - 0.5) <= (4.0 * Math.ulp(scaled)))
+			return -1;
+		return (long) floor + (fraction > 0.5 ? 1 : 0);
+	}
+
+	/**
+	 * Writes digits of given non-negative number into digit buffer.
+	 *
+	 * @param number
+	 *            Number to write.
+	 * @param minDigits
+	 *            Minimum number of digits. Leading zeros are written if necessary.
+	 * @param index
+	 *            Start index in digit buffer.
+	 * @return The end index in digit buffer.
+	 */
+	private int writeDigits(long number, int minDigits, int index) {
+
+		// count digits
+		int numDigits = 1;
+		for (long n = number / 10; n > 0; n /= 10) {
+			numDigits++;
+		}
+		numDigits = Math.max(numDigits, minDigits);
+
+		// write digits from the end
+		int end = index + numDigits;
+		for (int i = end - 1; i >= index; i--) {
+			digits_[i] = (char) ('0' + (number % 10));
+			number /= 10;
+		}
+		return end;
+	}
+}
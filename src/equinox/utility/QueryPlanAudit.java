@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.logging.Logger;
+
+import equinox.Equinox;
+import equinox.data.ProgramArguments.ArgumentType;
+
+/**
+ * Class for query plan audit. When the program argument {@link ArgumentType#QUERY_PLAN_AUDIT} is enabled, runtime statistics are collected on the database connection of the owner task, and the execution plans of the
+ * hot queries of the task are written to the given logger (once per query). Otherwise, the audit does nothing.
+ *
+ * @author Murat Artim
+ * @date 7 Nov 2018
+ * @time 09:36:27
+ */
+public class QueryPlanAudit implements AutoCloseable {
+
+	/** Logger to write query plans to. */
+	private final Logger logger_;
+
+	/** Database connection. */
+	private final Connection connection_;
+
+	/** True if the audit is enabled. */
+	private final boolean enabled_;
+
+	/** Names of queries whose plans are already logged. */
+	private final HashSet<String> logged_ = new HashSet<>();
+
+	/**
+	 * Creates query plan audit and starts collecting runtime statistics (if enabled). Note that, the hot queries should be prepared after creating the audit.
+	 *
+	 * @param logger
+	 *            Logger to write query plans to (typically the logger of the owner task).
+	 * @param connection
+	 *            Database connection.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public QueryPlanAudit(Logger logger, Connection connection) throws SQLException {
+		logger_ = logger;
+		connection_ = connection;
+		enabled_ = isEnabled();
+		if (enabled_) {
+			setRuntimeStatistics(1);
+		}
+	}
+
+	/**
+	 * Returns true if query plan audit is enabled.
+	 *
+	 * @return True if query plan audit is enabled.
+	 */
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(Equinox.ARGUMENTS.getArgument(ArgumentType.QUERY_PLAN_AUDIT));
+	}
+
+	/**
+	 * Writes the execution plan of the last executed statement to the log, if the audit is enabled and the plan of the query is not logged yet. This must be called after the result set of the query is closed, and before
+	 * executing any other statement on the connection.
+	 *
+	 * @param queryName
+	 *            Name of the query.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public void log(String queryName) throws SQLException {
+
+		// disabled or already logged
+		if (!enabled_ || !logged_.add(queryName))
+			return;
+
+		// get runtime statistics
+		try (Statement statement = connection_.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("values SYSCS_UTIL.SYSCS_GET_RUNTIMESTATISTICS()")) {
+				while (resultSet.next()) {
+					logger_.info("Query plan of '" + queryName + "':\n" + resultSet.getString(1));
+				}
+			}
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (enabled_) {
+			setRuntimeStatistics(0);
+		}
+	}
+
+	/**
+	 * Sets runtime statistics and statistics timing modes of the connection.
+	 *
+	 * @param mode
+	 *            1 to enable, 0 to disable.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private void setRuntimeStatistics(int mode) throws SQLException {
+		try (Statement statement = connection_.createStatement()) {
+			statement.execute("call SYSCS_UTIL.SYSCS_SET_RUNTIMESTATISTICS(" + mode + ")");
+			statement.execute("call SYSCS_UTIL.SYSCS_SET_STATISTICS_TIMING(" + mode + ")");
+		}
+	}
+}
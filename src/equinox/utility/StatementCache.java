@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+
+/**
+ * Class for prepared statement cache of a database connection. Statements are registered by logical query and table name, so that a query on a dynamically named table (such as <code>STF_STRESSES_[ID]</code>) is
+ * prepared only once per connection, no matter how many times it is requested. All cached statements are closed when the cache is closed.
+ * <p>
+ * Logical queries take the IDs of the queried rows as parameters instead of literals. This keeps the SQL text of a query constant for all files stored in the same table, which lets the database reuse compiled
+ * statements across connections as well.
+ *
+ * @author Murat Artim
+ * @date 9 Nov 2018
+ * @time 11:05:18
+ */
+public class StatementCache implements AutoCloseable {
+
+	/** Query for selecting stresses of an issy code from STF stresses table. Parameters: STF file ID, issy code. */
+	public static final String STF_STRESS = "select stress_x, stress_y, stress_xy from %s where file_id = ? and issy_code = ?";
+
+	/** Database connection. */
+	private final Connection connection_;
+
+	/** Cached statements mapped to logical query and table name. */
+	private final HashMap<String, PreparedStatement> statements_ = new HashMap<>();
+
+	/**
+	 * Creates prepared statement cache.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 */
+	public StatementCache(Connection connection) {
+		connection_ = connection;
+	}
+
+	/**
+	 * Returns the prepared statement for given logical query and table, preparing it if it is not cached yet. Note that, the returned statement must not be closed by the caller.
+	 *
+	 * @param query
+	 *            Logical query. The table name is substituted for the <code>%s</code> placeholder of the query.
+	 * @param tableName
+	 *            Table name.
+	 * @return The prepared statement.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public PreparedStatement get(String query, String tableName) throws SQLException {
+
+		// get cached statement
+		String key = query + "@" + tableName;
+		PreparedStatement statement = statements_.get(key);
+
+		// not cached yet (or closed)
+		if (statement == null || statement.isClosed()) {
+			statement = connection_.prepareStatement(String.format(query, tableName));
+			statements_.put(key, statement);
+		}
+
+		// return statement
+		return statement;
+	}
+
+	@Override
+	public void close() throws SQLException {
+
+		// close statements
+		SQLException exception = null;
+		for (PreparedStatement statement : statements_.values()) {
+			try {
+				statement.close();
+			}
+			catch (SQLException e) {
+				exception = e;
+			}
+		}
+		statements_.clear();
+
+		// rethrow last exception
+		if (exception != null)
+			throw exception;
+	}
+}
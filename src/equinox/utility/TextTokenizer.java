@@ -0,0 +1,608 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import equinox.task.InternalEquinoxTask;
+
+/**
+ * Class for zero-copy text tokenizer. The input is read line by line into a reusable heap buffer (filled either from the channel of a plain file, or from an input stream), and whitespace separated or fixed
+ * width numeric columns of the current line are parsed directly from the buffer without creating strings. Strings are only created when explicitly requested (e.g. for names and codes). Note that, plain files are deliberately not memory mapped, since mapped
+ * files stay locked until the mapping is garbage collected. This would prevent deleting (temporary) input files on Windows.
+ * <p>
+ * Columns are separated by spaces and tabs, and line endings can be either LF or CRLF. Numbers are parsed with a fast path which is exact for up to 15 significant digits and decimal exponents up to 22, and fall back to
+ * {@link Double#parseDouble(String)} otherwise. So the parsed values are identical to the ones of {@link Double#parseDouble(String)}.
+ *
+ * @author Murat Artim
+ * @date 31 Oct 2018
+ * @time 10:12:45
+ */
+public class TextTokenizer implements Closeable {
+
+	/** Initial sizes of file and stream buffers. */
+	private static final int FILE_BUFSIZE = 1024 * 1024, BUFSIZE = 65536;
+
+	/** Number of lines between two progress updates. */
+	private static final int PROGRESS_PERIOD = 256;
+
+	/** Largest integer which can be exactly represented as double. */
+	private static final long MAX_EXACT = 1L << 53;
+
+	/** Exactly representable powers of 10. */
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** File channel (null if reading from stream). */
+	private final FileChannel channel_;
+
+	/** Input stream (null if reading from file). */
+	private final InputStream stream_;
+
+	/** Size of input file in bytes (-1 if reading from stream). */
+	private final long size_;
+
+	/** The owner task. Can be null if progress shall not be updated. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** Buffer containing the current line. */
+	private ByteBuffer buffer_;
+
+	/** Backing array of buffer. */
+	private byte[] array_;
+
+	/** Input offset of the first byte of buffer. */
+	private long base_ = 0L;
+
+	/** True if the end of input is within the buffer. */
+	private boolean eof_ = false;
+
+	/** Buffer indices of current line start, line end (exclusive, without line separator), next line start and current token position. */
+	private int lineStart_ = 0, lineEnd_ = 0, next_ = 0, pos_ = 0;
+
+	/** Number of lines read. */
+	private int lineNumber_ = 0;
+
+	/**
+	 * Creates text tokenizer over given plain file. The file is read through its channel.
+	 *
+	 * @param file
+	 *            Input file.
+	 * @param task
+	 *            The owner task. Can be null if progress shall not be updated.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public TextTokenizer(Path file, InternalEquinoxTask<?> task) throws IOException {
+		channel_ = FileChannel.open(file, StandardOpenOption.READ);
+		stream_ = null;
+		task_ = task;
+		try {
+			size_ = channel_.size();
+		}
+		catch (IOException e) {
+			channel_.close();
+			throw e;
+		}
+		array_ = new byte[FILE_BUFSIZE];
+		buffer_ = ByteBuffer.wrap(array_);
+		buffer_.limit(0);
+	}
+
+	/**
+	 * Creates text tokenizer over given input stream. The stream is read into a heap buffer.
+	 *
+	 * @param stream
+	 *            Input stream.
+	 */
+	public TextTokenizer(InputStream stream) {
+		channel_ = null;
+		stream_ = stream;
+		task_ = null;
+		size_ = -1L;
+		array_ = new byte[BUFSIZE];
+		buffer_ = ByteBuffer.wrap(array_);
+		buffer_.limit(0);
+	}
+
+	/**
+	 * Moves to the next line.
+	 *
+	 * @return True if there is a next line, false if the end of input is reached.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public boolean nextLine() throws IOException {
+
+		// move to next line
+		lineStart_ = next_;
+		int scan = lineStart_;
+
+		// search for line separator
+		while (true) {
+
+			// scan buffer
+			int limit = buffer_.limit();
+			while (scan < limit && buffer_.get(scan) != '\n') {
+				scan++;
+			}
+
+			// line separator found
+			if (scan < limit) {
+				next_ = scan + 1;
+				break;
+			}
+
+			// end of input
+			if (eof_) {
+				if (lineStart_ == limit)
+					return false;
+				next_ = limit;
+				break;
+			}
+
+			// refill buffer from line start
+			int scanned = scan - lineStart_;
+			refill();
+			scan = lineStart_ + scanned;
+		}
+
+		// set line end (strip carriage return)
+		lineEnd_ = scan;
+		if (lineEnd_ > lineStart_ && buffer_.get(lineEnd_ - 1) == '\r') {
+			lineEnd_--;
+		}
+		pos_ = lineStart_;
+		lineNumber_++;
+
+		// update progress
+		if (task_ != null && (lineNumber_ % PROGRESS_PERIOD) == 0) {
+			task_.updateProgress(base_ + lineStart_, size_);
+		}
+		return true;
+	}
+
+	/**
+	 * Moves to the next line and returns it as string.
+	 *
+	 * @return The next line, or null if the end of input is reached.
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	public String readLine() throws IOException {
+		return nextLine() ? getLine() : null;
+	}
+
+	/**
+	 * Returns the current line as string.
+	 *
+	 * @return The current line.
+	 */
+	public String getLine() {
+		return decode(lineStart_, lineEnd_);
+	}
+
+	/**
+	 * Returns the length of current line (in bytes).
+	 *
+	 * @return The length of current line.
+	 */
+	public int getLineLength() {
+		return lineEnd_ - lineStart_;
+	}
+
+	/**
+	 * Returns the number of lines read so far.
+	 *
+	 * @return The number of lines read so far.
+	 */
+	public int getLineNumber() {
+		return lineNumber_;
+	}
+
+	/**
+	 * Returns true if the current line starts with given character.
+	 *
+	 * @param c
+	 *            Character to check.
+	 * @return True if the current line starts with given character.
+	 */
+	public boolean startsWith(char c) {
+		return lineEnd_ > lineStart_ && buffer_.get(lineStart_) == c;
+	}
+
+	/**
+	 * Returns true if the current line contains only whitespace.
+	 *
+	 * @return True if the current line contains only whitespace.
+	 */
+	public boolean isBlank() {
+		for (int i = lineStart_; i < lineEnd_; i++) {
+			if (!isSeparator(buffer_.get(i)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if there is another column on the current line.
+	 *
+	 * @return True if there is another column on the current line.
+	 */
+	public boolean hasNext() {
+		while (pos_ < lineEnd_ && isSeparator(buffer_.get(pos_))) {
+			pos_++;
+		}
+		return pos_ < lineEnd_;
+	}
+
+	/**
+	 * Skips the next column of the current line.
+	 *
+	 * @throws IOException
+	 *             If there is no next column.
+	 */
+	public void skip() throws IOException {
+		tokenEnd(tokenStart());
+	}
+
+	/**
+	 * Returns the next column of the current line as string.
+	 *
+	 * @return The next column.
+	 * @throws IOException
+	 *             If there is no next column.
+	 */
+	public String next() throws IOException {
+		int start = tokenStart();
+		return decode(start, tokenEnd(start));
+	}
+
+	/**
+	 * Parses and returns the next column of the current line as double.
+	 *
+	 * @return The next column value.
+	 * @throws IOException
+	 *             If there is no next column.
+	 * @throws NumberFormatException
+	 *             If the column is not a valid number.
+	 */
+	public double nextDouble() throws IOException {
+		int start = tokenStart();
+		return parseDouble(start, tokenEnd(start));
+	}
+
+	/**
+	 * Parses and returns the next column of the current line as integer.
+	 *
+	 * @return The next column value.
+	 * @throws IOException
+	 *             If there is no next column.
+	 * @throws NumberFormatException
+	 *             If the column is not a valid integer.
+	 */
+	public int nextInt() throws IOException {
+		int start = tokenStart();
+		return parseInt(start, tokenEnd(start));
+	}
+
+	/**
+	 * Parses and returns the given fixed width column of the current line as double. Leading and trailing whitespace of the column is ignored.
+	 *
+	 * @param from
+	 *            Column start (inclusive, relative to line start).
+	 * @param to
+	 *            Column end (exclusive, relative to line start). This is truncated to the line length.
+	 * @return The column value.
+	 * @throws NumberFormatException
+	 *             If the column is not a valid number.
+	 */
+	public double getDouble(int from, int to) {
+		int[] bounds = trim(from, to);
+		return parseDouble(bounds[0], bounds[1]);
+	}
+
+	/**
+	 * Returns the given fixed width column of the current line as string. Leading and trailing whitespace of the column is removed.
+	 *
+	 * @param from
+	 *            Column start (inclusive, relative to line start).
+	 * @param to
+	 *            Column end (exclusive, relative to line start). This is truncated to the line length.
+	 * @return The column.
+	 */
+	public String getString(int from, int to) {
+		int[] bounds = trim(from, to);
+		return decode(bounds[0], bounds[1]);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (channel_ != null) {
+			channel_.close();
+		}
+		if (stream_ != null) {
+			stream_.close();
+		}
+	}
+
+	/**
+	 * Returns the index of next column start on the current line.
+	 *
+	 * @return Column start index.
+	 * @throws IOException
+	 *             If there is no next column.
+	 */
+	private int tokenStart() throws IOException {
+		if (!hasNext())
+			throw new IOException("Missing column at line " + lineNumber_ + ".");
+		return pos_;
+	}
+
+	/**
+	 * Moves the position to the end of column starting at given index.
+	 *
+	 * @param start
+	 *            Column start index.
+	 * @return Column end index.
+	 */
+	private int tokenEnd(int start) {
+		int end = start;
+		while (end < lineEnd_ && !isSeparator(buffer_.get(end))) {
+			end++;
+		}
+		pos_ = end;
+		return end;
+	}
+
+	/**
+	 * Returns trimmed buffer bounds of given fixed width column.
+	 *
+	 * @param from
+	 *            Column start (relative to line start).
+	 * @param to
+	 *            Column end (relative to line start).
+	 * @return Array containing the start and end indices within the buffer.
+	 */
+	private int[] trim(int from, int to) {
+		int start = Math.min(lineStart_ + from, lineEnd_), end = Math.min(lineStart_ + to, lineEnd_);
+		while (start < end && isSeparator(buffer_.get(start))) {
+			start++;
+		}
+		while (end > start && isSeparator(buffer_.get(end - 1))) {
+			end--;
+		}
+		return new int[] { start, end };
+	}
+
+	/**
+	 * Creates string from given buffer range.
+	 *
+	 * @param start
+	 *            Start index.
+	 * @param end
+	 *            End index.
+	 * @return The string.
+	 */
+	private String decode(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer_.get(start + i);
+		}
+		return new String(bytes, Charset.defaultCharset());
+	}
+
+	/**
+	 * Parses given buffer range as integer.
+	 *
+	 * @param start
+	 *            Start index.
+	 * @param end
+	 *            End index.
+	 * @return The parsed value.
+	 * @throws NumberFormatException
+	 *             If the range is not a valid integer.
+	 */
+	private int parseInt(int start, int end) {
+
+		// parse sign
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer_.get(i) == '-' || buffer_.get(i) == '+')) {
+			negative = buffer_.get(i) == '-';
+			i++;
+		}
+
+		// parse digits (let JDK parse or throw if invalid or too long)
+		if (i == end || (end - i) > 9)
+			return Integer.parseInt(decode(start, end));
+		int value = 0;
+		for (; i < end; i++) {
+			byte b = buffer_.get(i);
+			if (b < '0' || b > '9')
+				return Integer.parseInt(decode(start, end));
+			value = 10 * value + (b - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses given buffer range as double.
+	 *
+	 * @param start
+	 *            Start index.
+	 * @param end
+	 *            End index.
+	 * @return The parsed value.
+	 * @throws NumberFormatException
+	 *             If the range is not a valid number.
+	 */
+	private double parseDouble(int start, int end) {
+
+		// parse sign
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer_.get(i) == '-' || buffer_.get(i) == '+')) {
+			negative = buffer_.get(i) == '-';
+			i++;
+		}
+
+		// parse mantissa
+		long mantissa = 0L;
+		int digits = 0, exponent = 0, numDigits = 0;
+		boolean point = false;
+		for (; i < end; i++) {
+			byte b = buffer_.get(i);
+			if (b >= '0' && b <= '9') {
+				numDigits++;
+				if (mantissa != 0L || b != '0') {
+					if (++digits > 18)
+						return Double.parseDouble(decode(start, end));
+					mantissa = 10L * mantissa + (b - '0');
+				}
+				if (point) {
+					exponent--;
+				}
+			}
+			else if (b == '.' && !point) {
+				point = true;
+			}
+			else {
+				break;
+			}
+		}
+
+		// parse exponent
+		if (i < end && (buffer_.get(i) == 'e' || buffer_.get(i) == 'E') && numDigits > 0) {
+			int exp = 0, expDigits = 0;
+			boolean expNegative = false;
+			i++;
+			if (i < end && (buffer_.get(i) == '-' || buffer_.get(i) == '+')) {
+				expNegative = buffer_.get(i) == '-';
+				i++;
+			}
+			for (; i < end && buffer_.get(i) >= '0' && buffer_.get(i) <= '9'; i++) {
+				if (++expDigits > 3)
+					return Double.parseDouble(decode(start, end));
+				exp = 10 * exp + (buffer_.get(i) - '0');
+			}
+			if (expDigits == 0)
+				return Double.parseDouble(decode(start, end));
+			exponent += expNegative ? -exp : exp;
+		}
+
+		// invalid or special value (let JDK parse or throw)
+		if (i != end || numDigits == 0)
+			return Double.parseDouble(decode(start, end));
+
+		// compute value
+		return toDouble(negative, mantissa, exponent, start, end);
+	}
+
+	/**
+	 * Converts given decimal mantissa and exponent to double. The fast path is only taken when both the mantissa and the power of 10 are exactly representable, so that the result is correctly rounded.
+	 *
+	 * @param negative
+	 *            True if the value is negative.
+	 * @param mantissa
+	 *            Decimal mantissa.
+	 * @param exponent
+	 *            Decimal exponent.
+	 * @param start
+	 *            Start index of the parsed buffer range.
+	 * @param end
+	 *            End index of the parsed buffer range.
+	 * @return The value.
+	 */
+	private double toDouble(boolean negative, long mantissa, int exponent, int start, int end) {
+
+		// compute value
+		double value;
+		if (mantissa == 0L) {
+			value = 0.0;
+		}
+		else if (mantissa <= MAX_EXACT && exponent >= 0 && exponent < POW10.length) {
+			value = mantissa * POW10[exponent];
+		}
+		else if (mantissa <= MAX_EXACT && exponent < 0 && -exponent < POW10.length) {
+			value = mantissa / POW10[-exponent];
+		}
+
+		// slow path
+		else
+			return Double.parseDouble(decode(start, end));
+
+		// return value
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Refills the buffer starting from the current line start.
+	 *
+	 * @throws IOException
+	 *             If exception occurs during process.
+	 */
+	private void refill() throws IOException {
+
+		// move current line to buffer start (grow buffer if the line doesn't fit)
+		int keep = buffer_.limit() - lineStart_;
+		if (keep == array_.length) {
+			byte[] array = new byte[2 * array_.length];
+			System.arraycopy(array_, lineStart_, array, 0, keep);
+			array_ = array;
+		}
+		else {
+			System.arraycopy(array_, lineStart_, array_, 0, keep);
+		}
+		base_ += lineStart_;
+
+		// fill the rest of buffer from file channel or stream
+		int limit = keep;
+		while (limit < array_.length) {
+			int read = channel_ != null ? channel_.read(ByteBuffer.wrap(array_, limit, array_.length - limit)) : stream_.read(array_, limit, array_.length - limit);
+			if (read == -1) {
+				eof_ = true;
+				break;
+			}
+			limit += read;
+		}
+		buffer_ = ByteBuffer.wrap(array_);
+		buffer_.limit(limit);
+
+		// shift indices
+		next_ -= lineStart_;
+		pos_ -= lineStart_;
+		lineEnd_ -= lineStart_;
+		lineStart_ = 0;
+	}
+
+	/**
+	 * Returns true if given byte is a column separator.
+	 *
+	 * @param b
+	 *            Byte to check.
+	 * @return True if given byte is a column separator.
+	 */
+	private static boolean isSeparator(byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+}
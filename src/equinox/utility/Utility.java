@@ -30,6 +30,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Blob;
+import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -92,14 +93,16 @@ import com.jcraft.jsch.Session;
 import com.zaxxer.hikari.HikariConfig;
 
 import equinox.Equinox;
+import equinox.data.ElementIndex;
 import equinox.data.Settings;
 import equinox.data.fileType.SpectrumItem;
 import equinox.plugin.FileType;
 import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.ServerUtility;
 import equinox.task.InternalEquinoxTask;
+import equinox.task.TaskMonitor;
 import equinox.task.TemporaryFileCreatingTask;
-import javafx.concurrent.Task;
+import equinox.task.TemporaryFileTaskMonitor;
 import javafx.scene.CacheHint;
 import javafx.scene.ImageCursor;
 import javafx.scene.Node;
@@ -140,20 +143,28 @@ public class Utility {
 	 */
 	public static void setupLocalDBPool(Path dbPath) throws Exception {
 
-		// set properties to configuration
+		// set properties to configuration (sized from database profile, dirty reads allowed)
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
 		HikariConfig config = new HikariConfig();
 		config.setPoolName("Local DCP");
 		config.setDataSourceClassName("org.apache.derby.jdbc.EmbeddedDataSource");
-		config.setMaximumPoolSize(10);
-		config.setMaxLifetime(60000);
-		config.setIdleTimeout(30000);
+		config.setMaximumPoolSize(DatabaseProfile.getPoolSize());
+		config.setMinimumIdle(DatabaseProfile.getMinimumIdle());
+		config.setMaxLifetime(DatabaseProfile.getMaxLifetime());
+		config.setIdleTimeout(DatabaseProfile.getIdleTimeout());
+		config.setTransactionIsolation("TRANSACTION_READ_UNCOMMITTED");
+		config.setMetricsTrackerFactory(metrics);
 		config.setJdbcUrl("jdbc:derby:" + dbPath.toString());
 		config.setUsername("aurora");
 		config.setPassword("17891917");
 		config.addDataSourceProperty("databaseName", dbPath.toString());
 
 		// create pool
-		Equinox.DBC_POOL = new HikariEngine(config);
+		Equinox.DBC_POOL = new HikariEngine(config, metrics);
+		Equinox.LOGGER.info(DatabaseProfile.getDescription());
+
+		// clear cached element indices of previous workspace
+		ElementIndex.invalidateAll();
 
 		// check connection
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
@@ -671,6 +682,24 @@ public class Utility {
 		}
 	}
 
+	/**
+	 * Refreshes the optimizer statistics of all indexes of given table. This should be called after bulk filling tables which are created at runtime, since the indexes of such tables are created while the tables
+	 * are empty.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param tableName
+	 *            Table name (without schema).
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void updateStatistics(Connection connection, String tableName) throws SQLException {
+		try (CallableStatement statement = connection.prepareCall("call SYSCS_UTIL.SYSCS_UPDATE_STATISTICS('AURORA', ?, null)")) {
+			statement.setString(1, tableName.toUpperCase());
+			statement.execute();
+		}
+	}
+
 	/**
 	 * Shuts down the given thread executor in two phases, first by calling shutdown to reject incoming tasks, and then calling shutdownNow, if necessary, to cancel any lingering tasks.
 	 *
@@ -734,7 +763,7 @@ public class Utility {
 	 * @throws IOException
 	 *             If exception occurs during reading the file.
 	 */
-	public static int countLines(Path file, Task<?> task) throws IOException {
+	public static int countLines(Path file, TaskMonitor task) throws IOException {
 
 		// initialize line count
 		int count = 0;
@@ -967,16 +996,15 @@ public class Utility {
 	 * @throws IOException
 	 *             If exception occurs during process.
 	 */
-	public static Path extractFileFromZIP(Path zipFile, InternalEquinoxTask<?> task, FileType type, Path outputDir) throws IOException {
+	public static Path extractFileFromZIP(Path zipFile, TaskMonitor task, FileType type, Path outputDir) throws IOException {
 
 		// initialize output file
 		Path output = null;
 
 		// get working directory
 		if (outputDir == null) {
-			if (task instanceof TemporaryFileCreatingTask<?>) {
-				TemporaryFileCreatingTask<?> task1 = (TemporaryFileCreatingTask<?>) task;
-				outputDir = task1.getWorkingDirectory();
+			if (task instanceof TemporaryFileTaskMonitor) {
+				outputDir = ((TemporaryFileTaskMonitor) task).getWorkingDirectory();
 			}
 			else {
 				outputDir = createWorkingDirectory("extractFileFromZIP");
@@ -1577,7 +1605,7 @@ public class Utility {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	public static void zipFile(Path file, File output, InternalEquinoxTask<?> task) throws Exception {
+	public static void zipFile(Path file, File output, TaskMonitor task) throws Exception {
 
 		// update message
 		task.updateMessage("Zipping file to '" + output.getName() + "'...");
@@ -1720,7 +1748,7 @@ public class Utility {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void zipFile(Path path, String name, ZipOutputStream zos, byte[] buf, InternalEquinoxTask<?> task) throws Exception {
+	private static void zipFile(Path path, String name, ZipOutputStream zos, byte[] buf, TaskMonitor task) throws Exception {
 
 		// update message
 		task.updateMessage("Zipping file '" + path.getFileName() + "'...");